@@ -1,13 +1,27 @@
 package com.rubix.vinimiraa;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
+import com.rubix.vinimiraa.analise.DetectorDuplicatas;
+import com.rubix.vinimiraa.analise.OrdenacaoLivros;
+import com.rubix.vinimiraa.dao.BackupDAO;
 import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.LivroEscritorUnicoRepository;
+import com.rubix.vinimiraa.dao.LivroMemoriaRepository;
+import com.rubix.vinimiraa.dao.LivroMmapRepository;
+import com.rubix.vinimiraa.dao.LivroParticionadoRepository;
+import com.rubix.vinimiraa.dao.LivroRepository;
+import com.rubix.vinimiraa.indice.IndiceAutocompletar;
+import com.rubix.vinimiraa.indice.Sugestao;
+import com.rubix.vinimiraa.model.EstatisticaCatalogo;
 import com.rubix.vinimiraa.model.Livro;
 import com.rubix.vinimiraa.util.IO;
+import com.rubix.vinimiraa.util.RenderizadorLivros;
 
 /**
  * Classe principal do aplicativo Rubix - Gerenciador de Livros.
@@ -25,6 +39,9 @@ import com.rubix.vinimiraa.util.IO;
  *   <li>Buscar livro pelo ID e exibir detalhes formatados.</li>
  *   <li>Atualizar campos específicos de um livro existente.</li>
  *   <li>Excluir livro pelo ID, após confirmação do usuário.</li>
+ *   <li>Sugerir títulos e autores a partir de um prefixo (autocompletar).</li>
+ *   <li>Detectar grupos de livros possivelmente duplicados.</li>
+ *   <li>Fazer backup do banco de dados sem interromper a aplicação.</li>
  * </ul>
  *
  * <h2>Exemplo de uso:</h2>
@@ -58,9 +75,104 @@ public class Main
     protected static final String RESET = "\u001B[0m";
 
     /**
-     * Instância do DAO para operações de banco de dados relacionadas a livros.
+     * Propriedade de sistema que escolhe o mecanismo de armazenamento:
+     * {@code sqlite} (padrão), {@code escritor}, {@code memoria}, {@code mmap} ou {@code particionado}.
      */
-    private static LivroDAO livroDAO = new LivroDAO( );
+    public static final String PROPRIEDADE_ARMAZENAMENTO = "livros.armazenamento";
+
+    /**
+     * Propriedade de sistema com a quantidade de partições do armazenamento
+     * {@code particionado} (padrão: 4).
+     */
+    public static final String PROPRIEDADE_PARTICOES = "livros.particoes";
+
+    /**
+     * Propriedade de sistema que executa o roteiro de treino da inicialização e encerra,
+     * sem mostrar o menu. Usada pelo perfil {@code cds} do Maven para gerar o arquivo
+     * de classes compartilhadas (AppCDS).
+     */
+    public static final String PROPRIEDADE_TREINO = "livros.treino";
+
+    /**
+     * Propriedade de sistema com a quantidade de livros por página na listagem em um
+     * terminal (padrão: 40). Com {@code 0}, a listagem é exibida de uma vez.
+     */
+    public static final String PROPRIEDADE_PAGINA = "livros.pagina";
+
+    /**
+     * Propriedade de sistema que ativa, no armazenamento {@code sqlite}, o filtro de Bloom
+     * de ISBNs com a taxa de falsos positivos informada (por exemplo, {@code 0.01}).
+     * As métricas do filtro são exibidas ao sair.
+     */
+    public static final String PROPRIEDADE_FILTRO_ISBN = "livros.filtroIsbn";
+
+    /**
+     * Instância do repositório para operações de persistência relacionadas a livros.
+     * Criada no primeiro uso por {@link #livroDAO()}, para que o menu apareça sem esperar
+     * pela conexão, pela biblioteca nativa do SQLite e pela verificação do esquema.
+     */
+    private static LivroRepository livroDAO = null;
+
+    /**
+     * Índice de autocompletar de títulos e autores.
+     * Construído no primeiro uso e mantido atualizado pelo {@link #livroDAO}.
+     */
+    private static IndiceAutocompletar indice = null;
+
+    /**
+     * Quantidade máxima de sugestões exibidas pelo autocompletar.
+     */
+    private static final int MAX_SUGESTOES = 10;
+
+    /**
+     * Retorna o repositório de livros, criando-o no primeiro uso.
+     *
+     * @return O repositório escolhido por {@link #PROPRIEDADE_ARMAZENAMENTO}.
+     */
+    private static LivroRepository livroDAO( )
+    {
+        if(livroDAO == null)
+            livroDAO = criarRepositorio( );
+        return livroDAO;
+    }
+
+    /**
+     * Cria o repositório de livros de acordo com a propriedade {@link #PROPRIEDADE_ARMAZENAMENTO}.
+     * <p>
+     * Com {@code -Dlivros.armazenamento=escritor}, o banco <b>livros.db</b> é acessado por
+     * uma única thread de escrita e por conexões de leitura em paralelo.
+     * Com {@code memoria}, o catálogo é mantido em memória e
+     * gravado no instantâneo <b>livros.snapshot</b> ao sair. Com {@code mmap}, o catálogo
+     * é gravado no log binário <b>livros.log</b>, lido através de memória mapeada. Com
+     * {@code particionado}, os livros são distribuídos entre os bancos <b>livros-0.db</b>,
+     * <b>livros-1.db</b> etc.
+     * </p>
+     *
+     * @return O repositório escolhido.
+     */
+    private static LivroRepository criarRepositorio( )
+    {
+        String armazenamento = System.getProperty(PROPRIEDADE_ARMAZENAMENTO, "sqlite");
+        switch (armazenamento)
+        {
+            case "memoria":
+                return new LivroMemoriaRepository(Path.of("livros.snapshot"));
+            case "mmap":
+                return new LivroMmapRepository(Path.of("livros.log"));
+            case "particionado":
+                return new LivroParticionadoRepository("livros", Integer.getInteger(PROPRIEDADE_PARTICOES, 4));
+            case "sqlite":
+                LivroDAO dao = new LivroDAO( );
+                String taxa = System.getProperty(PROPRIEDADE_FILTRO_ISBN);
+                if(taxa != null)
+                    dao.ativarFiltroIsbn(Double.parseDouble(taxa));
+                return dao;
+            case "escritor":
+                return new LivroEscritorUnicoRepository( );
+            default:
+                throw new IllegalArgumentException("Armazenamento desconhecido: " + armazenamento);
+        }
+    }
 
     /**
      * Método principal que inicia o aplicativo e controla o fluxo do menu.
@@ -69,6 +181,12 @@ public class Main
      */
     public static void main(String[] args) 
     {
+        if(Boolean.getBoolean(PROPRIEDADE_TREINO))
+        {
+            treinar( );
+            return;
+        }
+
         try
         {
             int opcao = 0;
@@ -81,10 +199,60 @@ public class Main
         } catch (Exception e) {
             e.printStackTrace( );
         } finally {
+            if(livroDAO instanceof LivroDAO dao && dao.getFiltroIsbn( ) != null)
+                System.out.println("Filtro de ISBNs: " + dao.getFiltroIsbn( ));
+            if(livroDAO != null)
+                livroDAO.disconnect( );
             console.close();
         }
     }
 
+    /**
+     * Roteiro de treino para o arquivo de classes compartilhadas (AppCDS).
+     * <p>
+     * Percorre o mesmo caminho de uma sessão típica (menu, cadastro, listagem, busca,
+     * atualização e exclusão) em um banco temporário, carregando as classes da aplicação,
+     * do driver SQLite e da biblioteca padrão que uma execução normal carregaria. As classes
+     * carregadas são gravadas pela JVM ao sair, com {@code -XX:ArchiveClassesAtExit}.
+     * </p>
+     */
+    private static void treinar( )
+    {
+        opcoesMenu( );
+        System.out.println( );
+
+        Path banco = null;
+        try
+        {
+            banco = Files.createTempFile("livros-treino", ".db");
+            LivroDAO dao = new LivroDAO(banco.toString( ));
+            Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90)
+                                   .editora("Garnier")
+                                   .dataPublicacao(LocalDate.of(1899, 1, 1))
+                                   .isbn(1234)
+                                   .build( );
+            dao.insert(livro);
+
+            List<Livro> livros = OrdenacaoLivros.ordenar(dao.getAll( ), OrdenacaoLivros.Criterio.TITULO);
+            new RenderizadorLivros(System.out).tabela(livros);
+
+            dao.getByIsbn(1234);
+            livro.setTitulo(IO.strNormalize(livro.getTitulo( )));
+            dao.update(livro);
+            dao.getById(livro.getId( ));
+            dao.delete(livro.getId( ));
+            dao.disconnect( );
+        } catch (Exception e) {
+            System.err.println(RED + "Erro no treino da inicialização: " + e.getMessage() + RESET);
+        } finally {
+            try {
+                if(banco != null) Files.deleteIfExists(banco);
+            } catch (IOException ioe) {
+                System.err.println(RED + "Erro ao remover banco de treino: " + ioe.getMessage() + RESET);
+            }
+        }
+    }
+
     /**
      * Exibe o menu principal de opções no console.
      */
@@ -100,6 +268,11 @@ public class Main
         System.out.println("3 - Buscar Livro"              );
         System.out.println("4 - Atualizar Livro"           );
         System.out.println("5 - Excluir Livro"             );
+        System.out.println("6 - Sugerir Títulos e Autores" );
+        System.out.println("7 - Detectar Duplicatas"       );
+        System.out.println("8 - Fazer Backup"              );
+        System.out.println("9 - Estatísticas do Catálogo"  );
+        System.out.println("10 - Verificar Estatísticas"   );
         System.out.println("0 - Sair"                      );
         System.out.print  ("Digite o número da opção: "    );
     }
@@ -148,6 +321,21 @@ public class Main
             case 5:
                 excluirLivro ();
                 break;
+            case 6:
+                sugerirLivros ();
+                break;
+            case 7:
+                detectarDuplicatas ();
+                break;
+            case 8:
+                fazerBackup ();
+                break;
+            case 9:
+                mostrarEstatisticas ();
+                break;
+            case 10:
+                verificarEstatisticas ();
+                break;
             default:
                 System.err.println(RED + "Opção inválida!\n" + RESET);
                 break;
@@ -189,7 +377,7 @@ public class Main
             {
                 if(IO.confirmarAcao("\nConfirma cadastro do livro? (S/N)"))
                 {
-                    if(livroDAO.insert(livro))
+                    if(livroDAO( ).insert(livro))
                         System.out.println(GREEN + "Livro cadastrado com sucesso!\n" + RESET);
                 } else {
                     System.out.println(RED + "Operação cancelada!\n" + RESET);
@@ -209,16 +397,20 @@ public class Main
         System.out.println("\n> Listar os Livros");
         try 
         {
-            List<Livro> livros = livroDAO.getAll( );
+            List<Livro> livros = livroDAO( ).getAll( );
 
             if(livros != null)
             {
-                Collections.sort(livros);
-    
-                for (Livro livro : livros) {
-                    System.out.println(livro.formatado( ));
-                }
-                System.out.println( );
+                livros = OrdenacaoLivros.ordenar(livros, OrdenacaoLivros.Criterio.TITULO);
+
+                RenderizadorLivros renderizador = new RenderizadorLivros(System.out);
+                int linhasPorPagina = Integer.getInteger(PROPRIEDADE_PAGINA, 40);
+                if(System.console( ) != null && linhasPorPagina > 0 && livros.size( ) > linhasPorPagina)
+                    renderizador.paginar(livros, linhasPorPagina, IO::proximaPagina);
+                else
+                    renderizador.tabela(livros);
+                renderizador.novaLinha( );
+                renderizador.flush( );
             } else {
                 System.err.println(RED + "Náo há livros cadastrados na base de dados!\n" + RESET);
             }
@@ -237,7 +429,7 @@ public class Main
         try
         {
             int id = IO.lerInteger("Digite o ID do livro: ", false);
-            Livro livro = livroDAO.getById(id);
+            Livro livro = livroDAO( ).getById(id);
 
             if(livro != null) 
             {
@@ -262,7 +454,7 @@ public class Main
         try
         {
             int id = IO.lerInteger("Digite o ID do livro: ", false);
-            Livro livro = livroDAO.getById(id);
+            Livro livro = livroDAO( ).getById(id);
 
             if(livro != null) 
             {
@@ -279,7 +471,7 @@ public class Main
                 
                 if(IO.confirmarAcao("\nConfirma atualização do livro? (S/N)")) 
                 {
-                    if(livroDAO.update(livro))
+                    if(livroDAO( ).update(livro))
                         System.out.println(GREEN + "Livro atualizado com sucesso!\n" + RESET);
                 } else {
                     System.out.println(RED + "Operação cancelada!\n" + RESET);
@@ -364,14 +556,14 @@ public class Main
         try
         {
             int id = IO.lerInteger("Digite o ID do livro: ", false);
-            Livro livro = livroDAO.getById(id);
+            Livro livro = livroDAO( ).getById(id);
 
             if(livro != null)
             {
                 System.out.println(livro.formatado( ));
                 
                 if(IO.confirmarAcao("\nConfirma exclusão do livro? (S/N)")) {
-                    if(livroDAO.delete(id))
+                    if(livroDAO( ).delete(id))
                         System.out.println(GREEN + "Livro excluido com sucesso!\n" + RESET);
                 } else {
                     System.out.println(RED + "Operação cancelada!\n" + RESET);
@@ -384,4 +576,174 @@ public class Main
             System.err.println(RED + "Erro ao excluir um livro: " + e.getMessage() + RESET);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Exibe os títulos e autores que começam com o prefixo fornecido pelo usuário.
+     * O índice de autocompletar é construído na primeira chamada.
+     */
+    public static void sugerirLivros( )
+    {
+        System.out.println("\n> Sugerir Títulos e Autores");
+        try
+        {
+            if(indice == null)
+                indice = IndiceAutocompletar.carregar(livroDAO( ));
+
+            String prefixo = IO.lerString("Digite o início do título ou autor: ", 1, 255, false, false);
+
+            long inicio = System.nanoTime( );
+            List<Sugestao> titulos = indice.sugerirTitulos(prefixo, MAX_SUGESTOES);
+            List<Sugestao> autores = indice.sugerirAutores(prefixo, MAX_SUGESTOES);
+            long duracao = (System.nanoTime( ) - inicio) / 1000;
+
+            System.out.println("Títulos:");
+            for (Sugestao sugestao : titulos) {
+                System.out.println("  " + sugestao);
+            }
+            System.out.println("Autores:");
+            for (Sugestao sugestao : autores) {
+                System.out.println("  " + sugestao.getTexto( ));
+            }
+            System.out.printf("(%d livros indexados, ~%d KB, consulta em %d µs)%n%n",
+                              indice.tamanho( ), indice.bytesEstimados( ) / 1024, duracao);
+        } catch (Exception e) {
+            System.err.println(RED + "Erro ao sugerir livros: " + e.getMessage() + RESET);
+        }
+    }
+
+    /**
+     * Procura livros possivelmente duplicados (títulos e autores que diferem apenas
+     * em acentuação, pontuação ou sufixos de edição) e exibe os grupos encontrados.
+     */
+    public static void detectarDuplicatas( )
+    {
+        System.out.println("\n> Detectar Duplicatas");
+        try
+        {
+            List<Livro> livros = livroDAO( ).getAll( );
+            List<List<Livro>> grupos = new DetectorDuplicatas( ).detectar(livros);
+
+            if(grupos.isEmpty( )) {
+                System.out.println("Nenhuma duplicata encontrada!\n");
+            } else {
+                int numero = 1;
+                for (List<Livro> grupo : grupos) {
+                    System.out.println("Grupo " + numero++ + " (" + grupo.size( ) + " livros):");
+                    for (Livro livro : grupo) {
+                        System.out.println("  " + livro.formatado( ));
+                    }
+                }
+                System.out.println( );
+            }
+        } catch (Exception e) {
+            System.err.println(RED + "Erro ao detectar duplicatas: " + e.getMessage() + RESET);
+        }
+    }
+
+    /**
+     * Faz uma cópia de segurança do banco de dados na pasta <b>backups</b>,
+     * sem interromper as demais operações, e verifica a integridade da cópia.
+     */
+    public static void fazerBackup( )
+    {
+        System.out.println("\n> Fazer Backup");
+        if(!(livroDAO( ) instanceof LivroDAO))
+        {
+            System.err.println(RED + "Backup disponível apenas para o armazenamento SQLite!\n" + RESET);
+            return;
+        }
+
+        BackupDAO backupDAO;
+        try {
+            backupDAO = new BackupDAO( );
+        } catch (IllegalStateException ise) {
+            System.err.println(RED + "Erro ao fazer backup: " + ise.getMessage( ) + "\n" + RESET);
+            return;
+        }
+        try
+        {
+            Path arquivo = backupDAO.executar( );
+            if(arquivo != null)
+                System.out.println(GREEN + "Backup gravado e verificado em " + arquivo + "\n" + RESET);
+            else
+                System.err.println(RED + "Não foi possível fazer o backup!\n" + RESET);
+        } catch (Exception e) {
+            System.err.println(RED + "Erro ao fazer backup: " + e.getMessage() + RESET);
+        } finally {
+            backupDAO.disconnect( );
+        }
+    }
+
+    /**
+     * Exibe a quantidade de livros e os preços do catálogo, no total e por editora, lidos
+     * das estatísticas mantidas pelo banco, sem percorrer os livros cadastrados.
+     */
+    public static void mostrarEstatisticas( )
+    {
+        System.out.println("\n> Estatísticas do Catálogo");
+        if(!(livroDAO( ) instanceof LivroDAO dao))
+        {
+            System.err.println(RED + "Estatísticas disponíveis apenas para o armazenamento SQLite!\n" + RESET);
+            return;
+        }
+
+        try
+        {
+            EstatisticaCatalogo geral = dao.estatisticaGeral( );
+            if(geral == null)
+            {
+                System.err.println(RED + "Não foi possível ler as estatísticas!\n" + RESET);
+                return;
+            }
+
+            System.out.printf("Total: %d livros, R$ %.2f (média R$ %.2f)%n",
+                              geral.getQuantidade( ), geral.getSomaPrecos( ), geral.getPrecoMedio( ));
+            dao.estatisticasPorEditora( ).forEach((editora, estatistica) ->
+                System.out.printf("  %-30s %6d livros  R$ %10.2f%n", editora, estatistica.getQuantidade( ), estatistica.getSomaPrecos( )));
+            System.out.println( );
+        } catch (Exception e) {
+            System.err.println(RED + "Erro ao exibir as estatísticas: " + e.getMessage() + RESET);
+        }
+    }
+
+    /**
+     * Confere as estatísticas com os livros cadastrados, o que percorre toda a tabela
+     * de livros, e, se houver divergências, oferece recalculá-las.
+     */
+    public static void verificarEstatisticas( )
+    {
+        System.out.println("\n> Verificar Estatísticas");
+        if(!(livroDAO( ) instanceof LivroDAO dao))
+        {
+            System.err.println(RED + "Estatísticas disponíveis apenas para o armazenamento SQLite!\n" + RESET);
+            return;
+        }
+
+        try
+        {
+            List<String> divergencias = dao.verificarEstatisticas( );
+            if(divergencias == null)
+            {
+                System.err.println(RED + "Não foi possível verificar as estatísticas!\n" + RESET);
+                return;
+            }
+            if(divergencias.isEmpty( ))
+            {
+                System.out.println(GREEN + "Estatísticas de acordo com os livros cadastrados.\n" + RESET);
+                return;
+            }
+
+            System.err.println(RED + "Estatísticas divergentes dos livros cadastrados:" + RESET);
+            divergencias.forEach(divergencia -> System.err.println("  " + divergencia));
+            if(IO.confirmarAcao("\nRecalcular as estatísticas? (S/N)"))
+            {
+                if(dao.reconstruirEstatisticas( ))
+                    System.out.println(GREEN + "Estatísticas recalculadas com sucesso!\n" + RESET);
+            } else {
+                System.out.println(RED + "Operação cancelada!\n" + RESET);
+            }
+        } catch (Exception e) {
+            System.err.println(RED + "Erro ao verificar as estatísticas: " + e.getMessage() + RESET);
+        }
+    }
+}
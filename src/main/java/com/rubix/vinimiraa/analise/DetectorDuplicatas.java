@@ -0,0 +1,358 @@
+package com.rubix.vinimiraa.analise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.util.IO;
+
+/**
+ * Detecta livros possivelmente duplicados usando MinHash e LSH
+ * (<i>locality-sensitive hashing</i>).
+ * <p>
+ * Cada livro é reduzido a um texto canônico (título e autor normalizados por
+ * {@link IO#strNormalize(String)}, sem pontuação e sem sufixos de edição), que é
+ * dividido em <i>shingles</i> de {@value #TAMANHO_SHINGLE} caracteres. A assinatura
+ * MinHash desses shingles é dividida em bandas; livros que coincidem em ao menos uma
+ * banda tornam-se candidatos e são confirmados pela similaridade estimada das assinaturas.
+ * Assim, o custo é aproximadamente linear no número de livros, em vez de comparar todos os pares.
+ * </p>
+ *
+ * <p>
+ * O cálculo das assinaturas, o agrupamento das bandas e a verificação dos candidatos
+ * são executados em paralelo com fork/join.
+ * </p>
+ *
+ * <pre>{@code
+ * DetectorDuplicatas detector = new DetectorDuplicatas( );
+ * List<List<Livro>> grupos = detector.detectar(livroDAO.getAll( ));
+ * }</pre>
+ */
+public class DetectorDuplicatas
+{
+    /** Quantidade de caracteres de cada shingle. */
+    public static final int TAMANHO_SHINGLE = 3;
+
+    /** Quantidade de livros processados sequencialmente por tarefa fork/join. */
+    private static final int LIMIAR_TAREFA = 2048;
+
+    /** Palavras que indicam edição e são descartadas do texto canônico. */
+    private static final Set<String> PALAVRAS_EDICAO = Set.of(
+        "edicao", "ed", "edition", "revisada", "revista", "ampliada", "atualizada", "especial", "comentada"
+    );
+
+    /** Quantidade de bandas da assinatura. */
+    private final int bandas;
+
+    /** Quantidade de linhas (funções de hash) por banda. */
+    private final int linhas;
+
+    /** Similaridade mínima estimada para confirmar um par de candidatos. */
+    private final double similaridadeMinima;
+
+    /** Sementes das funções de hash do MinHash. */
+    private final int[] sementes;
+
+    /** Pool usado pelas tarefas paralelas. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Construtor padrão: 10 bandas de 3 linhas e similaridade mínima de 0,7,
+     * executando no pool comum do fork/join.
+     */
+    public DetectorDuplicatas( ) {
+        this(10, 3, 0.7, ForkJoinPool.commonPool( ));
+    }
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param bandas             quantidade de bandas da assinatura
+     * @param linhas             quantidade de funções de hash por banda
+     * @param similaridadeMinima similaridade estimada mínima (0 a 1) para dois livros serem agrupados
+     * @param pool               pool fork/join usado no processamento paralelo
+     */
+    public DetectorDuplicatas(int bandas, int linhas, double similaridadeMinima, ForkJoinPool pool)
+    {
+        if(bandas <= 0 || linhas <= 0)
+            throw new IllegalArgumentException("Bandas e linhas devem ser positivas.");
+
+        this.bandas = bandas;
+        this.linhas = linhas;
+        this.similaridadeMinima = similaridadeMinima;
+        this.pool = pool;
+        this.sementes = new int[bandas * linhas];
+        for(int i = 0; i < sementes.length; i++)
+            sementes[i] = misturar(0x9E3779B9 * (i + 1));
+    }
+
+    /**
+     * Procura grupos de livros possivelmente duplicados.
+     *
+     * @param livros Os livros a serem analisados.
+     * @return Os grupos com dois ou mais livros semelhantes, do maior para o menor.
+     *         Nunca {@code null}.
+     */
+    public List<List<Livro>> detectar(List<Livro> livros)
+    {
+        Livro[] vetor = livros.toArray(new Livro[0]);
+        int n = vetor.length;
+        int k = bandas * linhas;
+
+        int[] assinaturas = new int[n * k];
+        pool.invoke(new CalculoAssinaturas(vetor, assinaturas, 0, n));
+
+        // cada banda produz uma lista de pares confirmados, unidos depois sequencialmente
+        List<ForkJoinTask<long[]>> tarefas = new ArrayList<>(bandas);
+        for(int b = 0; b < bandas; b++)
+        {
+            final int banda = b;
+            tarefas.add(pool.submit(( ) -> paresDaBanda(assinaturas, n, banda)));
+        }
+
+        int[] pais = new int[n];
+        for(int i = 0; i < n; i++) pais[i] = i;
+        for(ForkJoinTask<long[]> tarefa : tarefas)
+            for(long par : tarefa.join( ))
+                unir(pais, (int) (par >>> 32), (int) par);
+
+        int[] tamanhos = new int[n];
+        for(int i = 0; i < n; i++)
+            tamanhos[encontrar(pais, i)]++;
+
+        Map<Integer, List<Livro>> grupos = new HashMap<>( );
+        for(int i = 0; i < n; i++)
+        {
+            int raiz = encontrar(pais, i);
+            if(tamanhos[raiz] > 1)
+                grupos.computeIfAbsent(raiz, r -> new ArrayList<>(tamanhos[r])).add(vetor[i]);
+        }
+
+        List<List<Livro>> resultado = new ArrayList<>(grupos.values( ));
+        resultado.sort(Comparator.<List<Livro>>comparingInt(List::size).reversed( ));
+
+        return resultado;
+    }
+
+    /**
+     * Estima a similaridade de Jaccard entre dois livros pelas suas assinaturas MinHash.
+     *
+     * @param a um livro
+     * @param b outro livro
+     * @return A fração de posições iguais nas assinaturas (0 a 1).
+     */
+    public double similaridade(Livro a, Livro b)
+    {
+        int k = bandas * linhas;
+        int[] assinaturas = new int[2 * k];
+        assinar(a, assinaturas, 0);
+        assinar(b, assinaturas, k);
+        return similaridade(assinaturas, k, 0, 1);
+    }
+
+    /**
+     * Gera o texto canônico de um livro: título e autor normalizados, sem pontuação
+     * e sem palavras ou ordinais de edição (ex.: "2ª edição revisada").
+     *
+     * @param livro O livro.
+     * @return O texto canônico, com palavras separadas por um único espaço.
+     */
+    public static String textoCanonico(Livro livro)
+    {
+        StringBuilder sb = new StringBuilder( );
+        adicionarPalavras(sb, livro.getTitulo( ));
+        adicionarPalavras(sb, livro.getAutor( ));
+        return sb.toString( );
+    }
+
+    /**
+     * Acrescenta ao {@link StringBuilder} as palavras relevantes de um texto.
+     *
+     * @param sb    O destino.
+     * @param texto O texto de origem (ignorado se nulo).
+     */
+    private static void adicionarPalavras(StringBuilder sb, String texto)
+    {
+        if(texto == null) return;
+
+        for(String palavra : IO.strNormalize(texto).split("[^\\p{L}\\p{N}]+"))
+        {
+            if(palavra.isEmpty( ) || PALAVRAS_EDICAO.contains(palavra) || palavra.matches("\\d+[aoªº]"))
+                continue;
+            if(sb.length( ) > 0) sb.append(' ');
+            sb.append(palavra);
+        }
+    }
+
+    /**
+     * Calcula a assinatura MinHash de um livro e a grava no vetor informado.
+     *
+     * @param livro        O livro.
+     * @param assinaturas  O vetor de destino.
+     * @param deslocamento A posição inicial da assinatura no vetor.
+     */
+    private void assinar(Livro livro, int[] assinaturas, int deslocamento)
+    {
+        int k = sementes.length;
+        Arrays.fill(assinaturas, deslocamento, deslocamento + k, Integer.MAX_VALUE);
+
+        String texto = textoCanonico(livro);
+        int quantidade = Math.max(1, texto.length( ) - TAMANHO_SHINGLE + 1);
+        for(int inicio = 0; inicio < quantidade; inicio++)
+        {
+            int fim = Math.min(texto.length( ), inicio + TAMANHO_SHINGLE);
+            int shingle = 17;
+            for(int i = inicio; i < fim; i++)
+                shingle = 31 * shingle + texto.charAt(i);
+
+            for(int h = 0; h < k; h++)
+            {
+                int valor = misturar(shingle ^ sementes[h]);
+                if(valor < assinaturas[deslocamento + h])
+                    assinaturas[deslocamento + h] = valor;
+            }
+        }
+    }
+
+    /**
+     * Agrupa os livros pelo hash de uma banda e verifica os candidatos de cada grupo.
+     * <p>
+     * As chaves {@code (hash da banda, índice do livro)} são empacotadas em {@code long}
+     * e ordenadas, de modo que livros do mesmo balde ficam contíguos sem alocar mapas.
+     * Cada membro do balde é comparado apenas com o primeiro, o que evita custo
+     * quadrático em baldes grandes; pares perdidos em uma banda tendem a ser
+     * encontrados em outra.
+     * </p>
+     *
+     * @param assinaturas As assinaturas de todos os livros.
+     * @param n           A quantidade de livros.
+     * @param banda       A banda a ser processada.
+     * @return Os pares confirmados, empacotados como {@code (i << 32) | j}.
+     */
+    private long[] paresDaBanda(int[] assinaturas, int n, int banda)
+    {
+        int k = bandas * linhas;
+        long[] chaves = new long[n];
+        for(int i = 0; i < n; i++)
+        {
+            int hash = banda;
+            for(int r = 0; r < linhas; r++)
+                hash = misturar(hash * 31 + assinaturas[i * k + banda * linhas + r]);
+            chaves[i] = ((long) hash << 32) | i;
+        }
+        Arrays.sort(chaves);
+
+        long[] pares = new long[16];
+        int quantidade = 0;
+        int inicio = 0;
+        while(inicio < n)
+        {
+            int fim = inicio + 1;
+            while(fim < n && (chaves[fim] >>> 32) == (chaves[inicio] >>> 32)) fim++;
+
+            int lider = (int) chaves[inicio];
+            for(int j = inicio + 1; j < fim; j++)
+            {
+                int membro = (int) chaves[j];
+                if(similaridade(assinaturas, k, lider, membro) >= similaridadeMinima)
+                {
+                    if(quantidade == pares.length) pares = Arrays.copyOf(pares, quantidade * 2);
+                    pares[quantidade++] = ((long) lider << 32) | membro;
+                }
+            }
+            inicio = fim;
+        }
+
+        return Arrays.copyOf(pares, quantidade);
+    }
+
+    /**
+     * Fração de posições iguais entre duas assinaturas do vetor.
+     */
+    private static double similaridade(int[] assinaturas, int k, int a, int b)
+    {
+        int iguais = 0;
+        for(int h = 0; h < k; h++)
+            if(assinaturas[a * k + h] == assinaturas[b * k + h]) iguais++;
+        return (double) iguais / k;
+    }
+
+    /**
+     * Função de mistura de 32 bits (finalizador do MurmurHash3).
+     */
+    private static int misturar(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Localiza a raiz de um elemento no union-find, comprimindo o caminho.
+     */
+    private static int encontrar(int[] pais, int i)
+    {
+        while(pais[i] != i)
+        {
+            pais[i] = pais[pais[i]];
+            i = pais[i];
+        }
+        return i;
+    }
+
+    /**
+     * Une os conjuntos de dois elementos no union-find.
+     */
+    private static void unir(int[] pais, int a, int b)
+    {
+        int raizA = encontrar(pais, a);
+        int raizB = encontrar(pais, b);
+        if(raizA != raizB)
+            pais[Math.max(raizA, raizB)] = Math.min(raizA, raizB);
+    }
+
+    /**
+     * Tarefa fork/join que calcula as assinaturas de um intervalo de livros.
+     */
+    @SuppressWarnings("serial")
+    private class CalculoAssinaturas extends RecursiveAction
+    {
+        private final Livro[] livros;
+        private final int[] assinaturas;
+        private final int inicio;
+        private final int fim;
+
+        CalculoAssinaturas(Livro[] livros, int[] assinaturas, int inicio, int fim)
+        {
+            this.livros = livros;
+            this.assinaturas = assinaturas;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            if(fim - inicio <= LIMIAR_TAREFA)
+            {
+                for(int i = inicio; i < fim; i++)
+                    assinar(livros[i], assinaturas, i * sementes.length);
+            } else {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new CalculoAssinaturas(livros, assinaturas, inicio, meio),
+                          new CalculoAssinaturas(livros, assinaturas, meio, fim));
+            }
+        }
+    }
+}
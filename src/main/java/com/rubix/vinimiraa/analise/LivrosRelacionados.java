@@ -0,0 +1,494 @@
+package com.rubix.vinimiraa.analise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.util.IO;
+
+/**
+ * Calcula, para cada livro, os livros mais parecidos ("mais como este"), para que a
+ * consulta de {@link LivroDAO#getRelated(int, int)} seja apenas uma leitura.
+ * <p>
+ * A pontuação de um par soma o mesmo autor ({@value #PESO_AUTOR}), a mesma editora
+ * ({@value #PESO_EDITORA}), a proximidade dos anos de publicação (até {@value #PESO_ANO},
+ * decrescendo até zero em {@value #DISTANCIA_ANOS} anos) e a similaridade de Jaccard das
+ * palavras do título (até {@value #PESO_TITULO}).
+ * </p>
+ *
+ * <p>
+ * Para não comparar todos os pares, cada autor, editora e palavra do título tem uma lista
+ * de livros ordenada pelo ano de publicação, e uma lista extra reúne todos os livros com
+ * data, para que anos próximos bastem para relacionar dois livros. Os candidatos de um
+ * livro são os até {@value #JANELA} vizinhos de cada lado, nessa ordem, em cada uma das
+ * suas listas; assim listas enormes (uma editora grande, uma palavra comum) custam o mesmo
+ * que as pequenas e já favorecem os livros de anos próximos. O custo é linear no número de
+ * livros, e os livros são processados em paralelo com fork/join.
+ * </p>
+ *
+ * <pre>{@code
+ * Map<Integer, int[]> relacionados = new LivrosRelacionados( ).calcular(livroDAO.getAll( ));
+ * livroDAO.gravarRelacionados(relacionados);
+ * }</pre>
+ */
+public class LivrosRelacionados
+{
+    /** Pontuação de dois livros do mesmo autor. */
+    public static final double PESO_AUTOR = 3.0;
+
+    /** Pontuação de dois livros da mesma editora. */
+    public static final double PESO_EDITORA = 1.0;
+
+    /** Pontuação de dois livros publicados no mesmo ano. */
+    public static final double PESO_ANO = 1.0;
+
+    /** Pontuação de dois livros com as mesmas palavras no título. */
+    public static final double PESO_TITULO = 2.0;
+
+    /** Diferença de anos a partir da qual a proximidade não pontua. */
+    public static final int DISTANCIA_ANOS = 10;
+
+    /** Quantidade de candidatos tomados de cada lado do livro em cada lista. */
+    public static final int JANELA = 32;
+
+    /** Quantidade de livros processados sequencialmente por tarefa fork/join. */
+    private static final int LIMIAR_TAREFA = 1024;
+
+    /** Ano usado para livros sem data de publicação, ordenados depois de todos os outros. */
+    private static final int SEM_ANO = Integer.MAX_VALUE;
+
+    /** Palavras curtas ou comuns demais para aproximar dois títulos. */
+    private static final Set<String> PALAVRAS_IGNORADAS = Set.of(
+        "de", "da", "do", "das", "dos", "o", "a", "os", "as", "e", "um", "uma", "em", "no", "na",
+        "the", "of", "and"
+    );
+
+    /** Quantidade de relacionados calculados por livro. */
+    private final int quantidade;
+
+    /** Pool usado pelas tarefas paralelas. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Construtor padrão: 10 relacionados por livro, no pool comum do fork/join.
+     */
+    public LivrosRelacionados( ) {
+        this(10, ForkJoinPool.commonPool( ));
+    }
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param quantidade quantidade de relacionados calculados por livro
+     * @param pool       pool fork/join usado no processamento paralelo
+     */
+    public LivrosRelacionados(int quantidade, ForkJoinPool pool)
+    {
+        if(quantidade <= 0)
+            throw new IllegalArgumentException("A quantidade de relacionados deve ser positiva.");
+
+        this.quantidade = quantidade;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula os relacionados de cada livro.
+     * <p>
+     * Só entram pares com pontuação positiva, de modo que um livro sem nada em comum
+     * com os demais recebe uma lista vazia. Empates são decididos pelo menor ID.
+     * </p>
+     *
+     * @param livros Os livros do catálogo, com IDs.
+     * @return Os IDs dos relacionados de cada livro, do mais para o menos parecido,
+     *         por ID do livro e na ordem recebida. Nunca {@code null}.
+     */
+    public Map<Integer, int[]> calcular(List<Livro> livros)
+    {
+        Catalogo catalogo = new Catalogo(livros.toArray(new Livro[0]));
+        int n = catalogo.ids.length;
+
+        int[] vizinhos = new int[n * quantidade];
+        Arrays.fill(vizinhos, -1);
+        pool.invoke(new CalculoVizinhos(catalogo, vizinhos, 0, n));
+
+        Map<Integer, int[]> relacionados = new LinkedHashMap<>( );
+        for(int i : catalogo.posicoes)
+        {
+            int total = 0;
+            while(total < quantidade && vizinhos[i * quantidade + total] >= 0) total++;
+
+            int[] ids = new int[total];
+            for(int j = 0; j < total; j++)
+                ids[j] = catalogo.ids[vizinhos[i * quantidade + j]];
+            relacionados.put(catalogo.ids[i], ids);
+        }
+
+        return relacionados;
+    }
+
+    /**
+     * Calcula a pontuação de um par de livros.
+     *
+     * @param a um livro
+     * @param b outro livro
+     * @return A soma dos pesos de autor, editora, ano e título (0 se não houver nada em comum).
+     */
+    public static double pontuacao(Livro a, Livro b)
+    {
+        // palavras numeradas em um mapa comum, como no Catalogo: palavras diferentes nunca coincidem
+        Map<String, Integer> numeros = new HashMap<>( );
+        int[] palavrasA = numerar(palavrasTitulo(a), numeros);
+        int[] palavrasB = numerar(palavrasTitulo(b), numeros);
+        return pontuacao(a.getAutor( ) != null && a.getAutor( ).equals(b.getAutor( )),
+                         a.getEditora( ) != null && a.getEditora( ).equals(b.getEditora( )),
+                         ano(a), ano(b),
+                         jaccard(palavrasA, 0, palavrasA.length, palavrasB, 0, palavrasB.length));
+    }
+
+    /**
+     * Troca cada palavra pelo seu número no mapa, numerando as palavras novas.
+     *
+     * @return Os números, em ordem crescente e sem repetições.
+     */
+    private static int[] numerar(List<String> palavras, Map<String, Integer> numeros)
+    {
+        return palavras.stream( )
+                       .mapToInt(p -> numeros.computeIfAbsent(p, c -> numeros.size( )))
+                       .sorted( ).distinct( ).toArray( );
+    }
+
+    /**
+     * Soma os pesos de cada critério.
+     */
+    private static double pontuacao(boolean mesmoAutor, boolean mesmaEditora, int anoA, int anoB, double jaccard)
+    {
+        double pontos = PESO_TITULO * jaccard;
+        if(mesmoAutor)
+            pontos += PESO_AUTOR;
+        if(mesmaEditora)
+            pontos += PESO_EDITORA;
+        if(anoA != SEM_ANO && anoB != SEM_ANO)
+            pontos += PESO_ANO * Math.max(0, 1 - (double) Math.abs(anoA - anoB) / DISTANCIA_ANOS);
+        return pontos;
+    }
+
+    /**
+     * Similaridade de Jaccard entre dois trechos, ordenados e sem repetições, de vetores.
+     */
+    private static double jaccard(int[] a, int inicioA, int fimA, int[] b, int inicioB, int fimB)
+    {
+        if(inicioA == fimA || inicioB == fimB) return 0;
+
+        int comuns = 0;
+        for(int i = inicioA, j = inicioB; i < fimA && j < fimB; )
+        {
+            if(a[i] == b[j]) { comuns++; i++; j++; }
+            else if(a[i] < b[j]) i++;
+            else j++;
+        }
+        return (double) comuns / ((fimA - inicioA) + (fimB - inicioB) - comuns);
+    }
+
+    /**
+     * Retorna as palavras relevantes do título: normalizadas, sem pontuação e sem as palavras ignoradas.
+     *
+     * @param livro O livro.
+     * @return As palavras, na ordem do título (pode haver repetições).
+     */
+    public static List<String> palavrasTitulo(Livro livro)
+    {
+        List<String> palavras = new ArrayList<>( );
+        if(livro.getTitulo( ) == null) return palavras;
+
+        for(String palavra : IO.strNormalize(livro.getTitulo( )).split("[^\\p{L}\\p{N}]+"))
+        {
+            if(palavra.length( ) > 1 && !PALAVRAS_IGNORADAS.contains(palavra))
+                palavras.add(palavra);
+        }
+        return palavras;
+    }
+
+    /**
+     * Retorna o ano de publicação, ou {@link #SEM_ANO}.
+     */
+    private static int ano(Livro livro) {
+        return (livro.getDataPublicacao( ) != null) ? livro.getDataPublicacao( ).getYear( ) : SEM_ANO;
+    }
+
+    /**
+     * Calcula e grava os relacionados de todos os livros de um banco, como tarefa avulsa
+     * (por exemplo, agendada para a madrugada).
+     * <p>
+     * Opções: {@code --banco=arquivo} (padrão {@code livros.db}) e {@code --quantidade=N}
+     * (padrão 10).
+     * </p>
+     *
+     * @param args As opções.
+     */
+    public static void main(String[] args)
+    {
+        String banco = "livros.db";
+        int quantidade = 10;
+        for(String arg : args)
+        {
+            if(arg.startsWith("--banco="))
+                banco = arg.substring("--banco=".length( ));
+            else if(arg.startsWith("--quantidade="))
+                quantidade = Integer.parseInt(arg.substring("--quantidade=".length( )));
+            else
+            {
+                System.err.println("Opção inválida: " + arg);
+                System.err.println("Uso: LivrosRelacionados [--banco=livros.db] [--quantidade=10]");
+                return;
+            }
+        }
+
+        LivroDAO livroDAO = new LivroDAO(banco);
+        try
+        {
+            long inicio = System.nanoTime( );
+            List<Livro> livros = livroDAO.getAll( );
+            Map<Integer, int[]> relacionados = new LivrosRelacionados(quantidade, ForkJoinPool.commonPool( )).calcular(livros);
+            long calculo = System.nanoTime( );
+            int gravadas = livroDAO.gravarRelacionados(relacionados);
+            long fim = System.nanoTime( );
+
+            if(gravadas >= 0)
+                System.out.printf("%d livros, %d relações calculadas em %d ms e gravadas em %d ms%n",
+                                  livros.size( ), gravadas, (calculo - inicio) / 1_000_000, (fim - calculo) / 1_000_000);
+        } finally {
+            livroDAO.disconnect( );
+        }
+    }
+
+    /**
+     * Catálogo preparado para a busca de candidatos, só com vetores de inteiros para que
+     * a pontuação de cada candidato não percorra objetos espalhados pelo heap.
+     * <p>
+     * Os livros são renumerados na ordem do ano de publicação (e da posição recebida, nos
+     * empates). Cada livro tem as suas chaves (autor, editora, a lista dos livros com data e
+     * as palavras do título, estas ordenadas para o Jaccard) e cada chave tem a lista dos
+     * seus livros, que, pela renumeração, já fica ordenada por ano.
+     * </p>
+     */
+    private static final class Catalogo
+    {
+        /** ID de cada livro. */
+        private final int[] ids;
+
+        /** Ano de publicação de cada livro, ou {@link #SEM_ANO}. */
+        private final int[] anos;
+
+        /** Chave do autor de cada livro, ou -1. */
+        private final int[] autores;
+
+        /** Chave da editora de cada livro, ou -1. */
+        private final int[] editoras;
+
+        /** Número de cada livro, na ordem recebida. */
+        private final int[] posicoes;
+
+        /** Início das chaves de cada livro em {@link #chaves}; o livro {@code i} vai até {@code inicioChaves[i + 1]}. */
+        private final int[] inicioChaves;
+
+        /** Início das palavras do título de cada livro em {@link #chaves}, após autor, editora e ano. */
+        private final int[] inicioPalavras;
+
+        /** Chaves de todos os livros. */
+        private final int[] chaves;
+
+        /** Início da lista de cada chave em {@link #membros}. */
+        private final int[] inicioLista;
+
+        /** Livros de todas as listas, cada lista em ordem crescente. */
+        private final int[] membros;
+
+        Catalogo(Livro[] recebidos)
+        {
+            int n = recebidos.length;
+
+            // ordem por ano: (ano << 32 | posição recebida) ordenado
+            long[] ordem = new long[n];
+            for(int r = 0; r < n; r++)
+                ordem[r] = ((long) ano(recebidos[r]) << 32) | r;
+            Arrays.sort(ordem);
+
+            this.ids = new int[n];
+            this.anos = new int[n];
+            this.autores = new int[n];
+            this.editoras = new int[n];
+            this.posicoes = new int[n];
+            this.inicioChaves = new int[n + 1];
+            this.inicioPalavras = new int[n];
+
+            Map<String, Integer> numeros = new HashMap<>( );
+            int[] todas = new int[n * 4];
+            int total = 0;
+            for(int i = 0; i < n; i++)
+            {
+                Livro livro = recebidos[(int) ordem[i]];
+                posicoes[(int) ordem[i]] = i;
+                ids[i] = livro.getId( );
+                anos[i] = ano(livro);
+                autores[i] = (livro.getAutor( ) != null) ? numeros.computeIfAbsent("a:" + livro.getAutor( ), c -> numeros.size( )) : -1;
+                editoras[i] = (livro.getEditora( ) != null) ? numeros.computeIfAbsent("e:" + livro.getEditora( ), c -> numeros.size( )) : -1;
+
+                int[] palavras = palavrasTitulo(livro).stream( )
+                                 .mapToInt(p -> numeros.computeIfAbsent("t:" + p, c -> numeros.size( )))
+                                 .sorted( ).distinct( ).toArray( );
+                if(total + palavras.length + 3 > todas.length)
+                    todas = Arrays.copyOf(todas, Math.max(todas.length * 2, total + palavras.length + 3));
+
+                inicioChaves[i] = total;
+                if(autores[i] >= 0) todas[total++] = autores[i];
+                if(editoras[i] >= 0) todas[total++] = editoras[i];
+                if(anos[i] != SEM_ANO) todas[total++] = numeros.computeIfAbsent("p:", c -> numeros.size( ));
+                inicioPalavras[i] = total;
+                System.arraycopy(palavras, 0, todas, total, palavras.length);
+                total += palavras.length;
+            }
+            inicioChaves[n] = total;
+            this.chaves = Arrays.copyOf(todas, total);
+
+            // listas de cada chave em vetores contíguos; percorrer os livros em ordem já as deixa ordenadas
+            int quantidadeChaves = numeros.size( );
+            inicioLista = new int[quantidadeChaves + 1];
+            for(int chave : chaves)
+                inicioLista[chave + 1]++;
+            for(int c = 0; c < quantidadeChaves; c++)
+                inicioLista[c + 1] += inicioLista[c];
+
+            membros = new int[total];
+            int[] preenchidos = Arrays.copyOf(inicioLista, quantidadeChaves);
+            for(int i = 0; i < n; i++)
+                for(int k = inicioChaves[i]; k < inicioChaves[i + 1]; k++)
+                    membros[preenchidos[chaves[k]]++] = i;
+        }
+
+        /**
+         * Acrescenta ao vetor os candidatos de um livro em uma lista: até {@value #JANELA}
+         * vizinhos de cada lado.
+         *
+         * @return A nova quantidade de candidatos no vetor.
+         */
+        int candidatos(int i, int chave, int[] destino, int total)
+        {
+            int inicio = inicioLista[chave];
+            int fim = inicioLista[chave + 1];
+            int posicao = Arrays.binarySearch(membros, inicio, fim, i);
+
+            for(int k = Math.max(inicio, posicao - JANELA); k < Math.min(fim, posicao + JANELA + 1); k++)
+                if(membros[k] != i) destino[total++] = membros[k];
+            return total;
+        }
+
+        /**
+         * Calcula a pontuação de dois livros do catálogo.
+         */
+        double pontuacao(int i, int j)
+        {
+            return LivrosRelacionados.pontuacao(autores[i] >= 0 && autores[i] == autores[j],
+                                                editoras[i] >= 0 && editoras[i] == editoras[j],
+                                                anos[i], anos[j],
+                                                jaccard(chaves, inicioPalavras[i], inicioChaves[i + 1],
+                                                        chaves, inicioPalavras[j], inicioChaves[j + 1]));
+        }
+    }
+
+    /**
+     * Tarefa fork/join que calcula os relacionados de um intervalo de livros.
+     */
+    @SuppressWarnings("serial")
+    private class CalculoVizinhos extends RecursiveAction
+    {
+        private final Catalogo catalogo;
+        private final int[] vizinhos;
+        private final int inicio;
+        private final int fim;
+
+        CalculoVizinhos(Catalogo catalogo, int[] vizinhos, int inicio, int fim)
+        {
+            this.catalogo = catalogo;
+            this.vizinhos = vizinhos;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            if(fim - inicio <= LIMIAR_TAREFA)
+            {
+                int[] candidatos = new int[0];
+                double[] melhores = new double[quantidade];
+                for(int i = inicio; i < fim; i++)
+                {
+                    int chaves = catalogo.inicioChaves[i + 1] - catalogo.inicioChaves[i];
+                    if(candidatos.length < chaves * (2 * JANELA + 1))
+                        candidatos = new int[chaves * (2 * JANELA + 1)];
+                    calcular(i, candidatos, melhores);
+                }
+            } else {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new CalculoVizinhos(catalogo, vizinhos, inicio, meio),
+                          new CalculoVizinhos(catalogo, vizinhos, meio, fim));
+            }
+        }
+
+        /**
+         * Pontua os candidatos de um livro e guarda os melhores, em ordem, em {@code vizinhos}.
+         *
+         * @param i          O livro.
+         * @param candidatos Vetor de trabalho com espaço para todos os candidatos.
+         * @param melhores   Vetor de trabalho para as pontuações dos melhores.
+         */
+        private void calcular(int i, int[] candidatos, double[] melhores)
+        {
+            int total = 0;
+            for(int k = catalogo.inicioChaves[i]; k < catalogo.inicioChaves[i + 1]; k++)
+                total = catalogo.candidatos(i, catalogo.chaves[k], candidatos, total);
+            Arrays.sort(candidatos, 0, total);
+
+            int guardados = 0;
+            int base = i * quantidade;
+            for(int k = 0; k < total; k++)
+            {
+                int j = candidatos[k];
+                if(k > 0 && j == candidatos[k - 1]) continue;
+
+                double pontos = catalogo.pontuacao(i, j);
+                if(pontos <= 0 || (guardados == quantidade && !melhor(pontos, j, melhores[quantidade - 1], vizinhos[base + quantidade - 1])))
+                    continue;
+
+                // inserção ordenada entre os melhores, descartando o último se estiver cheio
+                int pos = Math.min(guardados, quantidade - 1);
+                while(pos > 0 && melhor(pontos, j, melhores[pos - 1], vizinhos[base + pos - 1]))
+                {
+                    melhores[pos] = melhores[pos - 1];
+                    vizinhos[base + pos] = vizinhos[base + pos - 1];
+                    pos--;
+                }
+                melhores[pos] = pontos;
+                vizinhos[base + pos] = j;
+                if(guardados < quantidade) guardados++;
+            }
+        }
+
+        /**
+         * Indica se o candidato {@code j} vem antes de {@code k}: maior pontuação e, no empate, menor ID.
+         */
+        private boolean melhor(double pontosJ, int j, double pontosK, int k)
+        {
+            if(pontosJ != pontosK) return pontosJ > pontosK;
+            return catalogo.ids[j] < catalogo.ids[k];
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.rubix.vinimiraa.analise;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.monitoramento.EventoOrdenacao;
+import com.rubix.vinimiraa.util.IO;
+
+/**
+ * Ordenação de catálogos grandes por título, preço ou data de publicação.
+ * <p>
+ * A chave de cada livro (o título normalizado por {@link IO#strNormalize(String)}, o
+ * preço ou o dia da data) é calculada uma única vez, em vez de a cada comparação como
+ * em {@link Livro#compareTo(Livro)}. Preços e datas viram um {@code long} que preserva a
+ * ordem, de modo que as comparações não acessam objetos.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #primeiros(Collection, Criterio, boolean, int)} devolve só os {@code k} primeiros
+ *       sem ordenar o catálogo: cada tarefa fork/join percorre um trecho mantendo um heap
+ *       limitado a {@code k} elementos, e os heaps são combinados no final, em O(n log k).</li>
+ *   <li>{@link #ordenar(Collection, Criterio, boolean)} ordena tudo (por exemplo, para exportar)
+ *       calculando as chaves com {@link Arrays#parallelSetAll} e ordenando com
+ *       {@link Arrays#parallelSort(Object[], Comparator)}.</li>
+ * </ul>
+ *
+ * <p>
+ * Livros sem preço ou sem data ficam sempre no final. Empates mantêm a ordem da coleção
+ * recebida, de modo que {@code primeiros(..., k)} é sempre o começo de {@code ordenar(...)}.
+ * </p>
+ *
+ * <pre>{@code
+ * List<Livro> maisBaratos = OrdenacaoLivros.primeiros(livroDAO.getAll( ), Criterio.PRECO, false, 50);
+ * }</pre>
+ */
+public class OrdenacaoLivros
+{
+    /** Quantidade de livros processados sequencialmente por tarefa fork/join. */
+    private static final int LIMIAR_TAREFA = 8192;
+
+    /** Chave dos livros sem preço ou sem data, que ficam no final. */
+    private static final long SEM_VALOR = Long.MAX_VALUE;
+
+    /**
+     * Critérios de ordenação.
+     */
+    public enum Criterio
+    {
+        /** Título normalizado (sem acentos e em minúsculas), como em {@link Livro#compareTo(Livro)}. */
+        TITULO,
+
+        /** Preço. */
+        PRECO,
+
+        /** Data de publicação. */
+        DATA
+    }
+
+    /**
+     * Classe utilitária; não deve ser instanciada.
+     */
+    private OrdenacaoLivros( ) { }
+
+    /**
+     * Retorna os {@code k} primeiros livros pelo critério informado, sem ordenar o catálogo inteiro.
+     *
+     * @param livros      Os livros.
+     * @param criterio    O critério de ordenação.
+     * @param decrescente {@code true} para a ordem inversa (por exemplo, os mais caros ou os mais recentes).
+     * @param k           A quantidade de livros desejada.
+     * @return Os até {@code k} primeiros livros, já ordenados.
+     */
+    public static List<Livro> primeiros(Collection<Livro> livros, Criterio criterio, boolean decrescente, int k)
+    {
+        if(k <= 0 || livros.isEmpty( )) return new ArrayList<>( );
+
+        EventoOrdenacao evento = new EventoOrdenacao( );
+        evento.begin( );
+        Livro[] vetor = livros.toArray(new Livro[0]);
+        Comparator<Entrada> comparador = comparador(decrescente);
+
+        PriorityQueue<Entrada> heap = ForkJoinPool.commonPool( )
+            .invoke(new SelecaoPrimeiros(vetor, criterio, decrescente, comparador, k, 0, vetor.length));
+
+        Entrada[] selecionadas = heap.toArray(new Entrada[0]);
+        Arrays.sort(selecionadas, comparador);
+        evento.concluir(criterio.name( ), decrescente, vetor.length, k);
+        return livros(selecionadas);
+    }
+
+    /**
+     * Retorna os {@code k} primeiros livros em ordem crescente.
+     *
+     * @param livros   Os livros.
+     * @param criterio O critério de ordenação.
+     * @param k        A quantidade de livros desejada.
+     * @return Os até {@code k} primeiros livros, já ordenados.
+     */
+    public static List<Livro> primeiros(Collection<Livro> livros, Criterio criterio, int k) {
+        return primeiros(livros, criterio, false, k);
+    }
+
+    /**
+     * Ordena todos os livros usando todos os núcleos disponíveis.
+     *
+     * @param livros      Os livros.
+     * @param criterio    O critério de ordenação.
+     * @param decrescente {@code true} para a ordem inversa.
+     * @return Uma nova lista com todos os livros ordenados.
+     */
+    public static List<Livro> ordenar(Collection<Livro> livros, Criterio criterio, boolean decrescente)
+    {
+        EventoOrdenacao evento = new EventoOrdenacao( );
+        evento.begin( );
+        Livro[] vetor = livros.toArray(new Livro[0]);
+        Entrada[] entradas = new Entrada[vetor.length];
+        Arrays.parallelSetAll(entradas, i -> new Entrada(vetor[i], criterio, decrescente, i));
+        Arrays.parallelSort(entradas, comparador(decrescente));
+        evento.concluir(criterio.name( ), decrescente, vetor.length, -1);
+        return livros(entradas);
+    }
+
+    /**
+     * Ordena todos os livros em ordem crescente.
+     *
+     * @param livros   Os livros.
+     * @param criterio O critério de ordenação.
+     * @return Uma nova lista com todos os livros ordenados.
+     */
+    public static List<Livro> ordenar(Collection<Livro> livros, Criterio criterio) {
+        return ordenar(livros, criterio, false);
+    }
+
+    /**
+     * Cria o comparador das entradas: chave numérica, depois texto, depois posição original.
+     * As chaves numéricas já vêm invertidas na ordem decrescente; o texto é invertido aqui.
+     */
+    private static Comparator<Entrada> comparador(boolean decrescente)
+    {
+        return (a, b) -> {
+            int c = Long.compare(a.chave, b.chave);
+            if(c == 0 && a.texto != null)
+                c = decrescente ? b.texto.compareTo(a.texto) : a.texto.compareTo(b.texto);
+            return (c != 0) ? c : Integer.compare(a.posicao, b.posicao);
+        };
+    }
+
+    /**
+     * Extrai os livros de um vetor de entradas.
+     */
+    private static List<Livro> livros(Entrada[] entradas)
+    {
+        List<Livro> resultado = new ArrayList<>(entradas.length);
+        for(Entrada entrada : entradas)
+            resultado.add(entrada.livro);
+        return resultado;
+    }
+
+    /**
+     * Converte um {@code double} em um {@code long} com a mesma ordem.
+     */
+    private static long chaveOrdenavel(double valor)
+    {
+        long bits = Double.doubleToLongBits(valor);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Um livro com a sua chave de ordenação pré-calculada.
+     */
+    private static final class Entrada
+    {
+        final long chave;
+        final String texto;
+        final int posicao;
+        final Livro livro;
+
+        Entrada(Livro livro, Criterio criterio, boolean decrescente, int posicao)
+        {
+            this.livro = livro;
+            this.posicao = posicao;
+
+            long chave = 0;
+            String texto = null;
+            switch(criterio)
+            {
+                case TITULO:
+                    texto = IO.strNormalize(livro.getTitulo( ));
+                    break;
+                case PRECO:
+                    Double preco = livro.getPreco( );
+                    chave = (preco == null) ? SEM_VALOR : chaveOrdenavel(preco);
+                    break;
+                case DATA:
+                    LocalDate data = livro.getDataPublicacao( );
+                    chave = (data == null) ? SEM_VALOR : data.toEpochDay( );
+                    break;
+            }
+            // inverte a ordem sem mover os livros sem valor do final (~x evita o estouro de -x)
+            this.chave = (decrescente && chave != SEM_VALOR) ? ~chave : chave;
+            this.texto = texto;
+        }
+    }
+
+    /**
+     * Seleciona os {@code k} primeiros de um trecho do vetor com um heap limitado, cuja
+     * raiz é o pior elemento selecionado até o momento.
+     */
+    @SuppressWarnings("serial")
+    private static final class SelecaoPrimeiros extends RecursiveTask<PriorityQueue<Entrada>>
+    {
+        private final Livro[] livros;
+        private final Criterio criterio;
+        private final boolean decrescente;
+        private final Comparator<Entrada> comparador;
+        private final int k;
+        private final int inicio;
+        private final int fim;
+
+        SelecaoPrimeiros(Livro[] livros, Criterio criterio, boolean decrescente,
+                         Comparator<Entrada> comparador, int k, int inicio, int fim)
+        {
+            this.livros = livros;
+            this.criterio = criterio;
+            this.decrescente = decrescente;
+            this.comparador = comparador;
+            this.k = k;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected PriorityQueue<Entrada> compute( )
+        {
+            if(fim - inicio <= LIMIAR_TAREFA)
+            {
+                PriorityQueue<Entrada> heap = new PriorityQueue<>(Math.min(k, fim - inicio) + 1, comparador.reversed( ));
+                for(int i = inicio; i < fim; i++)
+                    oferecer(heap, new Entrada(livros[i], criterio, decrescente, i));
+                return heap;
+            }
+
+            int meio = (inicio + fim) >>> 1;
+            SelecaoPrimeiros direita = new SelecaoPrimeiros(livros, criterio, decrescente, comparador, k, meio, fim);
+            direita.fork( );
+            PriorityQueue<Entrada> heap = new SelecaoPrimeiros(livros, criterio, decrescente, comparador, k, inicio, meio).compute( );
+            for(Entrada entrada : direita.join( ))
+                oferecer(heap, entrada);
+            return heap;
+        }
+
+        /**
+         * Acrescenta a entrada se ela estiver entre as {@code k} melhores vistas até agora.
+         */
+        private void oferecer(PriorityQueue<Entrada> heap, Entrada entrada)
+        {
+            if(heap.size( ) < k)
+                heap.add(entrada);
+            else if(comparador.compare(entrada, heap.peek( )) < 0)
+            {
+                heap.poll( );
+                heap.add(entrada);
+            }
+        }
+    }
+}
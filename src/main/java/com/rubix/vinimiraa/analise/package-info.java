@@ -0,0 +1,17 @@
+/**
+ * Pacote que contém as rotinas de análise executadas sobre o catálogo inteiro.
+ * <p>
+ * Diferentemente dos DAOs, que atendem operações individuais, as classes deste pacote
+ * processam todos os livros de uma vez (por exemplo, a partir de
+ * {@link com.rubix.vinimiraa.dao.LivroDAO#getAll()}) e distribuem o trabalho entre os
+ * núcleos disponíveis com o framework fork/join.
+ * </p>
+ *
+ * <h2>Classes principais:</h2>
+ * <ul>
+ *   <li>{@link com.rubix.vinimiraa.analise.DetectorDuplicatas} – detecção de livros duplicados com MinHash e LSH.</li>
+ *   <li>{@link com.rubix.vinimiraa.analise.OrdenacaoLivros} – ordenação paralela e seleção dos primeiros livros por título, preço ou data.</li>
+ *   <li>{@link com.rubix.vinimiraa.analise.LivrosRelacionados} – cálculo dos livros relacionados ("mais como este") de cada livro.</li>
+ * </ul>
+ */
+package com.rubix.vinimiraa.analise;
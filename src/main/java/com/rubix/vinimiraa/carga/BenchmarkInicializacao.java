@@ -0,0 +1,132 @@
+package com.rubix.vinimiraa.carga;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mede o tempo de inicialização da aplicação de linha de comando, com e sem o arquivo
+ * de classes compartilhadas (AppCDS) gerado pelo perfil {@code cds} do Maven.
+ * <p>
+ * Cada execução inicia uma JVM nova com {@code java -jar}, envia as opções do menu pela
+ * entrada padrão e mede o tempo até o processo terminar. São medidos dois roteiros:
+ * {@code menu} (abrir e sair, sem acessar o banco) e {@code listar} (listar os livros e
+ * sair, o que inclui abrir o banco). As execuções usam uma pasta temporária como
+ * diretório de trabalho, sem tocar no banco da aplicação.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pcds package
+ * java -cp target/classes com.rubix.vinimiraa.carga.BenchmarkInicializacao \
+ *     --jar=target/book-manager-1.0-SNAPSHOT.jar --cds=target/book-manager.jsa --execucoes=20
+ * </pre>
+ */
+public class BenchmarkInicializacao
+{
+    /** Roteiros medidos: nome e entrada enviada ao menu. */
+    private static final Map<String, String> ROTEIROS = new LinkedHashMap<>( );
+    static
+    {
+        ROTEIROS.put("menu", "0\n");
+        ROTEIROS.put("listar", "2\n0\n");
+    }
+
+    /**
+     * Executa o benchmark.
+     * <p>
+     * Opções: {@code --jar=arquivo} (obrigatória), {@code --cds=arquivo}, {@code --execucoes=N}
+     * (padrão 20) e {@code --aquecimento=N} (padrão 3, descartadas).
+     * </p>
+     *
+     * @param args As opções.
+     * @throws IOException          Se um processo não puder ser iniciado.
+     * @throws InterruptedException Se a espera por um processo for interrompida.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        Map<String, String> opcoes = new LinkedHashMap<>( );
+        for(String arg : args)
+        {
+            int igual = arg.indexOf('=');
+            if(arg.startsWith("--") && igual > 0)
+                opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        if(!opcoes.containsKey("jar"))
+        {
+            System.err.println("Uso: BenchmarkInicializacao --jar=arquivo [--cds=arquivo] [--execucoes=N] [--aquecimento=N]");
+            return;
+        }
+
+        Path jar = Path.of(opcoes.get("jar")).toAbsolutePath( );
+        Path cds = opcoes.containsKey("cds") ? Path.of(opcoes.get("cds")).toAbsolutePath( ) : null;
+        int execucoes = Integer.parseInt(opcoes.getOrDefault("execucoes", "20"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "3"));
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString( );
+
+        Map<String, List<String>> configuracoes = new LinkedHashMap<>( );
+        configuracoes.put("sem CDS", List.of(java, "-Xshare:auto", "-jar", jar.toString( )));
+        if(cds != null && Files.exists(cds))
+            configuracoes.put("AppCDS", List.of(java, "-XX:SharedArchiveFile=" + cds, "-Xshare:auto", "-jar", jar.toString( )));
+        else if(cds != null)
+            System.err.println("Arquivo CDS não encontrado: " + cds + " (execute mvn -Pcds package)");
+
+        Path pasta = Files.createTempDirectory("benchmark-inicializacao");
+        System.out.println(String.format(Locale.ROOT, "%-8s %-8s %8s %8s %8s %8s", "config", "roteiro", "min", "p50", "p90", "max"));
+        for(Map.Entry<String, List<String>> configuracao : configuracoes.entrySet( ))
+        {
+            for(Map.Entry<String, String> roteiro : ROTEIROS.entrySet( ))
+            {
+                Histograma tempos = new Histograma( );
+                for(int i = 0; i < aquecimento + execucoes; i++)
+                {
+                    long nanos = executar(configuracao.getValue( ), roteiro.getValue( ), pasta);
+                    if(i >= aquecimento) tempos.registrar(nanos);
+                }
+                System.out.println(String.format(Locale.ROOT, "%-8s %-8s %8.1f %8.1f %8.1f %8.1f",
+                                                 configuracao.getKey( ), roteiro.getKey( ),
+                                                 tempos.getMinimo( ) / 1e6, tempos.percentil(50) / 1e6,
+                                                 tempos.percentil(90) / 1e6, tempos.getMaximo( ) / 1e6));
+            }
+        }
+        System.out.println("(tempos em milissegundos, " + execucoes + " execuções por linha)");
+
+        try (var arquivos = Files.walk(pasta)) {
+            arquivos.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile( ).delete( ));
+        }
+    }
+
+    /**
+     * Executa a aplicação uma vez e mede o tempo até o fim do processo.
+     *
+     * @param comando O comando da JVM.
+     * @param entrada O texto enviado à entrada padrão.
+     * @param pasta   O diretório de trabalho.
+     * @return O tempo decorrido, em nanossegundos.
+     */
+    private static long executar(List<String> comando, String entrada, Path pasta) throws IOException, InterruptedException
+    {
+        ProcessBuilder builder = new ProcessBuilder(new ArrayList<>(comando))
+            .directory(pasta.toFile( ))
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD);
+
+        long inicio = System.nanoTime( );
+        Process processo = builder.start( );
+        try (OutputStream out = processo.getOutputStream( )) {
+            out.write(entrada.getBytes(StandardCharsets.UTF_8));
+        }
+        int saida = processo.waitFor( );
+        long decorrido = System.nanoTime( ) - inicio;
+
+        if(saida != 0)
+            System.err.println("Execução terminou com código " + saida + ": " + String.join(" ", comando));
+        return decorrido;
+    }
+}
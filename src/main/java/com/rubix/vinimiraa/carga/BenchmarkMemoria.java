@@ -0,0 +1,121 @@
+package com.rubix.vinimiraa.carga;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.LivroEscritorUnicoRepository;
+
+/**
+ * Compara a memória ocupada pelo catálogo carregado com {@link LivroDAO#getAll()} e com
+ * {@link LivroDAO#getAllCompacto()}.
+ * <p>
+ * Um banco temporário é preenchido com livros sintéticos de {@link GeradorLivros}. Cada
+ * forma de leitura é medida pela diferença do heap ocupado, após coletas de lixo, antes
+ * e depois de carregar a lista, e o resultado é dividido pela quantidade de livros. O
+ * valor inclui a lista, os livros e as strings; é uma estimativa, pois depende do coletor.
+ * </p>
+ *
+ * <pre>
+ * java -cp target/classes:... com.rubix.vinimiraa.carga.BenchmarkMemoria --livros=500000
+ * </pre>
+ */
+public class BenchmarkMemoria
+{
+    /**
+     * Executa o benchmark.
+     * <p>
+     * Opções: {@code --livros=N} (padrão 200000) e {@code --semente=N} (padrão 42).
+     * </p>
+     *
+     * @param args As opções.
+     * @throws IOException Se o banco temporário não puder ser criado.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int quantidade = 200_000;
+        long semente = 42;
+        for(String arg : args)
+        {
+            if(arg.startsWith("--livros=")) quantidade = Integer.parseInt(arg.substring(9));
+            else if(arg.startsWith("--semente=")) semente = Long.parseLong(arg.substring(10));
+        }
+
+        Path banco = Files.createTempFile("benchmark-memoria", ".db");
+        try
+        {
+            preencher(banco, quantidade, semente);
+
+            LivroDAO dao = new LivroDAO(banco.toString( ));
+            long antes = medir(dao::getAll);
+            long depois = medir(dao::getAllCompacto);
+            dao.disconnect( );
+
+            System.out.println(String.format(Locale.ROOT, "%-40s %12s", "representação", "bytes/livro"));
+            System.out.println(String.format(Locale.ROOT, "%-40s %12d", "getAll (LinkedList<Livro>)", antes));
+            System.out.println(String.format(Locale.ROOT, "%-40s %12d", "getAllCompacto (ArrayList<LivroCompacto>)", depois));
+            System.out.println(String.format(Locale.ROOT, "(%d livros; redução de %.0f%%)",
+                                             quantidade, 100.0 * (antes - depois) / antes));
+        } finally {
+            for(String sufixo : new String[] { "", "-wal", "-shm" })
+                Files.deleteIfExists(Path.of(banco + sufixo));
+        }
+    }
+
+    /**
+     * Grava os livros sintéticos em lotes pela thread de escrita única.
+     */
+    private static void preencher(Path banco, int quantidade, long semente)
+    {
+        GeradorLivros gerador = new GeradorLivros( );
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        LivroEscritorUnicoRepository repositorio = new LivroEscritorUnicoRepository(banco.toString( ), 1,
+                                                                                   LivroEscritorUnicoRepository.CAPACIDADE_FILA_PADRAO);
+        CompletableFuture<Boolean> ultima = CompletableFuture.completedFuture(true);
+        for(int i = 0; i < quantidade; i++)
+            ultima = repositorio.insertAsync(gerador.gerar(aleatorio));
+        ultima.join( );
+        repositorio.disconnect( );
+    }
+
+    /**
+     * Mede quantos bytes do heap a lista carregada ocupa por livro.
+     */
+    private static long medir(Supplier<? extends List<?>> carga)
+    {
+        long antes = heapOcupado( );
+        List<?> livros = carga.get( );
+        long depois = heapOcupado( );
+        int total = Math.max(1, livros.size( ));
+        Reference.reachabilityFence(livros);
+        return (depois - antes) / total;
+    }
+
+    /**
+     * Retorna o heap ocupado após algumas coletas de lixo.
+     */
+    private static long heapOcupado( )
+    {
+        Runtime runtime = Runtime.getRuntime( );
+        long ocupado = Long.MAX_VALUE;
+        for(int i = 0; i < 5; i++)
+        {
+            System.gc( );
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread( ).interrupt( );
+                break;
+            }
+            ocupado = Math.min(ocupado, runtime.totalMemory( ) - runtime.freeMemory( ));
+        }
+        return ocupado;
+    }
+}
@@ -0,0 +1,620 @@
+package com.rubix.vinimiraa.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.LivroEscritorUnicoRepository;
+import com.rubix.vinimiraa.dao.LivroMemoriaRepository;
+import com.rubix.vinimiraa.dao.LivroMmapRepository;
+import com.rubix.vinimiraa.dao.LivroParticionadoRepository;
+import com.rubix.vinimiraa.dao.LivroRepository;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Gerador de carga para dimensionar o armazenamento de livros.
+ * <p>
+ * Várias threads (de plataforma ou virtuais) executam, durante um tempo fixo, operações
+ * sorteadas conforme uma mistura configurável de inserções, buscas, atualizações,
+ * exclusões e listagens sobre um {@link LivroRepository}. Cada thread mede a latência de
+ * cada operação em seus próprios {@link Histograma}s, sem disputa entre threads, e os
+ * histogramas são somados ao final. O resultado traz vazão e percentis por operação.
+ * </p>
+ *
+ * <p>
+ * Por padrão, todas as threads compartilham o repositório informado. Com
+ * {@link Builder#repositorioPorThread(Supplier)}, cada thread abre o seu próprio, como
+ * clientes independentes; é o caso do {@link LivroDAO}, que tem uma única conexão JDBC e,
+ * compartilhado, mediria apenas essa conexão com as operações em fila.
+ * </p>
+ *
+ * <p>Uso pela linha de comando:</p>
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.rubix.vinimiraa.carga.GeradorCarga \
+ *     -Dexec.args="--threads=16 --virtuais --duracao=60 --mix=insert:10,get:70,update:15,delete:5 --csv=carga.csv"
+ * </pre>
+ *
+ * <p>Uso pelo código:</p>
+ * <pre>{@code
+ * GeradorCarga.Resultado resultado = new GeradorCarga.Builder(repositorio)
+ *     .threads(8)
+ *     .duracao(Duration.ofSeconds(30))
+ *     .peso(GeradorCarga.Operacao.BUSCA, 80)
+ *     .build( )
+ *     .executar( );
+ * resultado.imprimir(System.out);
+ * }</pre>
+ */
+public class GeradorCarga
+{
+    /**
+     * Operações sorteadas pelo gerador, com o nome usado na opção {@code --mix}.
+     */
+    public enum Operacao
+    {
+        INSERCAO("insert"),
+        BUSCA("get"),
+        ATUALIZACAO("update"),
+        EXCLUSAO("delete"),
+        LISTAGEM("list");
+
+        private final String nome;
+
+        Operacao(String nome) {
+            this.nome = nome;
+        }
+
+        public String getNome( ) {
+            return nome;
+        }
+
+        /**
+         * Retorna a operação com o nome informado.
+         *
+         * @param nome O nome usado na linha de comando.
+         * @return A operação.
+         * @throws IllegalArgumentException Se o nome não corresponder a nenhuma operação.
+         */
+        public static Operacao deNome(String nome)
+        {
+            for(Operacao operacao : values( ))
+                if(operacao.nome.equalsIgnoreCase(nome)) return operacao;
+            throw new IllegalArgumentException("Operação desconhecida: " + nome);
+        }
+    }
+
+    private final LivroRepository repositorio;
+    private final Supplier<? extends LivroRepository> repositorioPorThread;
+    private final int threads;
+    private final boolean virtuais;
+    private final Duration duracao;
+    private final int catalogoInicial;
+    private final long semente;
+    private final int[] pesos;
+    private final GeradorLivros gerador = new GeradorLivros( );
+
+    /** Maior ID inserido; as operações por ID sorteiam entre 1 e ele. */
+    private final AtomicInteger maiorId = new AtomicInteger( );
+
+    private GeradorCarga(Builder builder)
+    {
+        this.repositorio = builder.repositorio;
+        this.repositorioPorThread = builder.repositorioPorThread;
+        this.threads = builder.threads;
+        this.virtuais = builder.virtuais;
+        this.duracao = builder.duracao;
+        this.catalogoInicial = builder.catalogoInicial;
+        this.semente = builder.semente;
+
+        // pesos acumulados, na ordem das operações
+        this.pesos = new int[Operacao.values( ).length];
+        int soma = 0;
+        for(Operacao operacao : Operacao.values( ))
+        {
+            soma += builder.pesos.getOrDefault(operacao, 0);
+            pesos[operacao.ordinal( )] = soma;
+        }
+        if(soma <= 0)
+            throw new IllegalArgumentException("A mistura de operações precisa de ao menos um peso positivo.");
+    }
+
+    /**
+     * Preenche o catálogo inicial e executa a carga até o fim da duração configurada.
+     *
+     * @return As estatísticas de cada operação.
+     * @throws InterruptedException Se a thread for interrompida enquanto espera as threads de carga.
+     */
+    public Resultado executar( ) throws InterruptedException
+    {
+        SplittableRandom raiz = new SplittableRandom(semente);
+
+        SplittableRandom aleatorio = raiz.split( );
+        for(int i = 0; i < catalogoInicial; i++)
+            inserir(repositorio, aleatorio);
+
+        List<SplittableRandom> aleatorios = new ArrayList<>( );
+        for(int i = 0; i < threads; i++)
+            aleatorios.add(raiz.split( ));
+
+        Resultado resultado = new Resultado(threads, virtuais);
+        long limite = System.nanoTime( ) + duracao.toNanos( );
+        long inicio = System.nanoTime( );
+
+        List<Thread> trabalhadores = new ArrayList<>( );
+        for(int i = 0; i < threads; i++)
+        {
+            SplittableRandom proprio = aleatorios.get(i);
+            Runnable tarefa = ( ) -> resultado.somar(trabalhar(proprio, limite));
+            trabalhadores.add(virtuais ? Thread.ofVirtual( ).name("carga-", i).start(tarefa)
+                                       : Thread.ofPlatform( ).name("carga-", i).start(tarefa));
+        }
+        for(Thread trabalhador : trabalhadores)
+            trabalhador.join( );
+
+        resultado.segundos = (System.nanoTime( ) - inicio) / 1e9;
+        return resultado;
+    }
+
+    /**
+     * Laço de uma thread de carga, com o repositório compartilhado ou com um próprio,
+     * fechado ao final.
+     *
+     * @param aleatorio A fonte de aleatoriedade da thread.
+     * @param limite    O instante final, em {@link System#nanoTime()}.
+     * @return As estatísticas da thread.
+     */
+    private Map<Operacao, Estatistica> trabalhar(SplittableRandom aleatorio, long limite)
+    {
+        if(repositorioPorThread == null)
+            return trabalhar(repositorio, aleatorio, limite);
+
+        LivroRepository proprio = repositorioPorThread.get( );
+        try {
+            return trabalhar(proprio, aleatorio, limite);
+        } finally {
+            proprio.disconnect( );
+        }
+    }
+
+    /**
+     * Laço de uma thread de carga sobre um repositório.
+     *
+     * @param repositorio O repositório usado pela thread.
+     * @param aleatorio   A fonte de aleatoriedade da thread.
+     * @param limite      O instante final, em {@link System#nanoTime()}.
+     * @return As estatísticas da thread.
+     */
+    private Map<Operacao, Estatistica> trabalhar(LivroRepository repositorio, SplittableRandom aleatorio, long limite)
+    {
+        Map<Operacao, Estatistica> estatisticas = new EnumMap<>(Operacao.class);
+        for(Operacao operacao : Operacao.values( ))
+            estatisticas.put(operacao, new Estatistica( ));
+
+        long agora = System.nanoTime( );
+        while(agora < limite)
+        {
+            Operacao operacao = sortear(aleatorio);
+            boolean sucesso;
+            try {
+                sucesso = executar(repositorio, operacao, aleatorio);
+            } catch (RuntimeException e) {
+                sucesso = false;
+            }
+            long fim = System.nanoTime( );
+
+            Estatistica estatistica = estatisticas.get(operacao);
+            estatistica.latencias.registrar(fim - agora);
+            if(!sucesso) estatistica.erros++;
+            agora = fim;
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Executa uma operação.
+     *
+     * @return {@code false} se a operação falhou. Uma busca ou atualização que não encontra
+     *         o livro (por exemplo, já excluído) não é uma falha.
+     */
+    private boolean executar(LivroRepository repositorio, Operacao operacao, SplittableRandom aleatorio)
+    {
+        switch (operacao)
+        {
+            case INSERCAO:
+                return inserir(repositorio, aleatorio);
+            case BUSCA:
+                repositorio.getById(idSorteado(aleatorio));
+                return true;
+            case ATUALIZACAO:
+                // lê, altera e grava, como faz um cliente de verdade
+                Livro livro = repositorio.getById(idSorteado(aleatorio));
+                if(livro == null) return true;
+                livro.setPreco(gerador.gerar(aleatorio).getPreco( ));
+                return repositorio.update(livro);
+            case EXCLUSAO:
+                return repositorio.delete(idSorteado(aleatorio));
+            case LISTAGEM:
+                return repositorio.getAll( ) != null;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Insere um livro sintético e atualiza o maior ID conhecido.
+     */
+    private boolean inserir(LivroRepository repositorio, SplittableRandom aleatorio)
+    {
+        Livro livro = gerador.gerar(aleatorio);
+        boolean inserido = repositorio.insert(livro);
+        if(inserido)
+            maiorId.accumulateAndGet(livro.getId( ), Math::max);
+        return inserido;
+    }
+
+    /**
+     * Sorteia um ID entre 1 e o maior ID inserido.
+     */
+    private int idSorteado(SplittableRandom aleatorio) {
+        return 1 + aleatorio.nextInt(Math.max(1, maiorId.get( )));
+    }
+
+    /**
+     * Sorteia uma operação conforme os pesos.
+     */
+    private Operacao sortear(SplittableRandom aleatorio)
+    {
+        int valor = aleatorio.nextInt(pesos[pesos.length - 1]);
+        for(Operacao operacao : Operacao.values( ))
+            if(valor < pesos[operacao.ordinal( )]) return operacao;
+        return Operacao.BUSCA;
+    }
+
+    /**
+     * Latências e erros de uma operação.
+     */
+    public static class Estatistica
+    {
+        private final Histograma latencias = new Histograma( );
+        private long erros;
+
+        public Histograma getLatencias( ) {
+            return latencias;
+        }
+
+        public long getErros( ) {
+            return erros;
+        }
+    }
+
+    /**
+     * Resultado de uma execução: estatísticas por operação e duração real.
+     */
+    public static class Resultado
+    {
+        private static final double[] PERCENTIS = { 50, 90, 99, 99.9 };
+
+        private final Map<Operacao, Estatistica> estatisticas = new EnumMap<>(Operacao.class);
+        private final int threads;
+        private final boolean virtuais;
+        private double segundos;
+
+        private Resultado(int threads, boolean virtuais)
+        {
+            this.threads = threads;
+            this.virtuais = virtuais;
+            for(Operacao operacao : Operacao.values( ))
+                estatisticas.put(operacao, new Estatistica( ));
+        }
+
+        /**
+         * Acrescenta as estatísticas de uma thread.
+         */
+        private synchronized void somar(Map<Operacao, Estatistica> parciais)
+        {
+            parciais.forEach((operacao, parcial) -> {
+                Estatistica total = estatisticas.get(operacao);
+                total.latencias.somar(parcial.latencias);
+                total.erros += parcial.erros;
+            });
+        }
+
+        /**
+         * Retorna as estatísticas de uma operação.
+         *
+         * @param operacao A operação.
+         * @return As estatísticas, vazias se a operação não foi executada.
+         */
+        public Estatistica getEstatistica(Operacao operacao) {
+            return estatisticas.get(operacao);
+        }
+
+        /**
+         * Retorna a duração real da carga, em segundos.
+         *
+         * @return A duração medida.
+         */
+        public double getSegundos( ) {
+            return segundos;
+        }
+
+        /**
+         * Retorna a vazão de uma operação.
+         *
+         * @param operacao A operação.
+         * @return Operações por segundo.
+         */
+        public double vazao(Operacao operacao) {
+            return (segundos > 0) ? estatisticas.get(operacao).latencias.getTotal( ) / segundos : 0;
+        }
+
+        /**
+         * Imprime uma tabela com as estatísticas de cada operação, com latências em microssegundos.
+         *
+         * @param saida O destino da tabela.
+         */
+        public void imprimir(PrintStream saida)
+        {
+            saida.println(String.format(Locale.ROOT, "%d threads %s, %.1f s", threads,
+                                        virtuais ? "virtuais" : "de plataforma", segundos));
+            saida.println(String.format(Locale.ROOT, "%-8s %10s %7s %10s %9s %9s %9s %9s %9s %10s",
+                                        "operacao", "total", "erros", "ops/s", "media", "p50", "p90", "p99", "p99.9", "max"));
+            for(Operacao operacao : Operacao.values( ))
+            {
+                Histograma h = estatisticas.get(operacao).latencias;
+                if(h.getTotal( ) == 0) continue;
+
+                saida.println(String.format(Locale.ROOT, "%-8s %10d %7d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %10.1f",
+                                            operacao.getNome( ), h.getTotal( ), estatisticas.get(operacao).erros, vazao(operacao),
+                                            h.getMedia( ) / 1e3, h.percentil(PERCENTIS[0]) / 1e3, h.percentil(PERCENTIS[1]) / 1e3,
+                                            h.percentil(PERCENTIS[2]) / 1e3, h.percentil(PERCENTIS[3]) / 1e3, h.getMaximo( ) / 1e3));
+            }
+            saida.println("(latências em microssegundos)");
+        }
+
+        /**
+         * Grava as estatísticas em um arquivo CSV, uma linha por operação,
+         * com latências em microssegundos.
+         *
+         * @param arquivo O arquivo de destino.
+         * @return {@code true} se o arquivo foi gravado,
+         *         {@code false} caso contrário.
+         */
+        public boolean gravarCsv(Path arquivo)
+        {
+            boolean gravado = false;
+
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(arquivo)))
+            {
+                out.println("operacao,threads,virtuais,segundos,total,erros,ops_s,media_us,p50_us,p90_us,p99_us,p999_us,max_us");
+                for(Operacao operacao : Operacao.values( ))
+                {
+                    Histograma h = estatisticas.get(operacao).latencias;
+                    out.println(String.format(Locale.ROOT, "%s,%d,%b,%.3f,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                                              operacao.getNome( ), threads, virtuais, segundos, h.getTotal( ),
+                                              estatisticas.get(operacao).erros, vazao(operacao), h.getMedia( ) / 1e3,
+                                              h.percentil(50) / 1e3, h.percentil(90) / 1e3, h.percentil(99) / 1e3,
+                                              h.percentil(99.9) / 1e3, h.getMaximo( ) / 1e3));
+                }
+                gravado = !out.checkError( );
+            } catch (IOException ioe) {
+                System.err.println("Erro ao gravar CSV: " + ioe.getMessage( ));
+            }
+
+            return gravado;
+        }
+    }
+
+    /**
+     * Builder para configurar um {@link GeradorCarga}.
+     * Por padrão: 4 threads de plataforma, 10 segundos, 1000 livros iniciais e a mistura
+     * 10% inserções, 70% buscas, 15% atualizações e 5% exclusões.
+     */
+    public static class Builder
+    {
+        private final LivroRepository repositorio;
+        private Supplier<? extends LivroRepository> repositorioPorThread;
+        private int threads = 4;
+        private boolean virtuais = false;
+        private Duration duracao = Duration.ofSeconds(10);
+        private int catalogoInicial = 1000;
+        private long semente = 42;
+        private final Map<Operacao, Integer> pesos = new EnumMap<>(Map.of(
+            Operacao.INSERCAO, 10, Operacao.BUSCA, 70, Operacao.ATUALIZACAO, 15, Operacao.EXCLUSAO, 5));
+
+        public Builder(LivroRepository repositorio) {
+            this.repositorio = repositorio;
+        }
+
+        /**
+         * Faz cada thread de carga abrir o seu próprio repositório, fechado ao final da carga.
+         * O repositório do construtor continua recebendo o catálogo inicial e deve usar o
+         * mesmo armazenamento (por exemplo, o mesmo arquivo de banco).
+         *
+         * @param fabrica Cria o repositório de cada thread, ou {@code null} para compartilhar
+         *                o repositório do construtor.
+         * @return Este builder.
+         */
+        public Builder repositorioPorThread(Supplier<? extends LivroRepository> fabrica) {
+            this.repositorioPorThread = fabrica;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder virtuais(boolean virtuais) {
+            this.virtuais = virtuais;
+            return this;
+        }
+
+        public Builder duracao(Duration duracao) {
+            this.duracao = duracao;
+            return this;
+        }
+
+        public Builder catalogoInicial(int catalogoInicial) {
+            this.catalogoInicial = catalogoInicial;
+            return this;
+        }
+
+        public Builder semente(long semente) {
+            this.semente = semente;
+            return this;
+        }
+
+        /**
+         * Define o peso relativo de uma operação na mistura.
+         *
+         * @param operacao A operação.
+         * @param peso     O peso (0 remove a operação da mistura).
+         * @return Este builder.
+         */
+        public Builder peso(Operacao operacao, int peso) {
+            this.pesos.put(operacao, peso);
+            return this;
+        }
+
+        /**
+         * Substitui a mistura por uma descrição como {@code insert:10,get:80,list:10}.
+         *
+         * @param mistura A descrição da mistura.
+         * @return Este builder.
+         * @throws IllegalArgumentException Se a descrição for inválida.
+         */
+        public Builder mistura(String mistura)
+        {
+            pesos.clear( );
+            for(String parte : mistura.split(","))
+            {
+                String[] chaveValor = parte.trim( ).split(":");
+                if(chaveValor.length != 2)
+                    throw new IllegalArgumentException("Mistura inválida: " + parte);
+                pesos.put(Operacao.deNome(chaveValor[0].trim( )), Integer.parseInt(chaveValor[1].trim( )));
+            }
+            return this;
+        }
+
+        public GeradorCarga build( ) {
+            return new GeradorCarga(this);
+        }
+    }
+
+    /**
+     * Executa o gerador de carga pela linha de comando.
+     * <p>
+     * Opções: {@code --threads=N}, {@code --virtuais}, {@code --duracao=segundos},
+     * {@code --catalogo=N}, {@code --mix=insert:10,get:70,...}, {@code --semente=N},
+     * {@code --armazenamento=sqlite|escritor|memoria|mmap|particionado}, {@code --banco=arquivo},
+     * {@code --particoes=N} e {@code --csv=arquivo}.
+     * </p>
+     *
+     * <p>
+     * No armazenamento {@code sqlite}, cada thread usa o seu próprio {@link LivroDAO}, isto é,
+     * a sua própria conexão ao mesmo arquivo. No {@code particionado}, {@code --banco} sem a
+     * extensão {@code .db} é o prefixo das partições.
+     * </p>
+     *
+     * @param args As opções.
+     */
+    public static void main(String[] args)
+    {
+        Map<String, String> opcoes = new HashMap<>( );
+        for(String arg : args)
+        {
+            if(!arg.startsWith("--"))
+            {
+                uso("Opção inválida: " + arg);
+                return;
+            }
+            int igual = arg.indexOf('=');
+            opcoes.put((igual < 0) ? arg.substring(2) : arg.substring(2, igual), (igual < 0) ? "true" : arg.substring(igual + 1));
+        }
+
+        String banco = opcoes.getOrDefault("banco", "carga.db");
+        String armazenamento = opcoes.getOrDefault("armazenamento", "sqlite");
+        LivroRepository repositorio;
+        Supplier<LivroRepository> repositorioPorThread = null;
+        switch (armazenamento)
+        {
+            case "sqlite":
+                repositorio = new LivroDAO(banco);
+                repositorioPorThread = ( ) -> new LivroDAO(banco);
+                break;
+            case "escritor":
+                repositorio = new LivroEscritorUnicoRepository(banco, Runtime.getRuntime( ).availableProcessors( ),
+                                                               LivroEscritorUnicoRepository.CAPACIDADE_FILA_PADRAO);
+                break;
+            case "memoria":
+                repositorio = new LivroMemoriaRepository( );
+                break;
+            case "mmap":
+                repositorio = new LivroMmapRepository(Path.of(banco));
+                break;
+            case "particionado":
+                try {
+                    repositorio = new LivroParticionadoRepository(banco.replaceFirst("\\.db$", ""),
+                                                                  Integer.parseInt(opcoes.getOrDefault("particoes", "4")));
+                } catch (IllegalArgumentException e) {
+                    uso(e.getMessage( ));
+                    return;
+                }
+                break;
+            default:
+                uso("Armazenamento desconhecido: " + armazenamento);
+                return;
+        }
+
+        try
+        {
+            Builder builder = new Builder(repositorio).repositorioPorThread(repositorioPorThread);
+            if(opcoes.containsKey("threads")) builder.threads(Integer.parseInt(opcoes.get("threads")));
+            if(opcoes.containsKey("virtuais")) builder.virtuais(Boolean.parseBoolean(opcoes.get("virtuais")));
+            if(opcoes.containsKey("duracao")) builder.duracao(Duration.ofSeconds(Long.parseLong(opcoes.get("duracao"))));
+            if(opcoes.containsKey("catalogo")) builder.catalogoInicial(Integer.parseInt(opcoes.get("catalogo")));
+            if(opcoes.containsKey("semente")) builder.semente(Long.parseLong(opcoes.get("semente")));
+            if(opcoes.containsKey("mix")) builder.mistura(opcoes.get("mix"));
+
+            Resultado resultado = builder.build( ).executar( );
+            resultado.imprimir(System.out);
+
+            if(opcoes.containsKey("csv") && resultado.gravarCsv(Path.of(opcoes.get("csv"))))
+                System.out.println("Resultado gravado em " + opcoes.get("csv"));
+        } catch (IllegalArgumentException e) {
+            uso(e.getMessage( ));
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+        } finally {
+            repositorio.disconnect( );
+        }
+    }
+
+    /**
+     * Mostra o erro e as opções aceitas pela linha de comando.
+     *
+     * @param erro A mensagem de erro.
+     */
+    private static void uso(String erro)
+    {
+        System.err.println("Erro: " + erro);
+        System.err.println("Uso: GeradorCarga [--threads=N] [--virtuais] [--duracao=s] [--catalogo=N]");
+        System.err.println("                  [--mix=insert:10,get:70,update:15,delete:5,list:0] [--semente=N]");
+        System.err.println("                  [--armazenamento=sqlite|escritor|memoria|mmap|particionado]");
+        System.err.println("                  [--banco=arquivo] [--particoes=N] [--csv=arquivo]");
+    }
+}
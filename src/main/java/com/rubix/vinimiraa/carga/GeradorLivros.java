@@ -0,0 +1,166 @@
+package com.rubix.vinimiraa.carga;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Gerador de livros sintéticos com distribuições próximas às de um catálogo real.
+ * <p>
+ * Poucos autores e editoras concentram a maior parte dos livros, e poucas palavras
+ * aparecem na maioria dos títulos: as escolhas seguem uma distribuição de Zipf
+ * (o item de posição {@code k} é escolhido com peso {@code 1/k^s}). Os preços seguem
+ * uma distribuição log-normal com mediana próxima de R$ 45,00, a maioria das datas de
+ * publicação é recente e cerca de 10% dos livros não têm ISBN.
+ * </p>
+ *
+ * <p>
+ * O gerador não guarda estado mutável: a aleatoriedade vem do {@link RandomGenerator}
+ * passado a cada chamada, de modo que cada thread usa o seu e uma mesma semente
+ * reproduz a mesma sequência de livros.
+ * </p>
+ */
+public class GeradorLivros
+{
+    private static final String[] ARTIGOS = { "O", "A", "Os", "As", "Um", "Uma", "" };
+
+    private static final String[] SUBSTANTIVOS = {
+        "Tempo", "Casa", "Mar", "Noite", "Vento", "Sombra", "Cidade", "Rio", "Jardim", "Caminho",
+        "Silêncio", "Memória", "Ilha", "Estrela", "Guerra", "Livro", "Segredo", "Viagem", "Coração", "Terra",
+        "Luz", "Espelho", "Sertão", "Fogo", "Janela", "Montanha", "Porto", "Floresta", "Lua", "Deserto",
+        "Herança", "Promessa", "Labirinto", "Tempestade", "Carta", "Ponte", "Voz", "Sonho", "Destino", "Fronteira"
+    };
+
+    private static final String[] COMPLEMENTOS = {
+        "Perdido", "Esquecida", "Final", "Sem Fim", "do Norte", "de Pedra", "de Vidro", "Eterno", "Secreto", "Distante",
+        "da Meia-Noite", "de Inverno", "do Sul", "Partido", "Invisível", "Antigo", "Azul", "em Chamas", "Profundo", "Quebrado"
+    };
+
+    private static final String[] NOMES = {
+        "Ana", "João", "Maria", "Pedro", "Clarice", "José", "Cecília", "Carlos", "Lygia", "Jorge",
+        "Rachel", "Graciliano", "Hilda", "Érico", "Adélia", "Rubem", "Conceição", "Ariano", "Nélida", "Milton"
+    };
+
+    private static final String[] SOBRENOMES = {
+        "Silva", "Souza", "Oliveira", "Santos", "Pereira", "Lima", "Carvalho", "Ferreira", "Almeida", "Costa",
+        "Ribeiro", "Martins", "Rocha", "Barbosa", "Araújo", "Moraes", "Queiroz", "Veríssimo", "Telles", "Andrade"
+    };
+
+    private static final String[] EDITORAS = {
+        "Companhia das Letras", "Rocco", "Record", "Intrínseca", "Sextante", "Globo Livros",
+        "Martins Fontes", "Saraiva", "Planeta", "Aleph", "Todavia", "Editora 34"
+    };
+
+    /** Autores disponíveis, combinando nomes e sobrenomes. */
+    private final String[] autores;
+
+    private final Zipf artigos = new Zipf(ARTIGOS.length, 0.8);
+    private final Zipf substantivos = new Zipf(SUBSTANTIVOS.length, 1.0);
+    private final Zipf complementos = new Zipf(COMPLEMENTOS.length, 1.0);
+    private final Zipf escolhaAutor;
+    private final Zipf escolhaEditora = new Zipf(EDITORAS.length, 1.2);
+
+    /**
+     * Construtor que usa 400 autores diferentes.
+     */
+    public GeradorLivros( ) {
+        this(400);
+    }
+
+    /**
+     * Construtor que define a quantidade de autores diferentes.
+     *
+     * @param quantidadeAutores A quantidade de autores (até 400).
+     */
+    public GeradorLivros(int quantidadeAutores)
+    {
+        int quantidade = Math.max(1, Math.min(quantidadeAutores, NOMES.length * SOBRENOMES.length));
+        autores = new String[quantidade];
+        for(int i = 0; i < quantidade; i++)
+            autores[i] = NOMES[i % NOMES.length] + " " + SOBRENOMES[(i / NOMES.length + i) % SOBRENOMES.length];
+        escolhaAutor = new Zipf(quantidade, 1.1);
+    }
+
+    /**
+     * Gera um livro novo, sem ID.
+     *
+     * @param aleatorio A fonte de aleatoriedade.
+     * @return O livro gerado.
+     */
+    public Livro gerar(RandomGenerator aleatorio)
+    {
+        Livro.Builder builder = new Livro.Builder(titulo(aleatorio),
+                                                  autores[escolhaAutor.proximo(aleatorio)],
+                                                  preco(aleatorio));
+
+        if(aleatorio.nextDouble( ) < 0.95)
+            builder.editora(EDITORAS[escolhaEditora.proximo(aleatorio)]);
+        if(aleatorio.nextDouble( ) < 0.9)
+            builder.dataPublicacao(data(aleatorio));
+        if(aleatorio.nextDouble( ) < 0.9)
+            builder.isbn(aleatorio.nextInt(1, Integer.MAX_VALUE));
+
+        return builder.build( );
+    }
+
+    /**
+     * Gera um título como "A Sombra do Norte" ou "Memória Esquecida".
+     */
+    private String titulo(RandomGenerator aleatorio)
+    {
+        String artigo = ARTIGOS[artigos.proximo(aleatorio)];
+        String titulo = SUBSTANTIVOS[substantivos.proximo(aleatorio)];
+        if(aleatorio.nextDouble( ) < 0.7)
+            titulo += " " + COMPLEMENTOS[complementos.proximo(aleatorio)];
+        return artigo.isEmpty( ) ? titulo : artigo + " " + titulo;
+    }
+
+    /**
+     * Sorteia um preço log-normal, com mediana de R$ 45,00, arredondado em centavos.
+     */
+    private static double preco(RandomGenerator aleatorio)
+    {
+        double preco = Math.exp(Math.log(45.0) + 0.6 * aleatorio.nextGaussian( ));
+        return Math.round(Math.min(Math.max(preco, 5.0), 500.0) * 100) / 100.0;
+    }
+
+    /**
+     * Sorteia uma data de publicação: 80% entre 1990 e 2025, o restante desde 1850.
+     */
+    private static LocalDate data(RandomGenerator aleatorio)
+    {
+        LocalDate inicio = (aleatorio.nextDouble( ) < 0.8) ? LocalDate.of(1990, 1, 1) : LocalDate.of(1850, 1, 1);
+        long dias = LocalDate.of(2025, 12, 31).toEpochDay( ) - inicio.toEpochDay( );
+        return inicio.plusDays(aleatorio.nextLong(dias + 1));
+    }
+
+    /**
+     * Sorteio de posições {@code 0..n-1} com peso {@code 1/(k+1)^s}, por busca binária
+     * nos pesos acumulados.
+     */
+    private static class Zipf
+    {
+        private final double[] acumulado;
+
+        Zipf(int n, double s)
+        {
+            acumulado = new double[n];
+            double soma = 0;
+            for(int k = 0; k < n; k++)
+            {
+                soma += 1.0 / Math.pow(k + 1, s);
+                acumulado[k] = soma;
+            }
+            for(int k = 0; k < n; k++)
+                acumulado[k] /= soma;
+        }
+
+        int proximo(RandomGenerator aleatorio)
+        {
+            int i = Arrays.binarySearch(acumulado, aleatorio.nextDouble( ));
+            return Math.min((i >= 0) ? i : -i - 1, acumulado.length - 1);
+        }
+    }
+}
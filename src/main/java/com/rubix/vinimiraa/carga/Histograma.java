@@ -0,0 +1,160 @@
+package com.rubix.vinimiraa.carga;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograma de latências com precisão relativa fixa, no estilo do HdrHistogram.
+ * <p>
+ * Os valores até 255 têm contadores exatos; acima disso, cada potência de 2 é dividida
+ * em 128 faixas de mesma largura, o que limita o erro de qualquer percentil a menos de
+ * 0,8% do valor, com memória constante (cerca de 37 KiB) independente da quantidade de
+ * registros. Valores acima de {@link #VALOR_MAXIMO} são contados como o máximo.
+ * </p>
+ *
+ * <p>
+ * Registrar um valor apenas incrementa um contador, sem alocação. Não é thread-safe:
+ * cada thread mantém seus próprios histogramas, combinados ao final com {@link #somar(Histograma)}.
+ * </p>
+ */
+public class Histograma
+{
+    /** Bits de precisão de cada potência de 2. */
+    private static final int BITS_FAIXA = 8;
+
+    /** Metade da quantidade de faixas por potência de 2. */
+    private static final int MEIA_FAIXA = 1 << (BITS_FAIXA - 1);
+
+    /** Maior valor registrado com precisão: uma hora, em nanossegundos. */
+    public static final long VALOR_MAXIMO = TimeUnit.HOURS.toNanos(1);
+
+    /** Contadores de cada faixa. */
+    private final long[] contadores = new long[indice(VALOR_MAXIMO) + 1];
+
+    /** Quantidade de valores registrados. */
+    private long total;
+
+    /** Soma dos valores registrados. */
+    private long soma;
+
+    /** Menor valor registrado. */
+    private long minimo = Long.MAX_VALUE;
+
+    /** Maior valor registrado. */
+    private long maximo;
+
+    /**
+     * Registra um valor.
+     *
+     * @param valor O valor (por exemplo, uma latência em nanossegundos); negativos contam como 0.
+     */
+    public void registrar(long valor)
+    {
+        long v = Math.min(Math.max(valor, 0), VALOR_MAXIMO);
+        contadores[indice(v)]++;
+        total++;
+        soma += v;
+        minimo = Math.min(minimo, v);
+        maximo = Math.max(maximo, v);
+    }
+
+    /**
+     * Acrescenta a este histograma os valores de outro.
+     *
+     * @param outro O histograma a ser somado.
+     */
+    public void somar(Histograma outro)
+    {
+        for(int i = 0; i < contadores.length; i++)
+            contadores[i] += outro.contadores[i];
+        total += outro.total;
+        soma += outro.soma;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está a porcentagem informada dos registros.
+     *
+     * @param percentil O percentil, entre 0 e 100.
+     * @return O maior valor equivalente da faixa do percentil, ou 0 se o histograma estiver vazio.
+     */
+    public long percentil(double percentil)
+    {
+        if(total == 0) return 0;
+
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for(int i = 0; i < contadores.length; i++)
+        {
+            acumulado += contadores[i];
+            if(acumulado >= alvo)
+                return Math.min(maiorEquivalente(i), maximo);
+        }
+        return maximo;
+    }
+
+    /**
+     * Retorna a quantidade de valores registrados.
+     *
+     * @return O número de registros.
+     */
+    public long getTotal( ) {
+        return total;
+    }
+
+    /**
+     * Retorna a média dos valores registrados.
+     *
+     * @return A média, ou 0 se o histograma estiver vazio.
+     */
+    public double getMedia( ) {
+        return (total > 0) ? (double) soma / total : 0;
+    }
+
+    /**
+     * Retorna o menor valor registrado.
+     *
+     * @return O mínimo, ou 0 se o histograma estiver vazio.
+     */
+    public long getMinimo( ) {
+        return (total > 0) ? minimo : 0;
+    }
+
+    /**
+     * Retorna o maior valor registrado.
+     *
+     * @return O máximo, ou 0 se o histograma estiver vazio.
+     */
+    public long getMaximo( ) {
+        return maximo;
+    }
+
+    /**
+     * Calcula a faixa de um valor.
+     *
+     * @param valor O valor, entre 0 e {@link #VALOR_MAXIMO}.
+     * @return O índice do contador.
+     */
+    private static int indice(long valor)
+    {
+        if(valor < 2 * MEIA_FAIXA) return (int) valor;
+
+        int expoente = 63 - Long.numberOfLeadingZeros(valor) - (BITS_FAIXA - 1);
+        return expoente * MEIA_FAIXA + (int) (valor >>> expoente);
+    }
+
+    /**
+     * Calcula o maior valor que cai na faixa informada.
+     *
+     * @param indice O índice do contador.
+     * @return O maior valor da faixa.
+     */
+    private static long maiorEquivalente(int indice)
+    {
+        if(indice < 2 * MEIA_FAIXA) return indice;
+
+        int expoente = indice / MEIA_FAIXA - 1;
+        long faixa = indice - (long) expoente * MEIA_FAIXA;
+        return ((faixa + 1) << expoente) - 1;
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Pacote que contém as ferramentas de geração de carga.
+ * <p>
+ * As classes deste pacote exercitam um {@link com.rubix.vinimiraa.dao.LivroRepository}
+ * com várias threads e medem vazão e latência, para dimensionar o hardware e comparar
+ * os mecanismos de armazenamento. Não são usadas pelo menu da aplicação.
+ * </p>
+ *
+ * <h2>Classes principais:</h2>
+ * <ul>
+ *   <li>{@link com.rubix.vinimiraa.carga.BenchmarkInicializacao} – mede o tempo de inicialização, com e sem AppCDS.</li>
+ *   <li>{@link com.rubix.vinimiraa.carga.BenchmarkMemoria} – mede os bytes por livro do catálogo carregado em memória.</li>
+ *   <li>{@link com.rubix.vinimiraa.carga.GeradorCarga} – executa a carga e gera o relatório (console e CSV).</li>
+ *   <li>{@link com.rubix.vinimiraa.carga.GeradorLivros} – gera livros sintéticos com distribuições realistas.</li>
+ *   <li>{@link com.rubix.vinimiraa.carga.Histograma} – histograma de latências com precisão relativa fixa.</li>
+ * </ul>
+ */
+package com.rubix.vinimiraa.carga;
@@ -0,0 +1,352 @@
+package com.rubix.vinimiraa.dao;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.sqlite.SQLiteConnection;
+
+import com.rubix.vinimiraa.monitoramento.EventoLote;
+
+/**
+ * DAO responsável por cópias de segurança (backups) do banco de dados em funcionamento.
+ * <p>
+ * Usa a API de backup online do SQLite, exposta pelo sqlite-jdbc, através de uma
+ * conexão própria. O banco é colocado em modo WAL e a cópia é feita dentro de uma
+ * transação de leitura: todos os passos leem o mesmo instantâneo do banco, enquanto
+ * as escritas da aplicação continuam sendo gravadas no WAL sem esperar pelo backup.
+ * A cópia avança alguns passos de poucas páginas por vez, com uma pausa entre eles,
+ * para não disputar E/S com o tráfego da aplicação.
+ * </p>
+ *
+ * <p>
+ * Se o modo WAL não puder ser ativado, a cópia é feita sem a transação de leitura;
+ * nesse caso cada escrita de outra conexão faz o SQLite reiniciar a cópia, que pode
+ * não terminar sob escrita contínua.
+ * </p>
+ *
+ * <p>
+ * Cada backup é gravado primeiro em um arquivo temporário, verificado com
+ * {@code PRAGMA integrity_check} e só então renomeado para o nome definitivo
+ * ({@code livros-yyyyMMdd-HHmmss-SSS.db}). Após cada backup bem-sucedido, apenas os
+ * {@code retencao} arquivos mais recentes são mantidos na pasta.
+ * </p>
+ *
+ * <pre>{@code
+ * BackupDAO backup = new BackupDAO( );
+ * Path arquivo = backup.executar( );           // backup imediato
+ * backup.agendar(6, TimeUnit.HOURS);           // backups periódicos
+ * }</pre>
+ */
+public final class BackupDAO extends DAO
+{
+    /** Prefixo dos arquivos de backup. */
+    private static final String PREFIXO = "livros-";
+
+    /** Extensão dos arquivos de backup. */
+    private static final String EXTENSAO = ".db";
+
+    /** Formato do carimbo de data e hora no nome dos arquivos. */
+    private static final DateTimeFormatter FORMATO_NOME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    /** Pausa, em milissegundos, quando o banco está ocupado por outra conexão. */
+    private static final int ESPERA_OCUPADO_MS = 50;
+
+    /** Quantidade de esperas por banco ocupado antes de desistir. */
+    private static final int MAXIMO_ESPERAS = 200;
+
+    /** Pasta onde os backups são gravados. */
+    private final Path pasta;
+
+    /** Quantidade de backups mantidos na pasta. */
+    private final int retencao;
+
+    /** Quantidade de páginas copiadas em cada passo. */
+    private final int paginasPorPasso;
+
+    /** Pausa, em milissegundos, entre os passos da cópia. */
+    private final long pausaEntrePassos;
+
+    /** Indica se o banco está em modo WAL, o que permite copiar um instantâneo fixo. */
+    private final boolean wal;
+
+    /** Executor dos backups agendados (criado no primeiro agendamento). */
+    private ScheduledExecutorService agendador;
+
+    /** Total de páginas do banco na última cópia, informado pelo SQLite durante a cópia. */
+    private int paginasCopiadas;
+
+    /** Agendamento atual, ou {@code null} se não houver. */
+    private ScheduledFuture<?> agendamento;
+
+    /**
+     * Construtor padrão: copia o banco padrão para a pasta <b>backups</b>,
+     * mantendo os 7 backups mais recentes.
+     *
+     * @throws IllegalStateException se não for possível conectar ao banco de dados
+     */
+    public BackupDAO( ) {
+        this(DATABASE_PADRAO, Path.of("backups"), 7, 64, 5);
+    }
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param database         caminho do banco de dados a ser copiado
+     * @param pasta            pasta onde os backups são gravados (criada se necessário)
+     * @param retencao         quantidade de backups mantidos na pasta
+     * @param paginasPorPasso  quantidade de páginas copiadas em cada passo
+     * @param pausaEntrePassos pausa, em milissegundos, entre os passos da cópia
+     * @throws IllegalStateException se não for possível conectar ao banco de dados
+     */
+    public BackupDAO(String database, Path pasta, int retencao, int paginasPorPasso, long pausaEntrePassos)
+    {
+        super( );
+        this.pasta = pasta;
+        this.retencao = retencao;
+        this.paginasPorPasso = paginasPorPasso;
+        this.pausaEntrePassos = pausaEntrePassos;
+        if(!connect(database))
+            throw new IllegalStateException("não foi possível conectar ao banco de dados " + database);
+        this.wal = ativarWal( );
+    }
+
+    /**
+     * Executa um backup imediatamente, verifica sua integridade e aplica a retenção.
+     *
+     * @return O caminho do backup gravado, ou {@code null} se a cópia
+     *         ou a verificação falharem.
+     */
+    public synchronized Path executar( )
+    {
+        Path destino = null;
+        Path temporario = null;
+
+        EventoLote evento = new EventoLote( );
+        evento.begin( );
+        paginasCopiadas = 0;
+        try
+        {
+            Files.createDirectories(pasta);
+            String nome = PREFIXO + LocalDateTime.now( ).format(FORMATO_NOME) + EXTENSAO;
+            temporario = pasta.resolve(nome + ".tmp");
+
+            int resultado = copiar(temporario);
+
+            if(resultado != 0)
+                System.err.println("Erro ao copiar banco de dados: código " + resultado);
+            else if(!verificar(temporario))
+                System.err.println("Erro ao verificar backup: " + temporario);
+            else
+            {
+                destino = Files.move(temporario, pasta.resolve(nome), StandardCopyOption.ATOMIC_MOVE);
+                aplicarRetencao( );
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao copiar banco de dados: " + sqle.getMessage( ));
+        } catch (IOException ioe) {
+            System.err.println("Erro ao gravar backup: " + ioe.getMessage( ));
+        } finally {
+            if(destino == null && temporario != null)
+                apagar(temporario);
+        }
+        evento.concluir("backup", paginasCopiadas, destino != null);
+
+        return destino;
+    }
+
+    /**
+     * Copia o banco de dados para o arquivo informado, em passos de {@link #paginasPorPasso} páginas.
+     * <p>
+     * Em modo WAL, uma transação de leitura é aberta antes da cópia e fechada depois dela,
+     * fixando o instantâneo copiado.
+     * </p>
+     *
+     * @param destino O arquivo de destino.
+     * @return O código de resultado do SQLite (0 em caso de sucesso).
+     * @throws SQLException se a cópia falhar.
+     */
+    private int copiar(Path destino) throws SQLException
+    {
+        if(wal)
+        {
+            conexao.setAutoCommit(false);
+            try (
+                Statement st = conexao.createStatement( );
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM sqlite_master")
+            ) {
+                rs.next( );
+            }
+        }
+
+        try
+        {
+            return ((SQLiteConnection) conexao).getDatabase( ).backup(
+                "main",
+                destino.toString( ),
+                (restantes, total) -> {
+                    paginasCopiadas = total;
+                    pausar( );
+                },
+                ESPERA_OCUPADO_MS,
+                MAXIMO_ESPERAS,
+                paginasPorPasso
+            );
+        } finally {
+            if(wal)
+            {
+                conexao.rollback( );
+                conexao.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Verifica a integridade de um arquivo de backup com {@code PRAGMA integrity_check}.
+     *
+     * @param arquivo O arquivo de backup.
+     * @return {@code true} se o SQLite não encontrou problemas,
+     *         {@code false} caso contrário.
+     */
+    public boolean verificar(Path arquivo)
+    {
+        boolean integro = false;
+
+        try (
+            Connection copia = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+            Statement st = copia.createStatement( );
+            ResultSet rs = st.executeQuery("PRAGMA integrity_check")
+        )
+        {
+            integro = rs.next( ) && "ok".equals(rs.getString(1)) && !rs.next( );
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao verificar backup: " + sqle.getMessage( ));
+        }
+
+        return integro;
+    }
+
+    /**
+     * Agenda backups periódicos, substituindo um agendamento anterior.
+     * O primeiro backup é feito após um intervalo.
+     *
+     * @param intervalo O intervalo entre os backups.
+     * @param unidade   A unidade do intervalo.
+     */
+    public synchronized void agendar(long intervalo, TimeUnit unidade)
+    {
+        cancelarAgendamento( );
+        if(agendador == null)
+        {
+            agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "backup-livros");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        agendamento = agendador.scheduleWithFixedDelay(this::executar, intervalo, intervalo, unidade);
+    }
+
+    /**
+     * Cancela os backups agendados, se houver. Um backup em andamento é concluído.
+     */
+    public synchronized void cancelarAgendamento( )
+    {
+        if(agendamento != null)
+        {
+            agendamento.cancel(false);
+            agendamento = null;
+        }
+    }
+
+    /**
+     * Lista os backups existentes na pasta, do mais antigo para o mais recente.
+     *
+     * @return Os caminhos dos backups. Nunca {@code null}.
+     */
+    public List<Path> listar( )
+    {
+        List<Path> backups = new ArrayList<>( );
+
+        if(Files.isDirectory(pasta))
+        {
+            try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pasta, PREFIXO + "*" + EXTENSAO)) {
+                arquivos.forEach(backups::add);
+            } catch (IOException ioe) {
+                System.err.println("Erro ao listar backups: " + ioe.getMessage( ));
+            }
+        }
+        // o carimbo no nome faz a ordem alfabética coincidir com a cronológica
+        backups.sort(null);
+
+        return backups;
+    }
+
+    /**
+     * Encerra o agendamento e a conexão com o banco de dados.
+     *
+     * @return {@code true} se a conexão foi encerrada com sucesso,
+     *         {@code false} caso contrário.
+     */
+    @Override
+    public synchronized boolean disconnect( )
+    {
+        cancelarAgendamento( );
+        if(agendador != null)
+            agendador.shutdown( );
+        return super.disconnect( );
+    }
+
+    /**
+     * Remove os backups mais antigos, mantendo apenas os {@link #retencao} mais recentes.
+     */
+    private void aplicarRetencao( )
+    {
+        List<Path> backups = listar( );
+        for(int i = 0; i < backups.size( ) - retencao; i++)
+            apagar(backups.get(i));
+    }
+
+    /**
+     * Pausa a cópia entre dois passos, liberando o banco para as demais conexões.
+     */
+    private void pausar( )
+    {
+        if(pausaEntrePassos <= 0) return;
+
+        try {
+            Thread.sleep(pausaEntrePassos);
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+        }
+    }
+
+    /**
+     * Apaga um arquivo, registrando eventuais erros.
+     *
+     * @param arquivo O arquivo a ser apagado.
+     */
+    private static void apagar(Path arquivo)
+    {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException ioe) {
+            System.err.println("Erro ao apagar backup: " + ioe.getMessage( ));
+        }
+    }
+}
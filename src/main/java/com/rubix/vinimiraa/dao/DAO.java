@@ -2,7 +2,11 @@ package com.rubix.vinimiraa.dao;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.sqlite.SQLiteConfig;
 
 /**
  * Classe base para DAOs (Data Access Objects).
@@ -15,6 +19,11 @@ import java.sql.SQLException;
 public class DAO 
 {
 	/**
+	 * Nome do arquivo de banco de dados usado quando nenhum outro é informado.
+	 */
+	public static final String DATABASE_PADRAO = "livros.db";
+
+	/**
      * Objeto de conexão JDBC com o banco de dados.
      * Mantém a sessão ativa até que {@link #disconnect()} seja chamado.
      */
@@ -38,11 +47,23 @@ public class DAO
      *         {@code false} caso contrário.
      */
 	public boolean connect( )
+	{
+		return connect(DATABASE_PADRAO);
+	}
+
+	/**
+     * Estabelece uma conexão com o arquivo de banco de dados SQLite informado,
+     * criando-o caso ainda não exista.
+     *
+     * @param database Caminho do arquivo de banco de dados.
+     * @return {@code true} se a conexão foi estabelecida com sucesso,
+     *         {@code false} caso contrário.
+     */
+	public boolean connect(String database)
 	{
 		boolean conectado = false;
 		
 		String driver   = "sqlite"; 
-		String database = "livros.db";
 		String url      = "jdbc:" + driver + ":" + database;
 		
 		try
@@ -57,6 +78,89 @@ public class DAO
 		return conectado;
 	}
 	
+	/**
+     * Estabelece uma conexão com o arquivo de banco de dados SQLite informado, configurada
+     * para disputar o arquivo com outros processos segundo a política informada.
+     * <p>
+     * A conexão espera pelo bloqueio durante o {@code busy_timeout} da política e, se ela
+     * pedir, abre as transações explícitas com {@code BEGIN IMMEDIATE}.
+     * </p>
+     *
+     * @param database Caminho do arquivo de banco de dados.
+     * @param politica A política de concorrência.
+     * @return {@code true} se a conexão foi estabelecida com sucesso,
+     *         {@code false} caso contrário.
+     */
+	public boolean connect(String database, PoliticaConcorrencia politica)
+	{
+		boolean conectado = false;
+
+		SQLiteConfig config = new SQLiteConfig( );
+		config.setBusyTimeout((int) Math.min(Integer.MAX_VALUE, politica.getBusyTimeout( ).toMillis( )));
+		if(politica.isTransacaoImediata( ))
+			config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+		try
+		{
+			this.conexao = DriverManager.getConnection("jdbc:sqlite:" + database, config.toProperties( ));
+			conectado = (this.conexao != null);
+		} catch (SQLException sqle) {
+			System.out.println("Erro ao conectar com o banco de dados: " + sqle.getMessage( ));
+		}
+
+		return conectado;
+	}
+
+	/**
+     * Estabelece uma conexão somente leitura com o arquivo de banco de dados SQLite informado.
+     * <p>
+     * O arquivo precisa existir. Em modo WAL, várias conexões somente leitura consultam o
+     * banco em paralelo sem bloquear, e sem serem bloqueadas por, a conexão que escreve.
+     * </p>
+     *
+     * @param database Caminho do arquivo de banco de dados.
+     * @return {@code true} se a conexão foi estabelecida com sucesso,
+     *         {@code false} caso contrário.
+     */
+	public boolean connectSomenteLeitura(String database)
+	{
+		boolean conectado = false;
+
+		SQLiteConfig config = new SQLiteConfig( );
+		config.setReadOnly(true);
+		try
+		{
+			this.conexao = DriverManager.getConnection("jdbc:sqlite:" + database, config.toProperties( ));
+			conectado = (this.conexao != null);
+		} catch (SQLException sqle) {
+			System.out.println("Erro ao conectar com o banco de dados: " + sqle.getMessage( ));
+		}
+
+		return conectado;
+	}
+
+	/**
+     * Coloca o banco de dados em modo WAL, configuração que fica gravada no arquivo.
+     *
+     * @return {@code true} se o banco está em modo WAL,
+     *         {@code false} caso contrário.
+     */
+	protected boolean ativarWal( )
+	{
+		boolean ativado = false;
+
+		try (
+			Statement st = conexao.createStatement( );
+			ResultSet rs = st.executeQuery("PRAGMA journal_mode = WAL")
+		)
+		{
+			ativado = rs.next( ) && "wal".equalsIgnoreCase(rs.getString(1));
+		} catch (SQLException sqle) {
+			System.err.println("Erro ao ativar modo WAL: " + sqle.getMessage( ));
+		}
+
+		return ativado;
+	}
+
 	/**
      * Encerra a conexão com o banco de dados SQLite.
      * <p>
@@ -0,0 +1,134 @@
+package com.rubix.vinimiraa.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache em memória, nos dois sentidos, de uma tabela de dicionário ({@code autor} ou
+ * {@code editora}) com as colunas {@code id} e {@code nome}.
+ * <p>
+ * Os nomes nunca são alterados nem removidos do dicionário, de modo que um par
+ * {@code nome ↔ id} lido do banco continua válido enquanto o arquivo existir; só os
+ * nomes ainda não vistos consultam o banco. Cada nome é guardado uma única vez, então
+ * todos os livros do mesmo autor recebem a mesma instância de {@link String}.
+ * O cache não tem limite de tamanho: ocupa memória proporcional à quantidade de
+ * nomes distintos já lidos, e não à de livros.
+ * </p>
+ *
+ * <p>
+ * A única exceção é uma transação desfeita depois de inserir um nome novo: quem faz o
+ * {@code rollback} deve chamar {@link #limpar()}.
+ * </p>
+ */
+final class Dicionario
+{
+    /** Nome da tabela do dicionário. */
+    private final String tabela;
+
+    /** IDs por nome. */
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>( );
+
+    /** Nomes por ID. */
+    private final ConcurrentHashMap<Integer, String> nomes = new ConcurrentHashMap<>( );
+
+    /**
+     * Construtor que define a tabela do dicionário.
+     *
+     * @param tabela O nome da tabela ({@code autor} ou {@code editora}).
+     */
+    Dicionario(String tabela) {
+        this.tabela = tabela;
+    }
+
+    /**
+     * Retorna o ID de um nome, inserindo-o no dicionário se ele ainda não existir.
+     *
+     * @param conexao A conexão usada em caso de falta no cache.
+     * @param nome    O nome.
+     * @return O ID do nome.
+     * @throws SQLException Se a consulta ou a inserção falhar.
+     */
+    int id(Connection conexao, String nome) throws SQLException
+    {
+        Integer id = ids.get(nome);
+        if(id != null) return id;
+
+        // INSERT OR IGNORE seguido de SELECT funciona mesmo se outra conexão inserir o nome ao mesmo tempo
+        try (PreparedStatement pst = conexao.prepareStatement("INSERT OR IGNORE INTO " + tabela + " (nome) VALUES (?)")) {
+            pst.setString(1, nome);
+            pst.executeUpdate( );
+        }
+        try (PreparedStatement pst = conexao.prepareStatement("SELECT id FROM " + tabela + " WHERE nome = ?"))
+        {
+            pst.setString(1, nome);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                if(!rs.next( ))
+                    throw new SQLException("Nome não encontrado em '" + tabela + "': " + nome);
+                id = rs.getInt(1);
+            }
+        }
+        guardar(id, nome);
+        return id;
+    }
+
+    /**
+     * Retorna o nome de um ID.
+     *
+     * @param conexao A conexão usada em caso de falta no cache.
+     * @param id      O ID.
+     * @return O nome.
+     * @throws SQLException Se a consulta falhar ou o ID não existir.
+     */
+    String nome(Connection conexao, int id) throws SQLException
+    {
+        String nome = nomes.get(id);
+        if(nome != null) return nome;
+
+        try (PreparedStatement pst = conexao.prepareStatement("SELECT nome FROM " + tabela + " WHERE id = ?"))
+        {
+            pst.setInt(1, id);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                if(!rs.next( ))
+                    throw new SQLException("ID não encontrado em '" + tabela + "': " + id);
+                nome = rs.getString(1);
+            }
+        }
+        return guardar(id, nome);
+    }
+
+    /**
+     * Guarda o par no cache, mantendo a instância já guardada se houver.
+     *
+     * @return A instância do nome guardada no cache.
+     */
+    private String guardar(int id, String nome)
+    {
+        String guardado = nomes.putIfAbsent(id, nome);
+        if(guardado != null) nome = guardado;
+        ids.putIfAbsent(nome, id);
+        return nome;
+    }
+
+    /**
+     * Esvazia o cache, por exemplo após desfazer uma transação que inseriu nomes.
+     */
+    void limpar( )
+    {
+        ids.clear( );
+        nomes.clear( );
+    }
+
+    /**
+     * Retorna a quantidade de nomes no cache.
+     *
+     * @return O tamanho do cache.
+     */
+    int tamanho( ) {
+        return nomes.size( );
+    }
+}
@@ -0,0 +1,179 @@
+package com.rubix.vinimiraa.dao;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Índice secundário que associa ISBNs aos IDs dos livros, armazenado fora do heap
+ * em um {@link ByteBuffer} direto.
+ * <p>
+ * Cada entrada ocupa 8 bytes (ISBN e ID). O ISBN não é único: livros com o mesmo ISBN
+ * ocupam entradas distintas, todas posicionadas a partir do hash do ISBN, de modo que
+ * uma busca percorre apenas a sequência de entradas ocupadas que começa nesse ponto.
+ * Qualquer ISBN é aceito; os IDs devem ser positivos: 0 marca uma entrada vazia e
+ * -1 uma entrada removida.
+ * </p>
+ *
+ * <p>Esta classe não é thread-safe; o {@link LivroMmapRepository} controla o acesso a ela.</p>
+ */
+class IndiceIsbnOffHeap
+{
+    /** Tamanho de cada entrada, em bytes. */
+    private static final int TAMANHO_ENTRADA = 8;
+
+    /** ID que marca uma entrada vazia. */
+    private static final int VAZIA = 0;
+
+    /** ID que marca uma entrada removida. */
+    private static final int REMOVIDA = -1;
+
+    /** Fração máxima de entradas ocupadas (incluindo removidas) antes de crescer. */
+    private static final double OCUPACAO_MAXIMA = 0.6;
+
+    /** Entradas da tabela. */
+    private ByteBuffer tabela;
+
+    /** Quantidade de entradas da tabela (potência de 2). */
+    private int capacidade;
+
+    /** Quantidade de pares presentes. */
+    private int tamanho;
+
+    /** Quantidade de entradas usadas (presentes e removidas). */
+    private int usadas;
+
+    /**
+     * Cria um índice vazio com capacidade para ao menos a quantidade informada de pares.
+     *
+     * @param capacidadeInicial quantidade esperada de livros com ISBN
+     */
+    IndiceIsbnOffHeap(int capacidadeInicial)
+    {
+        int capacidade = Integer.highestOneBit(Math.max(16, (int) (capacidadeInicial / OCUPACAO_MAXIMA)) - 1) << 1;
+        alocar(capacidade);
+    }
+
+    /**
+     * Associa um ISBN a um ID, se o par ainda não estiver no índice.
+     *
+     * @param isbn O ISBN.
+     * @param id   O ID do livro (positivo).
+     */
+    void put(int isbn, int id)
+    {
+        if(usadas + 1 > capacidade * OCUPACAO_MAXIMA)
+            redimensionar(tamanho + 1 > capacidade * OCUPACAO_MAXIMA / 2 ? capacidade * 2 : capacidade);
+
+        int mascara = capacidade - 1;
+        int primeiraRemovida = -1;
+        for(int i = IndiceOffHeap.hash(isbn) & mascara; ; i = (i + 1) & mascara)
+        {
+            int atual = tabela.getInt(i * TAMANHO_ENTRADA + 4);
+            if(atual == id && tabela.getInt(i * TAMANHO_ENTRADA) == isbn)
+                return;
+            if(atual == REMOVIDA && primeiraRemovida < 0)
+                primeiraRemovida = i;
+            if(atual == VAZIA)
+            {
+                int destino = (primeiraRemovida >= 0) ? primeiraRemovida : i;
+                if(destino == i) usadas++;
+                tabela.putInt(destino * TAMANHO_ENTRADA, isbn);
+                tabela.putInt(destino * TAMANHO_ENTRADA + 4, id);
+                tamanho++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove a associação entre um ISBN e um ID.
+     *
+     * @param isbn O ISBN.
+     * @param id   O ID do livro.
+     * @return {@code true} se o par estava no índice.
+     */
+    boolean remove(int isbn, int id)
+    {
+        int mascara = capacidade - 1;
+        for(int i = IndiceOffHeap.hash(isbn) & mascara; ; i = (i + 1) & mascara)
+        {
+            int atual = tabela.getInt(i * TAMANHO_ENTRADA + 4);
+            if(atual == VAZIA) return false;
+            if(atual == id && tabela.getInt(i * TAMANHO_ENTRADA) == isbn)
+            {
+                tabela.putInt(i * TAMANHO_ENTRADA + 4, REMOVIDA);
+                tamanho--;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Retorna o menor ID associado a um ISBN.
+     *
+     * @param isbn O ISBN.
+     * @return O menor ID, ou 0 se nenhum livro tiver o ISBN.
+     */
+    int menorId(int isbn)
+    {
+        int menor = VAZIA;
+        int mascara = capacidade - 1;
+        for(int i = IndiceOffHeap.hash(isbn) & mascara; ; i = (i + 1) & mascara)
+        {
+            int atual = tabela.getInt(i * TAMANHO_ENTRADA + 4);
+            if(atual == VAZIA) return menor;
+            if(atual != REMOVIDA && tabela.getInt(i * TAMANHO_ENTRADA) == isbn && (menor == VAZIA || atual < menor))
+                menor = atual;
+        }
+    }
+
+    /**
+     * Retorna a quantidade de pares presentes.
+     *
+     * @return O número de livros com ISBN.
+     */
+    int tamanho( ) {
+        return tamanho;
+    }
+
+    /**
+     * Bytes ocupados fora do heap pela tabela.
+     *
+     * @return O tamanho da tabela, em bytes.
+     */
+    long bytesOcupados( ) {
+        return (long) capacidade * TAMANHO_ENTRADA;
+    }
+
+    /**
+     * Recria a tabela com a capacidade informada, descartando as entradas removidas.
+     *
+     * @param novaCapacidade A nova capacidade (potência de 2).
+     */
+    private void redimensionar(int novaCapacidade)
+    {
+        ByteBuffer antiga = tabela;
+        int capacidadeAntiga = capacidade;
+
+        alocar(novaCapacidade);
+        for(int i = 0; i < capacidadeAntiga; i++)
+        {
+            int id = antiga.getInt(i * TAMANHO_ENTRADA + 4);
+            if(id != VAZIA && id != REMOVIDA)
+                put(antiga.getInt(i * TAMANHO_ENTRADA), id);
+        }
+    }
+
+    /**
+     * Aloca uma tabela vazia com a capacidade informada.
+     *
+     * @param novaCapacidade A capacidade (potência de 2).
+     */
+    private void alocar(int novaCapacidade)
+    {
+        capacidade = novaCapacidade;
+        tabela = ByteBuffer.allocateDirect(capacidade * TAMANHO_ENTRADA).order(ByteOrder.nativeOrder( ));
+        tamanho = 0;
+        usadas = 0;
+    }
+}
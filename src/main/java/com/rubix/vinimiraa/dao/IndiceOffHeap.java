@@ -0,0 +1,244 @@
+package com.rubix.vinimiraa.dao;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Tabela hash de endereçamento aberto que associa IDs de livros a posições no arquivo,
+ * armazenada fora do heap em um {@link ByteBuffer} direto.
+ * <p>
+ * Cada entrada ocupa 12 bytes (ID de 4 bytes e posição de 8 bytes), sem objetos por
+ * entrada, o que mantém o índice fora do alcance do coletor de lixo mesmo com milhões
+ * de livros. Os IDs devem ser positivos: 0 marca uma entrada vazia e -1 uma entrada removida.
+ * </p>
+ *
+ * <p>Esta classe não é thread-safe; o {@link LivroMmapRepository} controla o acesso a ela.</p>
+ */
+class IndiceOffHeap
+{
+    /** Tamanho de cada entrada, em bytes. */
+    private static final int TAMANHO_ENTRADA = 12;
+
+    /** ID que marca uma entrada vazia. */
+    private static final int VAZIA = 0;
+
+    /** ID que marca uma entrada removida. */
+    private static final int REMOVIDA = -1;
+
+    /** Fração máxima de entradas ocupadas (incluindo removidas) antes de crescer. */
+    private static final double OCUPACAO_MAXIMA = 0.6;
+
+    /** Valor retornado quando o ID não está no índice. */
+    static final long AUSENTE = -1L;
+
+    /**
+     * Cópia dos pares presentes em dois vetores paralelos, na ordem da tabela.
+     */
+    static final class Entradas
+    {
+        /** IDs presentes. */
+        final int[] ids;
+
+        /** Posição associada a cada ID, no mesmo índice de {@link #ids}. */
+        final long[] posicoes;
+
+        private Entradas(int[] ids, long[] posicoes)
+        {
+            this.ids = ids;
+            this.posicoes = posicoes;
+        }
+    }
+
+    /** Entradas da tabela. */
+    private ByteBuffer tabela;
+
+    /** Quantidade de entradas da tabela (potência de 2). */
+    private int capacidade;
+
+    /** Quantidade de IDs presentes. */
+    private int tamanho;
+
+    /** Quantidade de entradas usadas (presentes e removidas). */
+    private int usadas;
+
+    /**
+     * Cria um índice vazio com capacidade para ao menos a quantidade informada de IDs.
+     *
+     * @param capacidadeInicial quantidade esperada de IDs
+     */
+    IndiceOffHeap(int capacidadeInicial)
+    {
+        int capacidade = Integer.highestOneBit(Math.max(16, (int) (capacidadeInicial / OCUPACAO_MAXIMA)) - 1) << 1;
+        alocar(capacidade);
+    }
+
+    /**
+     * Associa um ID a uma posição.
+     *
+     * @param id      O ID (positivo).
+     * @param posicao A posição do registro no arquivo.
+     * @return A posição anterior, ou {@link #AUSENTE}.
+     */
+    long put(int id, long posicao)
+    {
+        if(usadas + 1 > capacidade * OCUPACAO_MAXIMA)
+            redimensionar(tamanho + 1 > capacidade * OCUPACAO_MAXIMA / 2 ? capacidade * 2 : capacidade);
+
+        int mascara = capacidade - 1;
+        int primeiraRemovida = -1;
+        for(int i = hash(id) & mascara; ; i = (i + 1) & mascara)
+        {
+            int atual = tabela.getInt(i * TAMANHO_ENTRADA);
+            if(atual == id)
+            {
+                long anterior = tabela.getLong(i * TAMANHO_ENTRADA + 4);
+                tabela.putLong(i * TAMANHO_ENTRADA + 4, posicao);
+                return anterior;
+            }
+            if(atual == REMOVIDA && primeiraRemovida < 0)
+                primeiraRemovida = i;
+            if(atual == VAZIA)
+            {
+                int destino = (primeiraRemovida >= 0) ? primeiraRemovida : i;
+                if(destino == i) usadas++;
+                tabela.putInt(destino * TAMANHO_ENTRADA, id);
+                tabela.putLong(destino * TAMANHO_ENTRADA + 4, posicao);
+                tamanho++;
+                return AUSENTE;
+            }
+        }
+    }
+
+    /**
+     * Retorna a posição associada a um ID.
+     *
+     * @param id O ID.
+     * @return A posição, ou {@link #AUSENTE}.
+     */
+    long get(int id)
+    {
+        int i = localizar(id);
+        return (i >= 0) ? tabela.getLong(i * TAMANHO_ENTRADA + 4) : AUSENTE;
+    }
+
+    /**
+     * Remove um ID do índice.
+     *
+     * @param id O ID.
+     * @return A posição que estava associada, ou {@link #AUSENTE}.
+     */
+    long remove(int id)
+    {
+        int i = localizar(id);
+        if(i < 0) return AUSENTE;
+
+        long anterior = tabela.getLong(i * TAMANHO_ENTRADA + 4);
+        tabela.putInt(i * TAMANHO_ENTRADA, REMOVIDA);
+        tamanho--;
+        return anterior;
+    }
+
+    /**
+     * Retorna a quantidade de IDs presentes.
+     *
+     * @return O número de IDs.
+     */
+    int tamanho( ) {
+        return tamanho;
+    }
+
+    /**
+     * Copia os pares presentes para dois vetores paralelos.
+     *
+     * @return Os IDs e as posições presentes.
+     */
+    Entradas copiar( )
+    {
+        int[] ids = new int[tamanho];
+        long[] posicoes = new long[tamanho];
+        int n = 0;
+        for(int i = 0; i < capacidade; i++)
+        {
+            int id = tabela.getInt(i * TAMANHO_ENTRADA);
+            if(id != VAZIA && id != REMOVIDA)
+            {
+                ids[n] = id;
+                posicoes[n++] = tabela.getLong(i * TAMANHO_ENTRADA + 4);
+            }
+        }
+        return new Entradas(ids, posicoes);
+    }
+
+    /**
+     * Bytes ocupados fora do heap pela tabela.
+     *
+     * @return O tamanho da tabela, em bytes.
+     */
+    long bytesOcupados( ) {
+        return (long) capacidade * TAMANHO_ENTRADA;
+    }
+
+    /**
+     * Procura a entrada de um ID.
+     *
+     * @param id O ID.
+     * @return O índice da entrada, ou -1 se ausente.
+     */
+    private int localizar(int id)
+    {
+        int mascara = capacidade - 1;
+        for(int i = hash(id) & mascara; ; i = (i + 1) & mascara)
+        {
+            int atual = tabela.getInt(i * TAMANHO_ENTRADA);
+            if(atual == id) return i;
+            if(atual == VAZIA) return -1;
+        }
+    }
+
+    /**
+     * Recria a tabela com a capacidade informada, descartando as entradas removidas.
+     *
+     * @param novaCapacidade A nova capacidade (potência de 2).
+     */
+    private void redimensionar(int novaCapacidade)
+    {
+        ByteBuffer antiga = tabela;
+        int capacidadeAntiga = capacidade;
+
+        alocar(novaCapacidade);
+        for(int i = 0; i < capacidadeAntiga; i++)
+        {
+            int id = antiga.getInt(i * TAMANHO_ENTRADA);
+            if(id != VAZIA && id != REMOVIDA)
+                put(id, antiga.getLong(i * TAMANHO_ENTRADA + 4));
+        }
+    }
+
+    /**
+     * Aloca uma tabela vazia com a capacidade informada.
+     *
+     * @param novaCapacidade A capacidade (potência de 2).
+     */
+    private void alocar(int novaCapacidade)
+    {
+        capacidade = novaCapacidade;
+        tabela = ByteBuffer.allocateDirect(capacidade * TAMANHO_ENTRADA).order(ByteOrder.nativeOrder( ));
+        tamanho = 0;
+        usadas = 0;
+    }
+
+    /**
+     * Espalha os bits da chave (finalizador do MurmurHash3).
+     * Também usado por {@link IndiceIsbnOffHeap}.
+     */
+    static int hash(int id)
+    {
+        int h = id;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -3,10 +3,30 @@ package com.rubix.vinimiraa.dao;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 
+import com.rubix.vinimiraa.model.Alteracao;
+import com.rubix.vinimiraa.model.EstatisticaCatalogo;
 import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.model.LivroCompacto;
+import com.rubix.vinimiraa.model.PrecoHistorico;
+import com.rubix.vinimiraa.monitoramento.EventoLote;
+import com.rubix.vinimiraa.monitoramento.EventoMapeamento;
+import com.rubix.vinimiraa.monitoramento.EventoOperacaoDao;
+import com.rubix.vinimiraa.util.FiltroBloom;
 
 /**
  * DAO específico para a entidade {@link Livro}.
@@ -19,288 +39,2366 @@ import com.rubix.vinimiraa.model.Livro;
  * Depende da classe {@link DAO} para a conexão e utiliza
  * a entidade {@link Livro} como modelo de dados.
  * </p>
+ *
+ * @see LivroRepository
  */
-public class LivroDAO extends DAO
+public final class LivroDAO extends DAO implements LivroRepository
 {
+    /**
+     * Observadores notificados após cada escrita bem-sucedida.
+     */
+    private final List<LivroListener> listeners = new CopyOnWriteArrayList<>( );
+
+    /**
+     * Versão do esquema criado por esta classe, gravada em {@code PRAGMA user_version}.
+     * Bancos nesta versão não executam nenhum {@code CREATE} ao serem abertos.
+     * <ul>
+     *   <li>1 – tabela 'livro' e diário de alterações.</li>
+     *   <li>2 – histórico de preços.</li>
+     *   <li>3 – autores e editoras em tabelas de dicionário.</li>
+     *   <li>4 – gatilhos do histórico de preços compatíveis com {@code ON CONFLICT DO UPDATE}.</li>
+     *   <li>5 – estatísticas do catálogo mantidas por gatilhos.</li>
+     *   <li>6 – livros relacionados pré-calculados.</li>
+     *   <li>7 – datas de publicação em dias desde a época, com índice.</li>
+     *   <li>8 – diário de alterações com uma inserção para cada livro anterior a ele.</li>
+     *   <li>9 – índice único de ISBNs.</li>
+     * </ul>
+     */
+    public static final int VERSAO_ESQUEMA = 9;
+
+    /** Última versão do esquema sem o índice único de ISBNs, criado à parte por {@link #createIsbnIndex()}. */
+    private static final int VERSAO_SEM_ISBN_UNICO = 8;
+
+    /** Capacidade mínima do filtro de ISBNs. */
+    private static final int CAPACIDADE_MINIMA_FILTRO = 1024;
+
+    /**
+     * Maior quantidade de chaves em um único {@code IN (...)} de {@link #getByIds(int[])}
+     * e {@link #getByIsbns(int[])}, abaixo do limite de 999 parâmetros das versões antigas do SQLite.
+     */
+    private static final int TAMANHO_MAXIMO_LOTE = 512;
+
+    /** Quantidade de livros por página de {@link #publishedBetween(LocalDate, LocalDate, int)}. */
+    public static final int TAMANHO_PAGINA = 50;
+
+    /** Cache dos nomes da tabela 'autor'. */
+    private final Dicionario autores = new Dicionario("autor");
+
+    /** Cache dos nomes da tabela 'editora'. */
+    private final Dicionario editoras = new Dicionario("editora");
+
+    /**
+     * Filtro de Bloom dos ISBNs cadastrados, ou {@code null} se desativado.
+     * Criado por {@link #ativarFiltroIsbn(double)}.
+     */
+    private volatile FiltroBloom filtroIsbn = null;
+
+    /** Política de espera e novas tentativas das escritas que disputam o arquivo com outros processos. */
+    private final PoliticaConcorrencia politica;
+
+    /** Consultas {@code WHERE id IN (...)} já preparadas, por quantidade de parâmetros. */
+    private final Map<Integer, PreparedStatement> consultasPorIds = new HashMap<>( );
+
+    /** Consultas {@code WHERE isbn IN (...)} já preparadas, por quantidade de parâmetros. */
+    private final Map<Integer, PreparedStatement> consultasPorIsbns = new HashMap<>( );
+
     /**
      * Construtor que inicializa a conexão e cria a tabela 'livro' se não existir.
      */
-    public LivroDAO( )
+    public LivroDAO( )
+    {
+        this(DATABASE_PADRAO);
+    }
+
+    /**
+     * Construtor que inicializa a conexão com o arquivo de banco de dados informado
+     * e cria a tabela 'livro' se não existir.
+     *
+     * @param database Caminho do arquivo de banco de dados.
+     */
+    public LivroDAO(String database)
+    {
+        this(database, new PoliticaConcorrencia.Builder( ).build( ));
+    }
+
+    /**
+     * Construtor que inicializa a conexão com o arquivo de banco de dados informado,
+     * com a política de concorrência informada, e cria a tabela 'livro' se não existir.
+     * <p>
+     * Use uma mesma política em todos os DAOs de um processo para somar os contadores
+     * de novas tentativas e desistências.
+     * </p>
+     *
+     * @param database Caminho do arquivo de banco de dados.
+     * @param politica A política de espera para escritas concorrentes.
+     */
+    public LivroDAO(String database, PoliticaConcorrencia politica)
+    {
+        super( );
+        this.politica = politica;
+        connect(database, politica);
+        prepararEsquema( );
+    }
+
+    /**
+     * Construtor que abre o banco informado apenas para leitura, sem criar tabelas.
+     * Usado pelas conexões de leitura do {@link LivroEscritorUnicoRepository}.
+     *
+     * @param database       Caminho do arquivo de banco de dados, que já deve existir.
+     * @param somenteLeitura {@code true} para abrir somente leitura;
+     *                       {@code false} equivale a {@link #LivroDAO(String)}.
+     */
+    LivroDAO(String database, boolean somenteLeitura)
+    {
+        super( );
+        this.politica = new PoliticaConcorrencia.Builder( ).build( );
+        if(somenteLeitura)
+        {
+            connectSomenteLeitura(database);
+        }
+        else
+        {
+            connect(database, politica);
+            prepararEsquema( );
+        }
+    }
+
+    /**
+     * Retorna a política de concorrência deste DAO, com os contadores de novas
+     * tentativas e desistências.
+     *
+     * @return A política de concorrência.
+     */
+    public PoliticaConcorrencia getPoliticaConcorrencia( ) {
+        return politica;
+    }
+
+    /**
+     * Executa uma escrita, repetindo-a segundo a {@link PoliticaConcorrencia} se o banco
+     * estiver bloqueado por outra conexão.
+     * <p>
+     * Dentro de uma transação aberta por quem chamou, a escrita é executada uma única vez:
+     * repetir só um comando não desfaz o que a transação já perdeu, então cabe a quem a
+     * abriu repetir a transação inteira.
+     * </p>
+     *
+     * @param <T>      O tipo do resultado.
+     * @param operacao A escrita.
+     * @return O resultado da escrita.
+     * @throws SQLException se a escrita falhar mesmo após as novas tentativas.
+     */
+    private <T> T escrever(PoliticaConcorrencia.Operacao<T> operacao) throws SQLException
+    {
+        return conexao.getAutoCommit( ) ? politica.executar(operacao) : operacao.executar( );
+    }
+
+    /**
+     * Executa a operação em uma transação própria, desfeita se a operação falhar.
+     *
+     * @param <T>      O tipo do resultado.
+     * @param operacao A operação.
+     * @return O resultado da operação, após a confirmação da transação.
+     * @throws SQLException se a transação não puder ser aberta, a operação falhar ou a
+     *                      confirmação falhar; nesses casos nada é gravado.
+     */
+    private <T> T emTransacao(PoliticaConcorrencia.Operacao<T> operacao) throws SQLException
+    {
+        // com a política padrão, abre com BEGIN IMMEDIATE e pode esperar pelo bloqueio aqui
+        conexao.setAutoCommit(false);
+        try
+        {
+            T resultado = operacao.executar( );
+            conexao.commit( );
+            return resultado;
+        } catch (SQLException sqle) {
+            try {
+                conexao.rollback( );
+            } catch (SQLException e) {
+                System.err.println("Erro ao desfazer a transação: " + e.getMessage( ));
+            }
+            limparDicionarios( );
+            throw sqle;
+        } finally {
+            try {
+                conexao.setAutoCommit(true);
+            } catch (SQLException sqle) {
+                System.err.println("Erro ao restaurar o modo de confirmação automática: " + sqle.getMessage( ));
+            }
+        }
+    }
+
+    /**
+     * Cria as tabelas, índices e gatilhos apenas se o banco ainda não estiver na
+     * versão {@link #VERSAO_ESQUEMA}.
+     * <p>
+     * A verificação é uma leitura de {@code PRAGMA user_version} no cabeçalho do arquivo,
+     * sem acessar nenhuma tabela. Quando necessário, a criação é feita em uma única
+     * transação, e a versão só é gravada se todos os comandos forem executados; se
+     * algum deles falhar, a transação inteira é desfeita e o banco fica como estava.
+     * Todos os comandos são idempotentes, de modo que bancos de versões anteriores
+     * recebem apenas o que falta.
+     * </p>
+     *
+     * <p>
+     * O índice único de ISBNs ({@link #createIsbnIndex()}) é criado em uma segunda
+     * transação, depois que a primeira grava a versão {@value #VERSAO_SEM_ISBN_UNICO}.
+     * Ele é o único passo que depende dos dados, pois falha se houver ISBNs repetidos;
+     * nesse caso, as próximas aberturas repetem só esse passo, e não todo o esquema.
+     * </p>
+     */
+    private void prepararEsquema( )
+    {
+        int versao = versaoEsquema( );
+        if(versao >= VERSAO_ESQUEMA) return;
+
+        if(versao < VERSAO_SEM_ISBN_UNICO
+           && !migrar(VERSAO_SEM_ISBN_UNICO, ( ) -> createTable( ) && migrarDicionarios( ) && migrarDatas( ) && createChangeLog( )
+                                                   && createPriceHistory( ) && createStatistics( ) && createRelated( )))
+            return;
+
+        migrar(VERSAO_ESQUEMA, this::createIsbnIndex);
+    }
+
+    /**
+     * Executa os passos de uma migração em uma única transação e, se todos forem
+     * executados, grava a versão informada; caso contrário, desfaz a transação.
+     *
+     * @param versao A versão gravada em {@code PRAGMA user_version} ao final.
+     * @param passos Os passos da migração; devolve {@code false} se algum falhar.
+     * @return {@code true} se a migração foi gravada, {@code false} caso contrário.
+     */
+    private boolean migrar(int versao, BooleanSupplier passos)
+    {
+        boolean migrado = false;
+
+        try
+        {
+            conexao.setAutoCommit(false);
+            if(passos.getAsBoolean( ))
+            {
+                try (Statement st = conexao.createStatement( )) {
+                    st.executeUpdate("PRAGMA user_version = " + versao);
+                }
+                conexao.commit( );
+                migrado = true;
+            }
+            else
+            {
+                conexao.rollback( );
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao preparar o esquema do banco de dados: " + sqle.getMessage( ));
+            try {
+                conexao.rollback( );
+            } catch (SQLException e) {
+                System.err.println("Erro ao desfazer a criação do esquema: " + e.getMessage( ));
+            }
+        } finally {
+            try {
+                conexao.setAutoCommit(true);
+            } catch (SQLException sqle) {
+                System.err.println("Erro ao restaurar o modo de confirmação automática: " + sqle.getMessage( ));
+            }
+        }
+
+        return migrado;
+    }
+
+    /**
+     * Lê a versão do esquema gravada no banco.
+     *
+     * @return O valor de {@code PRAGMA user_version}, ou -1 em caso de erro.
+     */
+    public int versaoEsquema( )
+    {
+        int versao = -1;
+
+        try (
+            Statement st = conexao.createStatement( );
+            ResultSet rs = st.executeQuery("PRAGMA user_version")
+        )
+        {
+            if(rs.next( ))
+                versao = rs.getInt(1);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao consultar a versão do esquema: " + sqle.getMessage( ));
+        }
+
+        return versao;
+    }
+
+    /**
+     * Cria a tabela 'livro' e os dicionários 'autor' e 'editora' se eles não existirem.
+     * <p>
+     * A tabela 'livro' contém os seguintes campos:
+     * <ul>
+     *   <li><b>id</b> (chave primária, autoincremento)</li>
+     *   <li><b>titulo</b> (texto, obrigatório)</li>
+     *   <li><b>autor_id</b> (referência a 'autor', obrigatório)</li>
+     *   <li><b>preco</b> (real, obrigatório)</li>
+     *   <li><b>editora_id</b> (referência a 'editora', opcional)</li>
+     *   <li><b>dataPublicacao</b> (inteiro, dias desde 1970-01-01, opcional)</li>
+     *   <li><b>isbn</b> (inteiro, opcional)</li>
+     * </ul>
+     * Cada nome de autor e de editora é gravado uma única vez no seu dicionário
+     * ({@code id}, {@code nome} único), e os livros guardam apenas o ID.
+     * </p>
+     *
+     * @return {@code true} se todos os comandos foram executados, {@code false} caso contrário.
+     */
+    private boolean createTable( )
+    {
+        String[] queries = {
+            "CREATE TABLE IF NOT EXISTS autor (id INTEGER PRIMARY KEY, nome VARCHAR(255) NOT NULL UNIQUE)",
+            "CREATE TABLE IF NOT EXISTS editora (id INTEGER PRIMARY KEY, nome VARCHAR(255) NOT NULL UNIQUE)",
+            TABELA_LIVRO.formatted("livro")
+        };
+        try (Statement st = conexao.createStatement( )) 
+        {
+            for (String query : queries) {
+                st.executeUpdate(query);
+            }
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao criar tabela 'livro': " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Definição da tabela 'livro'; {@code %s} é o nome da tabela.
+     */
+    private static final String TABELA_LIVRO = """
+            CREATE TABLE IF NOT EXISTS %s (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                titulo VARCHAR(255) NOT NULL,
+                autor_id INTEGER NOT NULL REFERENCES autor (id),
+                preco REAL NOT NULL,
+                editora_id INTEGER REFERENCES editora (id),
+                dataPublicacao INTEGER,
+                isbn INTEGER
+            )
+            """;
+
+    /**
+     * Converte a tabela 'livro' das versões anteriores, com os nomes de autor e editora
+     * em cada linha, para o formato com dicionários.
+     * <p>
+     * Os nomes distintos são copiados para 'autor' e 'editora', e os livros para uma
+     * tabela nova com os IDs correspondentes, que substitui a antiga. IDs dos livros e
+     * a sequência de IDs são preservados; os gatilhos, removidos com a tabela antiga,
+     * são recriados em seguida por {@link #prepararEsquema()}. Não faz nada se a tabela
+     * já estiver no formato novo.
+     * </p>
+     *
+     * @return {@code true} se a conversão foi feita ou não era necessária, {@code false} em caso de erro.
+     */
+    private boolean migrarDicionarios( )
+    {
+        try (Statement st = conexao.createStatement( )) 
+        {
+            try (ResultSet rs = st.executeQuery("SELECT 1 FROM pragma_table_info('livro') WHERE name = 'autor'")) {
+                if(!rs.next( )) return true;
+            }
+
+            int ultimoId = ultimoId( );
+            String[] queries = {
+                "DROP TRIGGER IF EXISTS tr_livro_alteracao_insert",
+                "DROP TRIGGER IF EXISTS tr_livro_alteracao_update",
+                "DROP TRIGGER IF EXISTS tr_livro_alteracao_delete",
+                "DROP TRIGGER IF EXISTS tr_livro_preco_insert",
+                "DROP TRIGGER IF EXISTS tr_livro_preco_update",
+                "DROP TRIGGER IF EXISTS tr_livro_preco_delete",
+                "INSERT OR IGNORE INTO autor (nome) SELECT DISTINCT autor FROM livro",
+                "INSERT OR IGNORE INTO editora (nome) SELECT DISTINCT editora FROM livro WHERE editora IS NOT NULL",
+                TABELA_LIVRO.formatted("livro_dicionario"),
+                """
+                INSERT INTO livro_dicionario (id, titulo, autor_id, preco, editora_id, dataPublicacao, isbn)
+                SELECT l.id, l.titulo, a.id, l.preco, e.id, l.dataPublicacao, l.isbn
+                FROM livro l
+                JOIN autor a ON a.nome = l.autor
+                LEFT JOIN editora e ON e.nome = l.editora
+                """,
+                "DROP TABLE livro",
+                "ALTER TABLE livro_dicionario RENAME TO livro",
+                "DELETE FROM sqlite_sequence WHERE name = 'livro'"
+            };
+            for (String query : queries) {
+                st.executeUpdate(query);
+            }
+            if(ultimoId > 0)
+                st.executeUpdate("INSERT INTO sqlite_sequence (name, seq) VALUES ('livro', " + ultimoId + ")");
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao migrar autores e editoras para dicionários: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Converte as datas de publicação das versões anteriores para dias desde a época
+     * e cria o índice {@code ix_livro_data}.
+     * <p>
+     * As versões anteriores gravavam {@link java.sql.Date}, que o driver guarda em
+     * milissegundos desde a época à meia-noite do fuso local; somar 12 horas antes de
+     * extrair a data em UTC dá o dia certo em qualquer fuso entre UTC−12 e UTC+12.
+     * Datas gravadas como texto ({@code AAAA-MM-DD}) também são convertidas. Com um inteiro
+     * por dia, um intervalo de datas ou de anos é um trecho contínuo do índice. Tabelas
+     * criadas ou recriadas por esta versão declaram a coluna como {@code INTEGER}; só os bancos
+     * criados por versões anteriores mantêm a declaração {@code DATE}, cuja afinidade numérica
+     * guarda os inteiros sem conversão.
+     * </p>
+     *
+     * <p>
+     * Os gatilhos de atualização do diário e das estatísticas são removidos antes da conversão,
+     * que não altera nenhum livro, e recriados em seguida por {@link #prepararEsquema()}.
+     * Não faz nada se o índice já existir, pois ele é criado na mesma transação da conversão.
+     * </p>
+     *
+     * @return {@code true} se a conversão foi feita ou não era necessária, {@code false} em caso de erro.
+     */
+    private boolean migrarDatas( )
+    {
+        try (Statement st = conexao.createStatement( )) 
+        {
+            try (ResultSet rs = st.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = 'ix_livro_data'")) {
+                if(rs.next( )) return true;
+            }
+
+            String[] queries = {
+                "DROP TRIGGER IF EXISTS tr_livro_alteracao_update",
+                "DROP TRIGGER IF EXISTS tr_livro_estatistica_update",
+                """
+                UPDATE livro SET dataPublicacao = CASE typeof(dataPublicacao)
+                    WHEN 'text' THEN CAST(julianday(date(dataPublicacao)) - 2440587.5 AS INTEGER)
+                    ELSE CAST(julianday(date(CAST(dataPublicacao AS INTEGER) / 1000 + 43200, 'unixepoch')) - 2440587.5 AS INTEGER)
+                END
+                WHERE dataPublicacao IS NOT NULL
+                """,
+                "CREATE INDEX IF NOT EXISTS ix_livro_data ON livro (dataPublicacao)"
+            };
+            for (String query : queries) {
+                st.executeUpdate(query);
+            }
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao migrar datas de publicação: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Cria o diário de alterações ('livro_alteracao') e os gatilhos que o alimentam.
+     * <p>
+     * Os gatilhos registram cada inserção, atualização e exclusão na tabela 'livro'
+     * dentro da mesma transação da alteração, portanto o diário nunca diverge dos dados.
+     * A coluna <b>seq</b> usa {@code AUTOINCREMENT}, o que garante números crescentes
+     * que não são reutilizados mesmo após a compactação.
+     * </p>
+     *
+     * <p>
+     * Livros que já existiam quando o diário foi criado, e que portanto nunca passaram pelos
+     * gatilhos, recebem uma inserção com o momento atual, de modo que um consumidor novo
+     * sempre pode sincronizar a partir de 0.
+     * </p>
+     *
+     * @return {@code true} se todos os comandos foram executados, {@code false} caso contrário.
+     */
+    private boolean createChangeLog( )
+    {
+        String[] queries = {
+            """
+            CREATE TABLE IF NOT EXISTS livro_alteracao (
+                seq INTEGER PRIMARY KEY AUTOINCREMENT,
+                livro_id INTEGER NOT NULL,
+                operacao CHAR(1) NOT NULL,
+                momento INTEGER NOT NULL DEFAULT (CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER))
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS ix_livro_alteracao_livro ON livro_alteracao (livro_id, seq)",
+            """
+            CREATE TRIGGER IF NOT EXISTS tr_livro_alteracao_insert AFTER INSERT ON livro
+            BEGIN
+                INSERT INTO livro_alteracao (livro_id, operacao) VALUES (NEW.id, 'I');
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS tr_livro_alteracao_update AFTER UPDATE ON livro
+            BEGIN
+                INSERT INTO livro_alteracao (livro_id, operacao) VALUES (NEW.id, 'U');
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS tr_livro_alteracao_delete AFTER DELETE ON livro
+            BEGIN
+                INSERT INTO livro_alteracao (livro_id, operacao) VALUES (OLD.id, 'D');
+            END
+            """,
+            """
+            INSERT INTO livro_alteracao (livro_id, operacao)
+            SELECT l.id, 'I' FROM livro l
+            WHERE NOT EXISTS (SELECT 1 FROM livro_alteracao a WHERE a.livro_id = l.id)
+            ORDER BY l.id
+            """
+        };
+        try (Statement st = conexao.createStatement( )) 
+        {
+            for (String query : queries) {
+                st.executeUpdate(query);
+            }
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao criar diário de alterações: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Cria o histórico de preços ('livro_preco_historico') e os gatilhos que o alimentam.
+     * <p>
+     * Cada linha guarda o preço de um livro a partir de <b>valido_desde</b> (milissegundos
+     * desde a época). A chave primária {@code (livro_id, valido_desde)} de uma tabela
+     * {@code WITHOUT ROWID} é o próprio índice das consultas por data, que descem a árvore
+     * B até o último registro anterior à data em tempo logarítmico.
+     * </p>
+     *
+     * <p>
+     * Os gatilhos gravam uma linha na inserção, em cada atualização que muda o preço e na
+     * exclusão (com preço nulo), na mesma transação da alteração. Duas mudanças no mesmo
+     * milissegundo ficam com o último preço; para isso os gatilhos usam
+     * {@code ON CONFLICT DO UPDATE}, e não {@code INSERT OR REPLACE}, cuja política seria
+     * trocada pela do comando externo quando ele próprio é um upsert. Os gatilhos de versões
+     * anteriores são substituídos. Livros que já existiam recebem uma linha com
+     * o preço atual, a partir da sua inserção no diário de alterações (ou de agora).
+     * </p>
+     *
+     * @return {@code true} se todos os comandos foram executados, {@code false} caso contrário.
+     */
+    private boolean createPriceHistory( )
+    {
+        String agora = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+        String[] queries = {
+            """
+            CREATE TABLE IF NOT EXISTS livro_preco_historico (
+                livro_id INTEGER NOT NULL,
+                valido_desde INTEGER NOT NULL,
+                preco REAL,
+                PRIMARY KEY (livro_id, valido_desde)
+            ) WITHOUT ROWID
+            """,
+            "DROP TRIGGER IF EXISTS tr_livro_preco_insert",
+            "DROP TRIGGER IF EXISTS tr_livro_preco_update",
+            "DROP TRIGGER IF EXISTS tr_livro_preco_delete",
+            """
+            CREATE TRIGGER IF NOT EXISTS tr_livro_preco_insert AFTER INSERT ON livro
+            BEGIN
+                INSERT INTO livro_preco_historico VALUES (NEW.id, %s, NEW.preco)
+                ON CONFLICT (livro_id, valido_desde) DO UPDATE SET preco = excluded.preco;
+            END
+            """.formatted(agora),
+            """
+            CREATE TRIGGER IF NOT EXISTS tr_livro_preco_update AFTER UPDATE OF preco ON livro
+            WHEN OLD.preco IS NOT NEW.preco
+            BEGIN
+                INSERT INTO livro_preco_historico VALUES (NEW.id, %s, NEW.preco)
+                ON CONFLICT (livro_id, valido_desde) DO UPDATE SET preco = excluded.preco;
+            END
+            """.formatted(agora),
+            """
+            CREATE TRIGGER IF NOT EXISTS tr_livro_preco_delete AFTER DELETE ON livro
+            BEGIN
+                INSERT INTO livro_preco_historico VALUES (OLD.id, %s, NULL)
+                ON CONFLICT (livro_id, valido_desde) DO UPDATE SET preco = excluded.preco;
+            END
+            """.formatted(agora),
+            """
+            INSERT OR IGNORE INTO livro_preco_historico (livro_id, valido_desde, preco)
+            SELECT l.id,
+                   COALESCE((SELECT MIN(a.momento) FROM livro_alteracao a WHERE a.livro_id = l.id), %s),
+                   l.preco
+            FROM livro l
+            WHERE NOT EXISTS (SELECT 1 FROM livro_preco_historico h WHERE h.livro_id = l.id)
+            """.formatted(agora)
+        };
+        try (Statement st = conexao.createStatement( )) 
+        {
+            for (String query : queries) {
+                st.executeUpdate(query);
+            }
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao criar histórico de preços: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Dimensões das estatísticas do catálogo: código gravado na coluna {@code dimensao} e
+     * expressão da chave, em que {@code %1$s} é a linha ({@code NEW}, {@code OLD} ou
+     * {@code livro}). Livros com a chave nula (sem editora ou sem data) não entram na dimensão.
+     * A data é gravada em dias desde a época, portanto o ano não depende do fuso em que o
+     * SQLite é executado.
+     */
+    private static final String[][] DIMENSOES_ESTATISTICA = {
+        { "T", "0" },
+        { "A", "%1$s.autor_id" },
+        { "E", "%1$s.editora_id" },
+        { "P", "CAST(strftime('%%Y', %1$s.dataPublicacao * 86400, 'unixepoch') AS INTEGER)" }
+    };
+
+    /** Preço de uma linha em centavos; {@code %1$s} é a linha. */
+    private static final String CENTAVOS = "CAST(ROUND(%1$s.preco * 100) AS INTEGER)";
+
+    /**
+     * Cria as estatísticas do catálogo ('livro_estatistica') e os gatilhos que as mantêm.
+     * <p>
+     * Cada linha guarda a quantidade de livros e a soma dos preços, em centavos, de uma
+     * parte do catálogo: o total ({@code T}), um autor ({@code A}), uma editora ({@code E})
+     * ou um ano de publicação ({@code P}). Os gatilhos somam a linha nova e subtraem a
+     * antiga na mesma transação da alteração, de modo que a leitura é uma busca pela chave
+     * primária, sem percorrer a tabela 'livro'. Linhas que chegam a zero livros são removidas.
+     * </p>
+     *
+     * <p>
+     * Os gatilhos de versões anteriores são substituídos e as estatísticas são recalculadas
+     * a partir da tabela 'livro'.
+     * </p>
+     *
+     * @return {@code true} se todos os comandos foram executados, {@code false} caso contrário.
+     */
+    private boolean createStatistics( )
+    {
+        String[] queries = {
+            """
+            CREATE TABLE IF NOT EXISTS livro_estatistica (
+                dimensao CHAR(1) NOT NULL,
+                chave INTEGER NOT NULL,
+                quantidade INTEGER NOT NULL,
+                soma_centavos INTEGER NOT NULL,
+                PRIMARY KEY (dimensao, chave)
+            ) WITHOUT ROWID
+            """,
+            "DROP TRIGGER IF EXISTS tr_livro_estatistica_insert",
+            "DROP TRIGGER IF EXISTS tr_livro_estatistica_update",
+            "DROP TRIGGER IF EXISTS tr_livro_estatistica_delete",
+            """
+            CREATE TRIGGER tr_livro_estatistica_insert AFTER INSERT ON livro
+            BEGIN
+            %sEND
+            """.formatted(somarEstatisticas("NEW", 1)),
+            """
+            CREATE TRIGGER tr_livro_estatistica_update AFTER UPDATE OF autor_id, preco, editora_id, dataPublicacao ON livro
+            WHEN OLD.autor_id IS NOT NEW.autor_id OR OLD.preco IS NOT NEW.preco
+              OR OLD.editora_id IS NOT NEW.editora_id OR OLD.dataPublicacao IS NOT NEW.dataPublicacao
+            BEGIN
+            %s%sEND
+            """.formatted(somarEstatisticas("OLD", -1), somarEstatisticas("NEW", 1)),
+            """
+            CREATE TRIGGER tr_livro_estatistica_delete AFTER DELETE ON livro
+            BEGIN
+            %sEND
+            """.formatted(somarEstatisticas("OLD", -1)),
+            "DELETE FROM livro_estatistica",
+            "INSERT INTO livro_estatistica " + CALCULO_ESTATISTICAS
+        };
+        try (Statement st = conexao.createStatement( )) 
+        {
+            for (String query : queries) {
+                st.executeUpdate(query);
+            }
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao criar estatísticas do catálogo: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Monta os comandos de um gatilho que somam (ou subtraem) uma linha de 'livro' em cada dimensão.
+     * <p>
+     * Usa {@code ON CONFLICT DO UPDATE}, e não {@code INSERT OR REPLACE}, pelo mesmo motivo
+     * dos gatilhos do histórico de preços. Ao subtrair, remove as linhas que ficaram vazias.
+     * </p>
+     *
+     * @param linha {@code NEW} ou {@code OLD}.
+     * @param sinal 1 para somar, -1 para subtrair.
+     * @return Os comandos, cada um terminado por {@code ;}.
+     */
+    private static String somarEstatisticas(String linha, int sinal)
+    {
+        StringBuilder comandos = new StringBuilder( );
+        String centavos = CENTAVOS.formatted(linha);
+        for (String[] dimensao : DIMENSOES_ESTATISTICA)
+        {
+            String chave = dimensao[1].formatted(linha);
+            comandos.append("""
+                INSERT INTO livro_estatistica (dimensao, chave, quantidade, soma_centavos)
+                SELECT '%1$s', %2$s, %3$d, %3$d * %4$s WHERE %2$s IS NOT NULL
+                ON CONFLICT (dimensao, chave) DO UPDATE SET
+                    quantidade = quantidade + excluded.quantidade,
+                    soma_centavos = soma_centavos + excluded.soma_centavos;
+                """.formatted(dimensao[0], chave, sinal, centavos));
+            if(sinal < 0)
+                comandos.append("DELETE FROM livro_estatistica WHERE dimensao = '%s' AND chave = %s AND quantidade = 0;\n"
+                                .formatted(dimensao[0], chave));
+        }
+        return comandos.toString( );
+    }
+
+    /**
+     * Consulta que recalcula as estatísticas a partir da tabela 'livro', com as colunas
+     * de 'livro_estatistica' na mesma ordem.
+     */
+    private static final String CALCULO_ESTATISTICAS = calculoEstatisticas( );
+
+    /**
+     * Monta a consulta {@link #CALCULO_ESTATISTICAS}, com um agrupamento por dimensão.
+     *
+     * @return A consulta.
+     */
+    private static String calculoEstatisticas( )
+    {
+        List<String> partes = new ArrayList<>( );
+        for (String[] dimensao : DIMENSOES_ESTATISTICA)
+        {
+            partes.add("""
+                SELECT '%1$s' AS dimensao, chave, COUNT(*) AS quantidade, SUM(centavos) AS soma_centavos
+                FROM (SELECT %2$s AS chave, %3$s AS centavos FROM livro)
+                WHERE chave IS NOT NULL
+                GROUP BY chave
+                """.formatted(dimensao[0], dimensao[1].formatted("livro"), CENTAVOS.formatted("livro")));
+        }
+        return String.join("UNION ALL\n", partes);
+    }
+
+    /**
+     * Cria a tabela dos livros relacionados ('livro_relacionado'), preenchida por
+     * {@link #gravarRelacionados(Map)}.
+     * <p>
+     * Cada linha guarda um relacionado de um livro e a sua posição na lista. A chave primária
+     * {@code (livro_id, posicao)} de uma tabela {@code WITHOUT ROWID} mantém os relacionados
+     * de cada livro juntos e em ordem, de modo que {@link #getRelated(int, int)} lê um único
+     * trecho da árvore B, sem índice adicional.
+     * </p>
+     *
+     * @return {@code true} se o comando foi executado, {@code false} caso contrário.
+     */
+    private boolean createRelated( )
+    {
+        String query = """
+                CREATE TABLE IF NOT EXISTS livro_relacionado (
+                    livro_id INTEGER NOT NULL,
+                    posicao INTEGER NOT NULL,
+                    relacionado_id INTEGER NOT NULL,
+                    PRIMARY KEY (livro_id, posicao)
+                ) WITHOUT ROWID
+                """;
+        try (Statement st = conexao.createStatement( )) 
+        {
+            st.executeUpdate(query);
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao criar tabela de livros relacionados: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Cria o índice único {@code ux_livro_isbn}, alvo do {@code ON CONFLICT} de
+     * {@link #upsertAllByIsbn(Iterable)}.
+     * <p>
+     * Antes de criar o índice, procura ISBNs repetidos nos livros já gravados; se houver
+     * algum, informa quais são e não cria o índice, de modo que o banco fica na versão
+     * {@value #VERSAO_SEM_ISBN_UNICO} e só esta verificação é repetida nas próximas aberturas,
+     * até que os repetidos sejam corrigidos.
+     * Livros sem ISBN não entram na verificação, e o índice aceita vários deles.
+     * </p>
+     *
+     * @return {@code true} se o índice foi criado ou já existia, {@code false} caso contrário.
+     */
+    private boolean createIsbnIndex( )
+    {
+        try (Statement st = conexao.createStatement( )) 
+        {
+            List<Integer> repetidos = new ArrayList<>( );
+            try (ResultSet rs = st.executeQuery("SELECT isbn FROM livro WHERE isbn IS NOT NULL GROUP BY isbn HAVING COUNT(*) > 1 ORDER BY isbn")) {
+                while(rs.next( ))
+                    repetidos.add(rs.getInt(1));
+            }
+            if(!repetidos.isEmpty( ))
+            {
+                System.err.println("Erro ao criar índice único de ISBNs: ISBNs repetidos " + repetidos);
+                return false;
+            }
+
+            st.executeUpdate("CREATE UNIQUE INDEX IF NOT EXISTS ux_livro_isbn ON livro (isbn)");
+            return true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao criar índice único de ISBNs: " + sqle.getMessage( ));
+            return false;
+        }
+    }
+
+    /**
+     * Monta um {@link Livro} a partir da linha atual do {@link ResultSet}.
+     * <p>
+     * As colunas são lidas pelo nome, portanto a consulta deve trazer
+     * as colunas da tabela 'livro' com seus nomes originais.
+     * </p>
+     *
+     * @param rs O resultado posicionado na linha a ser lida.
+     * @return O livro correspondente à linha.
+     * @throws SQLException se alguma coluna não puder ser lida.
+     */
+    private Livro lerLivro(ResultSet rs) throws SQLException
+    {
+        Livro livro = new Livro( );
+        livro.setId(rs.getInt("id"));
+        livro.setTitulo(rs.getString("titulo"));
+        livro.setAutor(autores.nome(conexao, rs.getInt("autor_id")));
+        livro.setPreco(rs.getDouble("preco"));
+
+        int editora = rs.getInt("editora_id");
+        if(rs.wasNull( ) == false)
+            livro.setEditora(editoras.nome(conexao, editora));
+
+        long data = rs.getLong("dataPublicacao");
+        if(rs.wasNull( ) == false)
+            livro.setDataPublicacao(LocalDate.ofEpochDay(data));
+
+        int isbn = rs.getInt("isbn");
+        if(rs.wasNull( ) == false)
+            livro.setIsbn(isbn);
+
+        return livro;
+    }
+
+    /**
+     * Preenche os IDs do autor e da editora de um livro, inserindo nos dicionários os nomes novos.
+     *
+     * @param pst        O comando a ser preenchido.
+     * @param posAutor   A posição do parâmetro {@code autor_id}.
+     * @param posEditora A posição do parâmetro {@code editora_id}.
+     * @param livro      O livro.
+     * @throws SQLException se algum nome não puder ser resolvido.
+     */
+    private void definirNomes(PreparedStatement pst, int posAutor, int posEditora, Livro livro) throws SQLException
+    {
+        pst.setInt(posAutor, autores.id(conexao, livro.getAutor( )));
+
+        if(livro.getEditora( ) != null)
+            pst.setInt(posEditora, editoras.id(conexao, livro.getEditora( )));
+        else
+            pst.setNull(posEditora, java.sql.Types.INTEGER);
+    }
+
+    /**
+     * Preenche a data de publicação de um livro, em dias desde a época.
+     *
+     * @param pst  O comando a ser preenchido.
+     * @param pos  A posição do parâmetro {@code dataPublicacao}.
+     * @param data A data de publicação, ou {@code null}.
+     * @throws SQLException se o parâmetro não puder ser preenchido.
+     */
+    private static void definirData(PreparedStatement pst, int pos, LocalDate data) throws SQLException
+    {
+        if(data != null)
+            pst.setLong(pos, data.toEpochDay( ));
+        else
+            pst.setNull(pos, java.sql.Types.INTEGER);
+    }
+
+    /**
+     * Esvazia os caches de autores e editoras. Deve ser chamado por quem desfaz uma
+     * transação que usou este DAO, pois ela pode ter inserido nomes novos.
+     */
+    void limparDicionarios( )
+    {
+        autores.limpar( );
+        editoras.limpar( );
+    }
+
+    /**
+     * Insere um novo livro no banco de dados.
+     * <p>
+     * Após a inserção, o ID gerado automaticamente será atribuído
+     * ao objeto {@link Livro} fornecido.
+     * </p>
+     *
+     * @param livro O objeto {@link Livro} a ser inserido.
+     * @return {@code true} se a inserção foi bem-sucedida,
+     *         {@code false} caso contrário.
+     */
+    public boolean insert(Livro livro) {
+        return inserir(livro, false);
+    }
+
+    /**
+     * Insere um novo livro no banco de dados preservando o ID já atribuído a ele.
+     * <p>
+     * Usado quando os IDs são alocados fora deste banco, como no
+     * {@link LivroParticionadoRepository}, em que cada partição recebe IDs de um
+     * contador global. A sequência do {@code AUTOINCREMENT} acompanha o maior ID gravado.
+     * </p>
+     *
+     * @param livro O objeto {@link Livro} a ser inserido, com o ID preenchido.
+     * @return {@code true} se a inserção foi bem-sucedida,
+     *         {@code false} caso contrário (por exemplo, se o ID já existir).
+     */
+    public boolean insertComId(Livro livro) {
+        return inserir(livro, true);
+    }
+
+    /**
+     * Insere um livro, gerando o ID ou usando o do objeto.
+     *
+     * @param livro    O livro a ser inserido.
+     * @param manterId {@code true} para gravar o ID do objeto,
+     *                 {@code false} para gerar um novo.
+     * @return {@code true} se a inserção foi bem-sucedida,
+     *         {@code false} caso contrário.
+     */
+    private boolean inserir(Livro livro, boolean manterId)
+    {
+        boolean inserido = false;
+
+        String query = "INSERT INTO livro (titulo, autor_id, preco, editora_id, dataPublicacao, isbn, id) values (?, ?, ?, ?, ?, ?, ?)";
+        try
+        {
+            escrever(( ) -> inserir(query, livro, manterId));
+            inserido = true;
+            registrarIsbn(livro.getIsbn( ));
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao inserir no banco de dados: " + sqle.getMessage( ));
+        }
+
+        if(inserido)
+            listeners.forEach(l -> l.onInsert(livro));
+
+        return inserido;
+    }
+
+    /**
+     * Executa uma tentativa de inserção e atribui ao livro o ID gerado.
+     *
+     * @return O livro inserido.
+     * @throws SQLException se a inserção falhar.
+     */
+    private Livro inserir(String query, Livro livro, boolean manterId) throws SQLException
+    {
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            pst.setString(1, livro.getTitulo( ));
+            definirNomes(pst, 2, 4, livro);
+            pst.setDouble(3, livro.getPreco( ));
+
+            definirData(pst, 5, livro.getDataPublicacao( ));
+
+            if(livro.getIsbn( ) != null)
+                pst.setInt(6, livro.getIsbn( ));
+            else
+                pst.setNull(6, java.sql.Types.INTEGER);
+
+            // com id nulo, o SQLite gera o próximo valor da sequência
+            if(manterId)
+                pst.setInt(7, livro.getId( ));
+            else
+                pst.setNull(7, java.sql.Types.INTEGER);
+
+            pst.executeUpdate( );
+
+            // pegar o id gerado e setar
+            try (ResultSet rs = pst.getGeneratedKeys( )) 
+            {
+                if(rs.next( )) {
+                    livro.setId(rs.getInt(1)); 
+                }
+            }
+        }
+        evento.concluir(manterId ? "insertComId" : "insert", query, 1);
+        return livro;
+    }
+
+    /**
+     * Recupera todos os livros do banco de dados.
+     *
+     * @return Uma lista de objetos {@link Livro}.
+     *         Nunca {@code null}, mas pode estar vazia se não houver registros.
+     */
+    public List<Livro> getAll( )
+    {
+        List<Livro> livros = new LinkedList<>( );
+
+        String query = "SELECT * FROM livro";
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (
+            PreparedStatement pst = conexao.prepareStatement(query);
+            ResultSet rs = pst.executeQuery( )
+        ) 
+        {
+            EventoMapeamento mapeamento = new EventoMapeamento( );
+            mapeamento.begin( );
+            while (rs.next( ))
+            {
+                long inicio = mapeamento.inicioConversao( );
+                livros.add(lerLivro(rs));
+                mapeamento.fimConversao(inicio);
+            }
+            mapeamento.concluir("getAll", livros.size( ));
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao listar livros: " + sqle.getMessage( ));
+        }
+        evento.concluir("getAll", query, livros.size( ));
+
+        return livros;
+    }
+
+    /**
+     * Recupera todos os livros do banco de dados na representação compacta.
+     * <p>
+     * Indicado para manter catálogos grandes em memória: os livros são lidos direto para
+     * {@link LivroCompacto}, sem criar um {@link Livro} intermediário, e os autores e
+     * editoras vêm do cache dos dicionários, de modo que todos os livros de um mesmo
+     * autor compartilham a mesma instância de {@link String}.
+     * </p>
+     *
+     * @return Uma lista de objetos {@link LivroCompacto}, em ordem de ID.
+     *         Nunca {@code null}, mas pode estar vazia se não houver registros.
+     */
+    public List<LivroCompacto> getAllCompacto( )
+    {
+        List<LivroCompacto> livros = new ArrayList<>( );
+
+        String query = "SELECT * FROM livro ORDER BY id";
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (
+            PreparedStatement pst = conexao.prepareStatement(query);
+            ResultSet rs = pst.executeQuery( )
+        ) 
+        {
+            EventoMapeamento mapeamento = new EventoMapeamento( );
+            mapeamento.begin( );
+            while (rs.next( ))
+            {
+                long inicio = mapeamento.inicioConversao( );
+                int data = rs.getInt("dataPublicacao");
+                if(rs.wasNull( )) data = LivroCompacto.DATA_AUSENTE;
+
+                int isbn = rs.getInt("isbn");
+                if(rs.wasNull( )) isbn = LivroCompacto.ISBN_AUSENTE;
+
+                int editora = rs.getInt("editora_id");
+                String nomeEditora = rs.wasNull( ) ? null : editoras.nome(conexao, editora);
+
+                livros.add(new LivroCompacto(
+                    rs.getInt("id"),
+                    rs.getString("titulo"),
+                    autores.nome(conexao, rs.getInt("autor_id")),
+                    rs.getDouble("preco"),
+                    nomeEditora,
+                    data,
+                    isbn
+                ));
+                mapeamento.fimConversao(inicio);
+            }
+            mapeamento.concluir("getAllCompacto", livros.size( ));
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao listar livros: " + sqle.getMessage( ));
+        }
+        evento.concluir("getAllCompacto", query, livros.size( ));
+
+        return livros;
+    }
+
+    /**
+     * Recupera um livro do banco de dados pelo seu ID.
+     *
+     * @param id O ID do livro a ser recuperado.
+     * @return O objeto {@link Livro} correspondente ao ID, 
+     *         ou {@code null} se não encontrado.
+     */
+    public Livro getById(int id)
+    {
+        Livro livro = null;
+
+        String query = "SELECT * FROM livro WHERE id = ?";
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        {
+            pst.setInt(1, id);
+            try(ResultSet rs = pst.executeQuery( ))
+            {
+                if(rs.next( ))
+                {
+                    livro = lerLivro(rs);
+                }
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao buscar livro por ID: " + sqle.getMessage( ));
+        }
+        evento.concluir("getById", query, (livro != null) ? 1 : 0);
+
+        return livro;
+    }
+
+    /**
+     * Recupera um livro do banco de dados pelo seu ISBN.
+     *
+     * @param isbn O ISBN do livro a ser recuperado.
+     * @return O objeto {@link Livro} correspondente ao ISBN,
+     *         ou {@code null} se não encontrado.
+     */
+    public Livro getByIsbn(int isbn)
+    {
+        Livro livro = null;
+
+        FiltroBloom filtro = filtroIsbn;
+        if(filtro != null && !filtro.talvezContenha(isbn))
+            return null;
+
+        String query = "SELECT * FROM livro WHERE isbn = ?";
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        {
+            pst.setInt(1, isbn);
+            try(ResultSet rs = pst.executeQuery( ))
+            {
+                if(rs.next( ))
+                {
+                    livro = lerLivro(rs);
+                }
+                else if(filtro != null)
+                {
+                    filtro.registrarFalsoPositivo( );
+                }
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao buscar livro por ID: " + sqle.getMessage( ));
+        }
+        evento.concluir("getByIsbn", query, (livro != null) ? 1 : 0);
+
+        return livro;
+    }
+
+    /**
+     * Recupera vários livros pelos seus IDs com poucas consultas.
+     * <p>
+     * Substitui chamadas a {@link #getById(int)} em um laço: os IDs são agrupados em
+     * consultas {@code WHERE id IN (...)} de até {@value #TAMANHO_MAXIMO_LOTE} parâmetros,
+     * de modo que 1.000 IDs exigem apenas 2 consultas. Cada lote é completado até a
+     * próxima potência de 2 repetindo uma chave, e as consultas preparadas são
+     * reaproveitadas por tamanho de lote (no máximo 10 por coluna).
+     * </p>
+     *
+     * @param ids Os IDs dos livros; repetições são ignoradas.
+     * @return Os livros encontrados por ID, na ordem em que os IDs foram informados
+     *         (IDs inexistentes ficam de fora), ou {@code null} em caso de erro.
+     */
+    public Map<Integer, Livro> getByIds(int[] ids)
+    {
+        try {
+            return buscarEmLote(ids, "id", consultasPorIds);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao buscar livros por ID: " + sqle.getMessage( ));
+            return null;
+        }
+    }
+
+    /**
+     * Recupera vários livros pelos seus ISBNs com poucas consultas, como em {@link #getByIds(int[])}.
+     * <p>
+     * Com o filtro ativado por {@link #ativarFiltroIsbn(double)}, os ISBNs que certamente
+     * não existem nem chegam a ser consultados. Se houver mais de um livro com o mesmo
+     * ISBN, apenas um deles é retornado.
+     * </p>
+     *
+     * @param isbns Os ISBNs dos livros; repetições são ignoradas.
+     * @return Os livros encontrados por ISBN, na ordem em que os ISBNs foram informados
+     *         (ISBNs inexistentes ficam de fora), ou {@code null} em caso de erro.
+     */
+    public Map<Integer, Livro> getByIsbns(int[] isbns)
+    {
+        FiltroBloom filtro = filtroIsbn;
+        if(filtro != null)
+        {
+            int[] possiveis = new int[isbns.length];
+            int n = 0;
+            for(int isbn : isbns)
+                if(filtro.talvezContenha(isbn))
+                    possiveis[n++] = isbn;
+            isbns = Arrays.copyOf(possiveis, n);
+        }
+
+        try {
+            return buscarEmLote(isbns, "isbn", consultasPorIsbns);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao buscar livros por ISBN: " + sqle.getMessage( ));
+            return null;
+        }
+    }
+
+    /**
+     * Busca os livros cuja coluna tem um dos valores informados, em lotes de {@code IN (...)}.
+     *
+     * @param chaves    Os valores procurados.
+     * @param coluna    A coluna comparada ({@code id} ou {@code isbn}).
+     * @param consultas O cache de consultas preparadas da coluna.
+     * @return Os livros encontrados, na ordem das chaves.
+     * @throws SQLException se alguma consulta falhar.
+     */
+    private Map<Integer, Livro> buscarEmLote(int[] chaves, String coluna, Map<Integer, PreparedStatement> consultas) throws SQLException
+    {
+        // as chaves entram primeiro com valor nulo para fixar a ordem do resultado
+        Map<Integer, Livro> resultado = new LinkedHashMap<>( );
+        for(int chave : chaves)
+            resultado.put(chave, null);
+
+        int[] distintas = resultado.keySet( ).stream( ).mapToInt(Integer::intValue).toArray( );
+        synchronized(consultas)
+        {
+            for(int inicio = 0; inicio < distintas.length; inicio += TAMANHO_MAXIMO_LOTE)
+            {
+                int quantidade = Math.min(TAMANHO_MAXIMO_LOTE, distintas.length - inicio);
+                int tamanho = Integer.highestOneBit(quantidade);
+                if(tamanho < quantidade) tamanho <<= 1;
+
+                PreparedStatement pst = consultas.get(tamanho);
+                if(pst == null)
+                {
+                    String parametros = String.join(", ", Collections.nCopies(tamanho, "?"));
+                    pst = conexao.prepareStatement("SELECT * FROM livro WHERE " + coluna + " IN (" + parametros + ")");
+                    consultas.put(tamanho, pst);
+                }
+
+                EventoOperacaoDao evento = new EventoOperacaoDao( );
+                evento.begin( );
+                for(int i = 0; i < tamanho; i++)
+                    pst.setInt(i + 1, distintas[inicio + Math.min(i, quantidade - 1)]);
+
+                int linhas = 0;
+                try (ResultSet rs = pst.executeQuery( ))
+                {
+                    while(rs.next( ))
+                    {
+                        Livro livro = lerLivro(rs);
+                        resultado.putIfAbsent(coluna.equals("id") ? livro.getId( ) : livro.getIsbn( ), livro);
+                        linhas++;
+                    }
+                }
+                evento.concluir(coluna.equals("id") ? "getByIds" : "getByIsbns", "SELECT * FROM livro WHERE " + coluna + " IN (?*" + tamanho + ")", linhas);
+            }
+        }
+
+        resultado.values( ).removeIf(Objects::isNull);
+        return resultado;
+    }
+
+    /**
+     * Fecha as consultas em lote preparadas e encerra a conexão.
+     *
+     * @return {@code true} se a conexão foi encerrada com sucesso,
+     *         {@code false} caso contrário.
+     */
+    @Override
+    public boolean disconnect( )
+    {
+        for(Map<Integer, PreparedStatement> consultas : List.of(consultasPorIds, consultasPorIsbns))
+        {
+            synchronized(consultas)
+            {
+                for(PreparedStatement pst : consultas.values( ))
+                {
+                    try {
+                        pst.close( );
+                    } catch (SQLException sqle) {
+                        System.err.println("Erro ao fechar consulta em lote: " + sqle.getMessage( ));
+                    }
+                }
+                consultas.clear( );
+            }
+        }
+        return super.disconnect( );
+    }
+
+    /**
+     * Indica se pode existir um livro com o ISBN informado, sem acessar o banco.
+     * <p>
+     * Com o filtro ativado por {@link #ativarFiltroIsbn(double)}, {@code false} significa
+     * que o ISBN certamente não está cadastrado, e {@link #getByIsbn(int)} já retorna
+     * {@code null} sem executar o {@code SELECT}. Sem o filtro, retorna sempre {@code true}.
+     * </p>
+     *
+     * @param isbn O ISBN.
+     * @return {@code false} se o ISBN certamente não existe; {@code true} caso contrário.
+     */
+    public boolean mightContainIsbn(int isbn)
+    {
+        FiltroBloom filtro = filtroIsbn;
+        return filtro == null || filtro.talvezContenha(isbn);
+    }
+
+    /**
+     * Ativa o filtro de Bloom de ISBNs, carregando os ISBNs cadastrados.
+     * <p>
+     * O filtro é dimensionado para o dobro dos livros atuais (no mínimo
+     * {@value #CAPACIDADE_MINIMA_FILTRO}) e recebe os ISBNs das inserções e atualizações
+     * feitas por este DAO. ISBNs removidos continuam no filtro como falsos positivos;
+     * quando o filtro passa da capacidade, ele é recarregado com o dobro do tamanho.
+     * Alterações feitas por outras conexões não são vistas, portanto o filtro só deve ser
+     * ativado no DAO que faz todas as escritas no banco.
+     * </p>
+     *
+     * @param taxaFalsosPositivos A taxa de falsos positivos desejada, entre 0 e 1 (exclusive).
+     * @return {@code true} se o filtro foi carregado, {@code false} em caso de erro.
+     */
+    public boolean ativarFiltroIsbn(double taxaFalsosPositivos)
+    {
+        boolean ativado = false;
+
+        String query = "SELECT COUNT(*) FROM livro";
+        try (
+            PreparedStatement pst = conexao.prepareStatement(query);
+            ResultSet rs = pst.executeQuery( )
+        )
+        {
+            int livros = rs.next( ) ? rs.getInt(1) : 0;
+            ativado = carregarFiltroIsbn(Math.max(CAPACIDADE_MINIMA_FILTRO, 2 * livros), taxaFalsosPositivos);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao ativar filtro de ISBNs: " + sqle.getMessage( ));
+        }
+
+        return ativado;
+    }
+
+    /**
+     * Desativa o filtro de ISBNs; {@link #getByIsbn(int)} volta a consultar sempre o banco.
+     */
+    public void desativarFiltroIsbn( ) {
+        filtroIsbn = null;
+    }
+
+    /**
+     * Retorna o filtro de ISBNs, para consulta das suas métricas
+     * (ocupação, consultas evitadas e taxas configurada, estimada e observada).
+     *
+     * @return O filtro, ou {@code null} se ele estiver desativado.
+     */
+    public FiltroBloom getFiltroIsbn( ) {
+        return filtroIsbn;
+    }
+
+    /**
+     * Cria um filtro novo com todos os ISBNs do banco e o coloca em uso.
+     *
+     * @param capacidade          A capacidade do filtro.
+     * @param taxaFalsosPositivos A taxa de falsos positivos.
+     * @return {@code true} se o filtro foi carregado, {@code false} em caso de erro.
+     */
+    private boolean carregarFiltroIsbn(int capacidade, double taxaFalsosPositivos)
+    {
+        FiltroBloom filtro = new FiltroBloom(capacidade, taxaFalsosPositivos);
+
+        String query = "SELECT isbn FROM livro WHERE isbn IS NOT NULL";
+        try (
+            PreparedStatement pst = conexao.prepareStatement(query);
+            ResultSet rs = pst.executeQuery( )
+        )
+        {
+            while (rs.next( ))
+                filtro.adicionar(rs.getInt(1));
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao carregar filtro de ISBNs: " + sqle.getMessage( ));
+            return false;
+        }
+
+        filtroIsbn = filtro;
+        return true;
+    }
+
+    /**
+     * Acrescenta ao filtro o ISBN de um livro gravado, recarregando o filtro com o dobro
+     * da capacidade quando ele passa do tamanho para o qual foi dimensionado.
+     *
+     * @param isbn O ISBN (pode ser nulo).
+     */
+    private void registrarIsbn(Integer isbn)
+    {
+        FiltroBloom filtro = filtroIsbn;
+        if(filtro == null || isbn == null) return;
+
+        filtro.adicionar(isbn);
+        if(filtro.saturado( ))
+            carregarFiltroIsbn(2 * filtro.getCapacidade( ), filtro.getTaxaConfigurada( ));
+    }
+
+    /**
+     * Atualiza os dados de um livro no banco de dados.
+     *
+     * @param livro O objeto {@link Livro} com os dados atualizados.
+     * @return {@code true} se a atualização foi bem-sucedida,
+     *         {@code false} se não houve alterações (ex: ID inexistente).
+     */
+    public boolean update(Livro livro)
+    {
+        boolean atualizado = false;
+
+        String query = "UPDATE livro SET titulo = ?, autor_id = ?, preco = ?, editora_id = ?, dataPublicacao = ?, isbn = ? WHERE id = ?";
+        try
+        {
+            escrever(( ) -> atualizar(query, livro));
+            atualizado = true;
+            registrarIsbn(livro.getIsbn( ));
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao atualizar livro: " + sqle.getMessage( ));
+        }
+
+        if(atualizado)
+            listeners.forEach(l -> l.onUpdate(livro));
+
+        return atualizado;
+    }
+
+    /**
+     * Executa uma tentativa de atualização.
+     *
+     * @return A quantidade de linhas alteradas.
+     * @throws SQLException se a atualização falhar.
+     */
+    private int atualizar(String query, Livro livro) throws SQLException
+    {
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        {
+            pst.setString(1, livro.getTitulo( ));
+            definirNomes(pst, 2, 4, livro);
+            pst.setDouble(3, livro.getPreco( ));
+
+            definirData(pst, 5, livro.getDataPublicacao( ));
+
+            if(livro.getIsbn() != null)
+                pst.setInt(6, livro.getIsbn());
+            else
+                pst.setNull(6, java.sql.Types.INTEGER);
+
+            pst.setInt(7, livro.getId( ));
+            int linhas = pst.executeUpdate( );
+            evento.concluir("update", query, linhas);
+            return linhas;
+        }
+    }
+
+    /**
+     * Insere o livro ou, se já existir um livro com o mesmo ISBN, atualiza os dados dele.
+     *
+     * @param livro O livro.
+     * @return As contagens da operação (uma delas igual a 1), ou {@code null} em caso de erro.
+     * @see #upsertAllByIsbn(Iterable)
+     */
+    public ResultadoSincronizacao upsertByIsbn(Livro livro) {
+        return upsertAllByIsbn(List.of(livro));
+    }
+
+    /**
+     * Sincroniza um lote de livros pelo ISBN, por exemplo a partir do catálogo de uma editora.
+     * <p>
+     * Cada livro é gravado com um único comando
+     * {@code INSERT ... ON CONFLICT(isbn) DO UPDATE}, em vez de um {@link #getByIsbn(int)}
+     * seguido de {@link #insert(Livro)} ou {@link #update(Livro)}, e o lote inteiro é
+     * gravado em uma única transação (ou na transação já aberta por quem chamou).
+     * Livros cujo ISBN já existe com os mesmos dados não são gravados, de modo que não
+     * geram alterações no diário nem notificações. Livros sem ISBN são sempre inseridos.
+     * </p>
+     *
+     * <p>
+     * O conflito é detectado pelo índice único {@code ux_livro_isbn}, criado junto com o
+     * esquema. Se ele não existir, porque o banco tinha ISBNs repetidos e não pôde ser
+     * migrado, a sincronização falha.
+     * </p>
+     *
+     * <p>
+     * O ID é preenchido nos livros inseridos e atualizados. Inserções e atualizações são
+     * distinguidas pelo ID devolvido: com {@code AUTOINCREMENT}, só um livro novo recebe
+     * um ID maior que a sequência lida no início da transação.
+     * </p>
+     *
+     * @param livros Os livros a serem sincronizados.
+     * @return As contagens de inseridos, atualizados e inalterados,
+     *         ou {@code null} em caso de erro (nada é gravado).
+     */
+    public ResultadoSincronizacao upsertAllByIsbn(Iterable<Livro> livros)
+    {
+        List<Livro> inseridos = new ArrayList<>( );
+        List<Livro> atualizados = new ArrayList<>( );
+        int inalterados;
+
+        EventoLote lote = new EventoLote( );
+        lote.begin( );
+        try
+        {
+            if(conexao.getAutoCommit( ))
+                inalterados = politica.executar(( ) -> emTransacao(( ) -> sincronizar(livros, inseridos, atualizados)));
+            else
+                inalterados = sincronizar(livros, inseridos, atualizados);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao sincronizar livros por ISBN: " + sqle.getMessage( ));
+            lote.concluir("sincronizacao", inseridos.size( ) + atualizados.size( ), false);
+            return null;
+        }
+        lote.concluir("sincronizacao", inseridos.size( ) + atualizados.size( ) + inalterados, true);
+
+        for(Livro livro : inseridos)
+        {
+            registrarIsbn(livro.getIsbn( ));
+            listeners.forEach(l -> l.onInsert(livro));
+        }
+        for(Livro livro : atualizados)
+            listeners.forEach(l -> l.onUpdate(livro));
+
+        return new ResultadoSincronizacao(inseridos.size( ), atualizados.size( ), inalterados);
+    }
+
+    /**
+     * Executa uma tentativa de sincronização, separando os livros inseridos dos atualizados.
+     *
+     * @param livros      Os livros a serem sincronizados.
+     * @param inseridos   Recebe os livros inseridos (esvaziada no início de cada tentativa).
+     * @param atualizados Recebe os livros atualizados (esvaziada no início de cada tentativa).
+     * @return A quantidade de livros inalterados.
+     * @throws SQLException se algum comando falhar.
+     */
+    private int sincronizar(Iterable<Livro> livros, List<Livro> inseridos, List<Livro> atualizados) throws SQLException
+    {
+        inseridos.clear( );
+        atualizados.clear( );
+        int inalterados = 0;
+
+        String query = """
+                INSERT INTO livro (titulo, autor_id, preco, editora_id, dataPublicacao, isbn)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (isbn) DO UPDATE SET
+                    titulo = excluded.titulo,
+                    autor_id = excluded.autor_id,
+                    preco = excluded.preco,
+                    editora_id = excluded.editora_id,
+                    dataPublicacao = excluded.dataPublicacao
+                WHERE livro.titulo IS NOT excluded.titulo
+                   OR livro.autor_id IS NOT excluded.autor_id
+                   OR livro.preco IS NOT excluded.preco
+                   OR livro.editora_id IS NOT excluded.editora_id
+                   OR livro.dataPublicacao IS NOT excluded.dataPublicacao
+                RETURNING id
+                """;
+        int ultimoId = ultimoId( );
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            for(Livro livro : livros)
+            {
+                pst.setString(1, livro.getTitulo( ));
+                definirNomes(pst, 2, 4, livro);
+                pst.setDouble(3, livro.getPreco( ));
+
+                definirData(pst, 5, livro.getDataPublicacao( ));
+
+                if(livro.getIsbn( ) != null)
+                    pst.setInt(6, livro.getIsbn( ));
+                else
+                    pst.setNull(6, java.sql.Types.INTEGER);
+
+                EventoOperacaoDao evento = new EventoOperacaoDao( );
+                evento.begin( );
+                try (ResultSet rs = pst.executeQuery( ))
+                {
+                    // sem linha devolvida: o ISBN existe e os dados são os mesmos
+                    if(!rs.next( ))
+                    {
+                        evento.concluir("upsertByIsbn", query, 0);
+                        inalterados++;
+                        continue;
+                    }
+                    evento.concluir("upsertByIsbn", query, 1);
+                    int id = rs.getInt(1);
+                    livro.setId(id);
+                    if(id > ultimoId)
+                    {
+                        ultimoId = id;
+                        inseridos.add(livro);
+                    }
+                    else
+                        atualizados.add(livro);
+                }
+            }
+        }
+        return inalterados;
+    }
+
+    /**
+     * Deleta um livro do banco de dados pelo seu ID.
+     *
+     * @param id O ID do livro a ser deletado.
+     * @return {@code true} se a deleção foi bem-sucedida,
+     *         {@code false} caso contrário.
+     */
+    public boolean delete(int id)
+    {
+        boolean deletado = false;
+
+        String query = "DELETE FROM livro WHERE id = ?";
+        try
+        {
+            escrever(( ) -> {
+                EventoOperacaoDao evento = new EventoOperacaoDao( );
+                evento.begin( );
+                try (PreparedStatement pst = conexao.prepareStatement(query))
+                {
+                    pst.setInt(1, id);
+                    int linhas = pst.executeUpdate( );
+                    evento.concluir("delete", query, linhas);
+                    return linhas;
+                }
+            });
+            deletado = true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao deletar livro: " + sqle.getMessage( ));
+        }
+
+        if(deletado)
+            listeners.forEach(l -> l.onDelete(id));
+
+        return deletado;
+    }
+
+    /**
+     * Recupera as alterações registradas após o número de sequência informado.
+     * <p>
+     * Para espelhar o catálogo, um consumidor guarda o {@link Alteracao#getSeq() seq}
+     * da última alteração processada e chama este método repetidamente até receber
+     * uma lista vazia. Cada alteração traz o estado atual do livro (ou {@code null}
+     * se ele foi excluído), de modo que o custo é proporcional ao número de alterações,
+     * e não ao tamanho do catálogo.
+     * </p>
+     *
+     * @param seq   O último número de sequência já processado (0 para começar do início).
+     * @param limit A quantidade máxima de alterações retornadas.
+     * @return As alterações em ordem crescente de sequência.
+     *         Nunca {@code null}, mas pode estar vazia.
+     */
+    public List<Alteracao> changesSince(long seq, int limit)
+    {
+        List<Alteracao> alteracoes = new ArrayList<>( );
+
+        String query = """
+                SELECT a.seq, a.livro_id, a.operacao, a.momento, l.*
+                FROM livro_alteracao a
+                LEFT JOIN livro l ON l.id = a.livro_id
+                WHERE a.seq > ?
+                ORDER BY a.seq
+                LIMIT ?
+                """;
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        {
+            pst.setLong(1, seq);
+            pst.setInt(2, limit);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                while (rs.next( ))
+                {
+                    rs.getInt("id");
+                    Livro livro = rs.wasNull( ) ? null : lerLivro(rs);
+
+                    alteracoes.add(new Alteracao(
+                        rs.getLong("seq"),
+                        rs.getInt("livro_id"),
+                        Alteracao.Tipo.deCodigo(rs.getString("operacao").charAt(0)),
+                        Instant.ofEpochMilli(rs.getLong("momento")),
+                        livro
+                    ));
+                }
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao listar alterações: " + sqle.getMessage( ));
+        }
+        evento.concluir("changesSince", query, alteracoes.size( ));
+
+        return alteracoes;
+    }
+
+    /**
+     * Retorna o número de sequência da alteração mais recente.
+     * <p>
+     * Um novo consumidor pode ler este valor, copiar o catálogo com {@link #getAll()} e
+     * então seguir com {@link #changesSince(long, int)} a partir dele; alterações
+     * feitas durante a cópia são reaplicadas sem prejuízo.
+     * </p>
+     *
+     * @return O maior número de sequência, ou 0 se o diário estiver vazio.
+     */
+    public long ultimaAlteracao( )
+    {
+        long seq = 0;
+
+        String query = "SELECT COALESCE(MAX(seq), 0) FROM livro_alteracao";
+        try (
+            PreparedStatement pst = conexao.prepareStatement(query);
+            ResultSet rs = pst.executeQuery( )
+        ) 
+        {
+            if(rs.next( ))
+                seq = rs.getLong(1);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao consultar diário de alterações: " + sqle.getMessage( ));
+        }
+
+        return seq;
+    }
+
+    /**
+     * Retorna o maior ID já atribuído a um livro neste banco, mesmo que ele tenha sido excluído.
+     *
+     * @return O valor atual da sequência da tabela 'livro', ou 0 se nenhum livro foi inserido.
+     */
+    public int ultimoId( )
+    {
+        int id = 0;
+
+        String query = "SELECT seq FROM sqlite_sequence WHERE name = 'livro'";
+        try (
+            PreparedStatement pst = conexao.prepareStatement(query);
+            ResultSet rs = pst.executeQuery( )
+        ) 
+        {
+            if(rs.next( ))
+                id = rs.getInt(1);
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao consultar a sequência de IDs: " + sqle.getMessage( ));
+        }
+
+        return id;
+    }
+
+    /**
+     * Compacta o diário de alterações até o número de sequência informado.
+     * <p>
+     * Política de compactação: entre as alterações com {@code seq <= horizonte},
+     * são removidas as que foram superadas por uma alteração posterior do mesmo livro
+     * e as exclusões (livros que não existem mais). O horizonte deve ser o menor
+     * {@code seq} já processado por todos os consumidores conhecidos.
+     * </p>
+     *
+     * <p>
+     * Após a compactação, o trecho até o horizonte contém no máximo uma alteração por
+     * livro existente, de modo que um consumidor novo ainda pode sincronizar a partir de 0.
+     * Consumidores que pararam antes do horizonte podem ter perdido exclusões e devem
+     * copiar o catálogo novamente.
+     * </p>
+     *
+     * @param horizonte O maior número de sequência que pode ser compactado.
+     * @return A quantidade de alterações removidas, ou -1 em caso de erro.
+     */
+    public int compactarAlteracoes(long horizonte)
+    {
+        int removidas = -1;
+
+        String query = """
+                DELETE FROM livro_alteracao
+                WHERE seq <= ?
+                  AND (operacao = 'D'
+                       OR seq < (SELECT MAX(b.seq) FROM livro_alteracao b
+                                 WHERE b.livro_id = livro_alteracao.livro_id))
+                """;
+        try
+        {
+            removidas = escrever(( ) -> {
+                try (PreparedStatement pst = conexao.prepareStatement(query))
+                {
+                    pst.setLong(1, horizonte);
+                    return pst.executeUpdate( );
+                }
+            });
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao compactar diário de alterações: " + sqle.getMessage( ));
+        }
+
+        return removidas;
+    }
+
+    /**
+     * Retorna o preço de um livro em um momento do passado.
+     * <p>
+     * A consulta desce o índice {@code (livro_id, valido_desde)} até o último registro
+     * do livro anterior ao momento, em tempo logarítmico no tamanho do histórico.
+     * </p>
+     *
+     * @param livroId O ID do livro.
+     * @param momento O momento da consulta.
+     * @return O preço vigente naquele momento, ou {@code null} se o livro ainda não existia,
+     *         já tinha sido excluído ou em caso de erro.
+     */
+    public Double precoEm(int livroId, Instant momento)
+    {
+        Double preco = null;
+
+        String query = """
+                SELECT preco FROM livro_preco_historico
+                WHERE livro_id = ? AND valido_desde <= ?
+                ORDER BY valido_desde DESC
+                LIMIT 1
+                """;
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            pst.setInt(1, livroId);
+            pst.setLong(2, momento.toEpochMilli( ));
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                if(rs.next( ))
+                {
+                    double valor = rs.getDouble("preco");
+                    preco = rs.wasNull( ) ? null : valor;
+                }
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao consultar histórico de preços: " + sqle.getMessage( ));
+        }
+
+        return preco;
+    }
+
+    /**
+     * Retorna todas as mudanças de preço de um livro, incluindo a exclusão, se houver.
+     *
+     * @param livroId O ID do livro.
+     * @return Os registros em ordem cronológica. Nunca {@code null}, mas pode estar vazia.
+     */
+    public List<PrecoHistorico> historicoPreco(int livroId)
     {
-        super( );
-        connect( );
-        createTable( );
+        List<PrecoHistorico> historico = new ArrayList<>( );
+
+        String query = """
+                SELECT valido_desde, preco FROM livro_preco_historico
+                WHERE livro_id = ?
+                ORDER BY valido_desde
+                """;
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            pst.setInt(1, livroId);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                while (rs.next( ))
+                {
+                    double valor = rs.getDouble("preco");
+                    Double preco = rs.wasNull( ) ? null : valor;
+                    historico.add(new PrecoHistorico(livroId, Instant.ofEpochMilli(rs.getLong("valido_desde")), preco));
+                }
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao consultar histórico de preços: " + sqle.getMessage( ));
+        }
+
+        return historico;
     }
 
     /**
-     * Cria a tabela 'livro' no banco de dados se ela não existir.
+     * Retorna o preço de todos os livros que existiam em um momento do passado,
+     * inclusive os excluídos depois dele.
      * <p>
-     * A tabela contém os seguintes campos:
-     * <ul>
-     *   <li><b>id</b> (chave primária, autoincremento)</li>
-     *   <li><b>titulo</b> (texto, obrigatório)</li>
-     *   <li><b>autor</b> (texto, obrigatório)</li>
-     *   <li><b>preco</b> (real, obrigatório)</li>
-     *   <li><b>editora</b> (texto, opcional)</li>
-     *   <li><b>dataPublicacao</b> (data, opcional)</li>
-     *   <li><b>isbn</b> (inteiro, opcional)</li>
-     * </ul>
+     * Em vez de agrupar o histórico inteiro, a consulta salta de livro em livro pelo
+     * índice (uma busca pelo próximo {@code livro_id}) e, para cada um, desce até o
+     * registro vigente. O custo é de duas buscas logarítmicas por livro,
+     * independentemente de quantas mudanças de preço cada um teve.
      * </p>
+     *
+     * @param momento O momento da consulta.
+     * @return Os preços por ID do livro, em ordem crescente de ID.
+     *         Nunca {@code null}, mas pode estar vazio.
      */
-    private void createTable( )
+    public Map<Integer, Double> precosEm(Instant momento)
     {
+        Map<Integer, Double> precos = new LinkedHashMap<>( );
+
         String query = """
-                CREATE TABLE IF NOT EXISTS livro (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    titulo VARCHAR(255) NOT NULL,
-                    autor VARCHAR(255) NOT NULL,
-                    preco REAL NOT NULL,
-                    editora VARCHAR(255),
-                    dataPublicacao DATE,
-                    isbn INTEGER
+                WITH RECURSIVE ids(id) AS (
+                    SELECT MIN(livro_id) FROM livro_preco_historico
+                    UNION ALL
+                    SELECT (SELECT MIN(h.livro_id) FROM livro_preco_historico h WHERE h.livro_id > ids.id)
+                    FROM ids WHERE ids.id IS NOT NULL
                 )
+                SELECT id,
+                       (SELECT h.preco FROM livro_preco_historico h
+                        WHERE h.livro_id = ids.id AND h.valido_desde <= ?
+                        ORDER BY h.valido_desde DESC
+                        LIMIT 1) AS preco
+                FROM ids
+                WHERE id IS NOT NULL
                 """;
-        try (PreparedStatement pst = conexao.prepareStatement(query)) {
-            pst.executeUpdate( );
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            pst.setLong(1, momento.toEpochMilli( ));
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                while (rs.next( ))
+                {
+                    double valor = rs.getDouble("preco");
+                    if(!rs.wasNull( ))
+                        precos.put(rs.getInt("id"), valor);
+                }
+            }
         } catch (SQLException sqle) {
-            System.err.println("Erro ao criar tabela 'livro': " + sqle.getMessage( ));
+            System.err.println("Erro ao consultar histórico de preços: " + sqle.getMessage( ));
         }
+
+        return precos;
     }
 
     /**
-     * Insere um novo livro no banco de dados.
+     * Recupera uma página dos livros publicados entre duas datas, com
+     * {@link #TAMANHO_PAGINA} livros por página.
+     *
+     * @param de     A primeira data do intervalo (inclusive).
+     * @param ate    A última data do intervalo (inclusive).
+     * @param pagina O número da página, a partir de 1.
+     * @return Os livros da página, em ordem de data e de ID.
+     *         Nunca {@code null}, mas pode estar vazia.
+     * @see #publishedBetween(LocalDate, LocalDate, int, int)
+     */
+    public List<Livro> publishedBetween(LocalDate de, LocalDate ate, int pagina) {
+        return publishedBetween(de, ate, pagina, TAMANHO_PAGINA);
+    }
+
+    /**
+     * Recupera uma página dos livros publicados entre duas datas.
      * <p>
-     * Após a inserção, o ID gerado automaticamente será atribuído
-     * ao objeto {@link Livro} fornecido.
+     * As datas são comparadas como dias desde a época, portanto a consulta percorre apenas o
+     * trecho do índice {@code ix_livro_data} entre as duas datas, já na ordem do resultado
+     * (o índice guarda o ID junto de cada data). Livros sem data não entram no resultado.
+     * As páginas seguintes descartam as linhas das anteriores no próprio índice, sem ler os livros.
      * </p>
      *
-     * @param livro O objeto {@link Livro} a ser inserido.
-     * @return {@code true} se a inserção foi bem-sucedida,
-     *         {@code false} caso contrário.
+     * @param de      A primeira data do intervalo (inclusive).
+     * @param ate     A última data do intervalo (inclusive).
+     * @param pagina  O número da página, a partir de 1.
+     * @param tamanho A quantidade de livros por página.
+     * @return Os livros da página, em ordem de data e de ID.
+     *         Nunca {@code null}, mas pode estar vazia.
+     * @throws IllegalArgumentException Se a página ou o tamanho não forem positivos.
      */
-    public boolean insert(Livro livro)
+    public List<Livro> publishedBetween(LocalDate de, LocalDate ate, int pagina, int tamanho)
     {
-        boolean inserido = false;
+        if(pagina < 1 || tamanho < 1)
+            throw new IllegalArgumentException("Página e tamanho devem ser positivos: " + pagina + ", " + tamanho);
 
-        String query = "INSERT INTO livro (titulo, autor, preco, editora, dataPublicacao, isbn) values (?, ?, ?, ?, ?, ?)";
+        List<Livro> livros = new ArrayList<>( );
+
+        String query = """
+                SELECT * FROM livro
+                WHERE dataPublicacao BETWEEN ? AND ?
+                ORDER BY dataPublicacao, id
+                LIMIT ? OFFSET ?
+                """;
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
         try (PreparedStatement pst = conexao.prepareStatement(query))
         {
-            pst.setString(1, livro.getTitulo( ));
-            pst.setString(2, livro.getAutor( ));
-            pst.setDouble(3, livro.getPreco( ));
-            pst.setString(4, livro.getEditora( ));
+            pst.setLong(1, de.toEpochDay( ));
+            pst.setLong(2, ate.toEpochDay( ));
+            pst.setInt(3, tamanho);
+            pst.setLong(4, (long) (pagina - 1) * tamanho);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                while (rs.next( ))
+                    livros.add(lerLivro(rs));
+            }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao buscar livros por data de publicação: " + sqle.getMessage( ));
+        }
+        evento.concluir("publishedBetween", query, livros.size( ));
 
-            if(livro.getDataPublicacao( ) != null)
-                pst.setDate(5, java.sql.Date.valueOf(livro.getDataPublicacao( )));
-            else
-                pst.setNull(5, java.sql.Types.DATE);
+        return livros;
+    }
 
-            if(livro.getIsbn( ) != null)
-                pst.setInt(6, livro.getIsbn( ));
-            else
-                pst.setNull(6, java.sql.Types.INTEGER);
+    /**
+     * Conta os livros publicados em cada ano de um intervalo.
+     * <p>
+     * Percorre apenas o trecho do índice {@code ix_livro_data} entre 1º de janeiro do primeiro
+     * ano e 31 de dezembro do último, sem ler a tabela 'livro'. O SQLite agrupa por dia, na
+     * ordem do índice e sem ordenação adicional, e os dias são somados por ano aqui, também
+     * em ordem. Para todos os anos do catálogo,
+     * {@link #estatisticasPorAno()} lê as contagens mantidas pelos gatilhos.
+     * </p>
+     *
+     * @param anoInicial O primeiro ano do intervalo (inclusive).
+     * @param anoFinal   O último ano do intervalo (inclusive).
+     * @return A quantidade de livros por ano, em ordem crescente, apenas dos anos com livros.
+     *         Nunca {@code null}, mas pode estar vazio.
+     */
+    public Map<Integer, Long> contarPorAno(int anoInicial, int anoFinal)
+    {
+        Map<Integer, Long> contagens = new LinkedHashMap<>( );
 
-            // pegar o id gerado e setar
-            try (ResultSet rs = pst.getGeneratedKeys( )) 
+        String query = """
+                SELECT dataPublicacao, COUNT(*) AS quantidade FROM livro
+                WHERE dataPublicacao BETWEEN ? AND ?
+                GROUP BY dataPublicacao
+                """;
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            pst.setLong(1, LocalDate.of(anoInicial, 1, 1).toEpochDay( ));
+            pst.setLong(2, LocalDate.of(anoFinal, 12, 31).toEpochDay( ));
+            try (ResultSet rs = pst.executeQuery( ))
             {
-                if(rs.next( )) {
-                    livro.setId(rs.getInt(1)); 
-                }
+                while (rs.next( ))
+                    contagens.merge(LocalDate.ofEpochDay(rs.getLong("dataPublicacao")).getYear( ), rs.getLong("quantidade"), Long::sum);
             }
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao contar livros por ano: " + sqle.getMessage( ));
+        }
+        evento.concluir("contarPorAno", query, contagens.size( ));
 
-            pst.executeUpdate( );
-            inserido = true;
+        return contagens;
+    }
+
+    /**
+     * Retorna a quantidade de livros e a soma dos preços do catálogo inteiro.
+     * <p>
+     * Lê uma única linha de 'livro_estatistica', mantida pelos gatilhos, sem percorrer
+     * a tabela 'livro'.
+     * </p>
+     *
+     * @return As estatísticas do catálogo, ou {@code null} em caso de erro.
+     */
+    public EstatisticaCatalogo estatisticaGeral( ) {
+        return lerEstatistica("SELECT quantidade, soma_centavos FROM livro_estatistica WHERE dimensao = 'T' AND chave = ?", 0);
+    }
+
+    /**
+     * Retorna a quantidade de livros e a soma dos preços de um autor.
+     *
+     * @param autor O nome do autor.
+     * @return As estatísticas do autor (vazias se ele não tiver livros), ou {@code null} em caso de erro.
+     */
+    public EstatisticaCatalogo estatisticaPorAutor(String autor)
+    {
+        String query = """
+                SELECT s.quantidade, s.soma_centavos FROM autor a
+                JOIN livro_estatistica s ON s.dimensao = 'A' AND s.chave = a.id
+                WHERE a.nome = ?
+                """;
+        return lerEstatistica(query, autor);
+    }
+
+    /**
+     * Retorna a quantidade de livros e a soma dos preços de uma editora.
+     *
+     * @param editora O nome da editora.
+     * @return As estatísticas da editora (vazias se ela não tiver livros), ou {@code null} em caso de erro.
+     */
+    public EstatisticaCatalogo estatisticaPorEditora(String editora)
+    {
+        String query = """
+                SELECT s.quantidade, s.soma_centavos FROM editora e
+                JOIN livro_estatistica s ON s.dimensao = 'E' AND s.chave = e.id
+                WHERE e.nome = ?
+                """;
+        return lerEstatistica(query, editora);
+    }
+
+    /**
+     * Retorna a quantidade de livros e a soma dos preços dos livros publicados em um ano.
+     *
+     * @param ano O ano de publicação.
+     * @return As estatísticas do ano (vazias se não houver livros), ou {@code null} em caso de erro.
+     */
+    public EstatisticaCatalogo estatisticaPorAno(int ano) {
+        return lerEstatistica("SELECT quantidade, soma_centavos FROM livro_estatistica WHERE dimensao = 'P' AND chave = ?", ano);
+    }
+
+    /**
+     * Executa uma consulta de estatística por chave.
+     *
+     * @return A estatística encontrada, {@link EstatisticaCatalogo#VAZIA} se não houver linha,
+     *         ou {@code null} em caso de erro.
+     */
+    private EstatisticaCatalogo lerEstatistica(String query, Object chave)
+    {
+        EstatisticaCatalogo estatistica = null;
+
+        try (PreparedStatement pst = conexao.prepareStatement(query))
+        {
+            pst.setObject(1, chave);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                estatistica = rs.next( ) ? new EstatisticaCatalogo(rs.getLong("quantidade"), rs.getLong("soma_centavos"))
+                                        : EstatisticaCatalogo.VAZIA;
+            }
         } catch (SQLException sqle) {
-            System.err.println("Erro ao inserir no banco de dados: " + sqle.getMessage( ));
+            System.err.println("Erro ao consultar estatísticas do catálogo: " + sqle.getMessage( ));
         }
 
-        return inserido;
+        return estatistica;
     }
 
     /**
-     * Recupera todos os livros do banco de dados.
+     * Retorna as estatísticas de todas as editoras com livros.
+     * <p>
+     * O custo é proporcional à quantidade de editoras, não à de livros.
+     * </p>
      *
-     * @return Uma lista de objetos {@link Livro}.
-     *         Nunca {@code null}, mas pode estar vazia se não houver registros.
+     * @return As estatísticas por nome da editora, em ordem alfabética.
+     *         Nunca {@code null}, mas pode estar vazio.
      */
-    public List<Livro> getAll( )
+    public Map<String, EstatisticaCatalogo> estatisticasPorEditora( )
     {
-        List<Livro> livros = new LinkedList<>( );
+        Map<String, EstatisticaCatalogo> estatisticas = new LinkedHashMap<>( );
 
-        String query = "SELECT * FROM livro";
+        String query = """
+                SELECT e.nome, s.quantidade, s.soma_centavos FROM livro_estatistica s
+                JOIN editora e ON e.id = s.chave
+                WHERE s.dimensao = 'E'
+                ORDER BY e.nome
+                """;
         try (
-            PreparedStatement pst = conexao.prepareStatement(query);
-            ResultSet rs = pst.executeQuery( )
-        ) 
+            Statement st = conexao.createStatement( );
+            ResultSet rs = st.executeQuery(query)
+        )
         {
             while (rs.next( ))
-            {
-                Livro livro = new Livro( );
-                livro.setId(rs.getInt("id"));
-                livro.setTitulo(rs.getString("titulo"));
-                livro.setAutor(rs.getString("autor"));
-                livro.setPreco(rs.getDouble("preco"));
-                livro.setEditora(rs.getString("editora"));
-
-                java.sql.Date data = rs.getDate("dataPublicacao");
-                if(data != null)
-                    livro.setDataPublicacao(data.toLocalDate( ));
-            
-                int isbn = rs.getInt("isbn");
-                if(rs.wasNull( ) == false)
-                    livro.setIsbn(isbn);
-
-                livros.add(livro);
-            }
+                estatisticas.put(rs.getString("nome"), new EstatisticaCatalogo(rs.getLong("quantidade"), rs.getLong("soma_centavos")));
         } catch (SQLException sqle) {
-            System.err.println("Erro ao listar livros: " + sqle.getMessage( ));
+            System.err.println("Erro ao consultar estatísticas do catálogo: " + sqle.getMessage( ));
         }
 
-        return livros;
+        return estatisticas;
     }
 
     /**
-     * Recupera um livro do banco de dados pelo seu ID.
+     * Retorna as estatísticas de todos os anos de publicação com livros.
      *
-     * @param id O ID do livro a ser recuperado.
-     * @return O objeto {@link Livro} correspondente ao ID, 
-     *         ou {@code null} se não encontrado.
+     * @return As estatísticas por ano, em ordem crescente. Nunca {@code null}, mas pode estar vazio.
      */
-    public Livro getById(int id)
+    public Map<Integer, EstatisticaCatalogo> estatisticasPorAno( )
     {
-        Livro livro = null;
+        Map<Integer, EstatisticaCatalogo> estatisticas = new LinkedHashMap<>( );
 
-        String query = "SELECT * FROM livro WHERE id = ?";
-        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        String query = "SELECT chave, quantidade, soma_centavos FROM livro_estatistica WHERE dimensao = 'P' ORDER BY chave";
+        try (
+            Statement st = conexao.createStatement( );
+            ResultSet rs = st.executeQuery(query)
+        )
         {
-            pst.setInt(1, id);
-            try(ResultSet rs = pst.executeQuery( ))
-            {
-                if(rs.next( ))
-                {
-                    livro = new Livro( );
-                    livro.setId(rs.getInt("id"));
-                    livro.setTitulo(rs.getString("titulo"));
-                    livro.setAutor(rs.getString("autor"));
-                    livro.setPreco(rs.getDouble("preco"));
-                    livro.setEditora(rs.getString("editora"));
-
-                    java.sql.Date data = rs.getDate("dataPublicacao");
-                    if(data != null)
-                        livro.setDataPublicacao(data.toLocalDate());
-
-                    int isbn = rs.getInt("isbn");
-                    if(rs.wasNull( ) == false)
-                        livro.setIsbn(isbn);
-                }
-            }
+            while (rs.next( ))
+                estatisticas.put(rs.getInt("chave"), new EstatisticaCatalogo(rs.getLong("quantidade"), rs.getLong("soma_centavos")));
         } catch (SQLException sqle) {
-            System.err.println("Erro ao buscar livro por ID: " + sqle.getMessage( ));
+            System.err.println("Erro ao consultar estatísticas do catálogo: " + sqle.getMessage( ));
         }
 
-        return livro;
+        return estatisticas;
     }
 
     /**
-     * Recupera um livro do banco de dados pelo seu ISBN.
+     * Compara as estatísticas gravadas com as recalculadas a partir da tabela 'livro'.
+     * <p>
+     * Os gatilhos mantêm as duas iguais; uma divergência indica que a tabela foi alterada
+     * por fora deste esquema (por exemplo, com os gatilhos desativados). A comparação
+     * percorre a tabela 'livro' inteira.
+     * </p>
      *
-     * @param isbn O ISBN do livro a ser recuperado.
-     * @return O objeto {@link Livro} correspondente ao ISBN,
-     *         ou {@code null} se não encontrado.
+     * @return Uma descrição de cada linha divergente, vazia se não houver divergências,
+     *         ou {@code null} em caso de erro.
      */
-    public Livro getByIsbn(int isbn)
+    public List<String> verificarEstatisticas( )
     {
-        Livro livro = null;
+        List<String> divergencias = new ArrayList<>( );
 
-        String query = "SELECT * FROM livro WHERE isbn = ?";
-        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        String query = """
+                WITH calculo AS (%s),
+                gravado AS (SELECT * FROM livro_estatistica)
+                SELECT c.dimensao, c.chave, g.quantidade AS gravada, g.soma_centavos AS gravada_soma,
+                       c.quantidade AS calculada, c.soma_centavos AS calculada_soma
+                FROM calculo c LEFT JOIN gravado g ON g.dimensao = c.dimensao AND g.chave = c.chave
+                WHERE g.quantidade IS NOT c.quantidade OR g.soma_centavos IS NOT c.soma_centavos
+                UNION ALL
+                SELECT g.dimensao, g.chave, g.quantidade, g.soma_centavos, NULL, NULL
+                FROM gravado g
+                WHERE NOT EXISTS (SELECT 1 FROM calculo c WHERE c.dimensao = g.dimensao AND c.chave = g.chave)
+                ORDER BY 1, 2
+                """.formatted(CALCULO_ESTATISTICAS);
+        try (
+            Statement st = conexao.createStatement( );
+            ResultSet rs = st.executeQuery(query)
+        )
         {
-            pst.setInt(1, isbn);
-            try(ResultSet rs = pst.executeQuery( ))
+            while (rs.next( ))
             {
-                if(rs.next( ))
-                {
-                    livro = new Livro( );
-                    livro.setId(rs.getInt("id"));
-                    livro.setTitulo(rs.getString("titulo"));
-                    livro.setAutor(rs.getString("autor"));
-                    livro.setPreco(rs.getDouble("preco"));
-                    livro.setEditora(rs.getString("editora"));
-    
-                    java.sql.Date data = rs.getDate("dataPublicacao");
-                    if(data != null)
-                        livro.setDataPublicacao(data.toLocalDate());
-    
-                    livro.setIsbn(rs.getInt("isbn"));
-                }
+                String dimensao = switch (rs.getString("dimensao")) {
+                    case "T" -> "total";
+                    case "A" -> "autor";
+                    case "E" -> "editora";
+                    default -> "ano";
+                };
+                divergencias.add(String.format("%s %d: gravado %d livros / %d centavos, calculado %d livros / %d centavos",
+                                               dimensao, rs.getLong("chave"),
+                                               rs.getLong("gravada"), rs.getLong("gravada_soma"),
+                                               rs.getLong("calculada"), rs.getLong("calculada_soma")));
             }
         } catch (SQLException sqle) {
-            System.err.println("Erro ao buscar livro por ID: " + sqle.getMessage( ));
+            System.err.println("Erro ao verificar estatísticas do catálogo: " + sqle.getMessage( ));
+            divergencias = null;
         }
 
-        return livro;
+        return divergencias;
     }
 
     /**
-     * Atualiza os dados de um livro no banco de dados.
+     * Recalcula todas as estatísticas a partir da tabela 'livro', em uma única transação.
+     * <p>
+     * Corrige as divergências apontadas por {@link #verificarEstatisticas()}. Percorre a
+     * tabela 'livro' inteira.
+     * </p>
      *
-     * @param livro O objeto {@link Livro} com os dados atualizados.
-     * @return {@code true} se a atualização foi bem-sucedida,
-     *         {@code false} se não houve alterações (ex: ID inexistente).
+     * @return {@code true} se as estatísticas foram recalculadas, {@code false} em caso de erro.
      */
-    public boolean update(Livro livro)
+    public boolean reconstruirEstatisticas( )
     {
-        boolean atualizado = false;
+        boolean sucesso = false;
 
-        String query = "UPDATE livro SET titulo = ?, autor = ?, preco = ?, editora = ?, dataPublicacao = ?, isbn = ? WHERE id = ?";
-        try (PreparedStatement pst = conexao.prepareStatement(query)) 
+        try
         {
-            pst.setString(1, livro.getTitulo( ));
-            pst.setString(2, livro.getAutor( ));
-            pst.setDouble(3, livro.getPreco( ));
-            pst.setString(4, livro.getEditora( ));
+            politica.executar(( ) -> emTransacao(( ) -> {
+                try (Statement st = conexao.createStatement( ))
+                {
+                    st.executeUpdate("DELETE FROM livro_estatistica");
+                    return st.executeUpdate("INSERT INTO livro_estatistica " + CALCULO_ESTATISTICAS);
+                }
+            }));
+            sucesso = true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao reconstruir estatísticas do catálogo: " + sqle.getMessage( ));
+        }
 
-            if(livro.getDataPublicacao() != null)
-                pst.setDate(5, java.sql.Date.valueOf(livro.getDataPublicacao()));
-            else
-                pst.setNull(5, java.sql.Types.DATE);
+        return sucesso;
+    }
 
-            if(livro.getIsbn() != null)
-                pst.setInt(6, livro.getIsbn());
-            else
-                pst.setNull(6, java.sql.Types.INTEGER);
+    /**
+     * Substitui todos os livros relacionados gravados, em uma única transação.
+     * <p>
+     * Os relacionados costumam ser calculados fora do horário de uso por
+     * {@link com.rubix.vinimiraa.analise.LivrosRelacionados}; até a próxima gravação,
+     * livros novos não têm relacionados e livros excluídos deixam de aparecer nas listas.
+     * </p>
+     *
+     * @param relacionados Os IDs dos relacionados de cada livro, do mais para o menos parecido,
+     *                     por ID do livro.
+     * @return A quantidade de relações gravadas, ou -1 em caso de erro (nada é alterado).
+     */
+    public int gravarRelacionados(Map<Integer, int[]> relacionados)
+    {
+        int gravadas = -1;
 
-            pst.setInt(7, livro.getId( ));
-            pst.executeUpdate( );
-            atualizado = true;
+        String query = "INSERT INTO livro_relacionado (livro_id, posicao, relacionado_id) VALUES (?, ?, ?)";
+        EventoLote lote = new EventoLote( );
+        lote.begin( );
+        try
+        {
+            gravadas = politica.executar(( ) -> emTransacao(( ) -> {
+                try (
+                    Statement st = conexao.createStatement( );
+                    PreparedStatement pst = conexao.prepareStatement(query)
+                )
+                {
+                    st.executeUpdate("DELETE FROM livro_relacionado");
+                    int total = 0;
+                    for(Map.Entry<Integer, int[]> entrada : relacionados.entrySet( ))
+                    {
+                        int[] ids = entrada.getValue( );
+                        for(int posicao = 0; posicao < ids.length; posicao++)
+                        {
+                            pst.setInt(1, entrada.getKey( ));
+                            pst.setInt(2, posicao);
+                            pst.setInt(3, ids[posicao]);
+                            pst.addBatch( );
+                            if(++total % 1000 == 0) pst.executeBatch( );
+                        }
+                    }
+                    pst.executeBatch( );
+                    return total;
+                }
+            }));
         } catch (SQLException sqle) {
-            System.err.println("Erro ao atualizar livro: " + sqle.getMessage( ));
+            System.err.println("Erro ao gravar livros relacionados: " + sqle.getMessage( ));
         }
+        lote.concluir("relacionados", Math.max(gravadas, 0), gravadas >= 0);
 
-        return atualizado;
+        return gravadas;
     }
 
     /**
-     * Deleta um livro do banco de dados pelo seu ID.
+     * Retorna os livros relacionados a um livro ("mais como este"), já calculados e gravados
+     * por {@link #gravarRelacionados(Map)}.
+     * <p>
+     * É uma única consulta: um trecho da chave primária de 'livro_relacionado' e uma busca
+     * pela chave primária de 'livro' para cada relacionado.
+     * </p>
      *
-     * @param id O ID do livro a ser deletado.
-     * @return {@code true} se a deleção foi bem-sucedida,
-     *         {@code false} caso contrário.
+     * @param id O ID do livro.
+     * @param n  A quantidade máxima de relacionados.
+     * @return Os relacionados, do mais para o menos parecido. Nunca {@code null}, mas pode
+     *         estar vazia (livro sem relacionados gravados ou em caso de erro).
      */
-    public boolean delete(int id)
+    public List<Livro> getRelated(int id, int n)
     {
-        boolean deletado = false;
+        List<Livro> livros = new ArrayList<>( );
 
-        String query = "DELETE FROM livro WHERE id = ?";
+        String query = """
+                SELECT l.* FROM livro_relacionado r
+                JOIN livro l ON l.id = r.relacionado_id
+                WHERE r.livro_id = ?
+                ORDER BY r.posicao
+                LIMIT ?
+                """;
+        EventoOperacaoDao evento = new EventoOperacaoDao( );
+        evento.begin( );
         try (PreparedStatement pst = conexao.prepareStatement(query))
         {
             pst.setInt(1, id);
-            pst.executeUpdate( );
-            deletado = true;
+            pst.setInt(2, n);
+            try (ResultSet rs = pst.executeQuery( ))
+            {
+                while (rs.next( ))
+                    livros.add(lerLivro(rs));
+            }
         } catch (SQLException sqle) {
-            System.err.println("Erro ao deletar livro: " + sqle.getMessage( ));
+            System.err.println("Erro ao buscar livros relacionados: " + sqle.getMessage( ));
         }
+        evento.concluir("getRelated", query, livros.size( ));
 
-        return deletado;
+        return livros;
+    }
+
+    /**
+     * Registra um observador para ser notificado das inserções,
+     * atualizações e exclusões feitas por este DAO.
+     *
+     * @param listener O observador a ser registrado.
+     */
+    public void addListener(LivroListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove um observador previamente registrado.
+     *
+     * @param listener O observador a ser removido.
+     */
+    public void removeListener(LivroListener listener) {
+        listeners.remove(listener);
     }
 }
@@ -0,0 +1,441 @@
+package com.rubix.vinimiraa.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import com.rubix.vinimiraa.model.Alteracao;
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.monitoramento.EventoLote;
+
+/**
+ * Repositório de livros em SQLite com um único escritor e várias conexões de leitura.
+ * <p>
+ * O SQLite aceita apenas um escritor por vez; escritas concorrentes em conexões
+ * diferentes disputam a trava do banco e podem falhar com {@code SQLITE_BUSY}. Aqui,
+ * todas as inserções, atualizações e exclusões são enviadas por uma fila limitada a
+ * uma thread dedicada, dona da única conexão de escrita. A cada volta, a thread retira
+ * da fila todos os comandos pendentes (até {@link #TAMANHO_LOTE_MAXIMO}) e os grava em
+ * uma única transação, o que dilui o custo do {@code commit} sob carga.
+ * </p>
+ *
+ * <p>
+ * As leituras usam um conjunto de conexões somente leitura. Com o banco em modo WAL,
+ * elas executam em paralelo entre si e com a escrita. Uma escrita confirmada (método
+ * síncrono retornado ou futuro concluído) é visível para as leituras seguintes.
+ * </p>
+ *
+ * <p>
+ * Quando a fila está cheia, quem envia um comando espera por espaço, limitando a memória
+ * usada sob sobrecarga. Os observadores são notificados pela thread de escrita,
+ * depois do {@code commit}.
+ * </p>
+ *
+ * <pre>{@code
+ * LivroEscritorUnicoRepository repositorio = new LivroEscritorUnicoRepository("livros.db", 4, 1024);
+ * repositorio.insertAsync(livro).thenAccept(ok -> ...);   // não bloqueia
+ * repositorio.update(outro);                              // espera o commit
+ * }</pre>
+ */
+public class LivroEscritorUnicoRepository implements LivroRepository
+{
+    /** Capacidade padrão da fila de comandos. */
+    public static final int CAPACIDADE_FILA_PADRAO = 1024;
+
+    /** Quantidade máxima de comandos gravados em uma mesma transação. */
+    public static final int TAMANHO_LOTE_MAXIMO = 256;
+
+    /** Comando que encerra a thread de escrita. */
+    private static final Comando FIM = new Comando(null, null, 0);
+
+    /** Conexão de escrita, usada apenas pela thread de escrita. */
+    private final LivroDAO escritor;
+
+    /** Conexões de leitura disponíveis. */
+    private final BlockingQueue<LivroDAO> leitores;
+
+    /** Todas as conexões de leitura, para o encerramento. */
+    private final List<LivroDAO> todosLeitores = new ArrayList<>( );
+
+    /** Comandos aguardando a thread de escrita. */
+    private final BlockingQueue<Comando> fila;
+
+    /** Thread de escrita. */
+    private final Thread thread;
+
+    /** Impede o envio de comandos depois do encerramento. */
+    private final ReentrantReadWriteLock travaEnvio = new ReentrantReadWriteLock( );
+
+    /** Indica se o repositório foi encerrado. */
+    private boolean encerrado = false;
+
+    /** Observadores notificados após cada escrita bem-sucedida. */
+    private final List<LivroListener> listeners = new CopyOnWriteArrayList<>( );
+
+    /** Quantidade de transações gravadas. */
+    private final AtomicLong lotes = new AtomicLong( );
+
+    /** Quantidade de comandos gravados. */
+    private final AtomicLong comandos = new AtomicLong( );
+
+    /**
+     * Construtor que usa o banco padrão, uma conexão de leitura por processador e a
+     * fila com capacidade {@value #CAPACIDADE_FILA_PADRAO}.
+     */
+    public LivroEscritorUnicoRepository( ) {
+        this(DAO.DATABASE_PADRAO, Runtime.getRuntime( ).availableProcessors( ), CAPACIDADE_FILA_PADRAO);
+    }
+
+    /**
+     * Construtor que abre a conexão de escrita, coloca o banco em modo WAL,
+     * abre as conexões de leitura e inicia a thread de escrita.
+     *
+     * @param database        Caminho do arquivo de banco de dados.
+     * @param conexoesLeitura Quantidade de conexões de leitura.
+     * @param capacidadeFila  Quantidade máxima de comandos aguardando gravação.
+     */
+    public LivroEscritorUnicoRepository(String database, int conexoesLeitura, int capacidadeFila)
+    {
+        escritor = new LivroDAO(database);
+        if(!escritor.ativarWal( ))
+            System.err.println("Aviso: banco fora do modo WAL; as leituras podem esperar pelas escritas.");
+
+        leitores = new ArrayBlockingQueue<>(Math.max(1, conexoesLeitura));
+        for(int i = 0; i < Math.max(1, conexoesLeitura); i++)
+        {
+            LivroDAO leitor = new LivroDAO(database, true);
+            todosLeitores.add(leitor);
+            leitores.add(leitor);
+        }
+
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        thread = Thread.ofPlatform( ).name("escritor-livros").daemon(true).start(this::executar);
+    }
+
+    @Override
+    public boolean insert(Livro livro) {
+        return insertAsync(livro).join( );
+    }
+
+    /**
+     * Envia a inserção de um livro à thread de escrita, sem esperar pela gravação.
+     * O ID gerado é atribuído ao livro antes da conclusão do futuro.
+     *
+     * @param livro O livro a ser inserido.
+     * @return Um futuro concluído com {@code true} após o {@code commit},
+     *         ou com {@code false} se a inserção falhar.
+     */
+    public CompletableFuture<Boolean> insertAsync(Livro livro) {
+        return enviar(new Comando(Alteracao.Tipo.INSERCAO, livro, livro.getId( )));
+    }
+
+    @Override
+    public List<Livro> getAll( ) {
+        return ler(LivroDAO::getAll);
+    }
+
+    @Override
+    public Livro getById(int id) {
+        return ler(l -> l.getById(id));
+    }
+
+    @Override
+    public Livro getByIsbn(int isbn) {
+        return ler(l -> l.getByIsbn(isbn));
+    }
+
+    @Override
+    public boolean update(Livro livro) {
+        return updateAsync(livro).join( );
+    }
+
+    /**
+     * Envia a atualização de um livro à thread de escrita, sem esperar pela gravação.
+     *
+     * @param livro O livro com os dados atualizados.
+     * @return Um futuro concluído com o resultado após o {@code commit}.
+     */
+    public CompletableFuture<Boolean> updateAsync(Livro livro) {
+        return enviar(new Comando(Alteracao.Tipo.ATUALIZACAO, livro, livro.getId( )));
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteAsync(id).join( );
+    }
+
+    /**
+     * Envia a exclusão de um livro à thread de escrita, sem esperar pela gravação.
+     *
+     * @param id O ID do livro a ser excluído.
+     * @return Um futuro concluído com o resultado após o {@code commit}.
+     */
+    public CompletableFuture<Boolean> deleteAsync(int id) {
+        return enviar(new Comando(Alteracao.Tipo.EXCLUSAO, null, id));
+    }
+
+    @Override
+    public void addListener(LivroListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(LivroListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Grava os comandos pendentes, encerra a thread de escrita e fecha todas as conexões.
+     * Comandos enviados depois desta chamada são concluídos com {@code false}.
+     *
+     * @return {@code true} se todas as conexões foram fechadas,
+     *         {@code false} caso contrário.
+     */
+    @Override
+    public boolean disconnect( )
+    {
+        travaEnvio.writeLock( ).lock( );
+        try
+        {
+            if(encerrado) return true;
+            encerrado = true;
+            fila.put(FIM);
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+        } finally {
+            travaEnvio.writeLock( ).unlock( );
+        }
+
+        try {
+            thread.join( );
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+        }
+
+        boolean status = escritor.disconnect( );
+        for(LivroDAO leitor : todosLeitores)
+            status &= leitor.disconnect( );
+        return status;
+    }
+
+    /**
+     * Retorna a quantidade de transações gravadas pela thread de escrita.
+     *
+     * @return O número de lotes.
+     */
+    public long lotesGravados( ) {
+        return lotes.get( );
+    }
+
+    /**
+     * Retorna a quantidade de comandos gravados pela thread de escrita.
+     * Dividido por {@link #lotesGravados()}, dá o tamanho médio dos lotes.
+     *
+     * @return O número de comandos.
+     */
+    public long comandosGravados( ) {
+        return comandos.get( );
+    }
+
+    /**
+     * Coloca um comando na fila, esperando por espaço se ela estiver cheia.
+     *
+     * @param comando O comando.
+     * @return O futuro do comando.
+     */
+    private CompletableFuture<Boolean> enviar(Comando comando)
+    {
+        travaEnvio.readLock( ).lock( );
+        try
+        {
+            if(encerrado)
+            {
+                System.err.println("Erro ao gravar livro: repositório encerrado.");
+                comando.resultado.complete(false);
+            }
+            else
+            {
+                fila.put(comando);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+            comando.resultado.complete(false);
+        } finally {
+            travaEnvio.readLock( ).unlock( );
+        }
+        return comando.resultado;
+    }
+
+    /**
+     * Executa uma consulta em uma conexão de leitura livre.
+     *
+     * @param consulta A consulta.
+     * @return O resultado, ou {@code null} se a espera pela conexão for interrompida.
+     */
+    private <T> T ler(Function<LivroDAO, T> consulta)
+    {
+        LivroDAO leitor;
+        try {
+            leitor = leitores.take( );
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+            return null;
+        }
+
+        try {
+            return consulta.apply(leitor);
+        } finally {
+            leitores.add(leitor);
+        }
+    }
+
+    /**
+     * Laço da thread de escrita: retira os comandos da fila em lotes e os grava.
+     */
+    private void executar( )
+    {
+        List<Comando> lote = new ArrayList<>(TAMANHO_LOTE_MAXIMO);
+        boolean fim = false;
+
+        while(!fim)
+        {
+            lote.clear( );
+            try {
+                lote.add(fila.take( ));
+            } catch (InterruptedException ie) {
+                // só o comando FIM encerra a thread, para não abandonar comandos na fila
+                continue;
+            }
+            fila.drainTo(lote, TAMANHO_LOTE_MAXIMO - 1);
+
+            fim = lote.remove(FIM);
+            if(!lote.isEmpty( ))
+                gravar(lote);
+        }
+    }
+
+    /**
+     * Grava um lote de comandos em uma única transação e conclui seus futuros.
+     * Um comando que falha sozinho (por exemplo, uma restrição violada) não desfaz os
+     * demais; uma falha no {@code commit} conclui todo o lote com {@code false}.
+     *
+     * @param lote Os comandos, na ordem em que foram enviados.
+     */
+    private void gravar(List<Comando> lote)
+    {
+        boolean[] resultados = new boolean[lote.size( )];
+        Connection conexao = escritor.conexao;
+        boolean gravado = false;
+
+        EventoLote evento = new EventoLote( );
+        evento.begin( );
+        try
+        {
+            conexao.setAutoCommit(false);
+            for(int i = 0; i < lote.size( ); i++)
+                resultados[i] = aplicar(lote.get(i));
+            conexao.commit( );
+            gravado = true;
+        } catch (SQLException sqle) {
+            System.err.println("Erro ao gravar lote de alterações: " + sqle.getMessage( ));
+            try {
+                conexao.rollback( );
+            } catch (SQLException e) {
+                System.err.println("Erro ao desfazer lote de alterações: " + e.getMessage( ));
+            }
+            // o lote pode ter inserido autores ou editoras que não existem mais
+            escritor.limparDicionarios( );
+            resultados = new boolean[lote.size( )];
+        } finally {
+            try {
+                conexao.setAutoCommit(true);
+            } catch (SQLException sqle) {
+                System.err.println("Erro ao restaurar o modo de confirmação automática: " + sqle.getMessage( ));
+            }
+        }
+
+        evento.concluir("escrita", lote.size( ), gravado);
+
+        lotes.incrementAndGet( );
+        comandos.addAndGet(lote.size( ));
+
+        for(int i = 0; i < lote.size( ); i++)
+        {
+            Comando comando = lote.get(i);
+            if(resultados[i])
+                notificar(comando);
+            comando.resultado.complete(resultados[i]);
+        }
+    }
+
+    /**
+     * Executa um comando na conexão de escrita.
+     *
+     * @param comando O comando.
+     * @return {@code true} se o comando foi executado.
+     */
+    private boolean aplicar(Comando comando)
+    {
+        switch (comando.tipo)
+        {
+            case INSERCAO:
+                return escritor.insert(comando.livro);
+            case ATUALIZACAO:
+                return escritor.update(comando.livro);
+            case EXCLUSAO:
+                return escritor.delete(comando.id);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Notifica os observadores de um comando gravado.
+     *
+     * @param comando O comando.
+     */
+    private void notificar(Comando comando)
+    {
+        for(LivroListener listener : listeners)
+        {
+            switch (comando.tipo)
+            {
+                case INSERCAO:
+                    listener.onInsert(comando.livro);
+                    break;
+                case ATUALIZACAO:
+                    listener.onUpdate(comando.livro);
+                    break;
+                case EXCLUSAO:
+                    listener.onDelete(comando.id);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Alteração enviada à thread de escrita, com o futuro que recebe o resultado.
+     */
+    private static class Comando
+    {
+        private final Alteracao.Tipo tipo;
+        private final Livro livro;
+        private final int id;
+        private final CompletableFuture<Boolean> resultado = new CompletableFuture<>( );
+
+        Comando(Alteracao.Tipo tipo, Livro livro, int id)
+        {
+            this.tipo = tipo;
+            this.livro = livro;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.rubix.vinimiraa.dao;
+
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Observador das alterações realizadas por um {@link LivroRepository}.
+ * <p>
+ * Estruturas mantidas em memória (índices, filtros, caches) implementam esta
+ * interface e se registram com {@link LivroRepository#addListener(LivroListener)} para
+ * serem notificadas após cada operação de escrita bem-sucedida.
+ * </p>
+ */
+public interface LivroListener
+{
+    /**
+     * Chamado após a inserção de um livro, já com o ID gerado.
+     *
+     * @param livro O livro inserido.
+     */
+    void onInsert(Livro livro);
+
+    /**
+     * Chamado após a atualização de um livro.
+     *
+     * @param livro O livro com os dados atualizados.
+     */
+    void onUpdate(Livro livro);
+
+    /**
+     * Chamado após a exclusão de um livro.
+     *
+     * @param id O ID do livro excluído.
+     */
+    void onDelete(int id);
+}
@@ -0,0 +1,465 @@
+package com.rubix.vinimiraa.dao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.util.IO;
+
+/**
+ * Repositório de livros mantido inteiramente em memória.
+ * <p>
+ * Os livros ficam em um {@link ConcurrentHashMap} indexado pelo ID, com dois índices
+ * secundários em {@link ConcurrentSkipListSet}: ISBN e título normalizado
+ * ({@link IO#strNormalize(String)}). As leituras não usam travas; as escritas são
+ * serializadas apenas entre livros que caem na mesma trava de um conjunto fixo
+ * (<i>lock striping</i>), de modo que escritas em livros diferentes ocorrem em paralelo.
+ * </p>
+ *
+ * <p>
+ * Os objetos {@link Livro} são copiados na entrada e na saída, portanto alterações
+ * feitas pelo chamador não afetam o repositório sem uma chamada a {@link #update(Livro)}.
+ * Opcionalmente, o conteúdo pode ser gravado em um arquivo de instantâneo
+ * ({@link #salvarSnapshot()}) e recarregado na criação do repositório.
+ * </p>
+ *
+ * <pre>{@code
+ * LivroRepository repositorio = new LivroMemoriaRepository(Path.of("livros.snapshot"));
+ * repositorio.insert(livro);
+ * ((LivroMemoriaRepository) repositorio).salvarSnapshot( );
+ * }</pre>
+ */
+public final class LivroMemoriaRepository implements LivroRepository
+{
+    /** Quantidade de travas usadas para serializar as escritas. */
+    private static final int QUANTIDADE_TRAVAS = 64;
+
+    /** Identificador do formato do arquivo de instantâneo. */
+    private static final int ASSINATURA_SNAPSHOT = 0x4C495652; // "LIVR"
+
+    /** Versão do formato do arquivo de instantâneo. */
+    private static final int VERSAO_SNAPSHOT = 1;
+
+    /** Livros indexados pelo ID. */
+    private final Map<Integer, Livro> porId = new ConcurrentHashMap<>( );
+
+    /** Índice secundário por ISBN: pares {@code (isbn, id)} empacotados em um {@code long}. */
+    private final NavigableSet<Long> porIsbn = new ConcurrentSkipListSet<>( );
+
+    /** Índice secundário por título normalizado. */
+    private final NavigableSet<ChaveTitulo> porTitulo = new ConcurrentSkipListSet<>( );
+
+    /** Travas das escritas, escolhidas pelo ID do livro. */
+    private final ReentrantLock[] travas = new ReentrantLock[QUANTIDADE_TRAVAS];
+
+    /** Gerador de IDs. */
+    private final AtomicInteger proximoId = new AtomicInteger(1);
+
+    /** Observadores notificados após cada escrita bem-sucedida. */
+    private final List<LivroListener> listeners = new CopyOnWriteArrayList<>( );
+
+    /** Arquivo de instantâneo, ou {@code null} se não for usado. */
+    private final Path snapshot;
+
+    /**
+     * Construtor padrão que cria um repositório vazio, sem instantâneo.
+     */
+    public LivroMemoriaRepository( ) {
+        this(null);
+    }
+
+    /**
+     * Construtor que carrega o instantâneo informado, se ele existir.
+     *
+     * @param snapshot Caminho do arquivo de instantâneo (pode ser nulo).
+     */
+    public LivroMemoriaRepository(Path snapshot)
+    {
+        for(int i = 0; i < QUANTIDADE_TRAVAS; i++)
+            travas[i] = new ReentrantLock( );
+
+        this.snapshot = snapshot;
+        if(snapshot != null && Files.exists(snapshot))
+            carregarSnapshot(snapshot);
+    }
+
+    @Override
+    public boolean insert(Livro livro)
+    {
+        int id = proximoId.getAndIncrement( );
+        ReentrantLock trava = trava(id);
+        trava.lock( );
+        try
+        {
+            Livro copia = new Livro(livro);
+            copia.setId(id);
+            indexar(copia);
+            livro.setId(id);
+        } finally {
+            trava.unlock( );
+        }
+
+        listeners.forEach(l -> l.onInsert(livro));
+        return true;
+    }
+
+    @Override
+    public List<Livro> getAll( )
+    {
+        List<Livro> livros = new ArrayList<>(porId.size( ));
+        for(Livro livro : porId.values( ))
+            livros.add(new Livro(livro));
+        return livros;
+    }
+
+    @Override
+    public Livro getById(int id)
+    {
+        Livro livro = porId.get(id);
+        return (livro != null) ? new Livro(livro) : null;
+    }
+
+    @Override
+    public Livro getByIsbn(int isbn)
+    {
+        for(long chave : porIsbn.subSet(chaveIsbn(isbn, 0), true, chaveIsbn(isbn, Integer.MAX_VALUE), true))
+        {
+            // o livro pode ter sido alterado entre a leitura do índice e a do mapa
+            Livro livro = porId.get((int) chave);
+            if(livro != null && livro.getIsbn( ) != null && livro.getIsbn( ) == isbn)
+                return new Livro(livro);
+        }
+        return null;
+    }
+
+    /**
+     * Recupera os livros cujo título normalizado começa com o prefixo informado,
+     * em ordem alfabética.
+     *
+     * @param prefixo O prefixo (acentos e maiúsculas são ignorados).
+     * @param limite  A quantidade máxima de livros retornados.
+     * @return Os livros encontrados. Nunca {@code null}.
+     */
+    public List<Livro> getByTituloPrefixo(String prefixo, int limite)
+    {
+        List<Livro> livros = new ArrayList<>( );
+        String chave = IO.strNormalize(prefixo);
+
+        for(ChaveTitulo entrada : porTitulo.tailSet(new ChaveTitulo(chave, Integer.MIN_VALUE)))
+        {
+            if(livros.size( ) >= limite || !entrada.titulo.startsWith(chave)) break;
+
+            Livro livro = porId.get(entrada.id);
+            if(livro != null && IO.strNormalize(livro.getTitulo( )).equals(entrada.titulo))
+                livros.add(new Livro(livro));
+        }
+        return livros;
+    }
+
+    /**
+     * Recupera todos os livros em ordem de título normalizado, sem precisar ordená-los.
+     *
+     * @return Os livros ordenados pelo título. Nunca {@code null}.
+     */
+    public List<Livro> getAllOrdenadoPorTitulo( ) {
+        return getByTituloPrefixo("", Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean update(Livro livro)
+    {
+        boolean atualizado = false;
+
+        ReentrantLock trava = trava(livro.getId( ));
+        trava.lock( );
+        try
+        {
+            Livro anterior = porId.get(livro.getId( ));
+            if(anterior != null)
+            {
+                // o livro nunca some do mapa principal, para não confundir as leituras sem trava
+                Livro novo = new Livro(livro);
+                adicionarChaves(novo);
+                porId.put(novo.getId( ), novo);
+                removerChaves(anterior, novo);
+                atualizado = true;
+            }
+        } finally {
+            trava.unlock( );
+        }
+
+        if(atualizado)
+            listeners.forEach(l -> l.onUpdate(livro));
+
+        return atualizado;
+    }
+
+    @Override
+    public boolean delete(int id)
+    {
+        ReentrantLock trava = trava(id);
+        trava.lock( );
+        try
+        {
+            Livro anterior = porId.remove(id);
+            if(anterior != null)
+                removerChaves(anterior, null);
+        } finally {
+            trava.unlock( );
+        }
+
+        listeners.forEach(l -> l.onDelete(id));
+        return true;
+    }
+
+    @Override
+    public void addListener(LivroListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(LivroListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Grava o instantâneo, se configurado, e libera o repositório.
+     *
+     * @return {@code true} se o instantâneo (quando configurado) foi gravado,
+     *         {@code false} caso contrário.
+     */
+    @Override
+    public boolean disconnect( ) {
+        return snapshot == null || salvarSnapshot( );
+    }
+
+    /**
+     * Retorna a quantidade de livros no repositório.
+     *
+     * @return O número de livros.
+     */
+    public int tamanho( ) {
+        return porId.size( );
+    }
+
+    /**
+     * Grava o conteúdo do repositório no arquivo de instantâneo configurado.
+     *
+     * @return {@code true} se o instantâneo foi gravado,
+     *         {@code false} caso contrário ou se não houver arquivo configurado.
+     */
+    public boolean salvarSnapshot( ) {
+        return snapshot != null && salvarSnapshot(snapshot);
+    }
+
+    /**
+     * Grava o conteúdo do repositório em um arquivo.
+     * <p>
+     * Todas as travas são adquiridas apenas durante a cópia das referências, de modo que
+     * o instantâneo é consistente e as escritas ficam bloqueadas por pouco tempo. O arquivo
+     * é gravado em um temporário e renomeado ao final, nunca ficando pela metade.
+     * </p>
+     *
+     * @param arquivo O arquivo de destino.
+     * @return {@code true} se o instantâneo foi gravado,
+     *         {@code false} caso contrário.
+     */
+    public boolean salvarSnapshot(Path arquivo)
+    {
+        boolean salvo = false;
+
+        List<Livro> livros;
+        for(ReentrantLock trava : travas) trava.lock( );
+        try {
+            livros = new ArrayList<>(porId.values( ));
+        } finally {
+            for(ReentrantLock trava : travas) trava.unlock( );
+        }
+        int ultimoId = proximoId.get( ) - 1;
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName( ) + ".tmp");
+        try
+        {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario))))
+            {
+                out.writeInt(ASSINATURA_SNAPSHOT);
+                out.writeInt(VERSAO_SNAPSHOT);
+                out.writeInt(ultimoId);
+                out.writeInt(livros.size( ));
+                for(Livro livro : livros)
+                {
+                    out.writeInt(livro.getId( ));
+                    out.writeUTF(livro.getTitulo( ));
+                    out.writeUTF(livro.getAutor( ));
+                    out.writeDouble(livro.getPreco( ) != null ? livro.getPreco( ) : 0.0);
+
+                    out.writeBoolean(livro.getEditora( ) != null);
+                    if(livro.getEditora( ) != null) out.writeUTF(livro.getEditora( ));
+
+                    out.writeBoolean(livro.getDataPublicacao( ) != null);
+                    if(livro.getDataPublicacao( ) != null) out.writeLong(livro.getDataPublicacao( ).toEpochDay( ));
+
+                    out.writeBoolean(livro.getIsbn( ) != null);
+                    if(livro.getIsbn( ) != null) out.writeInt(livro.getIsbn( ));
+                }
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            salvo = true;
+        } catch (IOException ioe) {
+            System.err.println("Erro ao gravar instantâneo: " + ioe.getMessage( ));
+        }
+
+        return salvo;
+    }
+
+    /**
+     * Substitui o conteúdo do repositório pelo conteúdo de um arquivo de instantâneo.
+     * Os observadores não são notificados.
+     *
+     * @param arquivo O arquivo de origem.
+     * @return {@code true} se o instantâneo foi carregado,
+     *         {@code false} caso contrário.
+     */
+    public boolean carregarSnapshot(Path arquivo)
+    {
+        boolean carregado = false;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo))))
+        {
+            if(in.readInt( ) != ASSINATURA_SNAPSHOT || in.readInt( ) != VERSAO_SNAPSHOT)
+                throw new IOException("formato de instantâneo desconhecido");
+
+            int ultimoId = in.readInt( );
+            int quantidade = in.readInt( );
+            List<Livro> livros = new ArrayList<>(quantidade);
+            for(int i = 0; i < quantidade; i++)
+            {
+                int id = in.readInt( );
+                String titulo = in.readUTF( );
+                String autor = in.readUTF( );
+                double preco = in.readDouble( );
+                String editora = in.readBoolean( ) ? in.readUTF( ) : null;
+                LocalDate data = in.readBoolean( ) ? LocalDate.ofEpochDay(in.readLong( )) : null;
+                Integer isbn = in.readBoolean( ) ? in.readInt( ) : null;
+                livros.add(new Livro(id, titulo, autor, preco, editora, data, isbn));
+            }
+
+            for(ReentrantLock trava : travas) trava.lock( );
+            try
+            {
+                porId.clear( );
+                porIsbn.clear( );
+                porTitulo.clear( );
+                livros.forEach(this::indexar);
+                proximoId.set(ultimoId + 1);
+            } finally {
+                for(ReentrantLock trava : travas) trava.unlock( );
+            }
+            carregado = true;
+        } catch (IOException ioe) {
+            System.err.println("Erro ao carregar instantâneo: " + ioe.getMessage( ));
+        }
+
+        return carregado;
+    }
+
+    /**
+     * Inclui o livro no mapa principal e nos índices secundários.
+     * Deve ser chamado com a trava do livro adquirida.
+     *
+     * @param livro A cópia do livro, que passa a pertencer ao repositório.
+     */
+    private void indexar(Livro livro)
+    {
+        adicionarChaves(livro);
+        porId.put(livro.getId( ), livro);
+    }
+
+    /**
+     * Inclui as chaves do livro nos índices secundários.
+     *
+     * @param livro O livro.
+     */
+    private void adicionarChaves(Livro livro)
+    {
+        if(livro.getIsbn( ) != null)
+            porIsbn.add(chaveIsbn(livro.getIsbn( ), livro.getId( )));
+        porTitulo.add(new ChaveTitulo(IO.strNormalize(livro.getTitulo( )), livro.getId( )));
+    }
+
+    /**
+     * Remove dos índices secundários as chaves de uma versão antiga do livro
+     * que não são usadas pela versão nova.
+     * Deve ser chamado com a trava do livro adquirida.
+     *
+     * @param anterior A versão antiga do livro.
+     * @param novo     A versão nova, ou {@code null} se o livro foi excluído.
+     */
+    private void removerChaves(Livro anterior, Livro novo)
+    {
+        String titulo = IO.strNormalize(anterior.getTitulo( ));
+        if(novo == null || !titulo.equals(IO.strNormalize(novo.getTitulo( ))))
+            porTitulo.remove(new ChaveTitulo(titulo, anterior.getId( )));
+
+        Integer isbn = anterior.getIsbn( );
+        if(isbn != null && (novo == null || !isbn.equals(novo.getIsbn( ))))
+            porIsbn.remove(chaveIsbn(isbn, anterior.getId( )));
+    }
+
+    /**
+     * Retorna a trava responsável pelo ID informado.
+     *
+     * @param id O ID do livro.
+     * @return A trava do livro.
+     */
+    private ReentrantLock trava(int id) {
+        return travas[Math.floorMod(id, QUANTIDADE_TRAVAS)];
+    }
+
+    /**
+     * Empacota um par {@code (isbn, id)} em um {@code long} que preserva a ordem do ISBN.
+     */
+    private static long chaveIsbn(int isbn, int id) {
+        return ((long) isbn << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Chave do índice por título: título normalizado, com o ID como desempate.
+     */
+    private static class ChaveTitulo implements Comparable<ChaveTitulo>
+    {
+        private static final Comparator<ChaveTitulo> ORDEM =
+            Comparator.<ChaveTitulo, String>comparing(c -> c.titulo).thenComparingInt(c -> c.id);
+
+        private final String titulo;
+        private final int id;
+
+        ChaveTitulo(String titulo, int id)
+        {
+            this.titulo = titulo;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ChaveTitulo outra) {
+            return ORDEM.compare(this, outra);
+        }
+    }
+}
@@ -0,0 +1,847 @@
+package com.rubix.vinimiraa.dao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Repositório de livros gravado em um log binário somente de acréscimo, lido através
+ * de um arquivo mapeado em memória ({@link MappedByteBuffer}).
+ * <p>
+ * Cada inserção ou atualização acrescenta a versão completa do livro ao final do log, e
+ * cada exclusão acrescenta uma marca de exclusão. Um índice fora do heap
+ * ({@link IndiceOffHeap}) aponta para a versão mais recente de cada ID, de modo que uma
+ * leitura por ID decodifica o registro diretamente da memória mapeada, sem JDBC.
+ * Um segundo índice fora do heap ({@link IndiceIsbnOffHeap}) associa cada ISBN aos IDs
+ * dos livros, para que a busca por ISBN também não percorra o log.
+ * Ao abrir o arquivo, os índices são reconstruídos percorrendo o log do início ao fim.
+ * </p>
+ *
+ * <p>Formato de cada registro:</p>
+ * <pre>
+ * int    tamanho     bytes do registro inteiro, incluindo este campo e o CRC
+ * byte   tipo        1 = livro, 2 = exclusão
+ * int    id
+ * -- somente para livros --
+ * byte   presenca    bit 0: editora, bit 1: data de publicação, bit 2: ISBN
+ * double preco       NaN quando ausente
+ * int    data        dias desde 1970-01-01 (se presente)
+ * int    isbn        (se presente)
+ * string titulo, autor, editora (se presente): tamanho sem sinal de 2 bytes + UTF-8
+ * -- fim --
+ * int    crc         CRC32 dos bytes entre o campo tamanho e o próprio CRC
+ * </pre>
+ *
+ * <p>
+ * O campo {@code tamanho} é gravado por último, e o CRC é conferido na reabertura:
+ * um registro interrompido por uma queda é descartado junto com o que vier depois dele.
+ * As versões antigas e as exclusões são eliminadas por uma compactação em segundo plano
+ * ({@link #compactar()}) quando passam a ocupar mais da metade do log. O arquivo é
+ * limitado a 2 GiB, o maior trecho que um único {@link MappedByteBuffer} alcança.
+ * </p>
+ *
+ * <pre>{@code
+ * LivroRepository repositorio = new LivroMmapRepository(Path.of("livros.log"));
+ * repositorio.insert(livro);
+ * Livro lido = repositorio.getById(livro.getId( ));
+ * repositorio.disconnect( );
+ * }</pre>
+ */
+public final class LivroMmapRepository implements LivroRepository
+{
+    /** Identificador do formato do arquivo. */
+    private static final int ASSINATURA = 0x4C564C47; // "LVLG"
+
+    /** Versão do formato do arquivo. */
+    private static final int VERSAO = 1;
+
+    /** Tamanho do cabeçalho (assinatura e versão). */
+    private static final int CABECALHO = 8;
+
+    /** Tipo de registro que contém um livro. */
+    private static final byte TIPO_LIVRO = 1;
+
+    /** Tipo de registro que marca uma exclusão. */
+    private static final byte TIPO_EXCLUSAO = 2;
+
+    /** Tamanho de um registro de exclusão. */
+    private static final int TAMANHO_EXCLUSAO = 4 + 1 + 4 + 4;
+
+    /** Bits do campo de presença. */
+    private static final int TEM_EDITORA = 1, TEM_DATA = 2, TEM_ISBN = 4;
+
+    /** Tamanho inicial do mapeamento, em bytes. */
+    private static final int MAPEAMENTO_INICIAL = 1 << 20;
+
+    /** Fração do log ocupada por registros obsoletos a partir da qual ele é compactado. */
+    private static final double LIMIAR_COMPACTACAO = 0.5;
+
+    /** Quantidade mínima de bytes obsoletos para que a compactação valha a pena. */
+    private static final long MINIMO_COMPACTACAO = 1 << 20;
+
+    /** Intervalo padrão entre as verificações de compactação, em segundos. */
+    public static final long INTERVALO_COMPACTACAO_PADRAO = 30;
+
+    /** Arquivo do log. */
+    private final Path arquivo;
+
+    /** Protege o mapeamento, o índice e o final do log. */
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock( );
+
+    /** Impede duas compactações simultâneas. */
+    private final ReentrantLock travaCompactacao = new ReentrantLock( );
+
+    /** Observadores notificados após cada escrita bem-sucedida. */
+    private final List<LivroListener> listeners = new CopyOnWriteArrayList<>( );
+
+    /** Canal do arquivo do log, ou {@code null} se ele não pôde ser aberto. */
+    private FileChannel canal;
+
+    /** Mapeamento do arquivo do log. */
+    private MappedByteBuffer mapa;
+
+    /** Posição do final lógico do log. */
+    private int fim;
+
+    /** Bytes ocupados por versões antigas e marcas de exclusão. */
+    private long bytesObsoletos;
+
+    /** Último ID atribuído. */
+    private int ultimoId;
+
+    /** Posição da versão mais recente de cada livro. */
+    private IndiceOffHeap indice = new IndiceOffHeap(1024);
+
+    /** IDs dos livros de cada ISBN; não muda na compactação, que só move os registros. */
+    private final IndiceIsbnOffHeap porIsbn = new IndiceIsbnOffHeap(1024);
+
+    /** Área de montagem dos registros, usada apenas sob a trava de escrita. */
+    private ByteBuffer rascunho = ByteBuffer.allocate(512);
+
+    /** Executor da compactação em segundo plano, ou {@code null} se desativada. */
+    private final ScheduledExecutorService compactador;
+
+    /**
+     * Construtor que abre (ou cria) o log e verifica a necessidade de compactação
+     * a cada {@value #INTERVALO_COMPACTACAO_PADRAO} segundos.
+     *
+     * @param arquivo Caminho do arquivo do log.
+     */
+    public LivroMmapRepository(Path arquivo) {
+        this(arquivo, INTERVALO_COMPACTACAO_PADRAO);
+    }
+
+    /**
+     * Construtor que abre (ou cria) o log.
+     *
+     * @param arquivo               Caminho do arquivo do log.
+     * @param intervaloCompactacao  Intervalo entre as verificações de compactação, em segundos;
+     *                              {@code 0} desativa a compactação em segundo plano.
+     */
+    public LivroMmapRepository(Path arquivo, long intervaloCompactacao)
+    {
+        this.arquivo = arquivo;
+        abrir( );
+
+        if(intervaloCompactacao > 0 && canal != null)
+        {
+            compactador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "compactacao-livros");
+                t.setDaemon(true);
+                return t;
+            });
+            compactador.scheduleWithFixedDelay(( ) -> {
+                if(precisaCompactar( )) compactar( );
+            }, intervaloCompactacao, intervaloCompactacao, TimeUnit.SECONDS);
+        } else {
+            compactador = null;
+        }
+    }
+
+    @Override
+    public boolean insert(Livro livro)
+    {
+        boolean inserido = false;
+
+        trava.writeLock( ).lock( );
+        try
+        {
+            if(canal != null)
+            {
+                int id = ultimoId + 1;
+                int posicao = acrescentar(montarLivro(id, livro));
+                indice.put(id, posicao);
+                if(livro.getIsbn( ) != null)
+                    porIsbn.put(livro.getIsbn( ), id);
+                ultimoId = id;
+                livro.setId(id);
+                inserido = true;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao inserir livro: " + e.getMessage( ));
+        } finally {
+            trava.writeLock( ).unlock( );
+        }
+
+        if(inserido)
+            listeners.forEach(l -> l.onInsert(livro));
+
+        return inserido;
+    }
+
+    @Override
+    public List<Livro> getAll( )
+    {
+        trava.readLock( ).lock( );
+        try
+        {
+            if(canal == null) return new ArrayList<>( );
+
+            // em ordem de posição, para percorrer a memória mapeada sequencialmente
+            long[] posicoes = indice.copiar( ).posicoes;
+            Arrays.sort(posicoes);
+
+            List<Livro> livros = new ArrayList<>(posicoes.length);
+            for(long posicao : posicoes)
+                livros.add(decodificar(mapa, (int) posicao));
+            return livros;
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    @Override
+    public Livro getById(int id)
+    {
+        trava.readLock( ).lock( );
+        try
+        {
+            if(canal == null) return null;
+
+            long posicao = indice.get(id);
+            return (posicao != IndiceOffHeap.AUSENTE) ? decodificar(mapa, (int) posicao) : null;
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Recupera um livro pelo ISBN.
+     * <p>
+     * Consulta o índice por ISBN e, em seguida, o índice por ID, decodificando um único
+     * registro. Se vários livros tiverem o ISBN, retorna o de menor ID.
+     * </p>
+     */
+    @Override
+    public Livro getByIsbn(int isbn)
+    {
+        trava.readLock( ).lock( );
+        try
+        {
+            if(canal == null) return null;
+
+            int id = porIsbn.menorId(isbn);
+            long posicao = (id != 0) ? indice.get(id) : IndiceOffHeap.AUSENTE;
+            return (posicao != IndiceOffHeap.AUSENTE) ? decodificar(mapa, (int) posicao) : null;
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    @Override
+    public boolean update(Livro livro)
+    {
+        boolean atualizado = false;
+
+        trava.writeLock( ).lock( );
+        try
+        {
+            long anterior = (canal != null) ? indice.get(livro.getId( )) : IndiceOffHeap.AUSENTE;
+            if(anterior != IndiceOffHeap.AUSENTE)
+            {
+                Integer isbnAnterior = isbnEm((int) anterior);
+                int posicao = acrescentar(montarLivro(livro.getId( ), livro));
+                indice.put(livro.getId( ), posicao);
+                if(isbnAnterior != null)
+                    porIsbn.remove(isbnAnterior, livro.getId( ));
+                if(livro.getIsbn( ) != null)
+                    porIsbn.put(livro.getIsbn( ), livro.getId( ));
+                bytesObsoletos += mapa.getInt((int) anterior);
+                atualizado = true;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao atualizar livro: " + e.getMessage( ));
+        } finally {
+            trava.writeLock( ).unlock( );
+        }
+
+        if(atualizado)
+            listeners.forEach(l -> l.onUpdate(livro));
+
+        return atualizado;
+    }
+
+    @Override
+    public boolean delete(int id)
+    {
+        boolean excluido = false;
+
+        trava.writeLock( ).lock( );
+        try
+        {
+            if(canal != null)
+            {
+                long anterior = indice.get(id);
+                if(anterior != IndiceOffHeap.AUSENTE)
+                {
+                    Integer isbn = isbnEm((int) anterior);
+                    acrescentar(montarExclusao(id));
+                    indice.remove(id);
+                    if(isbn != null)
+                        porIsbn.remove(isbn, id);
+                    bytesObsoletos += mapa.getInt((int) anterior) + TAMANHO_EXCLUSAO;
+                }
+                excluido = true;
+            }
+        } catch (IOException ioe) {
+            System.err.println("Erro ao excluir livro: " + ioe.getMessage( ));
+        } finally {
+            trava.writeLock( ).unlock( );
+        }
+
+        if(excluido)
+            listeners.forEach(l -> l.onDelete(id));
+
+        return excluido;
+    }
+
+    @Override
+    public void addListener(LivroListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(LivroListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Interrompe a compactação em segundo plano, grava o mapeamento em disco e fecha o log.
+     *
+     * @return {@code true} se o log foi fechado com sucesso,
+     *         {@code false} caso contrário.
+     */
+    @Override
+    public boolean disconnect( )
+    {
+        boolean status = false;
+
+        if(compactador != null)
+            compactador.shutdownNow( );
+
+        trava.writeLock( ).lock( );
+        try
+        {
+            if(canal != null)
+            {
+                mapa.force( );
+                canal.close( );
+                canal = null;
+                mapa = null;
+            }
+            status = true;
+        } catch (IOException ioe) {
+            System.err.println("Erro ao fechar o log de livros: " + ioe.getMessage( ));
+        } finally {
+            trava.writeLock( ).unlock( );
+        }
+
+        return status;
+    }
+
+    /**
+     * Grava em disco as páginas alteradas do mapeamento.
+     * Até esta chamada, as escritas recentes podem estar apenas no cache do sistema operacional.
+     */
+    public void sincronizar( )
+    {
+        trava.readLock( ).lock( );
+        try {
+            if(canal != null) mapa.force( );
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Retorna a quantidade de livros no repositório.
+     *
+     * @return O número de livros.
+     */
+    public int tamanho( )
+    {
+        trava.readLock( ).lock( );
+        try {
+            return indice.tamanho( );
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Retorna o tamanho lógico do log, em bytes.
+     *
+     * @return A posição do final do log.
+     */
+    public long bytesLog( )
+    {
+        trava.readLock( ).lock( );
+        try {
+            return fim;
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Retorna quantos bytes do log são ocupados por versões antigas e marcas de exclusão.
+     *
+     * @return Os bytes que a próxima compactação pode liberar.
+     */
+    public long bytesObsoletos( )
+    {
+        trava.readLock( ).lock( );
+        try {
+            return bytesObsoletos;
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Verifica se os registros obsoletos justificam uma compactação.
+     *
+     * @return {@code true} se o log deve ser compactado.
+     */
+    public boolean precisaCompactar( )
+    {
+        trava.readLock( ).lock( );
+        try {
+            return canal != null && bytesObsoletos >= MINIMO_COMPACTACAO
+                && bytesObsoletos > (fim - CABECALHO) * LIMIAR_COMPACTACAO;
+        } finally {
+            trava.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Reescreve o log apenas com a versão mais recente de cada livro.
+     * <p>
+     * Os registros vivos são copiados para um arquivo novo sem bloquear leituras nem
+     * escritas: o log só recebe acréscimos, então o trecho já gravado não muda durante a
+     * cópia. Ao final, sob a trava de escrita, os registros acrescentados durante a cópia
+     * são transferidos, e o arquivo novo substitui o antigo com uma renomeação atômica.
+     * </p>
+     *
+     * @return {@code true} se o log foi compactado,
+     *         {@code false} caso contrário.
+     */
+    public boolean compactar( )
+    {
+        if(!travaCompactacao.tryLock( )) return false;
+
+        boolean compactado = false;
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName( ) + ".compactando");
+        try
+        {
+            ByteBuffer origem;
+            int inicio;
+            int[] ids;
+            long[] posicoes;
+
+            trava.readLock( ).lock( );
+            try
+            {
+                if(canal == null) return false;
+                IndiceOffHeap.Entradas copia = indice.copiar( );
+                ids = copia.ids;
+                posicoes = copia.posicoes;
+                origem = mapa.duplicate( );
+                inicio = fim;
+            } finally {
+                trava.readLock( ).unlock( );
+            }
+
+            try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE))
+            {
+                gravar(novo, cabecalho( ));
+
+                // copia os registros vivos em ordem de posição, sem travas
+                Integer[] ordem = new Integer[ids.length];
+                for(int i = 0; i < ordem.length; i++) ordem[i] = i;
+                Arrays.sort(ordem, (a, b) -> Long.compare(posicoes[a], posicoes[b]));
+
+                IndiceOffHeap novoIndice = new IndiceOffHeap(ids.length);
+                for(int i : ordem)
+                {
+                    int posicao = (int) posicoes[i];
+                    novoIndice.put(ids[i], novo.position( ));
+                    gravar(novo, origem.slice(posicao, origem.getInt(posicao)));
+                }
+
+                trava.writeLock( ).lock( );
+                try
+                {
+                    if(canal == null) return false;
+
+                    // transfere o que foi acrescentado durante a cópia
+                    long obsoletos = 0;
+                    for(int posicao = inicio; posicao < fim; posicao += mapa.getInt(posicao))
+                    {
+                        int tamanho = mapa.getInt(posicao);
+                        int id = mapa.getInt(posicao + 5);
+                        if(mapa.get(posicao + 4) == TIPO_LIVRO)
+                        {
+                            novoIndice.put(id, novo.position( ));
+                            gravar(novo, mapa.slice(posicao, tamanho));
+                        }
+                        else if(novoIndice.remove(id) != IndiceOffHeap.AUSENTE)
+                        {
+                            gravar(novo, mapa.slice(posicao, tamanho));
+                            obsoletos += tamanho;
+                        }
+                    }
+                    if(novo.size( ) > Integer.MAX_VALUE)
+                        throw new IOException("o log compactado excede 2 GiB");
+
+                    int novoFim = (int) novo.position( );
+                    novo.force(true);
+                    canal.close( );
+                    Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                    canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(MAPEAMENTO_INICIAL, proximaPotencia(novoFim)));
+                    fim = novoFim;
+                    indice = novoIndice;
+                    bytesObsoletos = obsoletos;
+                    compactado = true;
+                } finally {
+                    trava.writeLock( ).unlock( );
+                }
+            }
+        } catch (IOException ioe) {
+            System.err.println("Erro ao compactar o log de livros: " + ioe.getMessage( ));
+        } finally {
+            try {
+                Files.deleteIfExists(temporario);
+            } catch (IOException ioe) {
+                System.err.println("Erro ao remover arquivo temporário: " + ioe.getMessage( ));
+            }
+            travaCompactacao.unlock( );
+        }
+
+        return compactado;
+    }
+
+    /**
+     * Abre o log, criando-o se necessário, e reconstrói o índice percorrendo os registros.
+     * Registros incompletos ou corrompidos no final do log são descartados.
+     */
+    private void abrir( )
+    {
+        try
+        {
+            canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long tamanhoArquivo = canal.size( );
+            if(tamanhoArquivo > Integer.MAX_VALUE)
+                throw new IOException("o log excede 2 GiB");
+
+            if(tamanhoArquivo == 0)
+            {
+                canal.write(cabecalho( ), 0);
+                tamanhoArquivo = CABECALHO;
+            }
+
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(MAPEAMENTO_INICIAL, tamanhoArquivo));
+            if(mapa.getInt(0) != ASSINATURA || mapa.getInt(4) != VERSAO)
+                throw new IOException("formato de log desconhecido");
+
+            fim = reconstruirIndice((int) tamanhoArquivo);
+
+            // apaga o que restou de um registro interrompido
+            for(int i = fim; i < tamanhoArquivo; i++)
+                mapa.put(i, (byte) 0);
+        } catch (IOException ioe) {
+            System.err.println("Erro ao abrir o log de livros: " + ioe.getMessage( ));
+            fecharCanal( );
+        }
+    }
+
+    /**
+     * Percorre o log a partir do cabeçalho, refazendo os índices e os contadores.
+     *
+     * @param limite A posição máxima a percorrer.
+     * @return A posição do final do último registro válido.
+     */
+    private int reconstruirIndice(int limite)
+    {
+        CRC32 crc = new CRC32( );
+        int posicao = CABECALHO;
+
+        while(posicao + TAMANHO_EXCLUSAO <= limite)
+        {
+            int tamanho = mapa.getInt(posicao);
+            if(tamanho < TAMANHO_EXCLUSAO || posicao + tamanho > limite) break;
+
+            crc.reset( );
+            crc.update(mapa.slice(posicao + 4, tamanho - 8));
+            if((int) crc.getValue( ) != mapa.getInt(posicao + tamanho - 4))
+            {
+                System.err.println("Registro inválido na posição " + posicao + " do log; o restante foi descartado.");
+                break;
+            }
+
+            int id = mapa.getInt(posicao + 5);
+            boolean livro = mapa.get(posicao + 4) == TIPO_LIVRO;
+            long anterior = livro ? indice.put(id, posicao) : indice.remove(id);
+            if(anterior != IndiceOffHeap.AUSENTE)
+            {
+                bytesObsoletos += mapa.getInt((int) anterior);
+                Integer isbn = isbnEm((int) anterior);
+                if(isbn != null) porIsbn.remove(isbn, id);
+            }
+            if(livro)
+            {
+                Integer isbn = isbnEm(posicao);
+                if(isbn != null) porIsbn.put(isbn, id);
+            }
+            else
+                bytesObsoletos += tamanho;
+
+            ultimoId = Math.max(ultimoId, id);
+            posicao += tamanho;
+        }
+
+        return posicao;
+    }
+
+    /**
+     * Acrescenta o registro montado no rascunho ao final do log, aumentando o mapeamento
+     * se necessário. Deve ser chamado com a trava de escrita adquirida.
+     *
+     * @param tamanho O tamanho do registro.
+     * @return A posição do registro no log.
+     * @throws IOException Se o log não puder crescer.
+     */
+    private int acrescentar(int tamanho) throws IOException
+    {
+        if((long) fim + tamanho > mapa.capacity( ))
+        {
+            long necessario = (long) fim + tamanho;
+            if(necessario > Integer.MAX_VALUE)
+                throw new IOException("o log excede 2 GiB; compacte-o ou use outro armazenamento");
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(Integer.MAX_VALUE, proximaPotencia(necessario)));
+        }
+
+        int posicao = fim;
+        // o tamanho é gravado por último: até lá, a reabertura enxerga o final do log
+        mapa.put(posicao + 4, rascunho, 4, tamanho - 4);
+        mapa.putInt(posicao, tamanho);
+        fim += tamanho;
+        return posicao;
+    }
+
+    /**
+     * Monta no rascunho o registro de um livro.
+     *
+     * @param id    O ID gravado no registro.
+     * @param livro O livro.
+     * @return O tamanho do registro.
+     */
+    private int montarLivro(int id, Livro livro)
+    {
+        byte[] titulo = utf8(livro.getTitulo( ));
+        byte[] autor = utf8(livro.getAutor( ));
+        byte[] editora = (livro.getEditora( ) != null) ? utf8(livro.getEditora( )) : null;
+
+        int presenca = ((editora != null) ? TEM_EDITORA : 0)
+                     | ((livro.getDataPublicacao( ) != null) ? TEM_DATA : 0)
+                     | ((livro.getIsbn( ) != null) ? TEM_ISBN : 0);
+
+        int tamanho = 4 + 1 + 4 + 1 + 8
+                    + (((presenca & TEM_DATA) != 0) ? 4 : 0)
+                    + (((presenca & TEM_ISBN) != 0) ? 4 : 0)
+                    + 2 + titulo.length + 2 + autor.length
+                    + ((editora != null) ? 2 + editora.length : 0)
+                    + 4;
+
+        if(rascunho.capacity( ) < tamanho)
+            rascunho = ByteBuffer.allocate(Math.max(tamanho, rascunho.capacity( ) * 2));
+
+        ByteBuffer r = rascunho.clear( );
+        r.putInt(tamanho).put(TIPO_LIVRO).putInt(id).put((byte) presenca);
+        r.putDouble((livro.getPreco( ) != null) ? livro.getPreco( ) : Double.NaN);
+        if((presenca & TEM_DATA) != 0) r.putInt((int) livro.getDataPublicacao( ).toEpochDay( ));
+        if((presenca & TEM_ISBN) != 0) r.putInt(livro.getIsbn( ));
+        r.putShort((short) titulo.length).put(titulo);
+        r.putShort((short) autor.length).put(autor);
+        if(editora != null) r.putShort((short) editora.length).put(editora);
+
+        return fecharRegistro(tamanho);
+    }
+
+    /**
+     * Monta no rascunho o registro de exclusão de um livro.
+     *
+     * @param id O ID do livro excluído.
+     * @return O tamanho do registro.
+     */
+    private int montarExclusao(int id)
+    {
+        rascunho.clear( ).putInt(TAMANHO_EXCLUSAO).put(TIPO_EXCLUSAO).putInt(id);
+        return fecharRegistro(TAMANHO_EXCLUSAO);
+    }
+
+    /**
+     * Grava o CRC ao final do registro montado no rascunho.
+     *
+     * @param tamanho O tamanho do registro.
+     * @return O próprio tamanho.
+     */
+    private int fecharRegistro(int tamanho)
+    {
+        CRC32 crc = new CRC32( );
+        crc.update(rascunho.array( ), 4, tamanho - 8);
+        rascunho.putInt(tamanho - 4, (int) crc.getValue( ));
+        return tamanho;
+    }
+
+    /**
+     * Lê apenas o ISBN do livro gravado na posição informada, sem decodificar os textos.
+     *
+     * @param posicao A posição de um registro de livro.
+     * @return O ISBN, ou {@code null} se o livro não tiver ISBN.
+     */
+    private Integer isbnEm(int posicao)
+    {
+        byte presenca = mapa.get(posicao + 9);
+        if((presenca & TEM_ISBN) == 0) return null;
+        return mapa.getInt(posicao + 18 + (((presenca & TEM_DATA) != 0) ? 4 : 0));
+    }
+
+    /**
+     * Decodifica o livro gravado na posição informada.
+     *
+     * @param buffer  O mapeamento do log.
+     * @param posicao A posição do registro.
+     * @return O livro.
+     */
+    private static Livro decodificar(ByteBuffer buffer, int posicao)
+    {
+        int p = posicao + 5;
+        int id = buffer.getInt(p);
+        int presenca = buffer.get(p + 4);
+        double preco = buffer.getDouble(p + 5);
+        p += 13;
+
+        LocalDate data = null;
+        if((presenca & TEM_DATA) != 0)
+        {
+            data = LocalDate.ofEpochDay(buffer.getInt(p));
+            p += 4;
+        }
+        Integer isbn = null;
+        if((presenca & TEM_ISBN) != 0)
+        {
+            isbn = buffer.getInt(p);
+            p += 4;
+        }
+
+        int[] cursor = { p };
+        String titulo = lerTexto(buffer, cursor);
+        String autor = lerTexto(buffer, cursor);
+        String editora = ((presenca & TEM_EDITORA) != 0) ? lerTexto(buffer, cursor) : null;
+
+        return new Livro(id, titulo, autor, Double.isNaN(preco) ? null : preco, editora, data, isbn);
+    }
+
+    /**
+     * Lê um texto UTF-8 prefixado pelo tamanho e avança o cursor.
+     */
+    private static String lerTexto(ByteBuffer buffer, int[] cursor)
+    {
+        int tamanho = buffer.getShort(cursor[0]) & 0xFFFF;
+        byte[] bytes = new byte[tamanho];
+        buffer.get(cursor[0] + 2, bytes);
+        cursor[0] += 2 + tamanho;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Codifica um texto em UTF-8, verificando se ele cabe no prefixo de 2 bytes.
+     */
+    private static byte[] utf8(String texto)
+    {
+        byte[] bytes = ((texto != null) ? texto : "").getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > 0xFFFF)
+            throw new IllegalArgumentException("texto com mais de 65535 bytes");
+        return bytes;
+    }
+
+    /**
+     * Grava o buffer inteiro na posição atual do canal.
+     */
+    private static void gravar(FileChannel canal, ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining( ))
+            canal.write(buffer);
+    }
+
+    /**
+     * Monta o cabeçalho do arquivo.
+     */
+    private static ByteBuffer cabecalho( ) {
+        return ByteBuffer.allocate(CABECALHO).putInt(ASSINATURA).putInt(VERSAO).flip( );
+    }
+
+    /**
+     * Retorna a menor potência de 2 maior ou igual ao valor.
+     */
+    private static long proximaPotencia(long valor) {
+        return Long.highestOneBit(Math.max(1, valor - 1)) << 1;
+    }
+
+    /**
+     * Fecha o canal após uma falha na abertura, deixando o repositório indisponível.
+     */
+    private void fecharCanal( )
+    {
+        try {
+            if(canal != null) canal.close( );
+        } catch (IOException ioe) {
+            System.err.println("Erro ao fechar o log de livros: " + ioe.getMessage( ));
+        }
+        canal = null;
+        mapa = null;
+    }
+}
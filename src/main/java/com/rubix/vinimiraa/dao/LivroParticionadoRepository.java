@@ -0,0 +1,338 @@
+package com.rubix.vinimiraa.dao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Repositório de livros distribuído entre vários bancos SQLite (partições).
+ * <p>
+ * Cada partição é um {@link LivroDAO} com seu próprio arquivo e sua própria trava de
+ * escrita do SQLite, de modo que escritas em partições diferentes ocorrem em paralelo.
+ * Os livros são distribuídos pelo ID ({@code id mod N}); como os IDs são sequenciais,
+ * as partições recebem quantidades equilibradas de livros.
+ * </p>
+ *
+ * <p>
+ * Os IDs são alocados por um contador global, iniciado a partir da maior sequência
+ * entre as partições, e gravados com {@link LivroDAO#insertComId(Livro)}. Operações por
+ * ID acessam apenas a partição do livro; as demais (listagem, ISBN, buscas) consultam
+ * todas as partições em paralelo e combinam os resultados. Listagens ordenadas são
+ * ordenadas em cada partição e intercaladas ao final (<i>k-way merge</i>).
+ * </p>
+ *
+ * <p>
+ * A quantidade de partições faz parte do formato: reabrir os mesmos arquivos com outra
+ * quantidade faria os livros serem procurados na partição errada.
+ * </p>
+ *
+ * <pre>{@code
+ * LivroParticionadoRepository repositorio = new LivroParticionadoRepository("livros", 4);
+ * repositorio.insert(livro);                       // grava em livros-<id mod 4>.db
+ * List<Livro> ordenados = repositorio.getAllOrdenado(Comparator.naturalOrder( ));
+ * }</pre>
+ */
+public class LivroParticionadoRepository implements LivroRepository
+{
+    /** Partições, indexadas por {@code id mod N}. */
+    private final LivroDAO[] particoes;
+
+    /** Executor das consultas em paralelo, com uma thread por partição. */
+    private final ExecutorService executor;
+
+    /** Gerador global de IDs. */
+    private final AtomicInteger proximoId;
+
+    /** Observadores notificados após cada escrita bem-sucedida. */
+    private final List<LivroListener> listeners = new CopyOnWriteArrayList<>( );
+
+    /**
+     * Construtor que abre (ou cria) as partições {@code prefixo-0.db} até
+     * {@code prefixo-(quantidade-1).db}.
+     *
+     * @param prefixo    Prefixo dos arquivos de banco de dados.
+     * @param quantidade Quantidade de partições.
+     */
+    public LivroParticionadoRepository(String prefixo, int quantidade)
+    {
+        if(quantidade < 1)
+            throw new IllegalArgumentException("A quantidade de partições deve ser positiva.");
+
+        particoes = new LivroDAO[quantidade];
+        int ultimoId = 0;
+        for(int i = 0; i < quantidade; i++)
+        {
+            particoes[i] = new LivroDAO(arquivo(prefixo, i));
+            ultimoId = Math.max(ultimoId, particoes[i].ultimoId( ));
+        }
+        proximoId = new AtomicInteger(ultimoId + 1);
+
+        AtomicInteger contador = new AtomicInteger( );
+        executor = Executors.newFixedThreadPool(quantidade, r -> {
+            Thread t = new Thread(r, "particao-livros-" + contador.getAndIncrement( ));
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Retorna o nome do arquivo de uma partição.
+     *
+     * @param prefixo O prefixo dos arquivos.
+     * @param indice  O índice da partição.
+     * @return O caminho do arquivo.
+     */
+    public static String arquivo(String prefixo, int indice) {
+        return prefixo + "-" + indice + ".db";
+    }
+
+    @Override
+    public boolean insert(Livro livro)
+    {
+        livro.setId(proximoId.getAndIncrement( ));
+
+        LivroDAO particao = particao(livro.getId( ));
+        boolean inserido;
+        synchronized (particao) {
+            inserido = particao.insertComId(livro);
+        }
+
+        if(inserido)
+            listeners.forEach(l -> l.onInsert(livro));
+
+        return inserido;
+    }
+
+    @Override
+    public List<Livro> getAll( )
+    {
+        List<List<Livro>> resultados = emTodas(LivroDAO::getAll);
+        if(resultados == null) return null;
+
+        List<Livro> livros = new ArrayList<>( );
+        resultados.forEach(livros::addAll);
+        return livros;
+    }
+
+    @Override
+    public Livro getById(int id)
+    {
+        LivroDAO particao = particao(id);
+        synchronized (particao) {
+            return particao.getById(id);
+        }
+    }
+
+    /**
+     * Recupera um livro pelo ISBN, consultando todas as partições em paralelo.
+     * Se mais de um livro tiver o ISBN, retorna o de menor ID.
+     */
+    @Override
+    public Livro getByIsbn(int isbn)
+    {
+        List<Livro> resultados = emTodas(p -> p.getByIsbn(isbn));
+        if(resultados == null) return null;
+
+        Livro encontrado = null;
+        for(Livro livro : resultados)
+        {
+            if(livro != null && (encontrado == null || livro.getId( ) < encontrado.getId( )))
+                encontrado = livro;
+        }
+        return encontrado;
+    }
+
+    /**
+     * Recupera todos os livros na ordem informada.
+     * <p>
+     * Cada partição ordena seus livros em paralelo; as listas ordenadas são então
+     * intercaladas com uma fila de prioridade, em {@code O(n log N)} para N partições.
+     * </p>
+     *
+     * @param ordem O critério de ordenação.
+     * @return Os livros ordenados, ou {@code null} em caso de erro.
+     */
+    public List<Livro> getAllOrdenado(Comparator<? super Livro> ordem) {
+        return buscar(livro -> true, ordem);
+    }
+
+    /**
+     * Recupera os livros que atendem ao filtro, na ordem informada.
+     * O filtro e a ordenação são aplicados em paralelo em cada partição.
+     *
+     * @param filtro O critério de seleção.
+     * @param ordem  O critério de ordenação.
+     * @return Os livros encontrados e ordenados, ou {@code null} em caso de erro.
+     */
+    public List<Livro> buscar(Predicate<? super Livro> filtro, Comparator<? super Livro> ordem)
+    {
+        List<List<Livro>> resultados = emTodas(p -> {
+            List<Livro> livros = p.getAll( );
+            if(livros == null) return List.of( );
+
+            List<Livro> selecionados = new ArrayList<>(livros.size( ));
+            for(Livro livro : livros)
+                if(filtro.test(livro)) selecionados.add(livro);
+            selecionados.sort(ordem);
+            return selecionados;
+        });
+        return (resultados != null) ? intercalar(resultados, ordem) : null;
+    }
+
+    @Override
+    public boolean update(Livro livro)
+    {
+        LivroDAO particao = particao(livro.getId( ));
+        boolean atualizado;
+        synchronized (particao) {
+            atualizado = particao.update(livro);
+        }
+
+        if(atualizado)
+            listeners.forEach(l -> l.onUpdate(livro));
+
+        return atualizado;
+    }
+
+    @Override
+    public boolean delete(int id)
+    {
+        LivroDAO particao = particao(id);
+        boolean excluido;
+        synchronized (particao) {
+            excluido = particao.delete(id);
+        }
+
+        if(excluido)
+            listeners.forEach(l -> l.onDelete(id));
+
+        return excluido;
+    }
+
+    @Override
+    public void addListener(LivroListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(LivroListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Encerra as threads de consulta e fecha todas as partições.
+     *
+     * @return {@code true} se todas as partições foram fechadas,
+     *         {@code false} caso contrário.
+     */
+    @Override
+    public boolean disconnect( )
+    {
+        executor.shutdownNow( );
+
+        boolean status = true;
+        for(LivroDAO particao : particoes)
+        {
+            synchronized (particao) {
+                status &= particao.disconnect( );
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Retorna a quantidade de partições.
+     *
+     * @return O número de partições.
+     */
+    public int quantidadeParticoes( ) {
+        return particoes.length;
+    }
+
+    /**
+     * Retorna a partição responsável pelo ID informado.
+     *
+     * @param id O ID do livro.
+     * @return A partição do livro.
+     */
+    private LivroDAO particao(int id) {
+        return particoes[Math.floorMod(id, particoes.length)];
+    }
+
+    /**
+     * Executa a operação em todas as partições em paralelo.
+     * Cada partição é acessada por uma thread de cada vez, pois a conexão JDBC não é
+     * compartilhada entre threads.
+     *
+     * @param operacao A operação a ser executada em cada partição.
+     * @return Os resultados, na ordem das partições, ou {@code null} em caso de erro.
+     */
+    private <T> List<T> emTodas(Function<LivroDAO, T> operacao)
+    {
+        List<Future<T>> futuros = new ArrayList<>(particoes.length);
+        for(LivroDAO particao : particoes)
+        {
+            futuros.add(executor.submit(( ) -> {
+                synchronized (particao) {
+                    return operacao.apply(particao);
+                }
+            }));
+        }
+
+        List<T> resultados = new ArrayList<>(particoes.length);
+        try
+        {
+            for(Future<T> futuro : futuros)
+                resultados.add(futuro.get( ));
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+            futuros.forEach(f -> f.cancel(true));
+            return null;
+        } catch (ExecutionException ee) {
+            System.err.println("Erro ao consultar as partições: " + ee.getCause( ).getMessage( ));
+            return null;
+        }
+        return resultados;
+    }
+
+    /**
+     * Intercala listas já ordenadas em uma única lista ordenada.
+     *
+     * @param listas As listas ordenadas.
+     * @param ordem  O critério de ordenação de todas as listas.
+     * @return A lista intercalada.
+     */
+    private static List<Livro> intercalar(List<List<Livro>> listas, Comparator<? super Livro> ordem)
+    {
+        int total = 0;
+        // cada entrada da fila é {lista, posição}
+        PriorityQueue<int[]> fila = new PriorityQueue<>(Math.max(1, listas.size( )),
+            (a, b) -> ordem.compare(listas.get(a[0]).get(a[1]), listas.get(b[0]).get(b[1])));
+        for(int i = 0; i < listas.size( ); i++)
+        {
+            total += listas.get(i).size( );
+            if(!listas.get(i).isEmpty( )) fila.add(new int[] { i, 0 });
+        }
+
+        List<Livro> intercalados = new ArrayList<>(total);
+        while(!fila.isEmpty( ))
+        {
+            int[] cursor = fila.poll( );
+            List<Livro> lista = listas.get(cursor[0]);
+            intercalados.add(lista.get(cursor[1]));
+            if(++cursor[1] < lista.size( )) fila.add(cursor);
+        }
+        return intercalados;
+    }
+}
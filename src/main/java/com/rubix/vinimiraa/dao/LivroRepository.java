@@ -0,0 +1,88 @@
+package com.rubix.vinimiraa.dao;
+
+import java.util.List;
+
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Operações de persistência da entidade {@link Livro}, independentes do mecanismo de armazenamento.
+ * <p>
+ * {@link LivroDAO} implementa esta interface sobre o SQLite, e {@link LivroMemoriaRepository}
+ * mantém o catálogo inteiro em memória. O restante da aplicação (e os testes) deve depender
+ * apenas desta interface, de modo que o mecanismo possa ser trocado sem outras alterações.
+ * </p>
+ */
+public interface LivroRepository
+{
+    /**
+     * Insere um novo livro. Após a inserção, o ID gerado é atribuído ao objeto fornecido.
+     *
+     * @param livro O livro a ser inserido.
+     * @return {@code true} se a inserção foi bem-sucedida,
+     *         {@code false} caso contrário.
+     */
+    boolean insert(Livro livro);
+
+    /**
+     * Recupera todos os livros.
+     *
+     * @return Uma lista de livros. Nunca {@code null}, mas pode estar vazia.
+     */
+    List<Livro> getAll( );
+
+    /**
+     * Recupera um livro pelo seu ID.
+     *
+     * @param id O ID do livro.
+     * @return O livro correspondente, ou {@code null} se não encontrado.
+     */
+    Livro getById(int id);
+
+    /**
+     * Recupera um livro pelo seu ISBN.
+     *
+     * @param isbn O ISBN do livro.
+     * @return O livro correspondente, ou {@code null} se não encontrado.
+     */
+    Livro getByIsbn(int isbn);
+
+    /**
+     * Atualiza os dados de um livro.
+     *
+     * @param livro O livro com os dados atualizados.
+     * @return {@code true} se a atualização foi bem-sucedida,
+     *         {@code false} caso contrário.
+     */
+    boolean update(Livro livro);
+
+    /**
+     * Exclui um livro pelo seu ID.
+     *
+     * @param id O ID do livro.
+     * @return {@code true} se a exclusão foi bem-sucedida,
+     *         {@code false} caso contrário.
+     */
+    boolean delete(int id);
+
+    /**
+     * Registra um observador das inserções, atualizações e exclusões.
+     *
+     * @param listener O observador a ser registrado.
+     */
+    void addListener(LivroListener listener);
+
+    /**
+     * Remove um observador previamente registrado.
+     *
+     * @param listener O observador a ser removido.
+     */
+    void removeListener(LivroListener listener);
+
+    /**
+     * Libera os recursos do armazenamento (conexões, arquivos, threads).
+     *
+     * @return {@code true} se os recursos foram liberados com sucesso,
+     *         {@code false} caso contrário.
+     */
+    boolean disconnect( );
+}
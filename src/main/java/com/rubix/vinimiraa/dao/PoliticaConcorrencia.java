@@ -0,0 +1,262 @@
+package com.rubix.vinimiraa.dao;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+/**
+ * Política de espera para escritas concorrentes no mesmo arquivo SQLite, por exemplo
+ * quando vários processos compartilham o {@code livros.db}.
+ * <p>
+ * Cada escrita passa por três camadas antes de desistir:
+ * </p>
+ * <ol>
+ *   <li>o {@code busy_timeout} da conexão, durante o qual o próprio SQLite tenta
+ *       obter o bloqueio novamente;</li>
+ *   <li>transações explícitas abertas com {@code BEGIN IMMEDIATE}, que pedem o bloqueio
+ *       de escrita logo no início: uma transação {@code DEFERRED} que lê e depois tenta
+ *       escrever recebe {@code SQLITE_BUSY} sem passar pelo {@code busy_timeout};</li>
+ *   <li>novas tentativas da operação inteira, com espera exponencial aleatória
+ *       ("full jitter") para que os processos não tentem todos ao mesmo tempo.</li>
+ * </ol>
+ *
+ * <p>
+ * Os contadores de novas tentativas e de desistências são compartilhados por todos os
+ * DAOs que usam a mesma instância.
+ * </p>
+ *
+ * <pre>{@code
+ * PoliticaConcorrencia politica = new PoliticaConcorrencia.Builder( )
+ *     .busyTimeout(Duration.ofMillis(200))
+ *     .tentativas(8)
+ *     .build( );
+ * LivroDAO livroDAO = new LivroDAO("livros.db", politica);
+ * }</pre>
+ */
+public final class PoliticaConcorrencia
+{
+    /**
+     * Uma operação no banco que pode ser repetida por inteiro.
+     *
+     * @param <T> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface Operacao<T>
+    {
+        /**
+         * Executa a operação.
+         *
+         * @return O resultado.
+         * @throws SQLException se a operação falhar.
+         */
+        T executar( ) throws SQLException;
+    }
+
+    /** Espera do SQLite por um bloqueio antes de devolver {@code SQLITE_BUSY}. */
+    private final Duration busyTimeout;
+
+    /** Quantidade máxima de execuções de cada operação (1 desativa as novas tentativas). */
+    private final int tentativas;
+
+    /** Limite da espera antes da primeira nova tentativa; dobra a cada tentativa. */
+    private final Duration esperaInicial;
+
+    /** Limite máximo da espera entre tentativas. */
+    private final Duration esperaMaxima;
+
+    /** Indica se as transações explícitas começam com {@code BEGIN IMMEDIATE}. */
+    private final boolean transacaoImediata;
+
+    /** Quantidade de novas tentativas feitas após um {@code SQLITE_BUSY}. */
+    private final LongAdder retentativas = new LongAdder( );
+
+    /** Quantidade de operações abandonadas após esgotar as tentativas. */
+    private final LongAdder desistencias = new LongAdder( );
+
+    /**
+     * Construtor privado usado apenas pelo {@link Builder}.
+     *
+     * @param builder instância do builder
+     */
+    private PoliticaConcorrencia(Builder builder)
+    {
+        this.busyTimeout = builder.busyTimeout;
+        this.tentativas = builder.tentativas;
+        this.esperaInicial = builder.esperaInicial;
+        this.esperaMaxima = builder.esperaMaxima;
+        this.transacaoImediata = builder.transacaoImediata;
+    }
+
+    /**
+     * Executa a operação, repetindo-a enquanto ela falhar por bloqueio do banco.
+     * <p>
+     * Só {@code SQLITE_BUSY} e {@code SQLITE_LOCKED} (e seus códigos estendidos) provocam
+     * nova tentativa; qualquer outro erro é repassado imediatamente. A operação deve poder
+     * ser repetida por inteiro, isto é, uma tentativa que falhou não pode ter deixado nada
+     * gravado (um único comando em modo de confirmação automática, ou uma transação desfeita).
+     * </p>
+     *
+     * @param <T>      O tipo do resultado.
+     * @param operacao A operação.
+     * @return O resultado da primeira execução bem-sucedida.
+     * @throws SQLException o erro da última tentativa, se todas falharem.
+     */
+    public <T> T executar(Operacao<T> operacao) throws SQLException
+    {
+        for(int tentativa = 1; ; tentativa++)
+        {
+            try {
+                return operacao.executar( );
+            } catch (SQLException sqle) {
+                if(!ocupado(sqle)) throw sqle;
+                if(tentativa >= tentativas)
+                {
+                    desistencias.increment( );
+                    throw sqle;
+                }
+                retentativas.increment( );
+                esperar(tentativa, sqle);
+            }
+        }
+    }
+
+    /**
+     * Dorme um tempo aleatório entre zero e o limite da tentativa.
+     *
+     * @throws SQLException o erro original, se a thread for interrompida.
+     */
+    private void esperar(int tentativa, SQLException erro) throws SQLException
+    {
+        long limite = Math.min(esperaMaxima.toNanos( ), esperaInicial.toNanos( ) << Math.min(tentativa - 1, 30));
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current( ).nextLong(limite + 1)));
+        } catch (InterruptedException ie) {
+            Thread.currentThread( ).interrupt( );
+            desistencias.increment( );
+            throw erro;
+        }
+    }
+
+    /**
+     * Indica se o erro é uma disputa por bloqueio, que pode passar se a operação for repetida.
+     *
+     * @param sqle O erro.
+     * @return {@code true} para {@code SQLITE_BUSY} e {@code SQLITE_LOCKED}.
+     */
+    public static boolean ocupado(SQLException sqle)
+    {
+        if(!(sqle instanceof SQLiteException erro)) return false;
+
+        // os códigos estendidos (por exemplo SQLITE_BUSY_SNAPSHOT) guardam o primário no byte menor
+        int primario = erro.getResultCode( ).code & 0xff;
+        return primario == SQLiteErrorCode.SQLITE_BUSY.code || primario == SQLiteErrorCode.SQLITE_LOCKED.code;
+    }
+
+    /**
+     * Retorna o {@code busy_timeout} das conexões.
+     * @return A espera do SQLite por um bloqueio.
+     */
+    public Duration getBusyTimeout( ) { return this.busyTimeout; }
+
+    /**
+     * Retorna a quantidade máxima de execuções de cada operação.
+     * @return A quantidade de tentativas.
+     */
+    public int getTentativas( ) { return this.tentativas; }
+
+    /**
+     * Retorna se as transações explícitas começam com {@code BEGIN IMMEDIATE}.
+     * @return {@code true} se as transações são imediatas.
+     */
+    public boolean isTransacaoImediata( ) { return this.transacaoImediata; }
+
+    /**
+     * Retorna a quantidade de novas tentativas feitas até agora.
+     * @return O total de novas tentativas.
+     */
+    public long getRetentativas( ) { return this.retentativas.sum( ); }
+
+    /**
+     * Retorna a quantidade de operações abandonadas até agora.
+     * @return O total de desistências.
+     */
+    public long getDesistencias( ) { return this.desistencias.sum( ); }
+
+    /**
+     * Retorna a configuração e os contadores da política.
+     *
+     * @return string contendo a configuração e os contadores
+     */
+    @Override
+    public String toString( )
+    {
+        return (
+            "PoliticaConcorrencia{" +
+                "busyTimeout="         + busyTimeout.toMillis( )   + "ms" +
+                ", tentativas="        + tentativas                +
+                ", esperaInicial="     + esperaInicial.toMillis( ) + "ms" +
+                ", esperaMaxima="      + esperaMaxima.toMillis( )  + "ms" +
+                ", transacaoImediata=" + transacaoImediata         +
+                ", retentativas="      + getRetentativas( )        +
+                ", desistencias="      + getDesistencias( )        +
+            '}'
+        );
+    }
+
+    /**
+     * Builder para configurar uma {@link PoliticaConcorrencia}.
+     * Por padrão: {@code busy_timeout} de 5 segundos, até 5 execuções por operação,
+     * espera inicial de 10 ms limitada a 1 segundo e transações imediatas.
+     */
+    public static class Builder
+    {
+        private Duration busyTimeout = Duration.ofSeconds(5);
+        private int tentativas = 5;
+        private Duration esperaInicial = Duration.ofMillis(10);
+        private Duration esperaMaxima = Duration.ofSeconds(1);
+        private boolean transacaoImediata = true;
+
+        public Builder busyTimeout(Duration busyTimeout) {
+            this.busyTimeout = busyTimeout;
+            return this;
+        }
+
+        /**
+         * Define a quantidade máxima de execuções de cada operação.
+         *
+         * @param tentativas A quantidade de execuções (1 desativa as novas tentativas).
+         * @return Este builder.
+         * @throws IllegalArgumentException Se a quantidade for menor que 1.
+         */
+        public Builder tentativas(int tentativas)
+        {
+            if(tentativas < 1)
+                throw new IllegalArgumentException("A quantidade de tentativas deve ser positiva: " + tentativas);
+            this.tentativas = tentativas;
+            return this;
+        }
+
+        public Builder esperaInicial(Duration esperaInicial) {
+            this.esperaInicial = esperaInicial;
+            return this;
+        }
+
+        public Builder esperaMaxima(Duration esperaMaxima) {
+            this.esperaMaxima = esperaMaxima;
+            return this;
+        }
+
+        public Builder transacaoImediata(boolean transacaoImediata) {
+            this.transacaoImediata = transacaoImediata;
+            return this;
+        }
+
+        public PoliticaConcorrencia build( ) {
+            return new PoliticaConcorrencia(this);
+        }
+    }
+}
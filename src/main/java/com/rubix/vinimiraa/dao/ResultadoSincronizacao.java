@@ -0,0 +1,76 @@
+package com.rubix.vinimiraa.dao;
+
+/**
+ * Contagens de uma sincronização por ISBN feita por {@link LivroDAO#upsertAllByIsbn(Iterable)}.
+ * <p>
+ * Cada livro recebido é contado uma única vez: inserido (ISBN novo ou ausente),
+ * atualizado (ISBN existente com algum dado diferente) ou inalterado (ISBN existente
+ * com os mesmos dados, caso em que nada é gravado).
+ * </p>
+ */
+public final class ResultadoSincronizacao
+{
+    /** Quantidade de livros inseridos. */
+    private final int inseridos;
+
+    /** Quantidade de livros atualizados. */
+    private final int atualizados;
+
+    /** Quantidade de livros que já estavam iguais no banco. */
+    private final int inalterados;
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param inseridos   quantidade de livros inseridos
+     * @param atualizados quantidade de livros atualizados
+     * @param inalterados quantidade de livros inalterados
+     */
+    ResultadoSincronizacao(int inseridos, int atualizados, int inalterados)
+    {
+        this.inseridos = inseridos;
+        this.atualizados = atualizados;
+        this.inalterados = inalterados;
+    }
+
+    /**
+     * Retorna a quantidade de livros inseridos.
+     * @return A quantidade de inserções.
+     */
+    public int getInseridos( ) { return this.inseridos; }
+
+    /**
+     * Retorna a quantidade de livros atualizados.
+     * @return A quantidade de atualizações.
+     */
+    public int getAtualizados( ) { return this.atualizados; }
+
+    /**
+     * Retorna a quantidade de livros que não precisaram ser gravados.
+     * @return A quantidade de livros inalterados.
+     */
+    public int getInalterados( ) { return this.inalterados; }
+
+    /**
+     * Retorna a quantidade total de livros processados.
+     * @return A soma das três contagens.
+     */
+    public int getTotal( ) { return this.inseridos + this.atualizados + this.inalterados; }
+
+    /**
+     * Retorna uma representação simples do resultado.
+     *
+     * @return string contendo todas as contagens
+     */
+    @Override
+    public String toString( )
+    {
+        return (
+            "ResultadoSincronizacao{" +
+                "inseridos="     + inseridos   +
+                ", atualizados=" + atualizados +
+                ", inalterados=" + inalterados +
+            '}'
+        );
+    }
+}
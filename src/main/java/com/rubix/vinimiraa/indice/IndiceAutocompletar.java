@@ -0,0 +1,146 @@
+package com.rubix.vinimiraa.indice;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.rubix.vinimiraa.dao.LivroListener;
+import com.rubix.vinimiraa.dao.LivroRepository;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Índice de autocompletar para títulos e autores do catálogo.
+ * <p>
+ * Mantém um {@link IndicePrefixos} para títulos e outro para autores. É construído
+ * a partir de um {@link LivroRepository} (como o {@code LivroDAO}) em
+ * {@link #carregar(LivroRepository)} e, por se registrar como {@link LivroListener},
+ * acompanha as inserções, atualizações e exclusões feitas pelo mesmo repositório.
+ * </p>
+ *
+ * <pre>{@code
+ * IndiceAutocompletar indice = IndiceAutocompletar.carregar(livroDAO);
+ * List<Sugestao> titulos = indice.sugerirTitulos("dom", 10);
+ * List<Sugestao> autores = indice.sugerirAutores("mach", 10);
+ * }</pre>
+ */
+public class IndiceAutocompletar implements LivroListener
+{
+    /** Índice de prefixos dos títulos. */
+    private final IndicePrefixos titulos = new IndicePrefixos( );
+
+    /** Índice de prefixos dos autores. */
+    private final IndicePrefixos autores = new IndicePrefixos( );
+
+    /**
+     * Título e autor atualmente indexados para cada ID, necessários para
+     * remover as entradas antigas em atualizações e exclusões.
+     */
+    private final Map<Integer, String[]> indexados = new HashMap<>( );
+
+    /**
+     * Constrói o índice com todos os livros do repositório e o registra como observador,
+     * para que se mantenha atualizado.
+     *
+     * @param dao O repositório de onde os livros serão lidos.
+     * @return O índice construído.
+     */
+    public static IndiceAutocompletar carregar(LivroRepository dao)
+    {
+        IndiceAutocompletar indice = new IndiceAutocompletar( );
+        dao.addListener(indice);
+        indice.construir(dao.getAll( ));
+        return indice;
+    }
+
+    /**
+     * Substitui o conteúdo do índice pelos livros informados.
+     *
+     * @param livros Os livros a serem indexados.
+     */
+    public synchronized void construir(List<Livro> livros)
+    {
+        List<String> listaTitulos = new ArrayList<>(livros.size( ));
+        List<String> listaAutores = new ArrayList<>(livros.size( ));
+        int[] ids = new int[livros.size( )];
+
+        indexados.clear( );
+        int i = 0;
+        for(Livro livro : livros)
+        {
+            listaTitulos.add(livro.getTitulo( ));
+            listaAutores.add(livro.getAutor( ));
+            ids[i++] = livro.getId( );
+            indexados.put(livro.getId( ), new String[] { livro.getTitulo( ), livro.getAutor( ) });
+        }
+
+        titulos.construir(listaTitulos, ids);
+        autores.construir(listaAutores, ids);
+    }
+
+    /**
+     * Retorna até {@code k} títulos que começam com o prefixo informado.
+     *
+     * @param prefixo O prefixo digitado.
+     * @param k       A quantidade máxima de sugestões.
+     * @return As sugestões em ordem alfabética.
+     */
+    public List<Sugestao> sugerirTitulos(String prefixo, int k) {
+        return titulos.buscar(prefixo, k, false);
+    }
+
+    /**
+     * Retorna até {@code k} autores distintos que começam com o prefixo informado.
+     *
+     * @param prefixo O prefixo digitado.
+     * @param k       A quantidade máxima de sugestões.
+     * @return As sugestões em ordem alfabética.
+     */
+    public List<Sugestao> sugerirAutores(String prefixo, int k) {
+        return autores.buscar(prefixo, k, true);
+    }
+
+    /**
+     * Estima a memória ocupada pelos dois índices de prefixos, em bytes.
+     *
+     * @return A estimativa de bytes ocupados no heap.
+     */
+    public long bytesEstimados( ) {
+        return titulos.bytesEstimados( ) + autores.bytesEstimados( );
+    }
+
+    /**
+     * Retorna a quantidade de livros indexados.
+     *
+     * @return O número de livros indexados.
+     */
+    public synchronized int tamanho( ) {
+        return indexados.size( );
+    }
+
+    @Override
+    public synchronized void onInsert(Livro livro)
+    {
+        titulos.adicionar(livro.getTitulo( ), livro.getId( ));
+        autores.adicionar(livro.getAutor( ), livro.getId( ));
+        indexados.put(livro.getId( ), new String[] { livro.getTitulo( ), livro.getAutor( ) });
+    }
+
+    @Override
+    public synchronized void onUpdate(Livro livro)
+    {
+        onDelete(livro.getId( ));
+        onInsert(livro);
+    }
+
+    @Override
+    public synchronized void onDelete(int id)
+    {
+        String[] anterior = indexados.remove(id);
+        if(anterior != null)
+        {
+            titulos.remover(anterior[0], id);
+            autores.remover(anterior[1], id);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.rubix.vinimiraa.indice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.rubix.vinimiraa.util.IO;
+
+/**
+ * Índice de prefixos em memória para consultas de autocompletar.
+ * <p>
+ * As entradas são mantidas em vetores paralelos ordenados pela chave normalizada
+ * ({@link IO#strNormalize(String)}) e, em caso de empate, pelo ID do livro. Uma consulta
+ * localiza o primeiro elemento com o prefixo por busca binária e percorre apenas os
+ * {@code k} elementos seguintes, sem alocar nada além da lista de resultados.
+ * </p>
+ *
+ * <p>
+ * Leituras podem ocorrer em paralelo; escritas são serializadas por um
+ * {@link ReentrantReadWriteLock}. Inserções e remoções deslocam os vetores
+ * ({@code O(n)}), o que é aceitável para a frequência de escrita de um catálogo.
+ * </p>
+ *
+ * <pre>{@code
+ * IndicePrefixos indice = new IndicePrefixos( );
+ * indice.adicionar("Dom Casmurro", 1);
+ * List<Sugestao> sugestoes = indice.buscar("dom c", 10, false);
+ * }</pre>
+ */
+public class IndicePrefixos
+{
+    /** Capacidade inicial dos vetores. */
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    /** Chaves normalizadas, em ordem crescente. */
+    private String[] chaves;
+
+    /** Textos originais, na mesma ordem de {@link #chaves}. */
+    private String[] textos;
+
+    /** IDs dos livros, na mesma ordem de {@link #chaves}. */
+    private int[] ids;
+
+    /** Quantidade de entradas válidas nos vetores. */
+    private int tamanho;
+
+    /** Trava que permite leituras concorrentes e escritas exclusivas. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock( );
+
+    /**
+     * Construtor padrão que cria um índice vazio.
+     */
+    public IndicePrefixos( )
+    {
+        chaves = new String[CAPACIDADE_INICIAL];
+        textos = new String[CAPACIDADE_INICIAL];
+        ids = new int[CAPACIDADE_INICIAL];
+        tamanho = 0;
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice de uma só vez.
+     * <p>
+     * Mais eficiente que chamar {@link #adicionar(String, int)} repetidamente,
+     * pois ordena as entradas apenas uma vez ({@code O(n log n)}).
+     * Textos nulos são ignorados.
+     * </p>
+     *
+     * @param textosOriginais Os textos a serem indexados.
+     * @param idsLivros       Os IDs dos livros, na mesma ordem dos textos.
+     */
+    public void construir(List<String> textosOriginais, int[] idsLivros)
+    {
+        int n = textosOriginais.size( );
+        Integer[] ordem = new Integer[n];
+        String[] normalizadas = new String[n];
+        int validos = 0;
+
+        for(int i = 0; i < n; i++)
+        {
+            String texto = textosOriginais.get(i);
+            if(texto != null)
+            {
+                normalizadas[i] = IO.strNormalize(texto);
+                ordem[validos++] = i;
+            }
+        }
+
+        Arrays.sort(ordem, 0, validos, Comparator.<Integer, String>comparing(i -> normalizadas[i])
+                                                 .thenComparingInt(i -> idsLivros[i]));
+
+        int capacidade = Math.max(CAPACIDADE_INICIAL, validos);
+        String[] novasChaves = new String[capacidade];
+        String[] novosTextos = new String[capacidade];
+        int[] novosIds = new int[capacidade];
+
+        for(int i = 0; i < validos; i++)
+        {
+            novasChaves[i] = normalizadas[ordem[i]];
+            novosTextos[i] = textosOriginais.get(ordem[i]);
+            novosIds[i] = idsLivros[ordem[i]];
+        }
+
+        lock.writeLock( ).lock( );
+        try
+        {
+            chaves = novasChaves;
+            textos = novosTextos;
+            ids = novosIds;
+            tamanho = validos;
+        } finally {
+            lock.writeLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Adiciona um texto ao índice.
+     *
+     * @param texto O texto original (ignorado se nulo).
+     * @param id    O ID do livro que contém o texto.
+     */
+    public void adicionar(String texto, int id)
+    {
+        if(texto == null) return;
+
+        String chave = IO.strNormalize(texto);
+        lock.writeLock( ).lock( );
+        try
+        {
+            if(tamanho == chaves.length)
+            {
+                int capacidade = chaves.length * 2;
+                chaves = Arrays.copyOf(chaves, capacidade);
+                textos = Arrays.copyOf(textos, capacidade);
+                ids = Arrays.copyOf(ids, capacidade);
+            }
+
+            int pos = posicao(chave, id);
+            System.arraycopy(chaves, pos, chaves, pos + 1, tamanho - pos);
+            System.arraycopy(textos, pos, textos, pos + 1, tamanho - pos);
+            System.arraycopy(ids, pos, ids, pos + 1, tamanho - pos);
+            chaves[pos] = chave;
+            textos[pos] = texto;
+            ids[pos] = id;
+            tamanho++;
+        } finally {
+            lock.writeLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Remove do índice a entrada correspondente ao texto e ao ID informados.
+     *
+     * @param texto O texto original indexado anteriormente.
+     * @param id    O ID do livro que contém o texto.
+     * @return {@code true} se a entrada foi encontrada e removida,
+     *         {@code false} caso contrário.
+     */
+    public boolean remover(String texto, int id)
+    {
+        if(texto == null) return false;
+
+        boolean removido = false;
+        String chave = IO.strNormalize(texto);
+        lock.writeLock( ).lock( );
+        try
+        {
+            int pos = posicao(chave, id);
+            if(pos < tamanho && ids[pos] == id && chaves[pos].equals(chave))
+            {
+                System.arraycopy(chaves, pos + 1, chaves, pos, tamanho - pos - 1);
+                System.arraycopy(textos, pos + 1, textos, pos, tamanho - pos - 1);
+                System.arraycopy(ids, pos + 1, ids, pos, tamanho - pos - 1);
+                tamanho--;
+                chaves[tamanho] = null;
+                textos[tamanho] = null;
+                removido = true;
+            }
+        } finally {
+            lock.writeLock( ).unlock( );
+        }
+
+        return removido;
+    }
+
+    /**
+     * Retorna até {@code k} entradas cuja chave normalizada começa com o prefixo,
+     * em ordem alfabética.
+     *
+     * @param prefixo   O prefixo digitado (acentos e maiúsculas são ignorados).
+     * @param k         A quantidade máxima de resultados.
+     * @param distintos Se {@code true}, textos com a mesma chave normalizada
+     *                  aparecem apenas uma vez (útil para autores); as repetições de
+     *                  cada chave são saltadas por busca binária, de modo que o custo
+     *                  não depende de quantos livros um autor tem.
+     * @return Uma lista com no máximo {@code k} sugestões. Nunca {@code null}.
+     */
+    public List<Sugestao> buscar(String prefixo, int k, boolean distintos)
+    {
+        List<Sugestao> sugestoes = new ArrayList<>(Math.max(0, Math.min(k, 64)));
+        if(prefixo == null || k <= 0) return sugestoes;
+
+        String chavePrefixo = IO.strNormalize(prefixo);
+        lock.readLock( ).lock( );
+        try
+        {
+            int i = posicao(chavePrefixo, Integer.MIN_VALUE);
+            while(i < tamanho && sugestoes.size( ) < k && chaves[i].startsWith(chavePrefixo))
+            {
+                sugestoes.add(new Sugestao(textos[i], ids[i]));
+                i = distintos ? fimDaChave(chaves[i], i + 1) : i + 1;
+            }
+        } finally {
+            lock.readLock( ).unlock( );
+        }
+
+        return sugestoes;
+    }
+
+    /**
+     * Retorna a quantidade de entradas no índice.
+     *
+     * @return O número de entradas indexadas.
+     */
+    public int tamanho( )
+    {
+        lock.readLock( ).lock( );
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Estima a memória ocupada pelo índice, em bytes.
+     * <p>
+     * Considera os vetores (com referências comprimidas de 4 bytes) e as strings
+     * por eles referenciadas. Chaves que são a mesma instância do texto original
+     * (textos já normalizados) são contadas uma única vez.
+     * </p>
+     *
+     * @return A estimativa de bytes ocupados no heap.
+     */
+    public long bytesEstimados( )
+    {
+        lock.readLock( ).lock( );
+        try
+        {
+            long bytes = 3 * (16L + 4L * chaves.length);
+            for(int i = 0; i < tamanho; i++)
+            {
+                bytes += bytesString(textos[i]);
+                if(chaves[i] != textos[i])
+                    bytes += bytesString(chaves[i]);
+            }
+            return bytes;
+        } finally {
+            lock.readLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Estima o tamanho de uma {@link String} no heap: cabeçalho do objeto,
+     * cabeçalho do vetor e conteúdo em LATIN1 (1 byte) ou UTF-16 (2 bytes).
+     *
+     * @param str A string a ser medida.
+     * @return A estimativa de bytes ocupados.
+     */
+    private static long bytesString(String str)
+    {
+        int porCaractere = 1;
+        for(int i = 0; i < str.length( ) && porCaractere == 1; i++)
+            if(str.charAt(i) > 0xFF) porCaractere = 2;
+
+        return 24L + 16L + ((long) str.length( ) * porCaractere + 7) / 8 * 8;
+    }
+
+    /**
+     * Busca binária pela posição onde o par {@code (chave, id)} está ou deveria estar.
+     * Deve ser chamada com a trava (leitura ou escrita) adquirida.
+     *
+     * @param chave A chave normalizada.
+     * @param id    O ID usado como critério de desempate.
+     * @return O índice do primeiro elemento maior ou igual ao par.
+     */
+    private int posicao(String chave, int id)
+    {
+        int inicio = 0;
+        int fim = tamanho;
+        while(inicio < fim)
+        {
+            int meio = (inicio + fim) >>> 1;
+            int cmp = chaves[meio].compareTo(chave);
+            if(cmp == 0) cmp = Integer.compare(ids[meio], id);
+
+            if(cmp < 0)
+                inicio = meio + 1;
+            else
+                fim = meio;
+        }
+        return inicio;
+    }
+
+    /**
+     * Busca binária pela posição logo após a última entrada com a chave informada.
+     * Deve ser chamada com a trava (leitura ou escrita) adquirida.
+     *
+     * @param chave  A chave normalizada.
+     * @param inicio Uma posição que não passa da última entrada com a chave.
+     * @return O índice do primeiro elemento com chave maior, ou {@link #tamanho}.
+     */
+    private int fimDaChave(String chave, int inicio)
+    {
+        int fim = tamanho;
+        while(inicio < fim)
+        {
+            int meio = (inicio + fim) >>> 1;
+            if(chaves[meio].compareTo(chave) <= 0)
+                inicio = meio + 1;
+            else
+                fim = meio;
+        }
+        return inicio;
+    }
+}
@@ -0,0 +1,51 @@
+package com.rubix.vinimiraa.indice;
+
+/**
+ * Resultado de uma consulta de autocompletar.
+ * <p>
+ * Contém o texto original (com acentuação e maiúsculas preservadas)
+ * e o ID do livro de onde ele foi extraído.
+ * </p>
+ */
+public class Sugestao
+{
+    /** Texto original sugerido. */
+    private final String texto;
+
+    /** ID do livro que contém o texto. */
+    private final int id;
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param texto texto original sugerido
+     * @param id    ID do livro que contém o texto
+     */
+    public Sugestao(String texto, int id)
+    {
+        this.texto = texto;
+        this.id = id;
+    }
+
+    /**
+     * Retorna o texto sugerido.
+     * @return O texto sugerido.
+     */
+    public String getTexto( ) { return this.texto; }
+
+    /**
+     * Retorna o ID do livro que contém o texto.
+     * @return O ID do livro.
+     */
+    public int getId( ) { return this.id; }
+
+    /**
+     * Retorna uma representação simples da sugestão.
+     *
+     * @return string contendo o texto e o ID
+     */
+    @Override
+    public String toString( ) {
+        return texto + " (ID: " + id + ")";
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Pacote que contém as estruturas de índice mantidas em memória.
+ * <p>
+ * Os índices deste pacote respondem a consultas frequentes sem acessar o banco
+ * de dados. Eles são construídos a partir de um {@link com.rubix.vinimiraa.dao.LivroRepository}
+ * e se mantêm atualizados registrando-se como
+ * {@link com.rubix.vinimiraa.dao.LivroListener}.
+ * </p>
+ *
+ * <h2>Classes principais:</h2>
+ * <ul>
+ *   <li>{@link com.rubix.vinimiraa.indice.IndicePrefixos} – vetor ordenado de chaves normalizadas com busca binária por prefixo.</li>
+ *   <li>{@link com.rubix.vinimiraa.indice.IndiceAutocompletar} – autocompletar de títulos e autores do catálogo.</li>
+ * </ul>
+ */
+package com.rubix.vinimiraa.indice;
@@ -0,0 +1,140 @@
+package com.rubix.vinimiraa.model;
+
+import java.time.Instant;
+
+/**
+ * Representa uma entrada do diário de alterações do catálogo.
+ * <p>
+ * Cada inserção, atualização ou exclusão de um {@link Livro} gera uma alteração com
+ * um número de sequência crescente. Consumidores que espelham o catálogo guardam o
+ * último número processado e pedem apenas as alterações posteriores a ele.
+ * </p>
+ *
+ * @see com.rubix.vinimiraa.dao.LivroDAO#changesSince(long, int)
+ */
+public class Alteracao
+{
+    /**
+     * Tipos de alteração registrados no diário.
+     */
+    public enum Tipo
+    {
+        /** Livro inserido. */
+        INSERCAO('I'),
+        /** Livro atualizado. */
+        ATUALIZACAO('U'),
+        /** Livro excluído. */
+        EXCLUSAO('D');
+
+        /** Código gravado na coluna {@code operacao}. */
+        private final char codigo;
+
+        Tipo(char codigo) { this.codigo = codigo; }
+
+        /**
+         * Retorna o código gravado no banco de dados.
+         * @return O código do tipo.
+         */
+        public char getCodigo( ) { return this.codigo; }
+
+        /**
+         * Converte um código do banco de dados no tipo correspondente.
+         *
+         * @param codigo O código ('I', 'U' ou 'D').
+         * @return O tipo correspondente.
+         * @throws IllegalArgumentException se o código for desconhecido.
+         */
+        public static Tipo deCodigo(char codigo)
+        {
+            for(Tipo tipo : values( ))
+                if(tipo.codigo == codigo) return tipo;
+            throw new IllegalArgumentException("Tipo de alteração desconhecido: " + codigo);
+        }
+    }
+
+    /** Número de sequência da alteração (crescente, nunca reutilizado). */
+    private final long seq;
+
+    /** ID do livro alterado. */
+    private final int livroId;
+
+    /** Tipo da alteração. */
+    private final Tipo tipo;
+
+    /** Momento em que a alteração foi registrada. */
+    private final Instant momento;
+
+    /** Estado atual do livro, ou {@code null} se ele não existe mais. */
+    private final Livro livro;
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param seq     número de sequência
+     * @param livroId ID do livro alterado
+     * @param tipo    tipo da alteração
+     * @param momento momento do registro
+     * @param livro   estado atual do livro (pode ser nulo)
+     */
+    public Alteracao(long seq, int livroId, Tipo tipo, Instant momento, Livro livro)
+    {
+        this.seq = seq;
+        this.livroId = livroId;
+        this.tipo = tipo;
+        this.momento = momento;
+        this.livro = livro;
+    }
+
+    /**
+     * Retorna o número de sequência da alteração.
+     * @return O número de sequência.
+     */
+    public long getSeq( ) { return this.seq; }
+
+    /**
+     * Retorna o ID do livro alterado.
+     * @return O ID do livro.
+     */
+    public int getLivroId( ) { return this.livroId; }
+
+    /**
+     * Retorna o tipo da alteração.
+     * @return O tipo da alteração.
+     */
+    public Tipo getTipo( ) { return this.tipo; }
+
+    /**
+     * Retorna o momento em que a alteração foi registrada.
+     * @return O momento do registro.
+     */
+    public Instant getMomento( ) { return this.momento; }
+
+    /**
+     * Retorna o estado atual do livro no momento da consulta.
+     * <p>
+     * Pode refletir alterações posteriores a esta; aplicar as alterações em ordem
+     * continua levando ao estado correto. É {@code null} se o livro foi excluído.
+     * </p>
+     * @return O livro, ou {@code null}.
+     */
+    public Livro getLivro( ) { return this.livro; }
+
+    /**
+     * Retorna uma representação simples da alteração.
+     *
+     * @return string contendo todos os atributos da alteração
+     */
+    @Override
+    public String toString( )
+    {
+        return (
+            "Alteracao{" +
+                "seq="       + seq     +
+                ", livroId=" + livroId +
+                ", tipo="    + tipo    +
+                ", momento=" + momento +
+                ", livro="   + livro   +
+            '}'
+        );
+    }
+}
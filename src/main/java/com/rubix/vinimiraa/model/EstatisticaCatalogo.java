@@ -0,0 +1,102 @@
+package com.rubix.vinimiraa.model;
+
+/**
+ * Quantidade de livros e soma dos preços de uma parte do catálogo: o catálogo inteiro,
+ * um autor, uma editora ou um ano de publicação.
+ * <p>
+ * A soma é guardada em centavos, como inteiro, para que somar e subtrair preços
+ * a cada alteração nunca acumule erro de arredondamento.
+ * </p>
+ *
+ * @see com.rubix.vinimiraa.dao.LivroDAO#estatisticaGeral()
+ */
+public class EstatisticaCatalogo
+{
+    /** Estatística de uma parte do catálogo sem nenhum livro. */
+    public static final EstatisticaCatalogo VAZIA = new EstatisticaCatalogo(0, 0);
+
+    /** Quantidade de livros. */
+    private final long quantidade;
+
+    /** Soma dos preços, em centavos. */
+    private final long somaCentavos;
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param quantidade   quantidade de livros
+     * @param somaCentavos soma dos preços, em centavos
+     */
+    public EstatisticaCatalogo(long quantidade, long somaCentavos)
+    {
+        this.quantidade = quantidade;
+        this.somaCentavos = somaCentavos;
+    }
+
+    /**
+     * Retorna a quantidade de livros.
+     * @return A quantidade de livros.
+     */
+    public long getQuantidade( ) { return this.quantidade; }
+
+    /**
+     * Retorna a soma exata dos preços, em centavos.
+     * @return A soma dos preços em centavos.
+     */
+    public long getSomaCentavos( ) { return this.somaCentavos; }
+
+    /**
+     * Retorna a soma dos preços.
+     * @return A soma dos preços.
+     */
+    public double getSomaPrecos( ) { return this.somaCentavos / 100.0; }
+
+    /**
+     * Retorna o preço médio dos livros.
+     * @return O preço médio, ou 0 se não houver livros.
+     */
+    public double getPrecoMedio( ) {
+        return (quantidade > 0) ? somaCentavos / 100.0 / quantidade : 0;
+    }
+
+    /**
+     * Compara esta estatística com outro objeto.
+     *
+     * @param obj objeto a ser comparado
+     * @return {@code true} se a quantidade e a soma forem iguais
+     */
+    @Override
+    public boolean equals(Object obj)
+    {
+        if(this == obj) return true;
+        if(!(obj instanceof EstatisticaCatalogo outra)) return false;
+        return quantidade == outra.quantidade && somaCentavos == outra.somaCentavos;
+    }
+
+    /**
+     * Retorna o código hash da estatística.
+     *
+     * @return código hash baseado na quantidade e na soma
+     */
+    @Override
+    public int hashCode( ) {
+        return Long.hashCode(quantidade) * 31 + Long.hashCode(somaCentavos);
+    }
+
+    /**
+     * Retorna uma representação simples da estatística.
+     *
+     * @return string contendo a quantidade, a soma e a média
+     */
+    @Override
+    public String toString( )
+    {
+        return (
+            "EstatisticaCatalogo{" +
+                "quantidade="    + quantidade                                    +
+                ", somaPrecos="  + String.format("%.2f", getSomaPrecos( ))       +
+                ", precoMedio="  + String.format("%.2f", getPrecoMedio( ))       +
+            '}'
+        );
+    }
+}
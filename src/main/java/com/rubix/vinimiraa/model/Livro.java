@@ -82,6 +82,16 @@ public class Livro implements Comparable<Livro>
         this.isbn = isbn;
     }
 
+    /**
+     * Construtor de cópia. Cria um novo livro com os mesmos atributos do livro informado.
+     *
+     * @param outro livro a ser copiado
+     */
+    public Livro(Livro outro)
+    {
+        this(outro.id, outro.titulo, outro.autor, outro.preco, outro.editora, outro.dataPublicacao, outro.isbn);
+    }
+
     /**
      * Construtor privado usado apenas pelo {@link Builder}.
      *
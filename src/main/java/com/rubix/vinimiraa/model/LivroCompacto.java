@@ -0,0 +1,176 @@
+package com.rubix.vinimiraa.model;
+
+import java.time.LocalDate;
+
+/**
+ * Representação imutável e compacta de um {@link Livro}, para catálogos grandes em memória.
+ * <p>
+ * Preço, data de publicação e ISBN são guardados em campos primitivos, sem os objetos
+ * {@link Double}, {@link LocalDate} e {@link Integer} de {@link Livro}; a ausência de um
+ * valor opcional é indicada por um valor sentinela. Com referências comprimidas, cada
+ * instância ocupa 48 bytes além das strings, contra cerca de 96 bytes de um {@link Livro}
+ * com todos os campos preenchidos. Autores e editoras repetidos devem ser a mesma
+ * instância de {@link String}, o que {@code LivroDAO.getAllCompacto()} garante com o
+ * cache dos dicionários de autores e editoras.
+ * </p>
+ *
+ * @see com.rubix.vinimiraa.dao.LivroDAO#getAllCompacto()
+ */
+public final class LivroCompacto
+{
+    /** Valor de {@link #getPreco()} quando o livro não tem preço. */
+    public static final double PRECO_AUSENTE = Double.NaN;
+
+    /** Valor de {@link #getDiaPublicacao()} quando o livro não tem data de publicação. */
+    public static final int DATA_AUSENTE = Integer.MIN_VALUE;
+
+    /** Valor de {@link #getIsbn()} quando o livro não tem ISBN. */
+    public static final int ISBN_AUSENTE = Integer.MIN_VALUE;
+
+    /** Atributos do livro */
+    private final int id;
+    private final String titulo;
+    private final String autor;
+    private final String editora;
+    private final double preco;
+    private final int diaPublicacao;
+    private final int isbn;
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param id            ID do livro
+     * @param titulo        título do livro
+     * @param autor         autor do livro
+     * @param preco         preço, ou {@link #PRECO_AUSENTE}
+     * @param editora       editora (pode ser nulo)
+     * @param diaPublicacao dia da publicação contado a partir de 1970-01-01, ou {@link #DATA_AUSENTE}
+     * @param isbn          ISBN, ou {@link #ISBN_AUSENTE}
+     */
+    public LivroCompacto(int id, String titulo, String autor, double preco, String editora, int diaPublicacao, int isbn)
+    {
+        this.id = id;
+        this.titulo = titulo;
+        this.autor = autor;
+        this.preco = preco;
+        this.editora = editora;
+        this.diaPublicacao = diaPublicacao;
+        this.isbn = isbn;
+    }
+
+    /**
+     * Cria a representação compacta de um livro.
+     *
+     * @param livro O livro.
+     * @return O livro compacto equivalente.
+     */
+    public static LivroCompacto de(Livro livro)
+    {
+        return new LivroCompacto(
+            livro.getId( ),
+            livro.getTitulo( ),
+            livro.getAutor( ),
+            (livro.getPreco( ) != null) ? livro.getPreco( ) : PRECO_AUSENTE,
+            livro.getEditora( ),
+            (livro.getDataPublicacao( ) != null) ? (int) livro.getDataPublicacao( ).toEpochDay( ) : DATA_AUSENTE,
+            (livro.getIsbn( ) != null) ? livro.getIsbn( ) : ISBN_AUSENTE
+        );
+    }
+
+    /**
+     * Cria um {@link Livro} comum com os mesmos dados.
+     *
+     * @return Um novo livro, que pode ser alterado livremente.
+     */
+    public Livro toLivro( )
+    {
+        return new Livro(id, titulo, autor,
+                         temPreco( ) ? preco : null,
+                         editora,
+                         getDataPublicacao( ),
+                         temIsbn( ) ? isbn : null);
+    }
+
+    /**
+     * Retorna o ID do livro.
+     * @return O ID do livro.
+     */
+    public int getId( ) { return this.id; }
+
+    /**
+     * Retorna o título do livro.
+     * @return O título do livro.
+     */
+    public String getTitulo( ) { return this.titulo; }
+
+    /**
+     * Retorna o autor do livro.
+     * @return O autor do livro.
+     */
+    public String getAutor( ) { return this.autor; }
+
+    /**
+     * Retorna o preço do livro.
+     * @return O preço, ou {@link #PRECO_AUSENTE}.
+     */
+    public double getPreco( ) { return this.preco; }
+
+    /**
+     * Indica se o livro tem preço.
+     * @return {@code true} se o preço estiver definido.
+     */
+    public boolean temPreco( ) { return !Double.isNaN(this.preco); }
+
+    /**
+     * Retorna a editora do livro.
+     * @return A editora, ou {@code null}.
+     */
+    public String getEditora( ) { return this.editora; }
+
+    /**
+     * Retorna o dia da publicação, contado a partir de 1970-01-01, sem criar objetos.
+     * @return O dia, ou {@link #DATA_AUSENTE}.
+     */
+    public int getDiaPublicacao( ) { return this.diaPublicacao; }
+
+    /**
+     * Retorna a data de publicação do livro.
+     * @return A data, ou {@code null} se ela não estiver definida.
+     */
+    public LocalDate getDataPublicacao( ) {
+        return (diaPublicacao != DATA_AUSENTE) ? LocalDate.ofEpochDay(diaPublicacao) : null;
+    }
+
+    /**
+     * Retorna o ISBN do livro.
+     * @return O ISBN, ou {@link #ISBN_AUSENTE}.
+     */
+    public int getIsbn( ) { return this.isbn; }
+
+    /**
+     * Indica se o livro tem ISBN.
+     * @return {@code true} se o ISBN estiver definido.
+     */
+    public boolean temIsbn( ) { return this.isbn != ISBN_AUSENTE; }
+
+    /**
+     * Retorna uma representação simples do livro.
+     *
+     * @return string contendo todos os atributos do livro
+     */
+    @Override
+    public String toString( )
+    {
+        return (
+            "LivroCompacto{" +
+                "id="               + id                  +
+                ", titulo='"        + titulo              + '\'' +
+                ", autor='"         + autor               + '\'' +
+                ", preco="          + (temPreco( ) ? preco : null) +
+                ", editora='"       + editora             + '\'' +
+                ", dataPublicacao=" + getDataPublicacao( ) +
+                ", isbn="           + (temIsbn( ) ? isbn : null) +
+            '}'
+        );
+    }
+}
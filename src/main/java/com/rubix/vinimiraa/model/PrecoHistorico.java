@@ -0,0 +1,74 @@
+package com.rubix.vinimiraa.model;
+
+import java.time.Instant;
+
+/**
+ * Representa um trecho do histórico de preços de um livro.
+ * <p>
+ * Cada registro vale a partir de {@link #getInicio()} até o início do registro seguinte
+ * do mesmo livro. Um registro sem preço marca a exclusão do livro: a partir dele o
+ * livro não tem preço.
+ * </p>
+ *
+ * @see com.rubix.vinimiraa.dao.LivroDAO#historicoPreco(int)
+ */
+public class PrecoHistorico
+{
+    /** ID do livro. */
+    private final int livroId;
+
+    /** Momento a partir do qual o preço vale. */
+    private final Instant inicio;
+
+    /** Preço do livro, ou {@code null} se ele foi excluído. */
+    private final Double preco;
+
+    /**
+     * Construtor completo da classe.
+     *
+     * @param livroId ID do livro
+     * @param inicio  momento a partir do qual o preço vale
+     * @param preco   preço (pode ser nulo)
+     */
+    public PrecoHistorico(int livroId, Instant inicio, Double preco)
+    {
+        this.livroId = livroId;
+        this.inicio = inicio;
+        this.preco = preco;
+    }
+
+    /**
+     * Retorna o ID do livro.
+     * @return O ID do livro.
+     */
+    public int getLivroId( ) { return this.livroId; }
+
+    /**
+     * Retorna o momento a partir do qual o preço vale.
+     * @return O início da vigência.
+     */
+    public Instant getInicio( ) { return this.inicio; }
+
+    /**
+     * Retorna o preço vigente neste trecho.
+     * @return O preço, ou {@code null} se o livro foi excluído.
+     */
+    public Double getPreco( ) { return this.preco; }
+
+    /**
+     * Retorna uma representação simples do registro.
+     *
+     * @return string contendo todos os atributos do registro
+     */
+    @Override
+    public String toString( )
+    {
+        return (
+            "PrecoHistorico{" +
+                "livroId="  + livroId +
+                ", inicio=" + inicio  +
+                ", preco="  + preco   +
+            '}'
+        );
+    }
+}
@@ -16,6 +16,9 @@
  * <h2>Entidades incluídas:</h2>
  * <ul>
  *   <li>{@link com.rubix.vinimiraa.model.Livro} – título, autor, preço, editora, data de publicação e ISBN.</li>
+ *   <li>{@link com.rubix.vinimiraa.model.Alteracao} – entrada do diário de alterações do catálogo.</li>
+ *   <li>{@link com.rubix.vinimiraa.model.PrecoHistorico} – preço de um livro a partir de um momento.</li>
+ *   <li>{@link com.rubix.vinimiraa.model.EstatisticaCatalogo} – quantidade de livros e soma dos preços de uma parte do catálogo.</li>
  * </ul>
  *
  * <p>
@@ -0,0 +1,53 @@
+package com.rubix.vinimiraa.monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de um lote de importação ou exportação: uma sincronização por ISBN, um lote
+ * de escritas agrupadas em uma transação ou uma cópia de segurança.
+ * <p>
+ * Os comandos do lote aparecem como {@link EventoOperacaoDao} dentro do intervalo deste evento.
+ * </p>
+ */
+@Name("com.rubix.vinimiraa.Lote")
+@Label("Lote de importação/exportação")
+@Category({"Rubix Book Manager", "DAO"})
+@Description("Sincronização, gravação agrupada, cópia de segurança ou gravação dos livros relacionados")
+@Enabled(false)
+@StackTrace(false)
+public final class EventoLote extends Event
+{
+    @Label("Tipo")
+    private String tipo;
+
+    @Label("Itens")
+    @Description("Livros, comandos, páginas do banco ou relações processados")
+    private long itens;
+
+    @Label("Sucesso")
+    private boolean sucesso;
+
+    /**
+     * Encerra a medição e grava o evento, se ele estiver ativado e acima do limite de duração.
+     *
+     * @param tipo    O tipo do lote ({@code sincronizacao}, {@code escrita}, {@code backup} ou {@code relacionados}).
+     * @param itens   A quantidade de itens processados.
+     * @param sucesso Se o lote foi gravado.
+     */
+    public void concluir(String tipo, long itens, boolean sucesso)
+    {
+        end( );
+        if(!shouldCommit( )) return;
+
+        this.tipo = tipo;
+        this.itens = itens;
+        this.sucesso = sucesso;
+        commit( );
+    }
+}
@@ -0,0 +1,91 @@
+package com.rubix.vinimiraa.monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR da leitura de um resultado com muitas linhas, como em
+ * {@link com.rubix.vinimiraa.dao.LivroDAO#getAll()}.
+ * <p>
+ * O SQLite produz as linhas sob demanda, a cada {@code ResultSet.next( )}, então a duração
+ * do evento soma o trabalho do banco e a conversão das linhas em objetos. O campo
+ * <b>mapeamento</b> guarda só a conversão; a diferença é o tempo do banco. Para isso,
+ * cada conversão é cronometrada, mas apenas enquanto o evento estiver ativado.
+ * </p>
+ *
+ * <pre>{@code
+ * EventoMapeamento evento = new EventoMapeamento( );
+ * evento.begin( );
+ * while(rs.next( ))
+ * {
+ *     long inicio = evento.inicioConversao( );
+ *     livros.add(lerLivro(rs));
+ *     evento.fimConversao(inicio);
+ * }
+ * evento.concluir("getAll", livros.size( ));
+ * }</pre>
+ */
+@Name("com.rubix.vinimiraa.Mapeamento")
+@Label("Mapeamento de resultado")
+@Category({"Rubix Book Manager", "DAO"})
+@Description("Leitura de um resultado do LivroDAO e conversão das linhas em objetos")
+@Enabled(false)
+@StackTrace(false)
+public final class EventoMapeamento extends Event
+{
+    @Label("Operação")
+    private String operacao;
+
+    @Label("Linhas")
+    private int linhas;
+
+    @Label("Mapeamento")
+    @Description("Tempo gasto só na conversão das linhas em objetos")
+    @Timespan(Timespan.NANOSECONDS)
+    private long mapeamento;
+
+    /** Indica se o evento está ativado, lido uma vez para não cronometrar à toa. */
+    private transient final boolean ativo = isEnabled( );
+
+    /**
+     * Marca o início da conversão de uma linha.
+     *
+     * @return O instante atual em nanossegundos, ou 0 se o evento estiver desativado.
+     */
+    public long inicioConversao( ) {
+        return ativo ? System.nanoTime( ) : 0;
+    }
+
+    /**
+     * Soma ao campo <b>mapeamento</b> o tempo desde {@link #inicioConversao()}.
+     *
+     * @param inicio O valor devolvido por {@link #inicioConversao()}.
+     */
+    public void fimConversao(long inicio)
+    {
+        if(ativo)
+            mapeamento += System.nanoTime( ) - inicio;
+    }
+
+    /**
+     * Encerra a medição e grava o evento, se ele estiver ativado e acima do limite de duração.
+     *
+     * @param operacao O nome da operação do DAO.
+     * @param linhas   A quantidade de linhas lidas.
+     */
+    public void concluir(String operacao, int linhas)
+    {
+        end( );
+        if(!shouldCommit( )) return;
+
+        this.operacao = operacao;
+        this.linhas = linhas;
+        commit( );
+    }
+}
@@ -0,0 +1,62 @@
+package com.rubix.vinimiraa.monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de um comando SQL executado pelo {@link com.rubix.vinimiraa.dao.LivroDAO}.
+ * <p>
+ * A duração cobre a preparação, a execução e a leitura do resultado. O SQL gravado é o
+ * texto do comando preparado, com {@code ?} no lugar dos valores, de modo que comandos
+ * da mesma forma podem ser agrupados no JMC.
+ * </p>
+ *
+ * <pre>{@code
+ * EventoOperacaoDao evento = new EventoOperacaoDao( );
+ * evento.begin( );
+ * ... executa o comando ...
+ * evento.concluir("getById", query, 1);
+ * }</pre>
+ */
+@Name("com.rubix.vinimiraa.OperacaoDao")
+@Label("Operação do DAO")
+@Category({"Rubix Book Manager", "DAO"})
+@Description("Comando SQL executado pelo LivroDAO")
+@Enabled(false)
+@StackTrace(false)
+public final class EventoOperacaoDao extends Event
+{
+    @Label("Operação")
+    private String operacao;
+
+    @Label("SQL")
+    @Description("Comando preparado, sem os valores dos parâmetros")
+    private String sql;
+
+    @Label("Linhas")
+    @Description("Linhas lidas ou alteradas")
+    private int linhas;
+
+    /**
+     * Encerra a medição e grava o evento, se ele estiver ativado e acima do limite de duração.
+     *
+     * @param operacao O nome da operação do DAO (por exemplo, {@code getById}).
+     * @param sql      O comando preparado.
+     * @param linhas   A quantidade de linhas lidas ou alteradas.
+     */
+    public void concluir(String operacao, String sql, int linhas)
+    {
+        end( );
+        if(!shouldCommit( )) return;
+
+        this.operacao = operacao;
+        this.sql = sql;
+        this.linhas = linhas;
+        commit( );
+    }
+}
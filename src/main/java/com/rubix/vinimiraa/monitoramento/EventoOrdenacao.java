@@ -0,0 +1,55 @@
+package com.rubix.vinimiraa.monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma ordenação feita por {@link com.rubix.vinimiraa.analise.OrdenacaoLivros}.
+ */
+@Name("com.rubix.vinimiraa.Ordenacao")
+@Label("Ordenação de livros")
+@Category({"Rubix Book Manager", "Análise"})
+@Description("Ordenação completa ou seleção dos primeiros livros")
+@Enabled(false)
+@StackTrace(false)
+public final class EventoOrdenacao extends Event
+{
+    @Label("Critério")
+    private String criterio;
+
+    @Label("Decrescente")
+    private boolean decrescente;
+
+    @Label("Livros")
+    @Description("Tamanho do catálogo ordenado")
+    private int livros;
+
+    @Label("Primeiros")
+    @Description("Quantidade de livros selecionados, ou -1 na ordenação completa")
+    private int primeiros;
+
+    /**
+     * Encerra a medição e grava o evento, se ele estiver ativado e acima do limite de duração.
+     *
+     * @param criterio    O critério de ordenação.
+     * @param decrescente Se a ordem é decrescente.
+     * @param livros      A quantidade de livros ordenados.
+     * @param primeiros   A quantidade selecionada, ou -1 na ordenação completa.
+     */
+    public void concluir(String criterio, boolean decrescente, int livros, int primeiros)
+    {
+        end( );
+        if(!shouldCommit( )) return;
+
+        this.criterio = criterio;
+        this.decrescente = decrescente;
+        this.livros = livros;
+        this.primeiros = primeiros;
+        commit( );
+    }
+}
@@ -0,0 +1,47 @@
+package com.rubix.vinimiraa.monitoramento;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da escrita de uma listagem por {@link com.rubix.vinimiraa.util.RenderizadorLivros}.
+ * <p>
+ * Na paginação, a duração inclui o tempo esperando o usuário pedir a próxima página.
+ * </p>
+ */
+@Name("com.rubix.vinimiraa.Renderizacao")
+@Label("Renderização de listagem")
+@Category({"Rubix Book Manager", "Console"})
+@Description("Escrita de uma listagem de livros no console")
+@Enabled(false)
+@StackTrace(false)
+public final class EventoRenderizacao extends Event
+{
+    @Label("Formato")
+    private String formato;
+
+    @Label("Livros")
+    @Description("Quantidade de livros escritos")
+    private int livros;
+
+    /**
+     * Encerra a medição e grava o evento, se ele estiver ativado e acima do limite de duração.
+     *
+     * @param formato O formato da listagem ({@code tabela} ou {@code paginas}).
+     * @param livros  A quantidade de livros escritos.
+     */
+    public void concluir(String formato, int livros)
+    {
+        end( );
+        if(!shouldCommit( )) return;
+
+        this.formato = formato;
+        this.livros = livros;
+        commit( );
+    }
+}
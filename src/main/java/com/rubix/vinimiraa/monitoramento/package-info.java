@@ -0,0 +1,32 @@
+/**
+ * Pacote que contém os eventos do Java Flight Recorder (JFR) emitidos pela aplicação.
+ * <p>
+ * Os eventos separam, em uma gravação aberta no JDK Mission Control, o tempo gasto em
+ * SQL no {@link com.rubix.vinimiraa.dao.LivroDAO}, na conversão das linhas em objetos,
+ * nas ordenações, na escrita das listagens no console e nos lotes de importação e
+ * exportação. Todos vêm desativados e são ligados pelo perfil {@code livros.jfc}
+ * (em {@code src/main/resources/jfr}), combinado com o perfil {@code default} do JDK:
+ * </p>
+ *
+ * <pre>{@code
+ * java -XX:StartFlightRecording:settings=default,settings=src/main/resources/jfr/livros.jfc,filename=livros.jfr ...
+ * jcmd <pid> JFR.start settings=default settings=<caminho>/livros.jfc   # em um processo já em execução
+ * }</pre>
+ *
+ * <p>
+ * Desativados, os eventos custam apenas uma verificação que o compilador JIT elimina.
+ * Ativados, cada evento gravado custa algumas centenas de nanossegundos, sem pilha de
+ * chamadas, o que fica abaixo de 1% mesmo para as buscas por ID, as operações mais
+ * curtas do DAO.
+ * </p>
+ *
+ * <h2>Classes principais:</h2>
+ * <ul>
+ *   <li>{@link com.rubix.vinimiraa.monitoramento.EventoOperacaoDao} – um comando SQL do DAO: operação, forma do SQL e linhas.</li>
+ *   <li>{@link com.rubix.vinimiraa.monitoramento.EventoMapeamento} – leitura de um resultado grande, com o tempo gasto só na conversão das linhas.</li>
+ *   <li>{@link com.rubix.vinimiraa.monitoramento.EventoOrdenacao} – ordenação ou seleção dos primeiros livros.</li>
+ *   <li>{@link com.rubix.vinimiraa.monitoramento.EventoRenderizacao} – escrita de uma listagem no console.</li>
+ *   <li>{@link com.rubix.vinimiraa.monitoramento.EventoLote} – lote de sincronização, gravação agrupada ou cópia de segurança.</li>
+ * </ul>
+ */
+package com.rubix.vinimiraa.monitoramento;
@@ -0,0 +1,246 @@
+package com.rubix.vinimiraa.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de números inteiros, usado para saber sem acessar o banco que um
+ * ISBN certamente não está cadastrado.
+ * <p>
+ * Cada valor liga {@code k} bits de um vetor de {@code m} bits, escolhidos por hash
+ * duplo ({@code h1 + i·h2}) a partir de um único hash de 64 bits. Uma consulta que
+ * encontra algum desses bits desligado é uma ausência garantida; se todos estiverem
+ * ligados, o valor provavelmente existe, com a taxa de falsos positivos configurada
+ * enquanto o filtro tiver até {@link #getCapacidade()} valores. Os parâmetros seguem
+ * as fórmulas usuais: {@code m = -n·ln(p) / ln(2)²} e {@code k = (m/n)·ln(2)}.
+ * </p>
+ *
+ * <p>
+ * Não há remoção: um valor removido do catálogo continua no filtro e passa a ser um
+ * falso positivo, o que só custa a consulta ao banco que o filtro evitaria. Quem o
+ * mantém deve reconstruí-lo quando {@link #saturado()} indicar que a taxa prometida
+ * não vale mais. O vetor de bits é um {@link AtomicLongArray}, de modo que consultas e
+ * inserções podem ocorrer em paralelo sem travas.
+ * </p>
+ *
+ * <pre>{@code
+ * FiltroBloom filtro = new FiltroBloom(100_000, 0.01);
+ * filtro.adicionar(123456);
+ * if(!filtro.talvezContenha(isbn)) return null; // certamente ausente
+ * }</pre>
+ */
+public class FiltroBloom
+{
+    /** Vetor de bits. */
+    private final AtomicLongArray bits;
+
+    /** Quantidade de bits do vetor (m). */
+    private final long quantidadeBits;
+
+    /** Quantidade de funções de hash (k). */
+    private final int funcoes;
+
+    /** Quantidade de valores para a qual o filtro foi dimensionado (n). */
+    private final int capacidade;
+
+    /** Taxa de falsos positivos configurada (p). */
+    private final double taxaConfigurada;
+
+    /** Quantidade de valores adicionados, contando repetições. */
+    private final LongAdder elementos = new LongAdder( );
+
+    /** Consultas respondidas com "certamente ausente". */
+    private final LongAdder negativas = new LongAdder( );
+
+    /** Consultas respondidas com "talvez presente". */
+    private final LongAdder positivas = new LongAdder( );
+
+    /** Respostas "talvez presente" para valores que não existiam. */
+    private final LongAdder falsosPositivos = new LongAdder( );
+
+    /**
+     * Construtor que dimensiona o filtro.
+     *
+     * @param capacidade           A quantidade esperada de valores.
+     * @param taxaFalsosPositivos  A taxa de falsos positivos desejada, entre 0 e 1 (exclusive).
+     * @throws IllegalArgumentException se a taxa estiver fora do intervalo.
+     */
+    public FiltroBloom(int capacidade, double taxaFalsosPositivos)
+    {
+        if(!(taxaFalsosPositivos > 0 && taxaFalsosPositivos < 1))
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1: " + taxaFalsosPositivos);
+
+        this.capacidade = Math.max(1, capacidade);
+        this.taxaConfigurada = taxaFalsosPositivos;
+
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-this.capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+        int palavras = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(palavras);
+        this.quantidadeBits = (long) palavras * 64;
+        this.funcoes = Math.max(1, (int) Math.round((double) quantidadeBits / this.capacidade * ln2));
+    }
+
+    /**
+     * Adiciona um valor ao filtro.
+     *
+     * @param valor O valor.
+     */
+    public void adicionar(int valor)
+    {
+        long hash = misturar(valor);
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        for(int i = 0; i < funcoes; i++)
+        {
+            long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            if((bits.get(palavra) & mascara) == 0)
+                bits.getAndAccumulate(palavra, mascara, (a, b) -> a | b);
+        }
+        elementos.increment( );
+    }
+
+    /**
+     * Indica se o valor pode ter sido adicionado.
+     *
+     * @param valor O valor.
+     * @return {@code false} se o valor certamente não foi adicionado;
+     *         {@code true} se ele provavelmente foi.
+     */
+    public boolean talvezContenha(int valor)
+    {
+        long hash = misturar(valor);
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        for(int i = 0; i < funcoes; i++)
+        {
+            long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            if((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+            {
+                negativas.increment( );
+                return false;
+            }
+        }
+        positivas.increment( );
+        return true;
+    }
+
+    /**
+     * Registra que uma resposta "talvez presente" se revelou falsa ao consultar o banco.
+     */
+    public void registrarFalsoPositivo( ) {
+        falsosPositivos.increment( );
+    }
+
+    /**
+     * Indica se o filtro recebeu mais valores do que a capacidade para a qual foi dimensionado.
+     *
+     * @return {@code true} se a taxa de falsos positivos já pode ter passado da configurada.
+     */
+    public boolean saturado( ) {
+        return elementos.sum( ) > capacidade;
+    }
+
+    /**
+     * Estima a taxa de falsos positivos atual pela fração de bits ligados.
+     *
+     * @return A probabilidade estimada de um valor ausente ser respondido como presente.
+     */
+    public double taxaEstimada( )
+    {
+        long ligados = 0;
+        for(int i = 0; i < bits.length( ); i++)
+            ligados += Long.bitCount(bits.get(i));
+        return Math.pow((double) ligados / quantidadeBits, funcoes);
+    }
+
+    /**
+     * Calcula a taxa de falsos positivos observada nas consultas a valores ausentes.
+     *
+     * @return {@code falsos positivos / (falsos positivos + negativas)}, ou 0 sem consultas.
+     */
+    public double taxaObservada( )
+    {
+        long fp = falsosPositivos.sum( );
+        long ausentes = fp + negativas.sum( );
+        return (ausentes > 0) ? (double) fp / ausentes : 0;
+    }
+
+    /**
+     * Retorna a quantidade de valores para a qual o filtro foi dimensionado.
+     * @return A quantidade de valores para a qual o filtro foi dimensionado.
+     */
+    public int getCapacidade( ) { return capacidade; }
+
+    /**
+     * Retorna a taxa de falsos positivos configurada.
+     * @return A taxa de falsos positivos configurada.
+     */
+    public double getTaxaConfigurada( ) { return taxaConfigurada; }
+
+    /**
+     * Retorna a quantidade de bits do filtro.
+     * @return A quantidade de bits do filtro.
+     */
+    public long getQuantidadeBits( ) { return quantidadeBits; }
+
+    /**
+     * Retorna a quantidade de funções de hash.
+     * @return A quantidade de funções de hash.
+     */
+    public int getFuncoes( ) { return funcoes; }
+
+    /**
+     * Retorna a quantidade de valores adicionados.
+     * @return A quantidade de valores adicionados.
+     */
+    public long getElementos( ) { return elementos.sum( ); }
+
+    /**
+     * Retorna a quantidade de consultas respondidas com "certamente ausente".
+     * @return A quantidade de consultas respondidas com "certamente ausente".
+     */
+    public long getNegativas( ) { return negativas.sum( ); }
+
+    /**
+     * Retorna a quantidade de consultas respondidas com "talvez presente".
+     * @return A quantidade de consultas respondidas com "talvez presente".
+     */
+    public long getPositivas( ) { return positivas.sum( ); }
+
+    /**
+     * Retorna a quantidade de falsos positivos registrados.
+     * @return A quantidade de falsos positivos registrados.
+     */
+    public long getFalsosPositivos( ) { return falsosPositivos.sum( ); }
+
+    /**
+     * Retorna um resumo das métricas do filtro.
+     *
+     * @return Uma linha com tamanho, ocupação, consultas e taxas.
+     */
+    @Override
+    public String toString( )
+    {
+        return String.format(Locale.ROOT,
+            "FiltroBloom{bits=%d (%d KiB), k=%d, elementos=%d/%d, negativas=%d, positivas=%d, "
+            + "falsosPositivos=%d, taxa configurada=%.4f, estimada=%.4f, observada=%.4f}",
+            quantidadeBits, quantidadeBits / 8 / 1024, funcoes, getElementos( ), capacidade,
+            getNegativas( ), getPositivas( ), getFalsosPositivos( ),
+            taxaConfigurada, taxaEstimada( ), taxaObservada( ));
+    }
+
+    /**
+     * Espalha os bits do valor em 64 bits (finalizador do SplitMix64).
+     */
+    private static long misturar(int valor)
+    {
+        long z = valor * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -22,6 +22,7 @@ import java.time.format.DateTimeParseException;
  *   <li>Leitura de números inteiros e decimais com validação.</li>
  *   <li>Confirmação de ações do usuário.</li>
  *   <li>Pausa da execução aguardando ENTER.</li>
+ *   <li>Paginação de listagens longas.</li>
  *   <li>Normalização de strings removendo acentos e convertendo para minúsculas.</li>
  * </ul>
  *
@@ -227,16 +228,113 @@ public class IO
         console.nextLine( );
     } // pressEnter ( )
 
+    /**
+     * Pergunta ao usuário se a próxima página de uma listagem deve ser exibida.
+     *
+     * @return false se o usuário digitar Q (ou 0) ou se a entrada terminar, true caso contrário.
+     */
+    public static boolean proximaPagina( )
+    {
+        System.out.print("ENTER para a próxima página, Q para parar: ");
+        if(!console.hasNextLine( )) return false;
+
+        String resposta = console.nextLine( ).trim( );
+        return !(resposta.equalsIgnoreCase("q") || resposta.equals("0"));
+    }
+
+    /**
+     * Padrão das marcas diacríticas combinantes removidas após a decomposição NFD.
+     */
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /**
+     * Limite (exclusivo) dos caracteres atendidos pela tabela de normalização:
+     * Latin-1, Latin Extended-A e Latin Extended-B.
+     */
+    private static final int LIMITE_TABELA = 0x250;
+
+    /**
+     * Valor da tabela para caracteres que não podem ser convertidos
+     * individualmente e exigem o caminho completo com {@link Normalizer}.
+     */
+    private static final char SEM_MAPEAMENTO = '\uFFFF';
+
+    /**
+     * Tabela com o resultado de {@link #strNormalize(String)} para cada caractere
+     * abaixo de {@link #LIMITE_TABELA}. É calculada na carga da classe a partir do
+     * próprio algoritmo de referência ({@link #strNormalizeUnicode(String)}),
+     * usando o {@link java.util.Locale} padrão daquele momento.
+     */
+    private static final char[] TABELA_NORMALIZACAO = criarTabelaNormalizacao( );
+
     /**
      * Normaliza uma string removendo acentuação e convertendo para minúsculas.
+     * <p>
+     * Caracteres latinos são convertidos diretamente pela {@link #TABELA_NORMALIZACAO}.
+     * Se nenhum caractere precisa ser alterado, a própria instância recebida é
+     * retornada, sem alocações. Apenas strings com caracteres fora da tabela
+     * (outros alfabetos, marcas combinantes soltas, etc.) passam por {@link Normalizer}.
+     * </p>
      * 
      * @param str A string a ser normalizada.
      * @return A string normalizada.
      */
     public static String strNormalize(String str) 
+    {
+        int tamanho = str.length( );
+        int i = 0;
+
+        // procura o primeiro caractere que precisa ser alterado
+        while(i < tamanho)
+        {
+            char c = str.charAt(i);
+            if(c >= LIMITE_TABELA || TABELA_NORMALIZACAO[c] != c) break;
+            i++;
+        }
+        if(i == tamanho) return str;
+
+        char[] normalizado = new char[tamanho];
+        str.getChars(0, i, normalizado, 0);
+        for(; i < tamanho; i++)
+        {
+            char c = str.charAt(i);
+            char convertido = (c < LIMITE_TABELA) ? TABELA_NORMALIZACAO[c] : SEM_MAPEAMENTO;
+            if(convertido == SEM_MAPEAMENTO)
+                return strNormalizeUnicode(str);
+            normalizado[i] = convertido;
+        }
+
+        return new String(normalizado);
+    }
+
+    /**
+     * Algoritmo completo de normalização: decomposição NFD, remoção das marcas
+     * diacríticas e conversão para minúsculas.
+     * 
+     * @param str A string a ser normalizada.
+     * @return A string normalizada.
+     */
+    private static String strNormalizeUnicode(String str)
     {
         String nfdNormalizedString = Normalizer.normalize(str, Normalizer.Form.NFD);
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        return pattern.matcher(nfdNormalizedString).replaceAll("").toLowerCase();
+        return MARCAS_DIACRITICAS.matcher(nfdNormalizedString).replaceAll("").toLowerCase( );
+    }
+
+    /**
+     * Calcula a tabela de normalização aplicando {@link #strNormalizeUnicode(String)}
+     * a cada caractere abaixo de {@link #LIMITE_TABELA}. Caracteres cujo resultado
+     * não é exatamente um caractere ficam marcados com {@link #SEM_MAPEAMENTO}.
+     * 
+     * @return A tabela de normalização.
+     */
+    private static char[] criarTabelaNormalizacao( )
+    {
+        char[] tabela = new char[LIMITE_TABELA];
+        for(char c = 0; c < LIMITE_TABELA; c++)
+        {
+            String normalizado = strNormalizeUnicode(String.valueOf(c));
+            tabela[c] = (normalizado.length( ) == 1) ? normalizado.charAt(0) : SEM_MAPEAMENTO;
+        }
+        return tabela;
     }
 }
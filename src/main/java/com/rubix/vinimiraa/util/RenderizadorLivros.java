@@ -0,0 +1,391 @@
+package com.rubix.vinimiraa.util;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.monitoramento.EventoRenderizacao;
+
+/**
+ * Escreve listagens de livros no console com o mínimo de formatação e de escritas.
+ * <p>
+ * As linhas são montadas em um único {@link StringBuilder} reaproveitado, sem
+ * {@link String#format} e sem strings intermediárias: preços e datas são escritos dígito
+ * a dígito, e só preços a partir de um trilhão, NaN e infinitos passam por
+ * {@link String#format}. O texto só é enviado à saída quando o buffer passa de {@value #LIMITE_BUFFER}
+ * caracteres, em {@link #flush()} ou ao fim de cada página, de modo que uma listagem de
+ * dezenas de milhares de livros resulta em poucas escritas grandes, em vez de uma
+ * chamada a {@code println} por linha.
+ * </p>
+ *
+ * <h2>Formatos:</h2>
+ * <ul>
+ *   <li>{@link #linha(Livro)} – o mesmo texto de {@link Livro#formatado()}.</li>
+ *   <li>{@link #tabela(List)} – tabela de colunas com largura fixa; textos longos são cortados com "…".</li>
+ *   <li>{@link #paginar(List, int, BooleanSupplier)} – a tabela em páginas, perguntando antes de cada página seguinte.</li>
+ * </ul>
+ *
+ * <p>
+ * O separador decimal é o do {@link Locale} padrão, como em {@code String.format("%.2f")}.
+ * Não é thread-safe.
+ * </p>
+ *
+ * <pre>{@code
+ * RenderizadorLivros renderizador = new RenderizadorLivros(System.out);
+ * renderizador.tabela(livros);
+ * }</pre>
+ */
+public class RenderizadorLivros implements Flushable
+{
+    /** Quantidade de caracteres acumulados antes de uma escrita na saída. */
+    private static final int LIMITE_BUFFER = 64 * 1024;
+
+    /** Maior preço (exclusive) escrito dígito a dígito; acima dele, usa-se {@link String#format}. */
+    private static final double LIMITE_PRECO = 1e12;
+
+    /** Texto exibido no lugar de campos opcionais ausentes. */
+    private static final String AUSENTE = "N/A";
+
+    /** Larguras das colunas da tabela: ID, título, autor, preço, editora, data e ISBN. */
+    private static final int LARGURA_ID = 6;
+    private static final int LARGURA_TITULO = 32;
+    private static final int LARGURA_AUTOR = 22;
+    private static final int LARGURA_PRECO = 12;
+    private static final int LARGURA_EDITORA = 18;
+    private static final int LARGURA_DATA = 10;
+    private static final int LARGURA_ISBN = 10;
+
+    /** Separador entre as colunas da tabela. */
+    private static final String SEPARADOR = " | ";
+
+    /** Espaços usados para alinhar colunas à direita (ao menos a maior largura). */
+    private static final String ESPACOS = " ".repeat(LARGURA_TITULO);
+
+    /** Quebra de linha do sistema, como em {@code println}. */
+    private static final String QUEBRA_LINHA = System.lineSeparator( );
+
+    /** Saída de destino. */
+    private final Writer saida;
+
+    /** Buffer reaproveitado em todas as linhas. */
+    private final StringBuilder buffer = new StringBuilder(LIMITE_BUFFER + 1024);
+
+    /** Vetor usado para copiar o buffer para a saída sem criar strings. */
+    private char[] copia = new char[LIMITE_BUFFER + 1024];
+
+    /** Separador decimal do locale padrão. */
+    private final char separadorDecimal;
+
+    /**
+     * Construtor que escreve em um {@link PrintStream}, como {@code System.out},
+     * usando a codificação dele. O stream não é fechado pelo renderizador.
+     *
+     * @param saida O stream de destino.
+     */
+    public RenderizadorLivros(PrintStream saida) {
+        this(new OutputStreamWriter(saida, saida.charset( )));
+    }
+
+    /**
+     * Construtor que escreve em um {@link Writer}.
+     *
+     * @param saida O writer de destino.
+     */
+    public RenderizadorLivros(Writer saida)
+    {
+        this.saida = saida;
+        this.separadorDecimal = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator( );
+    }
+
+    /**
+     * Escreve um livro no formato de {@link Livro#formatado()}, seguido de quebra de linha.
+     *
+     * @param livro O livro.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public void linha(Livro livro) throws IOException
+    {
+        buffer.append("ID: ").append(livro.getId( ))
+              .append(", Título: ").append(livro.getTitulo( ))
+              .append(", Autor: ").append(livro.getAutor( ))
+              .append(", Preço: R$ ");
+        preco(livro.getPreco( ) != null ? livro.getPreco( ) : 0.0);
+        buffer.append(", Editora: ").append(livro.getEditora( ) != null ? livro.getEditora( ) : AUSENTE)
+              .append(", Data de Publicação: ");
+        data(livro.getDataPublicacao( ));
+        buffer.append(", ISBN: ");
+        if(livro.getIsbn( ) != null) buffer.append(livro.getIsbn( ).intValue( ));
+        else buffer.append(AUSENTE);
+        fimLinha( );
+    }
+
+    /**
+     * Escreve o cabeçalho da tabela.
+     *
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public void cabecalho( ) throws IOException
+    {
+        int inicio = buffer.length( );
+        direita("ID", inicio, LARGURA_ID);
+        coluna("Título", LARGURA_TITULO);
+        coluna("Autor", LARGURA_AUTOR);
+        inicio = buffer.append(SEPARADOR).length( );
+        direita("Preço", inicio, LARGURA_PRECO);
+        coluna("Editora", LARGURA_EDITORA);
+        coluna("Publicação", LARGURA_DATA);
+        inicio = buffer.append(SEPARADOR).length( );
+        direita("ISBN", inicio, LARGURA_ISBN);
+        fimLinha( );
+
+        int largura = LARGURA_ID + LARGURA_TITULO + LARGURA_AUTOR + LARGURA_PRECO
+                    + LARGURA_EDITORA + LARGURA_DATA + LARGURA_ISBN + 6 * SEPARADOR.length( );
+        for(int i = 0; i < largura; i++)
+            buffer.append('-');
+        fimLinha( );
+    }
+
+    /**
+     * Escreve um livro como uma linha da tabela.
+     *
+     * @param livro O livro.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public void linhaTabela(Livro livro) throws IOException
+    {
+        int inicio = buffer.length( );
+        buffer.append(livro.getId( ));
+        alinharDireita(inicio, LARGURA_ID);
+
+        coluna(livro.getTitulo( ), LARGURA_TITULO);
+        coluna(livro.getAutor( ), LARGURA_AUTOR);
+
+        inicio = buffer.append(SEPARADOR).length( );
+        if(livro.getPreco( ) != null)
+        {
+            buffer.append("R$ ");
+            preco(livro.getPreco( ));
+        }
+        else buffer.append(AUSENTE);
+        alinharDireita(inicio, LARGURA_PRECO);
+
+        coluna(livro.getEditora( ) != null ? livro.getEditora( ) : AUSENTE, LARGURA_EDITORA);
+
+        inicio = buffer.append(SEPARADOR).length( );
+        data(livro.getDataPublicacao( ));
+        completar(inicio, LARGURA_DATA);
+
+        inicio = buffer.append(SEPARADOR).length( );
+        if(livro.getIsbn( ) != null) buffer.append(livro.getIsbn( ).intValue( ));
+        else buffer.append(AUSENTE);
+        alinharDireita(inicio, LARGURA_ISBN);
+
+        fimLinha( );
+    }
+
+    /**
+     * Escreve todos os livros em uma tabela, com cabeçalho, e envia o texto à saída.
+     *
+     * @param livros Os livros, na ordem de exibição.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public void tabela(List<Livro> livros) throws IOException
+    {
+        EventoRenderizacao evento = new EventoRenderizacao( );
+        evento.begin( );
+        cabecalho( );
+        for(Livro livro : livros)
+            linhaTabela(livro);
+        flush( );
+        evento.concluir("tabela", livros.size( ));
+    }
+
+    /**
+     * Escreve os livros em páginas da tabela. Ao fim de cada página, exceto a última,
+     * o texto é enviado à saída e {@code continuar} decide se a próxima página é exibida.
+     *
+     * @param livros          Os livros, na ordem de exibição.
+     * @param linhasPorPagina A quantidade de livros por página.
+     * @param continuar       Consultado entre as páginas; {@code false} encerra a listagem.
+     * @return A quantidade de livros exibidos.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public int paginar(List<Livro> livros, int linhasPorPagina, BooleanSupplier continuar) throws IOException
+    {
+        EventoRenderizacao evento = new EventoRenderizacao( );
+        evento.begin( );
+        int exibidos = 0;
+        int total = livros.size( );
+        int paginas = (total + linhasPorPagina - 1) / linhasPorPagina;
+
+        for(int pagina = 1; exibidos < total; pagina++)
+        {
+            cabecalho( );
+            int fim = Math.min(exibidos + linhasPorPagina, total);
+            for(; exibidos < fim; exibidos++)
+                linhaTabela(livros.get(exibidos));
+            buffer.append("Página ").append(pagina).append(" de ").append(paginas)
+                  .append(" (").append(exibidos).append(" de ").append(total).append(" livros)");
+            fimLinha( );
+            flush( );
+
+            if(exibidos < total && !continuar.getAsBoolean( )) break;
+        }
+        evento.concluir("paginas", exibidos);
+        return exibidos;
+    }
+
+    /**
+     * Escreve uma quebra de linha.
+     *
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public void novaLinha( ) throws IOException {
+        fimLinha( );
+    }
+
+    /**
+     * Envia à saída todo o texto acumulado.
+     *
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    @Override
+    public void flush( ) throws IOException
+    {
+        descarregar( );
+        saida.flush( );
+    }
+
+    /**
+     * Escreve o preço com duas casas decimais, como {@code String.format("%.2f")}.
+     * <p>
+     * O arredondamento é feito sobre o valor decimal do {@code double} ({@link Double#toString(double)}),
+     * com meio centavo arredondado para cima: 1.005 vira 1.01, e não 1.00 como o produto
+     * binário {@code 1.005 * 100} daria. Para isso, o produto só dá os centavos truncados, e
+     * o preço é comparado com o {@code double} mais próximo do meio centavo seguinte: o valor
+     * decimal do preço passa do meio centavo exatamente quando o preço é maior ou igual a esse
+     * {@code double}. Abaixo de {@value #LIMITE_PRECO} o meio centavo tem no máximo 15 algarismos
+     * e, portanto, um {@code double} só seu; acima disso, e para NaN e infinitos, o preço é
+     * formatado por {@link String#format}. Valores negativos mantêm o sinal mesmo quando
+     * arredondam para zero.
+     * </p>
+     */
+    private void preco(double preco)
+    {
+        double absoluto = Math.abs(preco);
+        if(!(absoluto < LIMITE_PRECO))
+        {
+            buffer.append(String.format("%.2f", preco));
+            return;
+        }
+
+        long centavos = (long) (absoluto * 100);
+        if(absoluto >= (centavos + 0.5) / 100)
+            centavos++;
+        if(Math.copySign(1.0, preco) < 0) buffer.append('-');
+        buffer.append(centavos / 100).append(separadorDecimal);
+        long resto = centavos % 100;
+        buffer.append((char) ('0' + resto / 10)).append((char) ('0' + resto % 10));
+    }
+
+    /**
+     * Escreve a data no formato ISO ({@code aaaa-mm-dd}), como {@link LocalDate#toString()}.
+     */
+    private void data(LocalDate data)
+    {
+        if(data == null)
+        {
+            buffer.append(AUSENTE);
+            return;
+        }
+
+        int ano = data.getYear( );
+        if(ano < 1000 || ano > 9999)
+        {
+            buffer.append(data);
+            return;
+        }
+        buffer.append(ano).append('-');
+        doisDigitos(data.getMonthValue( ));
+        buffer.append('-');
+        doisDigitos(data.getDayOfMonth( ));
+    }
+
+    private void doisDigitos(int valor) {
+        buffer.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+
+    /**
+     * Escreve uma coluna de texto alinhada à esquerda, precedida pelo separador.
+     */
+    private void coluna(String texto, int largura)
+    {
+        buffer.append(SEPARADOR);
+        int inicio = buffer.length( );
+        if(texto.length( ) > largura)
+        {
+            int corte = largura - 1;
+            if(Character.isHighSurrogate(texto.charAt(corte - 1))) corte--;
+            buffer.append(texto, 0, corte).append('…');
+        }
+        else buffer.append(texto);
+        completar(inicio, largura);
+    }
+
+    /**
+     * Escreve um texto alinhado à direita a partir da posição informada.
+     */
+    private void direita(String texto, int inicio, int largura)
+    {
+        buffer.append(texto);
+        alinharDireita(inicio, largura);
+    }
+
+    /**
+     * Completa com espaços à direita o campo iniciado na posição informada.
+     */
+    private void completar(int inicio, int largura)
+    {
+        for(int i = buffer.length( ) - inicio; i < largura; i++)
+            buffer.append(' ');
+    }
+
+    /**
+     * Move para a direita o campo iniciado na posição informada, inserindo espaços antes dele.
+     */
+    private void alinharDireita(int inicio, int largura)
+    {
+        int faltam = largura - (buffer.length( ) - inicio);
+        if(faltam > 0) buffer.insert(inicio, ESPACOS, 0, faltam);
+    }
+
+    /**
+     * Termina a linha atual e envia o buffer à saída se ele passou do limite.
+     */
+    private void fimLinha( ) throws IOException
+    {
+        buffer.append(QUEBRA_LINHA);
+        if(buffer.length( ) >= LIMITE_BUFFER) descarregar( );
+    }
+
+    /**
+     * Copia o buffer para a saída e o esvazia.
+     */
+    private void descarregar( ) throws IOException
+    {
+        int tamanho = buffer.length( );
+        if(tamanho == 0) return;
+        if(copia.length < tamanho) copia = new char[tamanho];
+        buffer.getChars(0, tamanho, copia, 0);
+        saida.write(copia, 0, tamanho);
+        buffer.setLength(0);
+    }
+}
@@ -14,9 +14,11 @@
  *   <li>Centralizar utilitários que podem ser usados por várias partes da aplicação.</li>
  * </ul>
  *
- * <h2>Classe principal:</h2>
+ * <h2>Classes principais:</h2>
  * <ul>
  *   <li>{@link com.rubix.vinimiraa.util.IO} – métodos estáticos para leitura, confirmação e formatação de dados do usuário.</li>
+ *   <li>{@link com.rubix.vinimiraa.util.RenderizadorLivros} – escrita bufferizada de listagens de livros em linhas, tabela ou páginas.</li>
+ *   <li>{@link com.rubix.vinimiraa.util.FiltroBloom} – filtro de Bloom de inteiros, com métricas de falsos positivos.</li>
  * </ul>
  *
  * <p>
@@ -0,0 +1,119 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.rubix.vinimiraa.dao.BackupDAO;
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe BackupDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para testar cópia, verificação e retenção.
+ */
+class BackupDAOTest {
+
+    @TempDir
+    Path pasta;
+
+    private LivroDAO livroDAO;
+    private BackupDAO backupDAO;
+
+    /**
+     * Cria um banco com alguns livros e um DAO de backup que mantém dois arquivos.
+     */
+    @BeforeEach
+    void setUp() {
+        String database = pasta.resolve("livros.db").toString();
+        livroDAO = new LivroDAO(database);
+        for (int i = 0; i < 500; i++) {
+            livroDAO.insert(new Livro.Builder("Livro " + i, "Autor " + i, 10.0 + i).build());
+        }
+        backupDAO = new BackupDAO(database, pasta.resolve("backups"), 2, 4, 1);
+    }
+
+    /**
+     * Encerra as conexões após cada teste.
+     */
+    @AfterEach
+    void tearDown() {
+        backupDAO.disconnect();
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa a cópia enquanto outra conexão continua inserindo livros.
+     */
+    @Test
+    void testBackupDuranteEscritas() throws Exception {
+        AtomicBoolean copiando = new AtomicBoolean(true);
+        AtomicInteger inseridos = new AtomicInteger();
+        Thread escritor = new Thread(() -> {
+            while (copiando.get()) {
+                if (livroDAO.insert(new Livro.Builder("Concorrente", "Autor", 1.0).build()))
+                    inseridos.incrementAndGet();
+            }
+        });
+        escritor.start();
+
+        Path arquivo = backupDAO.executar();
+        copiando.set(false);
+        escritor.join();
+
+        assertNotNull(arquivo, "O backup deveria ser gravado");
+        assertTrue(backupDAO.verificar(arquivo));
+        assertTrue(inseridos.get() > 0, "As escritas deveriam continuar durante o backup");
+
+        LivroDAO copia = new LivroDAO(arquivo.toString());
+        assertTrue(copia.getAll().size() >= 500);
+        copia.disconnect();
+    }
+
+    /**
+     * Testa que apenas os backups mais recentes são mantidos.
+     */
+    @Test
+    void testRetencao() {
+        Path primeiro = backupDAO.executar();
+        backupDAO.executar();
+        Path terceiro = backupDAO.executar();
+
+        List<Path> backups = backupDAO.listar();
+        assertEquals(2, backups.size());
+        assertFalse(Files.exists(primeiro));
+        assertEquals(terceiro, backups.get(1));
+    }
+
+    /**
+     * Testa que um arquivo corrompido não passa na verificação.
+     */
+    @Test
+    void testVerificarArquivoCorrompido() throws Exception {
+        Path arquivo = backupDAO.executar();
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        for (int i = 4096; i < conteudo.length; i += 7) {
+            conteudo[i] = (byte) 0xFF;
+        }
+        Files.write(arquivo, conteudo);
+
+        assertFalse(backupDAO.verificar(arquivo));
+    }
+
+    /**
+     * Testa se a falha ao conectar é informada na construção, antes de ativar o modo WAL.
+     */
+    @Test
+    void testBancoInacessivel() {
+        String database = pasta.resolve("inexistente").resolve("livros.db").toString();
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> new BackupDAO(database, pasta.resolve("backups"), 2, 4, 1));
+        assertTrue(erro.getMessage().contains(database));
+    }
+}
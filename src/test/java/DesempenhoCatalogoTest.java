@@ -0,0 +1,320 @@
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import com.rubix.vinimiraa.analise.OrdenacaoLivros;
+import com.rubix.vinimiraa.carga.GeradorLivros;
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.ResultadoSincronizacao;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Testes de desempenho com um catálogo sintético grande, executados só pelo perfil
+ * {@code desempenho} ({@code mvn -Pdesempenho test}).
+ * <p>
+ * Um banco temporário recebe {@code -Ddesempenho.livros} livros (padrão 100.000) gerados
+ * com semente fixa por {@link GeradorLivros}. Cada operação mede o tempo e os bytes alocados
+ * (somados em todas as threads) e é comparada com a linha de base
+ * {@code src/test/resources/desempenho/linha-base.properties}, gravada para o mesmo tamanho
+ * de catálogo. O teste falha se o tempo passar da linha de base em mais de
+ * {@code -Ddesempenho.tolerancia} (padrão 100%, isto é, o dobro) ou se a alocação passar
+ * em mais de 25%.
+ * </p>
+ *
+ * <p>
+ * Para comparar máquinas diferentes, os tempos da linha de base são ajustados pela razão
+ * entre a calibração atual (ordenar um vetor fixo de números) e a gravada. Para regravar
+ * a linha de base após uma mudança intencional, use {@code -Ddesempenho.gravar=true}.
+ * </p>
+ */
+@Tag("desempenho")
+class DesempenhoCatalogoTest {
+
+    private static final int LIVROS = Integer.getInteger("desempenho.livros", 100_000);
+    private static final double TOLERANCIA_TEMPO = Double.parseDouble(System.getProperty("desempenho.tolerancia", "1.0"));
+    private static final double TOLERANCIA_ALOCACAO = 0.25;
+    private static final boolean GRAVAR = Boolean.getBoolean("desempenho.gravar");
+    private static final Path LINHA_BASE = Path.of(System.getProperty("desempenho.linhaBase",
+            "src/test/resources/desempenho/linha-base.properties"));
+
+    /** Folgas absolutas, para que operações muito curtas não falhem por ruído. */
+    private static final double FOLGA_MS = 25;
+    private static final long FOLGA_BYTES = 4L << 20;
+
+    private static final int BUSCAS = 20_000;
+    private static final int REPETICOES = 5;
+
+    @TempDir
+    static Path pasta;
+
+    private static LivroDAO livroDAO;
+    private static Properties linhaBase;
+    private static final Map<String, String> medicoes = new TreeMap<>();
+    private static double escala = 1.0;
+    private static Medicao carga;
+    private static int[] isbns;
+
+    /**
+     * Tempo e bytes alocados por uma operação.
+     */
+    private record Medicao(double ms, long bytes) { }
+
+    /**
+     * Lê a linha de base, calibra a máquina e carrega o catálogo, medindo a carga.
+     * <p>
+     * O índice único de ISBNs usado pela carga deve vir do esquema, e não ser criado
+     * durante a medição; por isso a sua presença é verificada antes de carregar.
+     * </p>
+     */
+    @BeforeAll
+    static void preparar() throws IOException, SQLException {
+        linhaBase = new Properties();
+        if (Files.exists(LINHA_BASE)) {
+            try (Reader leitor = Files.newBufferedReader(LINHA_BASE)) {
+                linhaBase.load(leitor);
+            }
+        }
+
+        double calibracao = calibrar();
+        medicoes.put("calibracao.ms", String.format(java.util.Locale.ROOT, "%.1f", calibracao));
+        if (linhaBase.containsKey("calibracao.ms")) {
+            escala = calibracao / Double.parseDouble(linhaBase.getProperty("calibracao.ms"));
+        }
+
+        GeradorLivros gerador = new GeradorLivros();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        List<Livro> livros = new ArrayList<>(LIVROS);
+        isbns = new int[LIVROS];
+        int comIsbn = 0;
+        for (int i = 1; i <= LIVROS; i++) {
+            Livro livro = gerador.gerar(aleatorio);
+            // ISBNs únicos e sequenciais, para que a carga insira exatamente LIVROS livros
+            if (livro.getIsbn() != null) {
+                livro.setIsbn(i);
+                isbns[comIsbn++] = i;
+            }
+            livros.add(livro);
+        }
+        isbns = Arrays.copyOf(isbns, comIsbn);
+
+        String arquivo = pasta.resolve("livros.db").toString();
+        livroDAO = new LivroDAO(arquivo);
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = 'ux_livro_isbn'")) {
+            assertTrue(rs.next(), "o esquema deveria criar o índice único de ISBNs");
+        }
+
+        ResultadoSincronizacao[] resultado = new ResultadoSincronizacao[1];
+        carga = medir(() -> resultado[0] = livroDAO.upsertAllByIsbn(livros));
+        assertEquals(LIVROS, resultado[0].getInseridos());
+    }
+
+    /**
+     * Encerra o banco e, com {@code -Ddesempenho.gravar=true}, grava as medições como nova linha de base.
+     */
+    @AfterAll
+    static void encerrar() throws IOException {
+        livroDAO.disconnect();
+        if (!GRAVAR) return;
+
+        Map<String, String> todas = new TreeMap<>();
+        linhaBase.forEach((chave, valor) -> todas.put((String) chave, (String) valor));
+        todas.putAll(medicoes);
+
+        StringBuilder texto = new StringBuilder()
+                .append("# Linha de base de DesempenhoCatalogoTest (mvn -Pdesempenho test -Ddesempenho.gravar=true)\n")
+                .append("# <operacao>.<livros>.ms = tempo; <operacao>.<livros>.bytes = bytes alocados\n");
+        todas.forEach((chave, valor) -> texto.append(chave).append('=').append(valor).append('\n'));
+        Files.createDirectories(LINHA_BASE.getParent());
+        Files.writeString(LINHA_BASE, texto);
+    }
+
+    /**
+     * Mede o tempo, em milissegundos, de ordenar um vetor fixo de números (o melhor de 5).
+     */
+    private static double calibrar() {
+        long[] original = new SplittableRandom(7).longs(2_000_000).toArray();
+        double melhor = Double.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long[] vetor = original.clone();
+            long inicio = System.nanoTime();
+            Arrays.sort(vetor);
+            melhor = Math.min(melhor, (System.nanoTime() - inicio) / 1e6);
+        }
+        return melhor;
+    }
+
+    /**
+     * Retorna o total de bytes alocados até agora pelas threads vivas.
+     */
+    private static long alocados() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Executa a operação medindo o tempo e a alocação.
+     */
+    private static Medicao medir(Runnable operacao) {
+        long bytes = alocados();
+        long inicio = System.nanoTime();
+        operacao.run();
+        double ms = (System.nanoTime() - inicio) / 1e6;
+        return new Medicao(ms, alocados() - bytes);
+    }
+
+    /**
+     * Executa a operação uma vez para aquecer o JIT e depois a mede {@link #REPETICOES} vezes,
+     * ficando com o menor tempo e a menor alocação (os menos afetados por coleta de lixo e ruído).
+     */
+    private static Medicao aquecerEMedir(Supplier<?> operacao) {
+        operacao.get();
+        double ms = Double.MAX_VALUE;
+        long bytes = Long.MAX_VALUE;
+        for (int i = 0; i < REPETICOES; i++) {
+            Medicao medicao = medir(operacao::get);
+            ms = Math.min(ms, medicao.ms());
+            bytes = Math.min(bytes, medicao.bytes());
+        }
+        return new Medicao(ms, bytes);
+    }
+
+    /**
+     * Registra a medição e a compara com a linha de base.
+     */
+    private static void verificar(String operacao, Medicao medicao) {
+        String chave = operacao + "." + LIVROS;
+        medicoes.put(chave + ".ms", String.format(java.util.Locale.ROOT, "%.1f", medicao.ms()));
+        medicoes.put(chave + ".bytes", String.valueOf(medicao.bytes()));
+        System.out.printf("%-20s %10.1f ms %,16d bytes%n", chave, medicao.ms(), medicao.bytes());
+        if (GRAVAR) return;
+
+        String ms = linhaBase.getProperty(chave + ".ms");
+        String bytes = linhaBase.getProperty(chave + ".bytes");
+        assumeTrue(ms != null && bytes != null,
+                "Sem linha de base para " + chave + "; grave-a com -Ddesempenho.gravar=true");
+
+        double base = Double.parseDouble(ms) * escala;
+        double limiteMs = Math.max(base * (1 + TOLERANCIA_TEMPO), base + FOLGA_MS);
+        assertTrue(medicao.ms() <= limiteMs, String.format(java.util.Locale.ROOT,
+                "%s: %.1f ms, acima do limite de %.1f ms (linha de base ajustada: %.1f ms)", chave, medicao.ms(), limiteMs, base));
+
+        long limiteBytes = (long) (Long.parseLong(bytes) * (1 + TOLERANCIA_ALOCACAO)) + FOLGA_BYTES;
+        assertTrue(medicao.bytes() <= limiteBytes, String.format(java.util.Locale.ROOT,
+                "%s: %,d bytes alocados, acima do limite de %,d bytes", chave, medicao.bytes(), limiteBytes));
+    }
+
+    /**
+     * Testa a carga do catálogo em uma única sincronização por ISBN.
+     */
+    @Test
+    void testCarga() {
+        verificar("carga", carga);
+    }
+
+    /**
+     * Testa buscas individuais por ID sorteado.
+     */
+    @Test
+    void testBuscaPorId() {
+        int[] ids = new SplittableRandom(1).ints(BUSCAS, 1, LIVROS + 1).toArray();
+        verificar("getById", aquecerEMedir(() -> {
+            int encontrados = 0;
+            for (int id : ids) {
+                if (livroDAO.getById(id) != null) encontrados++;
+            }
+            assertEquals(BUSCAS, encontrados);
+            return encontrados;
+        }));
+    }
+
+    /**
+     * Testa buscas individuais por ISBN sorteado.
+     */
+    @Test
+    void testBuscaPorIsbn() {
+        SplittableRandom aleatorio = new SplittableRandom(2);
+        int[] sorteados = new int[BUSCAS];
+        for (int i = 0; i < BUSCAS; i++) {
+            sorteados[i] = isbns[aleatorio.nextInt(isbns.length)];
+        }
+        verificar("getByIsbn", aquecerEMedir(() -> {
+            int encontrados = 0;
+            for (int isbn : sorteados) {
+                if (livroDAO.getByIsbn(isbn) != null) encontrados++;
+            }
+            assertEquals(BUSCAS, encontrados);
+            return encontrados;
+        }));
+    }
+
+    /**
+     * Testa buscas em lote de 1.000 IDs.
+     */
+    @Test
+    void testBuscaEmLote() {
+        SplittableRandom aleatorio = new SplittableRandom(3);
+        int[][] lotes = new int[BUSCAS / 1000][];
+        for (int i = 0; i < lotes.length; i++) {
+            lotes[i] = aleatorio.ints(1000, 1, LIVROS + 1).distinct().toArray();
+        }
+        verificar("getByIds", aquecerEMedir(() -> {
+            int encontrados = 0;
+            for (int[] lote : lotes) {
+                encontrados += livroDAO.getByIds(lote).size();
+            }
+            return encontrados;
+        }));
+    }
+
+    /**
+     * Testa a listagem completa do catálogo.
+     */
+    @Test
+    void testListagem() {
+        verificar("getAll", aquecerEMedir(() -> {
+            List<Livro> livros = livroDAO.getAll();
+            assertEquals(LIVROS, livros.size());
+            return livros;
+        }));
+        verificar("getAllCompacto", aquecerEMedir(livroDAO::getAllCompacto));
+    }
+
+    /**
+     * Testa a ordenação completa por título e a seleção dos 100 mais baratos.
+     */
+    @Test
+    void testOrdenacao() {
+        List<Livro> livros = new ArrayList<>(livroDAO.getAll());
+        verificar("ordenarTitulo", aquecerEMedir(() -> OrdenacaoLivros.ordenar(livros, OrdenacaoLivros.Criterio.TITULO)));
+        verificar("primeirosPreco", aquecerEMedir(() -> OrdenacaoLivros.primeiros(livros, OrdenacaoLivros.Criterio.PRECO, 100)));
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.rubix.vinimiraa.analise.DetectorDuplicatas;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe DetectorDuplicatas.
+ * Utiliza JUnit 5 para testar a normalização do texto canônico e o agrupamento de duplicatas.
+ */
+class DetectorDuplicatasTest {
+
+    private final DetectorDuplicatas detector = new DetectorDuplicatas();
+
+    /**
+     * Testa a remoção de acentos, pontuação e sufixos de edição do texto canônico.
+     */
+    @Test
+    void testTextoCanonico() {
+        Livro original = new Livro.Builder("Memórias Póstumas de Brás Cubas", "Machado de Assis", 24.90).build();
+        Livro edicao = new Livro.Builder("Memorias postumas de Bras Cubas - 2ª Edição Revisada", "MACHADO DE ASSIS", 34.90).build();
+
+        assertEquals("memorias postumas de bras cubas machado de assis", DetectorDuplicatas.textoCanonico(original));
+        assertEquals(DetectorDuplicatas.textoCanonico(original), DetectorDuplicatas.textoCanonico(edicao));
+        assertEquals(1.0, detector.similaridade(original, edicao), 0.0001);
+    }
+
+    /**
+     * Testa a detecção de grupos de duplicatas em meio a livros distintos.
+     */
+    @Test
+    void testDetectar() {
+        List<Livro> livros = new ArrayList<>();
+        livros.add(new Livro(1, "Dom Casmurro", "Machado de Assis", 19.90, null, null, null));
+        livros.add(new Livro(2, "Dom Casmurro.", "Machado de Assis", 21.90, null, null, null));
+        livros.add(new Livro(3, "DOM CASMURRO (3a edição)", "Machado de Assis", 29.90, null, null, null));
+        livros.add(new Livro(4, "O Cortiço", "Aluísio Azevedo", 15.00, null, null, null));
+        livros.add(new Livro(5, "O Cortico", "Aluisio Azevedo", 16.00, null, null, null));
+        livros.add(new Livro(6, "O Hobbit", "J.R.R. Tolkien", 49.90, null, null, null));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            livros.add(new Livro(100 + i, "Livro " + Long.toString(random.nextLong(), 36), "Autor " + i, 10.0, null, null, null));
+        }
+
+        List<List<Livro>> grupos = detector.detectar(livros);
+
+        assertEquals(2, grupos.size());
+        assertEquals(List.of(1, 2, 3), grupos.get(0).stream().map(Livro::getId).toList());
+        assertEquals(List.of(4, 5), grupos.get(1).stream().map(Livro::getId).toList());
+    }
+
+    /**
+     * Testa que uma lista vazia não produz grupos.
+     */
+    @Test
+    void testListaVazia() {
+        assertTrue(detector.detectar(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import com.rubix.vinimiraa.analise.OrdenacaoLivros;
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para os eventos JFR do pacote monitoramento e para o perfil livros.jfc.
+ * Utiliza JUnit 5.
+ */
+class EventosJfrTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Executa operações do DAO e da análise dentro de uma gravação e devolve os eventos da aplicação.
+     */
+    private List<RecordedEvent> gravar(Recording gravacao) throws Exception {
+        gravacao.start();
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.upsertAllByIsbn(List.of(
+                new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(11).build(),
+                new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).isbn(22).build()));
+        livroDAO.getById(1);
+        OrdenacaoLivros.primeiros(livroDAO.getAll(), OrdenacaoLivros.Criterio.PRECO, 1);
+        livroDAO.disconnect();
+        gravacao.stop();
+
+        Path arquivo = pasta.resolve("livros.jfr");
+        gravacao.dump(arquivo);
+        gravacao.close();
+        return RecordingFile.readAllEvents(arquivo).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.rubix.vinimiraa."))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Testa se o perfil livros.jfc ativa os eventos com os campos preenchidos.
+     */
+    @Test
+    void testPerfilAtivaEventos() throws Exception {
+        Configuration perfil = Configuration.create(Path.of("src/main/resources/jfr/livros.jfc"));
+        List<RecordedEvent> eventos = gravar(new Recording(perfil));
+
+        Set<String> tipos = eventos.stream().map(e -> e.getEventType().getName()).collect(Collectors.toSet());
+        assertTrue(tipos.containsAll(Set.of("com.rubix.vinimiraa.OperacaoDao", "com.rubix.vinimiraa.Mapeamento",
+                "com.rubix.vinimiraa.Ordenacao", "com.rubix.vinimiraa.Lote")), tipos.toString());
+
+        RecordedEvent getById = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("com.rubix.vinimiraa.OperacaoDao"))
+                .filter(e -> "getById".equals(e.getString("operacao")))
+                .findFirst().orElseThrow();
+        assertEquals("SELECT * FROM livro WHERE id = ?", getById.getString("sql"));
+        assertEquals(1, getById.getInt("linhas"));
+
+        RecordedEvent lote = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("com.rubix.vinimiraa.Lote"))
+                .findFirst().orElseThrow();
+        assertEquals("sincronizacao", lote.getString("tipo"));
+        assertEquals(2, lote.getLong("itens"));
+        assertTrue(lote.getBoolean("sucesso"));
+
+        RecordedEvent mapeamento = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("com.rubix.vinimiraa.Mapeamento"))
+                .findFirst().orElseThrow();
+        assertEquals(2, mapeamento.getInt("linhas"));
+        assertTrue(mapeamento.getDuration("mapeamento").compareTo(mapeamento.getDuration()) <= 0);
+    }
+
+    /**
+     * Testa se os eventos ficam desativados em uma gravação sem o perfil.
+     */
+    @Test
+    void testEventosDesativadosSemPerfil() throws Exception {
+        assertTrue(gravar(new Recording()).isEmpty());
+    }
+}
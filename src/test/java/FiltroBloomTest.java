@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.util.FiltroBloom;
+
+/**
+ * Classe de teste para a classe FiltroBloom e para o seu uso no LivroDAO.
+ * Utiliza JUnit 5.
+ */
+class FiltroBloomTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa se não há falsos negativos e se a taxa de falsos positivos fica perto da configurada.
+     */
+    @Test
+    void testTaxaFalsosPositivos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar(i * 7);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha(i * 7));
+        }
+        int falsos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.talvezContenha(1_000_000 + i)) {
+                falsos++;
+            }
+        }
+        assertTrue(falsos < 2_000, "falsos positivos: " + falsos);
+        assertTrue(filtro.taxaEstimada() < 0.02);
+        assertFalse(filtro.saturado());
+    }
+
+    /**
+     * Testa se o LivroDAO usa o filtro em getByIsbn e o mantém atualizado nas escritas.
+     */
+    @Test
+    void testFiltroNoLivroDAO() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(111).build());
+        assertTrue(livroDAO.mightContainIsbn(999));
+
+        assertTrue(livroDAO.ativarFiltroIsbn(0.001));
+        assertTrue(livroDAO.mightContainIsbn(111));
+        assertFalse(livroDAO.mightContainIsbn(999));
+        assertNull(livroDAO.getByIsbn(999));
+
+        Livro hobbit = new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).isbn(222).build();
+        livroDAO.insert(hobbit);
+        hobbit.setIsbn(333);
+        livroDAO.update(hobbit);
+
+        assertEquals("O Hobbit", livroDAO.getByIsbn(333).getTitulo());
+        assertNull(livroDAO.getByIsbn(222));
+        assertEquals(1, livroDAO.getFiltroIsbn().getFalsosPositivos());
+        assertTrue(livroDAO.getFiltroIsbn().getNegativas() >= 2);
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se uma falha na consulta não é contada como falso positivo.
+     */
+    @Test
+    void testErroNaoContaFalsoPositivo() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(111).build());
+        assertTrue(livroDAO.ativarFiltroIsbn(0.001));
+        FiltroBloom filtro = livroDAO.getFiltroIsbn();
+        livroDAO.disconnect();
+
+        assertNull(livroDAO.getByIsbn(111));
+        assertEquals(1, filtro.getPositivas());
+        assertEquals(0, filtro.getFalsosPositivos());
+    }
+
+    /**
+     * Testa se o filtro é recarregado com o dobro da capacidade ao passar do limite.
+     */
+    @Test
+    void testFiltroCresce() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.ativarFiltroIsbn(0.01);
+        int capacidade = livroDAO.getFiltroIsbn().getCapacidade();
+
+        for (int i = 1; i <= capacidade + 1; i++) {
+            livroDAO.insert(new Livro.Builder("Livro " + i, "Autor", 10.0).isbn(i).build());
+        }
+
+        assertEquals(2 * capacidade, livroDAO.getFiltroIsbn().getCapacidade());
+        assertNotNull(livroDAO.getByIsbn(capacidade + 1));
+        livroDAO.disconnect();
+    }
+}
@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.rubix.vinimiraa.carga.GeradorCarga;
+import com.rubix.vinimiraa.carga.GeradorLivros;
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.LivroMemoriaRepository;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para as classes GeradorCarga e GeradorLivros.
+ * Utiliza JUnit 5 com um repositório em memória e uma carga curta.
+ */
+class GeradorCargaTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa se a mesma semente gera os mesmos livros, com campos válidos.
+     */
+    @Test
+    void testGeradorLivrosReprodutivel() {
+        GeradorLivros gerador = new GeradorLivros();
+        SplittableRandom a = new SplittableRandom(1);
+        SplittableRandom b = new SplittableRandom(1);
+
+        for (int i = 0; i < 1000; i++) {
+            Livro livro = gerador.gerar(a);
+            assertEquals(livro.formatado(), gerador.gerar(b).formatado());
+            assertFalse(livro.getTitulo().isBlank());
+            assertFalse(livro.getAutor().isBlank());
+            assertTrue(livro.getPreco() >= 5.0 && livro.getPreco() <= 500.0);
+        }
+    }
+
+    /**
+     * Testa uma carga curta com threads virtuais e a gravação do CSV.
+     */
+    @Test
+    void testCargaCurta() throws InterruptedException {
+        LivroMemoriaRepository repositorio = new LivroMemoriaRepository();
+        GeradorCarga.Resultado resultado = new GeradorCarga.Builder(repositorio)
+                .threads(4)
+                .virtuais(true)
+                .duracao(Duration.ofMillis(300))
+                .catalogoInicial(100)
+                .mistura("insert:20,get:60,update:10,delete:5,list:5")
+                .build()
+                .executar();
+
+        long total = 0;
+        for (GeradorCarga.Operacao operacao : GeradorCarga.Operacao.values()) {
+            GeradorCarga.Estatistica estatistica = resultado.getEstatistica(operacao);
+            assertTrue(estatistica.getLatencias().getTotal() > 0, "Nenhuma operação " + operacao.getNome());
+            assertEquals(0, estatistica.getErros());
+            total += estatistica.getLatencias().getTotal();
+        }
+        assertTrue(resultado.vazao(GeradorCarga.Operacao.BUSCA) > 0);
+        assertTrue(total > 100);
+
+        Path csv = pasta.resolve("carga.csv");
+        assertTrue(resultado.gravarCsv(csv));
+        List<String> linhas = assertDoesNotThrow(() -> Files.readAllLines(csv));
+        assertEquals(1 + GeradorCarga.Operacao.values().length, linhas.size());
+        assertTrue(linhas.get(0).startsWith("operacao,"));
+    }
+
+    /**
+     * Testa uma carga com um LivroDAO por thread sobre o mesmo arquivo, fechados ao final.
+     */
+    @Test
+    void testRepositorioPorThread() throws InterruptedException {
+        String banco = pasta.resolve("carga.db").toString();
+        LivroDAO repositorio = new LivroDAO(banco);
+        List<LivroDAO> abertos = new CopyOnWriteArrayList<>();
+        GeradorCarga.Resultado resultado = new GeradorCarga.Builder(repositorio)
+                .repositorioPorThread(() -> {
+                    LivroDAO proprio = new LivroDAO(banco);
+                    abertos.add(proprio);
+                    return proprio;
+                })
+                .threads(3)
+                .duracao(Duration.ofMillis(300))
+                .catalogoInicial(50)
+                .build()
+                .executar();
+
+        assertEquals(3, abertos.size());
+        assertEquals(0, resultado.getEstatistica(GeradorCarga.Operacao.INSERCAO).getErros());
+        long inseridos = resultado.getEstatistica(GeradorCarga.Operacao.INSERCAO).getLatencias().getTotal();
+        assertTrue(repositorio.ultimoId() >= 50 + inseridos);
+        repositorio.disconnect();
+    }
+
+    /**
+     * Testa a rejeição de misturas inválidas.
+     */
+    @Test
+    void testMisturaInvalida() {
+        GeradorCarga.Builder builder = new GeradorCarga.Builder(new LivroMemoriaRepository());
+        assertThrows(IllegalArgumentException.class, () -> builder.mistura("consulta:10"));
+        assertThrows(IllegalArgumentException.class, () -> builder.mistura("get:0").build());
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.rubix.vinimiraa.carga.Histograma;
+
+/**
+ * Classe de teste para a classe Histograma.
+ * Utiliza JUnit 5 para comparar os percentis com os de uma ordenação exata.
+ */
+class HistogramaTest {
+
+    /**
+     * Testa se os percentis ficam dentro do erro relativo de 1% em relação aos exatos.
+     */
+    @Test
+    void testPrecisaoPercentis() {
+        Random random = new Random(7);
+        long[] valores = new long[100_000];
+        Histograma histograma = new Histograma();
+        for (int i = 0; i < valores.length; i++) {
+            // latências log-normais entre microssegundos e segundos
+            valores[i] = (long) Math.exp(10 + 2.5 * random.nextGaussian());
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double p : new double[] { 50, 90, 99, 99.9, 100 }) {
+            long exato = valores[(int) Math.ceil(p / 100 * valores.length) - 1];
+            long estimado = histograma.percentil(p);
+            assertEquals(exato, estimado, Math.max(1, exato * 0.01), "Percentil " + p);
+        }
+        assertEquals(valores.length, histograma.getTotal());
+        assertEquals(valores[valores.length - 1], histograma.getMaximo());
+        assertEquals(valores[0], histograma.getMinimo());
+    }
+
+    /**
+     * Testa valores pequenos (exatos), a soma de histogramas e o histograma vazio.
+     */
+    @Test
+    void testSomaEValoresExatos() {
+        Histograma a = new Histograma();
+        Histograma b = new Histograma();
+        assertEquals(0, a.percentil(99));
+
+        for (int i = 1; i <= 100; i++) {
+            (i % 2 == 0 ? a : b).registrar(i);
+        }
+        a.somar(b);
+
+        assertEquals(100, a.getTotal());
+        assertEquals(50, a.percentil(50));
+        assertEquals(99, a.percentil(99));
+        assertEquals(50.5, a.getMedia(), 0.001);
+    }
+}
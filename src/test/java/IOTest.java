@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.text.Normalizer;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import com.rubix.vinimiraa.util.IO;
+
+/**
+ * Classe de teste para a normalização de strings da classe IO.
+ * Utiliza JUnit 5 para comparar {@link IO#strNormalize(String)} com o algoritmo original
+ * em milhares de strings geradas aleatoriamente (teste baseado em propriedades).
+ */
+class IOTest {
+
+    /** Quantidade de strings aleatórias verificadas. */
+    private static final int CASOS = 50_000;
+
+    /** Blocos de caracteres usados na geração: {início, fim} inclusivos. */
+    private static final int[][] BLOCOS = {
+        {0x20, 0x7E},      // ASCII imprimível
+        {0x41, 0x5A},      // ASCII maiúsculas
+        {0xA0, 0xFF},      // Latin-1
+        {0x100, 0x17F},    // Latin Extended-A
+        {0x180, 0x24F},    // Latin Extended-B
+        {0x300, 0x36F},    // marcas diacríticas combinantes
+        {0x370, 0x3FF},    // grego
+        {0x400, 0x4FF},    // cirílico
+        {0x1E00, 0x1EFF},  // Latin Extended Additional
+        {0x4E00, 0x4E2F},  // CJK
+        {0x1F600, 0x1F64F} // emojis (pares substitutos)
+    };
+
+    /**
+     * Algoritmo original de {@link IO#strNormalize(String)}, usado como oráculo.
+     */
+    private static String referencia(String str) {
+        String nfdNormalizedString = Normalizer.normalize(str, Normalizer.Form.NFD);
+        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+        return pattern.matcher(nfdNormalizedString).replaceAll("").toLowerCase();
+    }
+
+    /**
+     * Gera uma string aleatória com até 24 caracteres de até três blocos sorteados.
+     */
+    private static String gerar(Random random) {
+        int[][] blocos = new int[1 + random.nextInt(3)][];
+        for (int i = 0; i < blocos.length; i++) {
+            blocos[i] = BLOCOS[random.nextInt(BLOCOS.length)];
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int tamanho = random.nextInt(25);
+        for (int i = 0; i < tamanho; i++) {
+            int[] bloco = blocos[random.nextInt(blocos.length)];
+            sb.appendCodePoint(bloco[0] + random.nextInt(bloco[1] - bloco[0] + 1));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Testa a equivalência com o algoritmo original em strings aleatórias.
+     */
+    @Test
+    void testEquivalenciaAleatoria() {
+        Random random = new Random(20251019L);
+        for (int i = 0; i < CASOS; i++) {
+            String entrada = gerar(random);
+            assertEquals(referencia(entrada), IO.strNormalize(entrada),
+                         () -> "Divergência para: " + entrada.codePoints()
+                                                             .mapToObj(Integer::toHexString)
+                                                             .toList());
+        }
+    }
+
+    /**
+     * Testa a equivalência com o algoritmo original para todo caractere BMP isolado.
+     */
+    @Test
+    void testEquivalenciaCaracteres() {
+        for (char c = 0; c < 0xD800; c++) {
+            String entrada = "a" + c + "B";
+            assertEquals(referencia(entrada), IO.strNormalize(entrada), "Divergência para U+" + Integer.toHexString(c));
+        }
+    }
+
+    /**
+     * Testa exemplos conhecidos e o retorno da mesma instância quando não há o que alterar.
+     */
+    @Test
+    void testExemplos() {
+        assertEquals("memorias postumas de bras cubas", IO.strNormalize("Memórias Póstumas de Brás Cubas"));
+        assertEquals("acao", IO.strNormalize("AÇÃO"));
+        assertEquals("", IO.strNormalize(""));
+
+        String normalizado = "dom casmurro";
+        assertSame(normalizado, IO.strNormalize(normalizado));
+    }
+}
@@ -0,0 +1,119 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import com.rubix.vinimiraa.indice.IndiceAutocompletar;
+import com.rubix.vinimiraa.indice.IndicePrefixos;
+import com.rubix.vinimiraa.indice.Sugestao;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para os índices de prefixos.
+ * Utiliza JUnit 5 para testar a busca, inserção, atualização e remoção de entradas.
+ */
+class IndicePrefixosTest {
+
+    private IndiceAutocompletar indice;
+
+    /**
+     * Cria um índice com alguns livros antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceAutocompletar();
+        indice.construir(List.of(
+                new Livro(1, "Dom Casmurro", "Machado de Assis", 19.90, null, null, null),
+                new Livro(2, "Memórias Póstumas de Brás Cubas", "Machado de Assis", 24.90, null, null, null),
+                new Livro(3, "Dom Quixote", "Miguel de Cervantes", 59.90, null, null, null),
+                new Livro(4, "O Hobbit", "J.R.R. Tolkien", 49.90, null, null, null)));
+    }
+
+    /**
+     * Testa a busca por prefixo ignorando acentos e maiúsculas.
+     */
+    @Test
+    void testBuscarPrefixo() {
+        List<Sugestao> sugestoes = indice.sugerirTitulos("DOM", 10);
+
+        assertEquals(2, sugestoes.size());
+        assertEquals("Dom Casmurro", sugestoes.get(0).getTexto());
+        assertEquals("Dom Quixote", sugestoes.get(1).getTexto());
+        assertEquals(1, indice.sugerirTitulos("memorias", 10).size());
+    }
+
+    /**
+     * Testa o limite de resultados e a remoção de autores repetidos.
+     */
+    @Test
+    void testTopKEDistintos() {
+        assertEquals(1, indice.sugerirTitulos("dom", 1).size());
+
+        List<Sugestao> autores = indice.sugerirAutores("m", 10);
+        assertEquals(2, autores.size());
+        assertEquals("Machado de Assis", autores.get(0).getTexto());
+        assertEquals("Miguel de Cervantes", autores.get(1).getTexto());
+    }
+
+    /**
+     * Testa a manutenção do índice em inserções, atualizações e exclusões.
+     */
+    @Test
+    void testManutencao() {
+        indice.onInsert(new Livro(5, "Dom Casmurro - Edição Comentada", "Machado de Assis", 39.90, null, null, null));
+        assertEquals(3, indice.sugerirTitulos("dom", 10).size());
+
+        indice.onUpdate(new Livro(1, "Casmurro", "Machado de Assis", 19.90, null, null, null));
+        assertEquals(2, indice.sugerirTitulos("dom", 10).size());
+        assertEquals(1, indice.sugerirTitulos("casm", 10).size());
+
+        indice.onDelete(4);
+        assertTrue(indice.sugerirTitulos("o hob", 10).isEmpty());
+        assertTrue(indice.sugerirAutores("tolk", 10).isEmpty());
+        assertEquals(4, indice.tamanho());
+    }
+
+    /**
+     * Testa a ordenação e a estimativa de memória após muitas inserções individuais.
+     */
+    @Test
+    void testMuitasEntradas() {
+        IndicePrefixos prefixos = new IndicePrefixos();
+        for (int i = 999; i >= 0; i--) {
+            prefixos.adicionar(String.format("Livro %04d", i), i);
+        }
+
+        List<Sugestao> sugestoes = prefixos.buscar("livro 01", 5, false);
+        assertEquals(5, sugestoes.size());
+        assertEquals("Livro 0100", sugestoes.get(0).getTexto());
+        assertEquals("Livro 0104", sugestoes.get(4).getTexto());
+        assertEquals(1000, prefixos.tamanho());
+        assertTrue(prefixos.bytesEstimados() > 1000 * 40L);
+
+        assertTrue(prefixos.remover("Livro 0100", 100));
+        assertFalse(prefixos.remover("Livro 0100", 100));
+        assertEquals("Livro 0101", prefixos.buscar("livro 01", 1, false).get(0).getTexto());
+    }
+
+    /**
+     * Testa se as repetições de um autor com muitos livros são saltadas na busca por distintos.
+     */
+    @Test
+    void testAutorComMuitosLivros() {
+        IndicePrefixos prefixos = new IndicePrefixos();
+        for (int i = 1; i <= 5000; i++) {
+            prefixos.adicionar("Machado de Assis", i);
+        }
+        prefixos.adicionar("Machado", 6000);
+        prefixos.adicionar("Mario Quintana", 7000);
+        prefixos.adicionar("Monteiro Lobato", 8000);
+
+        List<Sugestao> autores = prefixos.buscar("ma", 10, true);
+        assertEquals(List.of("Machado", "Machado de Assis", "Mario Quintana"),
+                     autores.stream().map(Sugestao::getTexto).toList());
+        assertEquals(1, autores.get(1).getId());
+        assertEquals(2, prefixos.buscar("m", 2, true).size());
+        assertEquals(5001, prefixos.buscar("machado", 10_000, false).size());
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.model.LivroCompacto;
+
+/**
+ * Classe de teste para a classe LivroCompacto e para a leitura compacta do LivroDAO.
+ * Utiliza JUnit 5.
+ */
+class LivroCompactoTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa a conversão de ida e volta, com e sem os campos opcionais.
+     */
+    @Test
+    void testConversao() {
+        Livro completo = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90)
+            .id(7).editora("Garnier").dataPublicacao(LocalDate.of(1899, 1, 1)).isbn(0).build();
+        Livro simples = new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).id(8).build();
+
+        LivroCompacto compacto = LivroCompacto.de(simples);
+        assertFalse(compacto.temIsbn());
+        assertEquals(LivroCompacto.DATA_AUSENTE, compacto.getDiaPublicacao());
+        assertNull(compacto.getDataPublicacao());
+
+        assertEquals(completo.toString(), LivroCompacto.de(completo).toLivro().toString());
+        assertEquals(simples.toString(), compacto.toLivro().toString());
+    }
+
+    /**
+     * Testa se getAllCompacto lê os mesmos dados de getAll e compartilha autores e editoras.
+     */
+    @Test
+    void testGetAllCompacto() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).editora("Garnier").isbn(1).build());
+        livroDAO.insert(new Livro.Builder("Memórias Póstumas", "Machado de Assis", 29.90).editora("Garnier")
+            .dataPublicacao(LocalDate.of(1881, 3, 15)).build());
+
+        List<LivroCompacto> compactos = livroDAO.getAllCompacto();
+        List<Livro> livros = livroDAO.getAll();
+        livroDAO.disconnect();
+
+        assertEquals(2, compactos.size());
+        for (int i = 0; i < livros.size(); i++) {
+            assertEquals(livros.get(i).toString(), compactos.get(i).toLivro().toString());
+        }
+        assertSame(compactos.get(0).getAutor(), compactos.get(1).getAutor());
+        assertSame(compactos.get(0).getEditora(), compactos.get(1).getEditora());
+    }
+}
@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Alteracao;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para o diário de alterações da classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAOAlteracaoTest {
+
+    @TempDir
+    Path pasta;
+
+    private LivroDAO livroDAO;
+
+    /**
+     * Cria um banco de dados vazio antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+    }
+
+    /**
+     * Encerra a conexão após cada teste.
+     */
+    @AfterEach
+    void tearDown() {
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa o registro de inserções, atualizações e exclusões em ordem.
+     */
+    @Test
+    void testChangesSince() {
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build();
+        livroDAO.insert(livro);
+        livro.setPreco(24.90);
+        livroDAO.update(livro);
+        Livro outro = new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build();
+        livroDAO.insert(outro);
+        livroDAO.delete(outro.getId());
+
+        List<Alteracao> alteracoes = livroDAO.changesSince(0, 100);
+
+        assertEquals(4, alteracoes.size());
+        assertEquals(Alteracao.Tipo.INSERCAO, alteracoes.get(0).getTipo());
+        assertEquals(Alteracao.Tipo.ATUALIZACAO, alteracoes.get(1).getTipo());
+        assertEquals(24.90, alteracoes.get(1).getLivro().getPreco(), 0.001);
+        assertEquals(Alteracao.Tipo.EXCLUSAO, alteracoes.get(3).getTipo());
+        assertEquals(outro.getId(), alteracoes.get(3).getLivroId());
+        assertNull(alteracoes.get(3).getLivro());
+
+        for (int i = 1; i < alteracoes.size(); i++) {
+            assertTrue(alteracoes.get(i).getSeq() > alteracoes.get(i - 1).getSeq());
+        }
+        assertEquals(alteracoes.get(3).getSeq(), livroDAO.ultimaAlteracao());
+    }
+
+    /**
+     * Testa a leitura paginada a partir do último número processado.
+     */
+    @Test
+    void testPaginacao() {
+        for (int i = 0; i < 5; i++) {
+            livroDAO.insert(new Livro.Builder("Livro " + i, "Autor", 10.0).build());
+        }
+
+        List<Alteracao> primeira = livroDAO.changesSince(0, 3);
+        List<Alteracao> segunda = livroDAO.changesSince(primeira.get(2).getSeq(), 3);
+
+        assertEquals(3, primeira.size());
+        assertEquals(2, segunda.size());
+        assertEquals("Livro 4", segunda.get(1).getLivro().getTitulo());
+        assertTrue(livroDAO.changesSince(segunda.get(1).getSeq(), 3).isEmpty());
+    }
+
+    /**
+     * Testa a compactação: resta uma alteração por livro existente e os números não são reutilizados.
+     */
+    @Test
+    void testCompactar() {
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build();
+        livroDAO.insert(livro);
+        livroDAO.update(livro);
+        livroDAO.update(livro);
+        Livro excluido = new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build();
+        livroDAO.insert(excluido);
+        livroDAO.delete(excluido.getId());
+        long ultima = livroDAO.ultimaAlteracao();
+
+        assertEquals(4, livroDAO.compactarAlteracoes(ultima));
+
+        List<Alteracao> restantes = livroDAO.changesSince(0, 100);
+        assertEquals(1, restantes.size());
+        assertEquals(livro.getId(), restantes.get(0).getLivroId());
+        assertEquals(Alteracao.Tipo.ATUALIZACAO, restantes.get(0).getTipo());
+
+        livroDAO.delete(livro.getId());
+        assertTrue(livroDAO.ultimaAlteracao() > ultima);
+    }
+
+    /**
+     * Testa se um banco com livros anteriores ao diário recebe uma inserção para cada um.
+     */
+    @Test
+    void testMigracaoRegistraLivrosExistentes() throws Exception {
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build());
+        livroDAO.insert(new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build());
+        livroDAO.disconnect();
+
+        String url = "jdbc:sqlite:" + pasta.resolve("livros.db");
+        try (Connection conexao = DriverManager.getConnection(url); Statement st = conexao.createStatement()) {
+            st.executeUpdate("DELETE FROM livro_alteracao");
+            st.executeUpdate("PRAGMA user_version = 7");
+        }
+
+        livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+
+        List<Alteracao> alteracoes = livroDAO.changesSince(0, 100);
+        assertEquals(2, alteracoes.size());
+        assertEquals("Dom Casmurro", alteracoes.get(0).getLivro().getTitulo());
+        assertTrue(alteracoes.stream().allMatch(a -> a.getTipo() == Alteracao.Tipo.INSERCAO));
+    }
+}
@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.PoliticaConcorrencia;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe PoliticaConcorrencia e para escritas de vários processos
+ * no mesmo banco com a classe LivroDAO.
+ * Utiliza JUnit 5.
+ */
+class LivroDAOConcorrenciaTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa se a operação é repetida enquanto o banco estiver ocupado.
+     */
+    @Test
+    void testRepeteQuandoOcupado() throws SQLException {
+        PoliticaConcorrencia politica = new PoliticaConcorrencia.Builder()
+                .esperaInicial(Duration.ofMillis(1))
+                .build();
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = politica.executar(() -> {
+            if (chamadas.incrementAndGet() < 3) {
+                throw new SQLiteException("ocupado", SQLiteErrorCode.SQLITE_BUSY);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(2, politica.getRetentativas());
+        assertEquals(0, politica.getDesistencias());
+    }
+
+    /**
+     * Testa a desistência após esgotar as tentativas e a ausência de novas tentativas em outros erros.
+     */
+    @Test
+    void testDesisteEIgnoraOutrosErros() {
+        PoliticaConcorrencia politica = new PoliticaConcorrencia.Builder()
+                .tentativas(3)
+                .esperaInicial(Duration.ofMillis(1))
+                .build();
+
+        assertThrows(SQLException.class, () -> politica.executar(() -> {
+            throw new SQLiteException("bloqueado", SQLiteErrorCode.SQLITE_BUSY_SNAPSHOT);
+        }));
+        assertEquals(2, politica.getRetentativas());
+        assertEquals(1, politica.getDesistencias());
+
+        AtomicInteger chamadas = new AtomicInteger();
+        assertThrows(SQLException.class, () -> politica.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new SQLiteException("restrição", SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE);
+        }));
+        assertEquals(1, chamadas.get());
+        assertEquals(1, politica.getDesistencias());
+    }
+
+    /**
+     * Testa se vários processos inserindo no mesmo arquivo ao mesmo tempo não perdem escritas,
+     * mesmo com um {@code busy_timeout} curto.
+     */
+    @Test
+    void testVariosProcessos() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        new LivroDAO(arquivo).disconnect();
+
+        int processos = 4;
+        int livrosPorProcesso = 100;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Process> filhos = new ArrayList<>();
+        for (int i = 0; i < processos; i++) {
+            filhos.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    LivroDAOConcorrenciaTest.class.getName(), arquivo, String.valueOf(i), String.valueOf(livrosPorProcesso))
+                    .redirectErrorStream(true)
+                    .start());
+        }
+
+        long desistencias = 0;
+        for (Process filho : filhos) {
+            String ultimaLinha = "";
+            try (BufferedReader leitor = new BufferedReader(new InputStreamReader(filho.getInputStream()))) {
+                for (String linha; (linha = leitor.readLine()) != null; ) {
+                    ultimaLinha = linha;
+                }
+            }
+            assertTrue(filho.waitFor(60, TimeUnit.SECONDS));
+            assertEquals(0, filho.exitValue(), ultimaLinha);
+            desistencias += Long.parseLong(ultimaLinha.split(" ")[1]);
+        }
+
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        assertEquals(processos * livrosPorProcesso, livroDAO.getAll().size());
+        assertEquals(0, desistencias);
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Processo filho de {@link #testVariosProcessos()}: insere livros e imprime
+     * {@code "<retentativas> <desistencias>"} na última linha.
+     *
+     * @param args O arquivo do banco, o número do processo e a quantidade de livros.
+     */
+    public static void main(String[] args) {
+        PoliticaConcorrencia politica = new PoliticaConcorrencia.Builder()
+                .busyTimeout(Duration.ofMillis(5))
+                .tentativas(200)
+                .esperaInicial(Duration.ofMillis(2))
+                .esperaMaxima(Duration.ofMillis(50))
+                .build();
+        LivroDAO livroDAO = new LivroDAO(args[0], politica);
+
+        int processo = Integer.parseInt(args[1]);
+        int quantidade = Integer.parseInt(args[2]);
+        int falhas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            Livro livro = new Livro.Builder("Livro " + processo + "-" + i, "Autor " + processo, 10.0).build();
+            if (!livroDAO.insert(livro)) {
+                falhas++;
+            }
+        }
+        livroDAO.disconnect();
+
+        System.out.println(politica.getRetentativas() + " " + politica.getDesistencias());
+        System.exit(falhas == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.EstatisticaCatalogo;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para as consultas por data de publicação da classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAODataTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Cria um livro com a data de publicação informada.
+     */
+    private static Livro livro(String titulo, LocalDate data) {
+        return new Livro.Builder(titulo, "Autor", 10.0).dataPublicacao(data).build();
+    }
+
+    /**
+     * Testa se a busca por intervalo inclui as duas datas, ordena por data e pagina o resultado.
+     */
+    @Test
+    void testPublishedBetween() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(livro("Depois", LocalDate.of(1900, 1, 1)));
+        livroDAO.insert(livro("Fim", LocalDate.of(1899, 12, 31)));
+        livroDAO.insert(livro("Antes", LocalDate.of(1880, 12, 31)));
+        livroDAO.insert(livro("Inicio", LocalDate.of(1881, 1, 1)));
+        livroDAO.insert(livro("Meio", LocalDate.of(1890, 6, 15)));
+        livroDAO.insert(livro("Sem data", null));
+        livroDAO.insert(livro("Meio bis", LocalDate.of(1890, 6, 15)));
+
+        LocalDate de = LocalDate.of(1881, 1, 1), ate = LocalDate.of(1899, 12, 31);
+        assertEquals(List.of("Inicio", "Meio", "Meio bis", "Fim"),
+                     livroDAO.publishedBetween(de, ate, 1).stream( ).map(Livro::getTitulo).toList( ));
+        assertEquals(List.of("Inicio", "Meio"),
+                     livroDAO.publishedBetween(de, ate, 1, 2).stream( ).map(Livro::getTitulo).toList( ));
+        assertEquals(List.of("Meio bis", "Fim"),
+                     livroDAO.publishedBetween(de, ate, 2, 2).stream( ).map(Livro::getTitulo).toList( ));
+        assertTrue(livroDAO.publishedBetween(de, ate, 3, 2).isEmpty( ));
+        assertEquals(LocalDate.of(1899, 12, 31), livroDAO.publishedBetween(ate, ate, 1).get(0).getDataPublicacao( ));
+        assertThrows(IllegalArgumentException.class, ( ) -> livroDAO.publishedBetween(de, ate, 0));
+        livroDAO.disconnect( );
+    }
+
+    /**
+     * Testa a contagem de livros por ano em um intervalo de anos.
+     */
+    @Test
+    void testContarPorAno() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(livro("A", LocalDate.of(1880, 12, 31)));
+        livroDAO.insert(livro("B", LocalDate.of(1881, 1, 1)));
+        livroDAO.insert(livro("C", LocalDate.of(1881, 12, 31)));
+        livroDAO.insert(livro("D", LocalDate.of(1883, 7, 4)));
+        livroDAO.insert(livro("E", LocalDate.of(1884, 1, 1)));
+        livroDAO.insert(livro("F", null));
+
+        assertEquals(Map.of(1881, 2L, 1883, 1L), livroDAO.contarPorAno(1881, 1883));
+        assertEquals(List.of(1880, 1881, 1883, 1884), List.copyOf(livroDAO.contarPorAno(1, 9999).keySet( )));
+        assertEquals(new EstatisticaCatalogo(2, 2000), livroDAO.estatisticaPorAno(1881));
+        livroDAO.disconnect( );
+    }
+
+    /**
+     * Testa se as consultas por intervalo percorrem o índice das datas, sem ordenação adicional.
+     */
+    @Test
+    void testConsultasUsamIndice() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        new LivroDAO(arquivo).disconnect( );
+
+        String[] consultas = {
+            "SELECT * FROM livro WHERE dataPublicacao BETWEEN 1 AND 2 ORDER BY dataPublicacao, id LIMIT 50 OFFSET 0",
+            "SELECT dataPublicacao, COUNT(*) FROM livro WHERE dataPublicacao BETWEEN 1 AND 2 GROUP BY dataPublicacao"
+        };
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement( )) {
+            for (String consulta : consultas) {
+                StringBuilder plano = new StringBuilder( );
+                try (ResultSet rs = st.executeQuery("EXPLAIN QUERY PLAN " + consulta)) {
+                    while (rs.next( )) plano.append(rs.getString("detail")).append('\n');
+                }
+                assertTrue(plano.toString( ).contains("INDEX ix_livro_data (dataPublicacao>? AND dataPublicacao<?)"), plano.toString( ));
+                assertFalse(plano.toString( ).contains("TEMP B-TREE"), plano.toString( ));
+            }
+        }
+    }
+
+    /**
+     * Testa se um banco de uma versão anterior, com as datas em milissegundos ou em texto,
+     * tem as datas convertidas sem registrar alterações nos livros.
+     */
+    @Test
+    void testMigracaoDeMilissegundos() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        livroDAO.insert(livro("Memorias Postumas", null));
+        livroDAO.insert(livro("Dom Casmurro", null));
+        livroDAO.insert(livro("Sem data", null));
+        livroDAO.disconnect( );
+
+        long alteracoes;
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement( );
+             PreparedStatement pst = conexao.prepareStatement("UPDATE livro SET dataPublicacao = ? WHERE id = 1")) {
+            st.executeUpdate("DROP INDEX ix_livro_data");
+            pst.setDate(1, java.sql.Date.valueOf(LocalDate.of(1881, 1, 1)));
+            pst.executeUpdate( );
+            st.executeUpdate("UPDATE livro SET dataPublicacao = '1899-12-31' WHERE id = 2");
+            st.executeUpdate("PRAGMA user_version = 6");
+            try (ResultSet rs = st.executeQuery("SELECT MAX(seq) FROM livro_alteracao")) {
+                alteracoes = rs.getLong(1);
+            }
+        }
+
+        livroDAO = new LivroDAO(arquivo);
+
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema( ));
+        assertEquals(LocalDate.of(1881, 1, 1), livroDAO.getById(1).getDataPublicacao( ));
+        assertEquals(LocalDate.of(1899, 12, 31), livroDAO.getById(2).getDataPublicacao( ));
+        assertNull(livroDAO.getById(3).getDataPublicacao( ));
+        assertEquals(alteracoes, livroDAO.ultimaAlteracao( ));
+        assertEquals(Map.of(1881, 1L, 1899, 1L), livroDAO.contarPorAno(1800, 1900));
+        assertTrue(livroDAO.verificarEstatisticas( ).isEmpty( ));
+        assertEquals(new EstatisticaCatalogo(1, 1000), livroDAO.estatisticaPorAno(1899));
+        livroDAO.disconnect( );
+    }
+}
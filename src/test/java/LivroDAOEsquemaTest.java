@@ -0,0 +1,186 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Alteracao;
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.model.LivroCompacto;
+
+/**
+ * Classe de teste para a verificação do esquema do banco na classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAOEsquemaTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa se um banco novo recebe a versão atual do esquema.
+     */
+    @Test
+    void testVersaoEsquemaBancoNovo() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema());
+        assertTrue(livroDAO.getAll().isEmpty());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se reabrir um banco existente preserva os dados e a versão do esquema.
+     */
+    @Test
+    void testReabrirBanco() {
+        String arquivo = pasta.resolve("livros.db").toString();
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build());
+        livroDAO.disconnect();
+
+        livroDAO = new LivroDAO(arquivo);
+
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema());
+        assertEquals(1, livroDAO.getAll().size());
+        assertEquals(1, livroDAO.changesSince(0, 10).size());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa a migração de um banco com autor e editora em texto para os dicionários.
+     */
+    @Test
+    void testMigracaoDicionarios() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("""
+                CREATE TABLE livro (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    titulo VARCHAR(255) NOT NULL,
+                    autor VARCHAR(255) NOT NULL,
+                    preco REAL NOT NULL,
+                    editora VARCHAR(255),
+                    dataPublicacao DATE,
+                    isbn INTEGER
+                )
+                """);
+            st.executeUpdate("INSERT INTO livro VALUES (1, 'Dom Casmurro', 'Machado de Assis', 19.9, 'Garnier', NULL, 11)");
+            st.executeUpdate("INSERT INTO livro VALUES (2, 'Quincas Borba', 'Machado de Assis', 25.0, NULL, NULL, NULL)");
+            st.executeUpdate("INSERT INTO livro VALUES (5, 'O Hobbit', 'J.R.R. Tolkien', 49.9, 'Garnier', NULL, 22)");
+            st.executeUpdate("DELETE FROM livro WHERE id = 5");
+        }
+
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema());
+        assertEquals(5, livroDAO.ultimoId());
+        Livro dom = livroDAO.getById(1);
+        assertEquals("Machado de Assis", dom.getAutor());
+        assertEquals("Garnier", dom.getEditora());
+        assertNull(livroDAO.getById(2).getEditora());
+
+        Livro novo = new Livro.Builder("Memórias Póstumas", "Machado de Assis", 29.9).editora("Garnier").build();
+        assertTrue(livroDAO.insert(novo));
+        assertEquals(6, novo.getId());
+        List<Alteracao> alteracoes = livroDAO.changesSince(0, 10);
+        assertEquals(List.of(1, 2, 6), alteracoes.stream().map(Alteracao::getLivroId).toList());
+        assertTrue(alteracoes.stream().allMatch(a -> a.getTipo() == Alteracao.Tipo.INSERCAO));
+
+        List<LivroCompacto> compactos = livroDAO.getAllCompacto();
+        assertSame(compactos.get(0).getAutor(), compactos.get(2).getAutor());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se uma falha no meio da migração desfaz os passos anteriores a ela.
+     */
+    @Test
+    void testMigracaoComFalhaDesfeita() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("""
+                CREATE TABLE livro (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    titulo VARCHAR(255) NOT NULL,
+                    autor VARCHAR(255) NOT NULL,
+                    preco REAL NOT NULL,
+                    editora VARCHAR(255),
+                    dataPublicacao DATE,
+                    isbn INTEGER
+                )
+                """);
+            st.executeUpdate("INSERT INTO livro VALUES (1, 'Dom Casmurro', 'Machado de Assis', 19.9, 'Garnier', NULL, 11)");
+            // diário incompatível: o preenchimento com os livros existentes falha
+            st.executeUpdate("CREATE TABLE livro_alteracao (seq INTEGER PRIMARY KEY)");
+        }
+
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        assertEquals(0, livroDAO.versaoEsquema());
+        livroDAO.disconnect();
+
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery("SELECT name FROM sqlite_master WHERE name IN ('autor', 'ix_livro_data')")) {
+            assertFalse(rs.next(), "os passos anteriores à falha deveriam ter sido desfeitos");
+        }
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery("SELECT autor FROM livro WHERE id = 1")) {
+            assertEquals("Machado de Assis", rs.getString(1));
+        }
+    }
+
+    /**
+     * Testa se ISBNs repetidos impedem apenas o índice único, sem que as próximas
+     * aberturas repitam o restante da migração.
+     */
+    @Test
+    void testIsbnRepetidoNaoRepeteMigracao() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("""
+                CREATE TABLE livro (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    titulo VARCHAR(255) NOT NULL,
+                    autor VARCHAR(255) NOT NULL,
+                    preco REAL NOT NULL,
+                    editora VARCHAR(255),
+                    dataPublicacao DATE,
+                    isbn INTEGER
+                )
+                """);
+            st.executeUpdate("INSERT INTO livro VALUES (1, 'Dom Casmurro', 'Machado de Assis', 19.9, 'Garnier', NULL, 11)");
+            st.executeUpdate("INSERT INTO livro VALUES (2, 'Dom Casmurro (2ª ed.)', 'Machado de Assis', 21.9, NULL, NULL, 11)");
+        }
+
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        assertEquals(8, livroDAO.versaoEsquema());
+        assertEquals("Machado de Assis", livroDAO.getById(2).getAutor());
+        livroDAO.disconnect();
+
+        // se a migração fosse repetida, a tabela seria recriada
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("DROP TABLE livro_relacionado");
+        }
+        livroDAO = new LivroDAO(arquivo);
+        assertEquals(8, livroDAO.versaoEsquema());
+        livroDAO.disconnect();
+
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery("SELECT 1 FROM sqlite_master WHERE name = 'livro_relacionado'")) {
+            assertFalse(rs.next());
+        }
+    }
+}
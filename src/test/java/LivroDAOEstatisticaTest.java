@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.EstatisticaCatalogo;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para as estatísticas do catálogo mantidas por gatilhos na classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAOEstatisticaTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa se inserções, atualizações e exclusões mantêm as estatísticas exatas.
+     */
+    @Test
+    void testEstatisticasAcompanhamAlteracoes() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        Livro dom = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90)
+                .editora("Garnier").dataPublicacao(LocalDate.of(1899, 1, 1)).build();
+        Livro quincas = new Livro.Builder("Quincas Borba", "Machado de Assis", 25.10)
+                .editora("Garnier").dataPublicacao(LocalDate.of(1891, 12, 31)).build();
+        Livro hobbit = new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build();
+        livroDAO.insert(dom);
+        livroDAO.insert(quincas);
+        livroDAO.insert(hobbit);
+
+        assertEquals(new EstatisticaCatalogo(3, 9490), livroDAO.estatisticaGeral());
+        assertEquals(new EstatisticaCatalogo(2, 4500), livroDAO.estatisticaPorAutor("Machado de Assis"));
+        assertEquals(new EstatisticaCatalogo(2, 4500), livroDAO.estatisticaPorEditora("Garnier"));
+        assertEquals(new EstatisticaCatalogo(1, 1990), livroDAO.estatisticaPorAno(1899));
+        assertEquals(new EstatisticaCatalogo(1, 2510), livroDAO.estatisticaPorAno(1891));
+
+        hobbit.setPreco(39.90);
+        hobbit.setEditora("Allen & Unwin");
+        livroDAO.update(hobbit);
+        quincas.setAutor("Machado de Assis (J. M.)");
+        quincas.setDataPublicacao(LocalDate.of(1899, 6, 1));
+        livroDAO.update(quincas);
+        livroDAO.delete(dom.getId());
+
+        assertEquals(new EstatisticaCatalogo(2, 6500), livroDAO.estatisticaGeral());
+        assertEquals(EstatisticaCatalogo.VAZIA, livroDAO.estatisticaPorAutor("Machado de Assis"));
+        assertEquals(EstatisticaCatalogo.VAZIA, livroDAO.estatisticaPorAno(1891));
+        assertEquals(new EstatisticaCatalogo(1, 2510), livroDAO.estatisticaPorAno(1899));
+        assertEquals(Map.of("Allen & Unwin", new EstatisticaCatalogo(1, 3990),
+                            "Garnier", new EstatisticaCatalogo(1, 2510)),
+                     livroDAO.estatisticasPorEditora());
+        assertEquals(32.50, livroDAO.estatisticaGeral().getPrecoMedio(), 1e-9);
+        assertTrue(livroDAO.verificarEstatisticas().isEmpty());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se a sincronização por ISBN, inclusive de livros inalterados, mantém as estatísticas.
+     */
+    @Test
+    void testEstatisticasComUpsert() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        for (int i = 0; i < 3; i++) {
+            livroDAO.upsertAllByIsbn(List.of(
+                    new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90 + i).isbn(11).build(),
+                    new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).isbn(22).build()));
+        }
+
+        assertEquals(new EstatisticaCatalogo(2, 7180), livroDAO.estatisticaGeral());
+        assertTrue(livroDAO.verificarEstatisticas().isEmpty());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se a verificação aponta uma alteração feita sem os gatilhos e se a reconstrução a corrige.
+     */
+    @Test
+    void testVerificarEReconstruir() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build());
+        livroDAO.insert(new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build());
+
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("DROP TRIGGER tr_livro_estatistica_update");
+            st.executeUpdate("UPDATE livro SET preco = 9.90 WHERE titulo = 'O Hobbit'");
+        }
+
+        List<String> divergencias = livroDAO.verificarEstatisticas();
+        assertEquals(2, divergencias.size(), divergencias.toString());
+        assertTrue(divergencias.stream().anyMatch(d -> d.startsWith("total 0:")), divergencias.toString());
+
+        assertTrue(livroDAO.reconstruirEstatisticas());
+        assertTrue(livroDAO.verificarEstatisticas().isEmpty());
+        assertEquals(new EstatisticaCatalogo(2, 2980), livroDAO.estatisticaGeral());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se um banco de uma versão anterior recebe as estatísticas calculadas dos livros existentes.
+     */
+    @Test
+    void testMigracaoCalculaEstatisticas() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build());
+        livroDAO.insert(new Livro.Builder("Quincas Borba", "Machado de Assis", 25.0).build());
+        livroDAO.disconnect();
+
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("DROP TABLE livro_estatistica");
+            st.executeUpdate("DROP TRIGGER tr_livro_estatistica_insert");
+            st.executeUpdate("PRAGMA user_version = 4");
+        }
+
+        livroDAO = new LivroDAO(arquivo);
+
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema());
+        assertEquals(new EstatisticaCatalogo(2, 4490), livroDAO.estatisticaPorAutor("Machado de Assis"));
+        livroDAO.insert(new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build());
+        assertEquals(3, livroDAO.estatisticaGeral().getQuantidade());
+        livroDAO.disconnect();
+    }
+}
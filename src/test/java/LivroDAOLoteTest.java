@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para as buscas em lote por ID e por ISBN na classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAOLoteTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Cria um banco com livros de ISBN igual a 1000 + ID.
+     */
+    private LivroDAO popular(int quantidade) {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            livros.add(new Livro.Builder("Livro " + i, "Autor " + (i % 10), (double) i).isbn(1000 + i).build());
+        }
+        livroDAO.upsertAllByIsbn(livros);
+        return livroDAO;
+    }
+
+    /**
+     * Testa a busca de mais IDs do que cabem em um lote, na ordem informada.
+     */
+    @Test
+    void testGetByIds() {
+        LivroDAO livroDAO = popular(1200);
+
+        int[] ids = new int[1100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1200 - i;
+        }
+        Map<Integer, Livro> livros = livroDAO.getByIds(ids);
+
+        assertEquals(1100, livros.size());
+        int esperado = 1200;
+        for (Map.Entry<Integer, Livro> entrada : livros.entrySet()) {
+            assertEquals(esperado, entrada.getKey());
+            assertEquals("Livro " + esperado, entrada.getValue().getTitulo());
+            esperado--;
+        }
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se IDs repetidos e inexistentes são tratados e se as consultas são reaproveitadas.
+     */
+    @Test
+    void testGetByIdsRepetidosEInexistentes() {
+        LivroDAO livroDAO = popular(10);
+
+        Map<Integer, Livro> livros = livroDAO.getByIds(new int[] { 3, 99, 1, 3 });
+        assertEquals(List.of(3, 1), new ArrayList<>(livros.keySet()));
+
+        livros = livroDAO.getByIds(new int[] { 7, 8, 50 });
+        assertEquals(List.of(7, 8), new ArrayList<>(livros.keySet()));
+        assertTrue(livroDAO.getByIds(new int[0]).isEmpty());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa a busca por ISBNs, com e sem o filtro de ISBNs.
+     */
+    @Test
+    void testGetByIsbns() {
+        LivroDAO livroDAO = popular(20);
+
+        Map<Integer, Livro> livros = livroDAO.getByIsbns(new int[] { 1020, 5, 1001 });
+        assertEquals(List.of(1020, 1001), new ArrayList<>(livros.keySet()));
+        assertEquals(20, livros.get(1020).getId());
+
+        livroDAO.ativarFiltroIsbn(0.001);
+        livros = livroDAO.getByIsbns(new int[] { 1002, 7, 1003 });
+        assertEquals(List.of(1002, 1003), new ArrayList<>(livros.keySet()));
+        livroDAO.disconnect();
+    }
+}
@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.model.PrecoHistorico;
+
+/**
+ * Classe de teste para o histórico de preços da classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAOPrecoHistoricoTest {
+
+    @TempDir
+    Path pasta;
+
+    private LivroDAO livroDAO;
+
+    /**
+     * Cria um banco de dados vazio antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+    }
+
+    /**
+     * Encerra a conexão após cada teste.
+     */
+    @AfterEach
+    void tearDown() {
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Avança o relógio para que cada alteração tenha um milissegundo próprio.
+     */
+    private static Instant instante() throws InterruptedException {
+        Thread.sleep(5);
+        Instant agora = Instant.now();
+        Thread.sleep(5);
+        return agora;
+    }
+
+    /**
+     * Testa as consultas por data antes, durante e depois das mudanças de preço.
+     */
+    @Test
+    void testPrecoEm() throws Exception {
+        Instant antes = instante();
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build();
+        livroDAO.insert(livro);
+        Instant primeiroPreco = instante();
+        livro.setPreco(24.90);
+        livroDAO.update(livro);
+        Instant segundoPreco = instante();
+        livro.setTitulo("Dom Casmurro (edição revista)");
+        livroDAO.update(livro);
+        livroDAO.delete(livro.getId());
+        Instant depois = instante();
+
+        assertNull(livroDAO.precoEm(livro.getId(), antes));
+        assertEquals(19.90, livroDAO.precoEm(livro.getId(), primeiroPreco), 0.001);
+        assertEquals(24.90, livroDAO.precoEm(livro.getId(), segundoPreco), 0.001);
+        assertNull(livroDAO.precoEm(livro.getId(), depois));
+
+        List<PrecoHistorico> historico = livroDAO.historicoPreco(livro.getId());
+        assertEquals(3, historico.size());
+        assertEquals(24.90, historico.get(1).getPreco(), 0.001);
+        assertNull(historico.get(2).getPreco());
+    }
+
+    /**
+     * Testa a fotografia de preços de todos os livros em uma data.
+     */
+    @Test
+    void testPrecosEm() throws Exception {
+        Livro a = new Livro.Builder("A", "Autor", 10.0).build();
+        Livro b = new Livro.Builder("B", "Autor", 20.0).build();
+        livroDAO.insert(a);
+        livroDAO.insert(b);
+        Instant momento = instante();
+        a.setPreco(11.0);
+        livroDAO.update(a);
+        livroDAO.delete(b.getId());
+        Livro c = new Livro.Builder("C", "Autor", 30.0).build();
+        livroDAO.insert(c);
+
+        assertEquals(Map.of(a.getId(), 10.0, b.getId(), 20.0), livroDAO.precosEm(momento));
+        assertEquals(Map.of(a.getId(), 11.0, c.getId(), 30.0), livroDAO.precosEm(instante()));
+    }
+
+    /**
+     * Testa se um banco da versão anterior recebe o histórico com os preços atuais.
+     */
+    @Test
+    void testMigracaoVersaoAnterior() throws Exception {
+        Livro livro = new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build();
+        livroDAO.insert(livro);
+        livroDAO.disconnect();
+
+        String url = "jdbc:sqlite:" + pasta.resolve("livros.db");
+        try (Connection conexao = DriverManager.getConnection(url); Statement st = conexao.createStatement()) {
+            st.executeUpdate("DROP TABLE livro_preco_historico");
+            st.executeUpdate("DROP TRIGGER tr_livro_preco_insert");
+            st.executeUpdate("DROP TRIGGER tr_livro_preco_update");
+            st.executeUpdate("DROP TRIGGER tr_livro_preco_delete");
+            st.executeUpdate("PRAGMA user_version = 1");
+        }
+
+        livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema());
+        assertEquals(49.90, livroDAO.precoEm(livro.getId(), Instant.now()), 0.001);
+        assertEquals(1, livroDAO.historicoPreco(livro.getId()).size());
+    }
+}
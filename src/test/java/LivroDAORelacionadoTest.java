@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.rubix.vinimiraa.analise.LivrosRelacionados;
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para os livros relacionados pré-calculados na classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAORelacionadoTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa a gravação e a leitura dos relacionados, na ordem gravada e limitada a n.
+     */
+    @Test
+    void testGravarEGetRelated() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        for (String titulo : List.of("Dom Casmurro", "Quincas Borba", "Helena", "Iaiá Garcia")) {
+            livroDAO.insert(new Livro.Builder(titulo, "Machado de Assis", 19.90).build());
+        }
+
+        Map<Integer, int[]> relacionados = new LinkedHashMap<>();
+        relacionados.put(1, new int[] { 3, 2, 4 });
+        relacionados.put(2, new int[] { 1 });
+        assertEquals(4, livroDAO.gravarRelacionados(relacionados));
+
+        assertEquals(List.of("Helena", "Quincas Borba", "Iaiá Garcia"),
+                     livroDAO.getRelated(1, 10).stream().map(Livro::getTitulo).toList());
+        assertEquals(List.of(3, 2), livroDAO.getRelated(1, 2).stream().map(Livro::getId).toList());
+        assertTrue(livroDAO.getRelated(3, 10).isEmpty());
+
+        livroDAO.delete(3);
+        assertEquals(List.of(2, 4), livroDAO.getRelated(1, 10).stream().map(Livro::getId).toList());
+
+        relacionados.clear();
+        relacionados.put(2, new int[] { 4 });
+        assertEquals(1, livroDAO.gravarRelacionados(relacionados));
+        assertTrue(livroDAO.getRelated(1, 10).isEmpty());
+        assertEquals(List.of(4), livroDAO.getRelated(2, 10).stream().map(Livro::getId).toList());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa o cálculo a partir do catálogo gravado e a leitura dos relacionados de cada livro.
+     */
+    @Test
+    void testCalcularEGravar() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).editora("Garnier").build());
+        livroDAO.insert(new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).build());
+        livroDAO.insert(new Livro.Builder("Quincas Borba", "Machado de Assis", 25.0).editora("Garnier").build());
+        livroDAO.insert(new Livro.Builder("O Senhor dos Anéis", "J.R.R. Tolkien", 89.90).build());
+
+        Map<Integer, int[]> relacionados = new LivrosRelacionados().calcular(livroDAO.getAll());
+        assertEquals(4, livroDAO.gravarRelacionados(relacionados));
+
+        assertEquals(List.of("Quincas Borba"), livroDAO.getRelated(1, 5).stream().map(Livro::getTitulo).toList());
+        assertEquals(List.of("O Senhor dos Anéis"), livroDAO.getRelated(2, 5).stream().map(Livro::getTitulo).toList());
+        livroDAO.disconnect();
+    }
+}
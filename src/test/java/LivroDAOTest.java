@@ -35,6 +35,11 @@ class LivroDAOTest {
                 .dataPublicacao(LocalDate.of(1988, 4, 1))
                 .isbn(123456)
                 .build();
+        // o banco é compartilhado entre execuções e não aceita ISBNs repetidos
+        Livro anterior = livroDAO.getByIsbn(123456);
+        if (anterior != null) {
+            livroDAO.delete(anterior.getId());
+        }
 
         boolean inserido = livroDAO.insert(livro);
         assertTrue(inserido, "O livro deveria ser inserido com sucesso");
@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.ResultadoSincronizacao;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a sincronização por ISBN na classe LivroDAO.
+ * Utiliza JUnit 5 e um banco de dados temporário para cada teste.
+ */
+class LivroDAOUpsertTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Testa se um ISBN novo é inserido e um ISBN existente é atualizado no mesmo registro.
+     */
+    @Test
+    void testUpsertByIsbn() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(11).build();
+        ResultadoSincronizacao resultado = livroDAO.upsertByIsbn(livro);
+        assertEquals(1, resultado.getInseridos());
+        int id = livro.getId();
+
+        Livro novaEdicao = new Livro.Builder("Dom Casmurro", "Machado de Assis", 24.90)
+                .editora("Garnier").dataPublicacao(LocalDate.of(1899, 1, 1)).isbn(11).build();
+        resultado = livroDAO.upsertByIsbn(novaEdicao);
+
+        assertEquals(1, resultado.getAtualizados());
+        assertEquals(id, novaEdicao.getId());
+        assertEquals(1, livroDAO.getAll().size());
+        assertEquals(24.90, livroDAO.getByIsbn(11).getPreco());
+        assertEquals("Garnier", livroDAO.getByIsbn(11).getEditora());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa as contagens de um lote com livros novos, alterados, iguais e sem ISBN.
+     */
+    @Test
+    void testUpsertAllByIsbn() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(11).build());
+        livroDAO.insert(new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 49.90).isbn(22).build());
+        long seq = livroDAO.ultimaAlteracao();
+
+        ResultadoSincronizacao resultado = livroDAO.upsertAllByIsbn(List.of(
+                new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(11).build(),
+                new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 39.90).isbn(22).build(),
+                new Livro.Builder("Quincas Borba", "Machado de Assis", 25.0).isbn(33).build(),
+                new Livro.Builder("1984", "George Orwell", 29.90).build()));
+
+        assertEquals(2, resultado.getInseridos());
+        assertEquals(1, resultado.getAtualizados());
+        assertEquals(1, resultado.getInalterados());
+        assertEquals(4, resultado.getTotal());
+        assertEquals(4, livroDAO.getAll().size());
+        assertEquals(3, livroDAO.changesSince(seq, 10).size(), "livros inalterados não devem gerar alterações");
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa atualizações de preço seguidas, várias delas no mesmo milissegundo do histórico de preços.
+     */
+    @Test
+    void testUpsertsSeguidos() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+
+        for (int i = 0; i < 200; i++) {
+            Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 10.0 + i).isbn(11).build();
+            assertNotNull(livroDAO.upsertByIsbn(livro));
+        }
+
+        assertEquals(209.0, livroDAO.getByIsbn(11).getPreco());
+        assertEquals(209.0, livroDAO.historicoPreco(livroDAO.getByIsbn(11).getId()).getLast().getPreco());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se o esquema recusa ISBNs repetidos, inclusive em {@code insert}.
+     */
+    @Test
+    void testIsbnUnico() {
+        LivroDAO livroDAO = new LivroDAO(pasta.resolve("livros.db").toString());
+        assertTrue(livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(11).build()));
+        assertFalse(livroDAO.insert(new Livro.Builder("Dom Casmurro (2ª ed.)", "Machado de Assis", 21.90).isbn(11).build()));
+        assertTrue(livroDAO.insert(new Livro.Builder("1984", "George Orwell", 29.90).build()));
+        assertTrue(livroDAO.insert(new Livro.Builder("Admirável Mundo Novo", "Aldous Huxley", 34.90).build()));
+        assertEquals(3, livroDAO.getAll().size());
+        livroDAO.disconnect();
+    }
+
+    /**
+     * Testa se um banco de uma versão anterior com ISBNs repetidos não é migrado,
+     * se a sincronização é recusada nele e se a migração é concluída depois que os
+     * repetidos são corrigidos.
+     */
+    @Test
+    void testUpsertComIsbnRepetido() throws Exception {
+        String arquivo = pasta.resolve("livros.db").toString();
+        LivroDAO livroDAO = new LivroDAO(arquivo);
+        livroDAO.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(11).build());
+        livroDAO.insert(new Livro.Builder("Dom Casmurro (2ª ed.)", "Machado de Assis", 21.90).isbn(12).build());
+        livroDAO.disconnect();
+
+        try (Connection conexao = DriverManager.getConnection("jdbc:sqlite:" + arquivo);
+             Statement st = conexao.createStatement()) {
+            st.executeUpdate("DROP INDEX ux_livro_isbn");
+            st.executeUpdate("UPDATE livro SET isbn = 11 WHERE id = 2");
+            st.executeUpdate("PRAGMA user_version = 8");
+        }
+
+        livroDAO = new LivroDAO(arquivo);
+        assertEquals(8, livroDAO.versaoEsquema());
+        assertNull(livroDAO.upsertByIsbn(new Livro.Builder("Quincas Borba", "Machado de Assis", 25.0).isbn(33).build()));
+        assertEquals(2, livroDAO.getAll().size());
+
+        Livro segunda = livroDAO.getById(2);
+        segunda.setIsbn(12);
+        assertTrue(livroDAO.update(segunda));
+        livroDAO.disconnect();
+
+        livroDAO = new LivroDAO(arquivo);
+        assertEquals(LivroDAO.VERSAO_ESQUEMA, livroDAO.versaoEsquema());
+        assertEquals(1, livroDAO.upsertByIsbn(new Livro.Builder("Quincas Borba", "Machado de Assis", 25.0).isbn(33).build()).getInseridos());
+        livroDAO.disconnect();
+    }
+}
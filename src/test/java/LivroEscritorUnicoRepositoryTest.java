@@ -0,0 +1,135 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.LivroEscritorUnicoRepository;
+import com.rubix.vinimiraa.dao.LivroListener;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe LivroEscritorUnicoRepository.
+ * Utiliza JUnit 5 para testar as escritas concorrentes pela thread única,
+ * o agrupamento em lotes e as leituras paralelas.
+ */
+class LivroEscritorUnicoRepositoryTest {
+
+    @TempDir
+    Path pasta;
+
+    private String database;
+    private LivroEscritorUnicoRepository repositorio;
+
+    /**
+     * Abre um banco vazio com quatro conexões de leitura antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        database = pasta.resolve("livros.db").toString();
+        repositorio = new LivroEscritorUnicoRepository(database, 4, 64);
+    }
+
+    /**
+     * Encerra o repositório após cada teste.
+     */
+    @AfterEach
+    void tearDown() {
+        repositorio.disconnect();
+    }
+
+    /**
+     * Testa as operações síncronas e a notificação dos observadores.
+     */
+    @Test
+    void testCrud() {
+        AtomicInteger notificacoes = new AtomicInteger();
+        repositorio.addListener(new LivroListener() {
+            public void onInsert(Livro livro) { notificacoes.incrementAndGet(); }
+            public void onUpdate(Livro livro) { notificacoes.incrementAndGet(); }
+            public void onDelete(int id) { notificacoes.incrementAndGet(); }
+        });
+
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(1234).build();
+        assertTrue(repositorio.insert(livro));
+        assertTrue(livro.getId() > 0);
+        assertEquals("Dom Casmurro", repositorio.getById(livro.getId()).getTitulo(), "A escrita confirmada deveria estar visível");
+
+        livro.setPreco(25.0);
+        assertTrue(repositorio.update(livro));
+        assertEquals(25.0, repositorio.getByIsbn(1234).getPreco(), 0.001);
+
+        assertTrue(repositorio.delete(livro.getId()));
+        assertNull(repositorio.getById(livro.getId()));
+        assertEquals(3, notificacoes.get());
+    }
+
+    /**
+     * Testa escritores e leitores concorrentes: nenhuma escrita deve falhar,
+     * e as escritas devem ser agrupadas em menos transações que comandos.
+     */
+    @Test
+    void testConcorrencia() throws InterruptedException {
+        AtomicBoolean falhou = new AtomicBoolean(false);
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            final int numero = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                List<CompletableFuture<Boolean>> futuros = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    futuros.add(repositorio.insertAsync(new Livro.Builder("Livro " + numero + "-" + i, "Autor", 1.0).build()));
+                }
+                futuros.forEach(f -> { if (!f.join()) falhou.set(true); });
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                while (escrevendo.get()) {
+                    if (repositorio.getAll() == null) falhou.set(true);
+                }
+            }));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            threads.get(i).join();
+        }
+        escrevendo.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(falhou.get(), "Nenhuma escrita ou leitura deveria falhar");
+        assertEquals(800, repositorio.getAll().size());
+        assertEquals(800, repositorio.comandosGravados());
+        assertTrue(repositorio.lotesGravados() < 800, "As escritas deveriam ser agrupadas em lotes");
+    }
+
+    /**
+     * Testa se os comandos pendentes são gravados no encerramento e se
+     * comandos posteriores são recusados.
+     */
+    @Test
+    void testEncerramento() {
+        List<CompletableFuture<Boolean>> futuros = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futuros.add(repositorio.insertAsync(new Livro.Builder("Livro " + i, "Autor", 1.0).build()));
+        }
+        assertTrue(repositorio.disconnect());
+        futuros.forEach(f -> assertTrue(f.join()));
+        assertFalse(repositorio.insert(new Livro.Builder("Tarde", "Autor", 1.0).build()));
+
+        LivroDAO dao = new LivroDAO(database);
+        assertEquals(50, dao.getAll().size());
+        dao.disconnect();
+    }
+}
@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rubix.vinimiraa.dao.LivroMemoriaRepository;
+import com.rubix.vinimiraa.dao.LivroRepository;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe LivroMemoriaRepository.
+ * Utiliza JUnit 5 para testar as operações CRUD, os índices secundários,
+ * o instantâneo em disco e as escritas concorrentes.
+ */
+class LivroMemoriaRepositoryTest {
+
+    @TempDir
+    Path pasta;
+
+    private LivroMemoriaRepository repositorio;
+
+    /**
+     * Cria um repositório vazio antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        repositorio = new LivroMemoriaRepository();
+    }
+
+    /**
+     * Testa inserção, busca, atualização e exclusão através da interface LivroRepository.
+     */
+    @Test
+    void testCrud() {
+        LivroRepository livros = repositorio;
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(1234).build();
+
+        assertTrue(livros.insert(livro));
+        assertTrue(livro.getId() > 0);
+        assertEquals("Dom Casmurro", livros.getById(livro.getId()).getTitulo());
+
+        livro.setTitulo("Dom Casmurro (Edição Comentada)");
+        assertEquals("Dom Casmurro", livros.getById(livro.getId()).getTitulo(), "O repositório deveria guardar uma cópia");
+        assertTrue(livros.update(livro));
+        assertEquals("Dom Casmurro (Edição Comentada)", livros.getById(livro.getId()).getTitulo());
+
+        assertTrue(livros.delete(livro.getId()));
+        assertNull(livros.getById(livro.getId()));
+        assertNull(livros.getByIsbn(1234));
+        assertFalse(livros.update(livro), "Não deveria atualizar um livro inexistente");
+    }
+
+    /**
+     * Testa os índices secundários por ISBN e por título normalizado.
+     */
+    @Test
+    void testIndicesSecundarios() {
+        Livro livro = new Livro.Builder("Memórias Póstumas de Brás Cubas", "Machado de Assis", 24.90).isbn(42).build();
+        repositorio.insert(livro);
+        repositorio.insert(new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).isbn(7).build());
+        repositorio.insert(new Livro.Builder("Dom Quixote", "Miguel de Cervantes", 59.90).build());
+
+        assertEquals(livro.getId(), repositorio.getByIsbn(42).getId());
+        assertNull(repositorio.getByIsbn(43));
+        assertEquals(2, repositorio.getByTituloPrefixo("DOM", 10).size());
+        assertEquals(1, repositorio.getByTituloPrefixo("memorias", 10).size());
+
+        livro.setIsbn(43);
+        livro.setTitulo("Brás Cubas");
+        repositorio.update(livro);
+        assertNull(repositorio.getByIsbn(42));
+        assertEquals(livro.getId(), repositorio.getByIsbn(43).getId());
+        assertTrue(repositorio.getByTituloPrefixo("memorias", 10).isEmpty());
+
+        List<Livro> ordenados = repositorio.getAllOrdenadoPorTitulo();
+        assertEquals(List.of("Brás Cubas", "Dom Casmurro", "Dom Quixote"),
+                     ordenados.stream().map(Livro::getTitulo).toList());
+    }
+
+    /**
+     * Testa a gravação e a recarga do instantâneo em disco.
+     */
+    @Test
+    void testSnapshot() {
+        Path arquivo = pasta.resolve("livros.snapshot");
+        LivroMemoriaRepository original = new LivroMemoriaRepository(arquivo);
+        original.insert(new Livro.Builder("O Alquimista", "Paulo Coelho", 39.90)
+                .editora("Rocco")
+                .dataPublicacao(LocalDate.of(1988, 4, 1))
+                .isbn(123456)
+                .build());
+        original.insert(new Livro.Builder("1984", "George Orwell", 29.90).build());
+        assertTrue(original.disconnect());
+
+        LivroMemoriaRepository recarregado = new LivroMemoriaRepository(arquivo);
+        assertEquals(2, recarregado.tamanho());
+        Livro livro = recarregado.getByIsbn(123456);
+        assertEquals("Rocco", livro.getEditora());
+        assertEquals(LocalDate.of(1988, 4, 1), livro.getDataPublicacao());
+
+        Livro novo = new Livro.Builder("Novo", "Autor", 1.0).build();
+        recarregado.insert(novo);
+        assertEquals(3, novo.getId(), "Os IDs deveriam continuar após o último gravado");
+    }
+
+    /**
+     * Testa inserções concorrentes a partir de várias threads.
+     */
+    @Test
+    void testEscritasConcorrentes() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int numero = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    Livro livro = new Livro.Builder("Livro " + numero + "-" + i, "Autor", 1.0).isbn(numero * 1000 + i).build();
+                    repositorio.insert(livro);
+                    livro.setPreco(2.0);
+                    repositorio.update(livro);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8000, repositorio.tamanho());
+        assertEquals(8000, repositorio.getAllOrdenadoPorTitulo().size());
+        assertEquals(2.0, repositorio.getByIsbn(7999).getPreco(), 0.001);
+    }
+}
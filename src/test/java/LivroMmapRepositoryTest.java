@@ -0,0 +1,218 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import com.rubix.vinimiraa.dao.LivroMmapRepository;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe LivroMmapRepository.
+ * Utiliza JUnit 5 para testar as operações CRUD, a reconstrução do índice na
+ * reabertura, a compactação e a recuperação de um log interrompido.
+ */
+class LivroMmapRepositoryTest {
+
+    @TempDir
+    Path pasta;
+
+    private Path arquivo;
+    private LivroMmapRepository repositorio;
+
+    /**
+     * Abre um log vazio, sem compactação em segundo plano, antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        arquivo = pasta.resolve("livros.log");
+        repositorio = new LivroMmapRepository(arquivo, 0);
+    }
+
+    /**
+     * Fecha o log após cada teste.
+     */
+    @AfterEach
+    void tearDown() {
+        repositorio.disconnect();
+    }
+
+    /**
+     * Testa inserção, busca, atualização e exclusão, incluindo campos opcionais ausentes.
+     */
+    @Test
+    void testCrud() {
+        Livro completo = new Livro.Builder("Memórias Póstumas de Brás Cubas", "Machado de Assis", 24.90)
+                .editora("Garnier")
+                .dataPublicacao(LocalDate.of(1881, 1, 1))
+                .isbn(42)
+                .build();
+        Livro simples = new Livro.Builder("1984", "George Orwell", 29.90).build();
+
+        assertTrue(repositorio.insert(completo));
+        assertTrue(repositorio.insert(simples));
+        assertEquals(2, simples.getId());
+
+        Livro lido = repositorio.getById(completo.getId());
+        assertEquals("Memórias Póstumas de Brás Cubas", lido.getTitulo());
+        assertEquals("Garnier", lido.getEditora());
+        assertEquals(LocalDate.of(1881, 1, 1), lido.getDataPublicacao());
+        assertEquals(24.90, lido.getPreco(), 0.001);
+
+        Livro semOpcionais = repositorio.getById(simples.getId());
+        assertNull(semOpcionais.getEditora());
+        assertNull(semOpcionais.getDataPublicacao());
+        assertNull(semOpcionais.getIsbn());
+
+        assertEquals(completo.getId(), repositorio.getByIsbn(42).getId());
+        assertNull(repositorio.getByIsbn(43));
+
+        simples.setPreco(35.0);
+        assertTrue(repositorio.update(simples));
+        assertEquals(35.0, repositorio.getById(simples.getId()).getPreco(), 0.001);
+
+        assertTrue(repositorio.delete(completo.getId()));
+        assertNull(repositorio.getById(completo.getId()));
+        assertFalse(repositorio.update(completo), "Não deveria atualizar um livro excluído");
+        assertEquals(1, repositorio.getAll().size());
+    }
+
+    /**
+     * Testa a reconstrução do índice a partir do log na reabertura.
+     */
+    @Test
+    void testReabertura() {
+        for (int i = 1; i <= 100; i++) {
+            repositorio.insert(new Livro.Builder("Livro " + i, "Autor", (double) i).isbn(i).build());
+        }
+        Livro alterado = repositorio.getById(10);
+        alterado.setTitulo("Livro Dez");
+        repositorio.update(alterado);
+        repositorio.delete(20);
+        repositorio.disconnect();
+
+        repositorio = new LivroMmapRepository(arquivo, 0);
+        assertEquals(99, repositorio.tamanho());
+        assertEquals("Livro Dez", repositorio.getById(10).getTitulo());
+        assertNull(repositorio.getById(20));
+        assertTrue(repositorio.bytesObsoletos() > 0);
+
+        Livro novo = new Livro.Builder("Novo", "Autor", 1.0).build();
+        repositorio.insert(novo);
+        assertEquals(101, novo.getId(), "Os IDs deveriam continuar após o último gravado");
+    }
+
+    /**
+     * Testa se a compactação elimina as versões antigas sem perder dados,
+     * inclusive após a reabertura.
+     */
+    @Test
+    void testCompactacao() {
+        for (int i = 1; i <= 50; i++) {
+            repositorio.insert(new Livro.Builder("Livro " + i, "Autor", (double) i).build());
+        }
+        for (int versao = 0; versao < 20; versao++) {
+            for (int id = 1; id <= 50; id++) {
+                Livro livro = repositorio.getById(id);
+                livro.setPreco((double) versao);
+                repositorio.update(livro);
+            }
+        }
+        repositorio.delete(50);
+        long antes = repositorio.bytesLog();
+
+        assertTrue(repositorio.compactar());
+        assertTrue(repositorio.bytesLog() < antes / 10, "O log deveria encolher");
+        assertEquals(0, repositorio.bytesObsoletos());
+        assertEquals(49, repositorio.tamanho());
+        assertEquals(19.0, repositorio.getById(1).getPreco(), 0.001);
+
+        repositorio.insert(new Livro.Builder("Depois", "Autor", 1.0).build());
+        repositorio.disconnect();
+
+        repositorio = new LivroMmapRepository(arquivo, 0);
+        assertEquals(50, repositorio.tamanho());
+        assertNull(repositorio.getById(50));
+        assertEquals("Depois", repositorio.getById(51).getTitulo());
+    }
+
+    /**
+     * Testa se o índice por ISBN acompanha atualizações, exclusões, ISBNs repetidos,
+     * a compactação e a reabertura.
+     */
+    @Test
+    void testIndiceIsbn() {
+        for (int i = 1; i <= 200; i++) {
+            repositorio.insert(new Livro.Builder("Livro " + i, "Autor", (double) i).isbn(i % 50 - 1).build());
+        }
+        assertEquals(1, repositorio.getByIsbn(0).getId(), "Com ISBNs repetidos, vale o menor ID");
+        assertEquals(50, repositorio.getByIsbn(-1).getId());
+
+        Livro livro = repositorio.getById(2);
+        livro.setIsbn(9999);
+        repositorio.update(livro);
+        repositorio.delete(1);
+        Livro semIsbn = repositorio.getById(51);
+        semIsbn.setIsbn(null);
+        repositorio.update(semIsbn);
+
+        assertEquals(2, repositorio.getByIsbn(9999).getId());
+        assertEquals(52, repositorio.getByIsbn(1).getId());
+        assertEquals(101, repositorio.getByIsbn(0).getId());
+        assertNull(repositorio.getByIsbn(12345));
+
+        assertTrue(repositorio.compactar());
+        assertEquals(101, repositorio.getByIsbn(0).getId());
+        repositorio.disconnect();
+
+        repositorio = new LivroMmapRepository(arquivo, 0);
+        assertEquals(2, repositorio.getByIsbn(9999).getId());
+        assertEquals(101, repositorio.getByIsbn(0).getId());
+        assertEquals(50, repositorio.getByIsbn(-1).getId());
+        repositorio.delete(101);
+        assertEquals(151, repositorio.getByIsbn(0).getId());
+    }
+
+    /**
+     * Testa se a listagem de um log fechado retorna uma lista vazia, e não {@code null}.
+     */
+    @Test
+    void testGetAllAposFechar() {
+        repositorio.insert(new Livro.Builder("Livro", "Autor", 1.0).build());
+        repositorio.disconnect();
+
+        assertNotNull(repositorio.getAll());
+        assertTrue(repositorio.getAll().isEmpty());
+    }
+
+    /**
+     * Testa se um registro corrompido no final do log é descartado na reabertura.
+     */
+    @Test
+    void testRegistroInterrompido() throws IOException {
+        repositorio.insert(new Livro.Builder("Primeiro", "Autor", 1.0).build());
+        repositorio.insert(new Livro.Builder("Segundo", "Autor", 2.0).build());
+        long fim = repositorio.bytesLog();
+        repositorio.disconnect();
+
+        // simula uma queda no meio da gravação do segundo registro
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] { 0x7F }), fim - 10);
+        }
+
+        repositorio = new LivroMmapRepository(arquivo, 0);
+        assertEquals(1, repositorio.tamanho());
+        assertEquals("Primeiro", repositorio.getById(1).getTitulo());
+
+        Livro novo = new Livro.Builder("Terceiro", "Autor", 3.0).build();
+        assertTrue(repositorio.insert(novo));
+        assertEquals("Terceiro", repositorio.getById(novo.getId()).getTitulo());
+    }
+}
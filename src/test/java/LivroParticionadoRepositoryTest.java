@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.rubix.vinimiraa.dao.LivroDAO;
+import com.rubix.vinimiraa.dao.LivroParticionadoRepository;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe LivroParticionadoRepository.
+ * Utiliza JUnit 5 para testar a distribuição entre partições, a alocação global
+ * de IDs, as consultas em paralelo e a intercalação ordenada.
+ */
+class LivroParticionadoRepositoryTest {
+
+    private static final int PARTICOES = 4;
+
+    @TempDir
+    Path pasta;
+
+    private String prefixo;
+    private LivroParticionadoRepository repositorio;
+
+    /**
+     * Abre partições vazias antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        prefixo = pasta.resolve("livros").toString();
+        repositorio = new LivroParticionadoRepository(prefixo, PARTICOES);
+    }
+
+    /**
+     * Fecha as partições após cada teste.
+     */
+    @AfterEach
+    void tearDown() {
+        repositorio.disconnect();
+    }
+
+    /**
+     * Testa se os livros são distribuídos igualmente e encontrados pelo ID e pelo ISBN.
+     */
+    @Test
+    void testDistribuicao() {
+        for (int i = 1; i <= 100; i++) {
+            Livro livro = new Livro.Builder("Livro " + i, "Autor", 10.0).isbn(1000 + i).build();
+            assertTrue(repositorio.insert(livro));
+            assertEquals(i, livro.getId());
+        }
+        repositorio.disconnect();
+
+        for (int i = 0; i < PARTICOES; i++) {
+            LivroDAO particao = new LivroDAO(LivroParticionadoRepository.arquivo(prefixo, i));
+            List<Livro> livros = particao.getAll();
+            assertEquals(25, livros.size());
+            final int indice = i;
+            livros.forEach(l -> assertEquals(indice, Math.floorMod(l.getId(), PARTICOES)));
+            particao.disconnect();
+        }
+
+        repositorio = new LivroParticionadoRepository(prefixo, PARTICOES);
+        assertEquals("Livro 42", repositorio.getById(42).getTitulo());
+        assertEquals(77, repositorio.getByIsbn(1077).getId());
+        assertNull(repositorio.getByIsbn(9999));
+        assertEquals(100, repositorio.getAll().size());
+
+        Livro novo = new Livro.Builder("Novo", "Autor", 1.0).build();
+        repositorio.insert(novo);
+        assertEquals(101, novo.getId(), "Os IDs deveriam continuar após o maior ID entre as partições");
+    }
+
+    /**
+     * Testa atualização e exclusão encaminhadas para a partição do livro.
+     */
+    @Test
+    void testAtualizacaoExclusao() {
+        Livro livro = new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.90).build();
+        repositorio.insert(livro);
+        repositorio.insert(new Livro.Builder("Outro", "Autor", 1.0).build());
+
+        livro.setPreco(25.0);
+        assertTrue(repositorio.update(livro));
+        assertEquals(25.0, repositorio.getById(livro.getId()).getPreco(), 0.001);
+
+        assertTrue(repositorio.delete(livro.getId()));
+        assertNull(repositorio.getById(livro.getId()));
+        assertEquals(1, repositorio.getAll().size());
+    }
+
+    /**
+     * Testa a listagem ordenada intercalada a partir de todas as partições.
+     */
+    @Test
+    void testOrdenacao() {
+        String[] titulos = { "Zadig", "Ágape", "Memórias", "Bíblia", "Odisseia", "Ilíada", "Emma", "Utopia", "Cândido" };
+        for (String titulo : titulos) {
+            repositorio.insert(new Livro.Builder(titulo, "Autor", (double) titulo.length()).build());
+        }
+
+        List<Livro> ordenados = repositorio.getAllOrdenado(Comparator.naturalOrder());
+        List<Livro> esperados = new ArrayList<>(repositorio.getAll());
+        esperados.sort(Comparator.naturalOrder());
+        assertEquals(esperados.stream().map(Livro::getTitulo).toList(),
+                     ordenados.stream().map(Livro::getTitulo).toList());
+
+        List<Livro> baratos = repositorio.buscar(l -> l.getPreco() <= 5, Comparator.comparing(Livro::getPreco));
+        assertEquals(3, baratos.size());
+        assertEquals("Emma", baratos.get(0).getTitulo());
+        assertEquals(5.0, baratos.get(2).getPreco(), 0.001);
+    }
+
+    /**
+     * Testa inserções concorrentes: os IDs devem ser únicos entre as partições.
+     */
+    @Test
+    void testInsercoesConcorrentes() throws InterruptedException {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 50; i++) {
+                    Livro livro = new Livro.Builder("Livro", "Autor", 1.0).build();
+                    assertTrue(repositorio.insert(livro));
+                    ids.add(livro.getId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(200, ids.size());
+        assertEquals(new HashSet<>(ids), new HashSet<>(repositorio.getAll().stream().map(Livro::getId).toList()));
+    }
+}
@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.rubix.vinimiraa.analise.LivrosRelacionados;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe LivrosRelacionados.
+ * Utiliza JUnit 5 para testar a pontuação dos pares e a escolha dos relacionados.
+ */
+class LivrosRelacionadosTest {
+
+    /**
+     * Testa a soma dos pesos de autor, editora, ano e palavras do título.
+     */
+    @Test
+    void testPontuacao() {
+        Livro dom = new Livro(1, "Dom Casmurro", "Machado de Assis", 19.90, "Garnier", LocalDate.of(1899, 1, 1), null);
+        Livro quincas = new Livro(2, "Quincas Borba", "Machado de Assis", 25.0, "Garnier", LocalDate.of(1891, 1, 1), null);
+        Livro casmurro = new Livro(3, "O Casmurro de Dom", "Outro Autor", 10.0, null, null, null);
+        Livro hobbit = new Livro(4, "O Hobbit", "J.R.R. Tolkien", 49.90, null, LocalDate.of(1937, 1, 1), null);
+
+        assertEquals(List.of("dom", "casmurro"), LivrosRelacionados.palavrasTitulo(casmurro).reversed());
+        assertEquals(LivrosRelacionados.PESO_AUTOR + LivrosRelacionados.PESO_EDITORA + 0.2 * LivrosRelacionados.PESO_ANO,
+                     LivrosRelacionados.pontuacao(dom, quincas), 1e-9);
+        assertEquals(LivrosRelacionados.PESO_TITULO, LivrosRelacionados.pontuacao(dom, casmurro), 1e-9);
+        assertEquals(0, LivrosRelacionados.pontuacao(dom, hobbit), 1e-9);
+
+        // "ar" e "c4" têm o mesmo hashCode, mas são palavras diferentes
+        Livro ar = new Livro(5, "Manual ar", "Autor A", 10.0, null, null, null);
+        Livro c4 = new Livro(6, "Manual c4", "Autor B", 10.0, null, null, null);
+        assertEquals("ar".hashCode(), "c4".hashCode());
+        assertEquals(LivrosRelacionados.PESO_TITULO / 3, LivrosRelacionados.pontuacao(ar, c4), 1e-9);
+    }
+
+    /**
+     * Testa a ordem dos relacionados e a lista vazia de um livro sem nada em comum.
+     */
+    @Test
+    void testCalcular() {
+        List<Livro> livros = List.of(
+                new Livro(1, "Dom Casmurro", "Machado de Assis", 19.90, "Garnier", LocalDate.of(1899, 1, 1), null),
+                new Livro(2, "Quincas Borba", "Machado de Assis", 25.0, "Garnier", LocalDate.of(1891, 1, 1), null),
+                new Livro(3, "Memórias Póstumas de Brás Cubas", "Machado de Assis", 29.9, null, LocalDate.of(1881, 1, 1), null),
+                new Livro(4, "O Cortiço", "Aluísio Azevedo", 15.0, "Garnier", LocalDate.of(1890, 1, 1), null),
+                new Livro(5, "O Hobbit", "J.R.R. Tolkien", 49.90, null, null, null),
+                new Livro(6, "Iracema", "José de Alencar", 12.0, null, LocalDate.of(1875, 1, 1), null));
+
+        Map<Integer, int[]> relacionados = new LivrosRelacionados(2, ForkJoinPool.commonPool()).calcular(livros);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), List.copyOf(relacionados.keySet()));
+        assertArrayEquals(new int[] { 2, 3 }, relacionados.get(1));
+        assertArrayEquals(new int[] { 2, 1 }, relacionados.get(4));
+        assertArrayEquals(new int[0], relacionados.get(5));
+        assertArrayEquals(new int[] { 3 }, relacionados.get(6));
+    }
+
+    /**
+     * Testa, em um catálogo sem datas cujas listas cabem na janela de candidatos, se o
+     * cálculo paralelo escolhe os mesmos relacionados que a comparação de todos os pares.
+     */
+    @Test
+    void testIgualComparacaoCompleta() {
+        Random random = new Random(42);
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 1; i <= 600; i++) {
+            String titulo = "p" + random.nextInt(150) + " p" + random.nextInt(150) + " p" + random.nextInt(150);
+            String editora = random.nextInt(4) == 0 ? null : "Editora " + random.nextInt(40);
+            livros.add(new Livro(i, titulo, "Autor " + random.nextInt(60), 10.0, editora, null, null));
+        }
+
+        int quantidade = 5;
+        Map<Integer, int[]> relacionados = new LivrosRelacionados(quantidade, new ForkJoinPool(4)).calcular(livros);
+
+        for (Livro livro : livros) {
+            int[] esperados = livros.stream()
+                    .filter(outro -> outro != livro && LivrosRelacionados.pontuacao(livro, outro) > 0)
+                    .sorted(Comparator.comparingDouble((Livro outro) -> -LivrosRelacionados.pontuacao(livro, outro))
+                                      .thenComparingInt(Livro::getId))
+                    .limit(quantidade)
+                    .mapToInt(Livro::getId)
+                    .toArray();
+            assertArrayEquals(esperados, relacionados.get(livro.getId()), "livro " + livro.getId());
+        }
+    }
+
+    /**
+     * Testa que uma quantidade não positiva é rejeitada.
+     */
+    @Test
+    void testQuantidadeInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new LivrosRelacionados(0, ForkJoinPool.commonPool()));
+    }
+}
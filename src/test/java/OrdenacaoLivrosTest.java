@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.rubix.vinimiraa.analise.OrdenacaoLivros;
+import com.rubix.vinimiraa.analise.OrdenacaoLivros.Criterio;
+import com.rubix.vinimiraa.carga.GeradorLivros;
+import com.rubix.vinimiraa.model.Livro;
+
+/**
+ * Classe de teste para a classe OrdenacaoLivros.
+ * Utiliza JUnit 5.
+ */
+class OrdenacaoLivrosTest {
+
+    /**
+     * Gera um catálogo sintético com IDs sequenciais.
+     */
+    private static List<Livro> catalogo(int quantidade) {
+        GeradorLivros gerador = new GeradorLivros();
+        SplittableRandom aleatorio = new SplittableRandom(7);
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            Livro livro = gerador.gerar(aleatorio);
+            livro.setId(i);
+            livros.add(livro);
+        }
+        return livros;
+    }
+
+    /**
+     * Testa se a ordenação por título coincide com a ordem natural dos livros.
+     */
+    @Test
+    void testOrdenarTitulo() {
+        List<Livro> livros = catalogo(5000);
+        List<Livro> esperado = new ArrayList<>(livros);
+        Collections.sort(esperado);
+
+        assertEquals(esperado, OrdenacaoLivros.ordenar(livros, Criterio.TITULO));
+    }
+
+    /**
+     * Testa se os primeiros k livros são o começo da ordenação completa,
+     * em catálogos grandes o suficiente para dividir o trabalho entre tarefas.
+     */
+    @Test
+    void testPrimeirosCoincidemComOrdenacao() {
+        List<Livro> livros = catalogo(30000);
+
+        for (Criterio criterio : Criterio.values()) {
+            for (boolean decrescente : new boolean[] { false, true }) {
+                List<Livro> ordenados = OrdenacaoLivros.ordenar(livros, criterio, decrescente);
+                List<Livro> primeiros = OrdenacaoLivros.primeiros(livros, criterio, decrescente, 50);
+
+                assertEquals(ordenados.subList(0, 50), primeiros, criterio + " decrescente=" + decrescente);
+            }
+        }
+    }
+
+    /**
+     * Testa a ordem por preço e data, com os livros sem data no final nas duas direções.
+     */
+    @Test
+    void testPrecoEDataSemValor() {
+        Livro barato = new Livro.Builder("B", "Autor", 10.0).dataPublicacao(LocalDate.of(2000, 1, 1)).build();
+        Livro caro = new Livro.Builder("A", "Autor", 90.0).dataPublicacao(LocalDate.of(2020, 1, 1)).build();
+        Livro semData = new Livro.Builder("C", "Autor", 50.0).build();
+        List<Livro> livros = List.of(semData, caro, barato);
+
+        assertEquals(List.of(barato, semData, caro), OrdenacaoLivros.ordenar(livros, Criterio.PRECO));
+        assertEquals(List.of(caro, semData), OrdenacaoLivros.primeiros(livros, Criterio.PRECO, true, 2));
+        assertEquals(List.of(barato, caro, semData), OrdenacaoLivros.ordenar(livros, Criterio.DATA));
+        assertEquals(List.of(caro, barato, semData), OrdenacaoLivros.ordenar(livros, Criterio.DATA, true));
+        assertTrue(OrdenacaoLivros.primeiros(livros, Criterio.TITULO, 0).isEmpty());
+    }
+}
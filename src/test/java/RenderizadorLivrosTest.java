@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.rubix.vinimiraa.model.Livro;
+import com.rubix.vinimiraa.util.RenderizadorLivros;
+
+/**
+ * Classe de teste para a classe RenderizadorLivros.
+ * Utiliza JUnit 5.
+ */
+class RenderizadorLivrosTest {
+
+    private static final String QUEBRA = System.lineSeparator();
+
+    /**
+     * Testa se o formato de linha é idêntico ao de Livro.formatado().
+     */
+    @Test
+    void testLinhaIgualFormatado() throws Exception {
+        List<Livro> livros = List.of(
+            new Livro.Builder("Dom Casmurro", "Machado de Assis", 19.9)
+                .id(1).editora("Garnier").dataPublicacao(LocalDate.of(1899, 3, 5)).isbn(1234).build(),
+            new Livro.Builder("O Hobbit", "J.R.R. Tolkien", 1234.565).id(22).build(),
+            new Livro.Builder("Grátis", "Anônimo", 0.004).id(333).build(),
+            new Livro.Builder("Meio centavo", "Autor", 1.005).build(),
+            new Livro.Builder("Meio centavo", "Autor", 0.285).build(),
+            new Livro.Builder("Negativo", "Autor", -1.005).build(),
+            new Livro.Builder("Negativo", "Autor", -0.004).build(),
+            new Livro.Builder("Caro", "Autor", 999_999_999_999.995).build(),
+            new Livro.Builder("Caro", "Autor", 1e12).build(),
+            new Livro.Builder("Antigo", "Autor", 7.0).dataPublicacao(LocalDate.of(850, 1, 2)).build());
+
+        StringWriter saida = new StringWriter();
+        RenderizadorLivros renderizador = new RenderizadorLivros(saida);
+        StringBuilder esperado = new StringBuilder();
+        for (Livro livro : livros) {
+            renderizador.linha(livro);
+            esperado.append(livro.formatado()).append(QUEBRA);
+        }
+        renderizador.flush();
+
+        assertEquals(esperado.toString(), saida.toString());
+    }
+
+    /**
+     * Testa o arredondamento dos preços contra String.format("%.2f") em muitos valores,
+     * com milésimos e meios centavos exatos.
+     */
+    @Test
+    void testPrecosIguaisFormatado() throws Exception {
+        SplittableRandom aleatorio = new SplittableRandom(38);
+        StringWriter saida = new StringWriter();
+        RenderizadorLivros renderizador = new RenderizadorLivros(saida);
+        StringBuilder esperado = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            double preco = (i % 2 == 0) ? aleatorio.nextInt(10_000_000) / 1000.0
+                                        : (aleatorio.nextLong(1_000_000_000_000L) + 0.5) / 100;
+            Livro livro = new Livro.Builder("Livro", "Autor", preco).build();
+            renderizador.linha(livro);
+            esperado.append(livro.formatado()).append(QUEBRA);
+        }
+        renderizador.flush();
+
+        assertEquals(esperado.toString(), saida.toString());
+    }
+
+    /**
+     * Testa se todas as linhas da tabela têm a mesma largura, com textos longos cortados.
+     */
+    @Test
+    void testTabelaLarguraFixa() throws Exception {
+        List<Livro> livros = List.of(
+            new Livro.Builder("Um título bem mais longo do que a coluna permite exibir", "Autor", 10.0).id(1).build(),
+            new Livro.Builder("Curto", "Outro Autor", 150.5).id(12345).editora("Rocco")
+                .dataPublicacao(LocalDate.of(2020, 12, 31)).isbn(987654321).build());
+
+        StringWriter saida = new StringWriter();
+        new RenderizadorLivros(saida).tabela(livros);
+        String[] linhas = saida.toString().split(QUEBRA);
+
+        assertEquals(4, linhas.length);
+        for (String linha : linhas) {
+            assertEquals(linhas[1].length(), linha.length(), linha);
+        }
+        assertTrue(linhas[2].contains("Um título bem mais longo do que…"));
+        assertTrue(linhas[3].contains("R$ 150.50") || linhas[3].contains("R$ 150,50"));
+        assertTrue(linhas[3].contains("2020-12-31"));
+    }
+
+    /**
+     * Testa se o modo paginado para quando o usuário não quer continuar.
+     */
+    @Test
+    void testPaginarInterrompe() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            livros.add(new Livro.Builder("Livro " + i, "Autor", (double) i).id(i).build());
+        }
+        AtomicInteger perguntas = new AtomicInteger();
+
+        StringWriter saida = new StringWriter();
+        int exibidos = new RenderizadorLivros(saida).paginar(livros, 10, () -> perguntas.incrementAndGet() < 2);
+
+        assertEquals(20, exibidos);
+        assertEquals(2, perguntas.get());
+        assertTrue(saida.toString().contains("Página 2 de 3 (20 de 25 livros)"));
+        assertFalse(saida.toString().contains("Livro 21 "));
+    }
+}